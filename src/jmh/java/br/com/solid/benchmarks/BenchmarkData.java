@@ -0,0 +1,49 @@
+package br.com.solid.benchmarks;
+
+import br.com.solid.domain.dto.ProductDto;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Deterministic product data used by the report benchmarks.
+ */
+public final class BenchmarkData {
+
+    private static final long SEED = 42L;
+    private static final char[] ALPHABET = "abcdefghijklmnopqrstuvwxyz ABCDEFGHIJKLMNOPQRSTUVWXYZ0123456789".toCharArray();
+
+    private BenchmarkData() {
+    }
+
+    /**
+     * Creates a list of products with random names, prices and quantities.
+     *
+     * @param rows The number of products to create.
+     * @param nameLength The length of each product name.
+     * @param nullDensity The probability, between 0 and 1, that each field is {@code null}.
+     * @return The generated products.
+     */
+    public static List<ProductDto> products(int rows, int nameLength, double nullDensity) {
+        var random = new SplittableRandom(SEED);
+        var products = new ArrayList<ProductDto>(rows);
+
+        for (int i = 0; i < rows; i++) {
+            var name = random.nextDouble() < nullDensity ? null : name(random, nameLength);
+            var price = random.nextDouble() < nullDensity ? null : BigDecimal.valueOf(random.nextLong(10_000_000L), 2);
+            var quantity = random.nextDouble() < nullDensity ? null : random.nextLong(100_000L);
+            products.add(new ProductDto(name, price, quantity));
+        }
+        return products;
+    }
+
+    private static String name(SplittableRandom random, int length) {
+        var chars = new char[length];
+        for (int i = 0; i < length; i++) {
+            chars[i] = ALPHABET[random.nextInt(ALPHABET.length)];
+        }
+        return new String(chars);
+    }
+}
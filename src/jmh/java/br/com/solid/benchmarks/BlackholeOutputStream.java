@@ -0,0 +1,35 @@
+package br.com.solid.benchmarks;
+
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.OutputStream;
+
+/**
+ * Output stream that hands every write to a JMH {@link Blackhole} and counts the bytes,
+ * so benchmarks measure report generation without any I/O cost.
+ */
+public final class BlackholeOutputStream extends OutputStream {
+
+    private final Blackhole blackhole;
+    private long bytes;
+
+    public BlackholeOutputStream(Blackhole blackhole) {
+        this.blackhole = blackhole;
+    }
+
+    @Override
+    public void write(int b) {
+        blackhole.consume(b);
+        bytes++;
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) {
+        blackhole.consume(b);
+        bytes += len;
+    }
+
+    public long getBytes() {
+        return bytes;
+    }
+}
@@ -0,0 +1,71 @@
+package br.com.solid.benchmarks;
+
+import br.com.solid.domain.dto.ProductDto;
+import br.com.solid.infrastructure.buffer.ReportBuffer;
+import br.com.solid.infrastructure.buffer.ReportBufferPool;
+import br.com.solid.infrastructure.reports.format.ReportNumberFormat;
+import br.com.solid.infrastructure.reports.interfaces.ReportGenerator;
+import br.com.solid.infrastructure.reports.text.ReportCSV;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput and allocation of a CSV report buffered in memory and then sent, as for cached
+ * and coalesced reports, with and without the buffer pool.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class ReportBufferBenchmark {
+
+    @Param({"1000", "100000"})
+    public int rows;
+
+    @Param({"false", "true"})
+    public boolean pooled;
+
+    private List<ProductDto> products;
+    private ReportBufferPool bufferPool;
+    private ReportGenerator generator;
+    private Path spoolDirectory;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        products = BenchmarkData.products(rows, 16, 0.0);
+        bufferPool = pooled ? new ReportBufferPool(ReportBufferPool.DEFAULT_CHUNK_SIZE, 32L * 1024 * 1024)
+                : ReportBufferPool.unpooled();
+        generator = new ReportCSV(ReportNumberFormat.defaults(), bufferPool);
+        spoolDirectory = Path.of(System.getProperty("java.io.tmpdir"), "report-buffers");
+    }
+
+    @Benchmark
+    public void bufferReport(ReportCounters counters, Blackhole blackhole) throws IOException {
+        var out = new BlackholeOutputStream(blackhole);
+        try (var buffer = new ReportBuffer(ReportBuffer.DEFAULT_MEMORY_THRESHOLD, spoolDirectory, bufferPool)) {
+            generator.generateReport(products, buffer);
+            buffer.transferTo(out);
+        }
+
+        counters.rows += rows;
+        counters.bytes += out.getBytes();
+    }
+}
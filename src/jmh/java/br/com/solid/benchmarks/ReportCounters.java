@@ -0,0 +1,28 @@
+package br.com.solid.benchmarks;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Secondary benchmark results reported as rates next to the primary score.
+ *
+ * <p>{@code rows} is reported in rows per second, so nanoseconds per row is
+ * {@code 1e9 / rows}. {@code bytes} is the report output rate. With {@code -prof gc},
+ * bytes allocated per row is {@code gc.alloc.rate.norm / rows-per-op}.</p>
+ */
+@State(Scope.Thread)
+@AuxCounters(AuxCounters.Type.OPERATIONS)
+public class ReportCounters {
+
+    public long rows;
+    public long bytes;
+
+    @Setup(Level.Iteration)
+    public void reset() {
+        rows = 0;
+        bytes = 0;
+    }
+}
@@ -0,0 +1,66 @@
+package br.com.solid.benchmarks;
+
+import br.com.solid.domain.dto.ProductDto;
+import br.com.solid.infrastructure.factories.ReportFactory;
+import br.com.solid.infrastructure.reports.interfaces.ReportGenerator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of each report generator over in-memory products.
+ *
+ * <p>The binary {@code xls} format is limited to 65,536 rows, so it only runs with row
+ * counts up to that limit: {@code -p extension=xls -p rows=1000,50000}.</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class ReportGeneratorBenchmark {
+
+    @Param({"csv", "txt", "xlsx", "pcol"})
+    public String extension;
+
+    @Param({"1000", "100000", "1000000"})
+    public int rows;
+
+    @Param({"16", "128"})
+    public int nameLength;
+
+    @Param({"0.0", "0.2"})
+    public double nullDensity;
+
+    private List<ProductDto> products;
+    private ReportGenerator generator;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        products = BenchmarkData.products(rows, nameLength, nullDensity);
+        generator = new ReportFactory().getReportGenerator(extension);
+    }
+
+    @Benchmark
+    public void generateReport(ReportCounters counters, Blackhole blackhole) {
+        var out = new BlackholeOutputStream(blackhole);
+        generator.generateReport(products, out);
+
+        counters.rows += rows;
+        counters.bytes += out.getBytes();
+    }
+}
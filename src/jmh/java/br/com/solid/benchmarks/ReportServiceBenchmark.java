@@ -0,0 +1,99 @@
+package br.com.solid.benchmarks;
+
+import br.com.solid.application.services.ReportServiceImpl;
+import br.com.solid.infrastructure.factories.ReportFactory;
+import br.com.solid.infrastructure.parsers.ProductCsvReader;
+import br.com.solid.infrastructure.parsers.ProductJsonReader;
+import br.com.solid.infrastructure.parsers.ProductPayloadReader;
+import br.com.solid.infrastructure.reports.text.ReportCSV;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of the full request path: incremental decoding of the payload, as a JSON array,
+ * newline-delimited JSON or CSV, followed by
+ * {@link ReportServiceImpl#generateReport(String, Iterable, java.io.OutputStream)}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class ReportServiceBenchmark {
+
+    @Param({"csv", "txt", "xlsx"})
+    public String extension;
+
+    @Param({"1000", "100000", "1000000"})
+    public int rows;
+
+    @Param({"16", "128"})
+    public int nameLength;
+
+    @Param({"0.0", "0.2"})
+    public double nullDensity;
+
+    @Param({"json", "ndjson", "csv"})
+    public String payloadFormat;
+
+    private byte[] payload;
+    private String contentType;
+    private ReportServiceImpl reportService;
+    private ProductPayloadReader productPayloadReader;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        var objectMapper = new ObjectMapper();
+        var products = BenchmarkData.products(rows, nameLength, nullDensity);
+
+        switch (payloadFormat) {
+            case "json" -> {
+                payload = objectMapper.writeValueAsBytes(products);
+                contentType = "application/json";
+            }
+            case "ndjson" -> {
+                var lines = new ByteArrayOutputStream();
+                for (var product : products) {
+                    lines.write(objectMapper.writeValueAsBytes(product));
+                    lines.write('\n');
+                }
+                payload = lines.toByteArray();
+                contentType = ProductPayloadReader.APPLICATION_NDJSON.toString();
+            }
+            case "csv" -> {
+                payload = new ReportCSV().generateReport(products);
+                contentType = ProductPayloadReader.TEXT_CSV.toString();
+            }
+            default -> throw new IllegalArgumentException("Unknown payload format: " + payloadFormat);
+        }
+        reportService = new ReportServiceImpl(new ReportFactory());
+        productPayloadReader = new ProductPayloadReader(new ProductJsonReader(objectMapper), new ProductCsvReader());
+    }
+
+    @Benchmark
+    public void generateReport(ReportCounters counters, Blackhole blackhole) {
+        var out = new BlackholeOutputStream(blackhole);
+        var products = productPayloadReader.read(new ByteArrayInputStream(payload), contentType);
+        reportService.generateReport(extension, products, out);
+
+        counters.rows += rows;
+        counters.bytes += out.getBytes();
+    }
+}
@@ -0,0 +1,165 @@
+package br.com.solid.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.ByteArrayOutputStream;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Load harness that downloads reports with thousands of slow clients at once.
+ *
+ * <p>Each client posts the same payload with chunked encoding, so the report is streamed
+ * rather than served from the cache, and then reads the response a few kilobytes at a time
+ * with a pause between reads, through a small receive buffer. Slow clients keep the server
+ * writing for a long time, which is what exhausts a platform-thread pool. Run it against
+ * a server started with and without the {@code virtual} profile and compare the time to
+ * first byte, the total time and the peak number of concurrent downloads.</p>
+ *
+ * <p>Arguments are {@code key=value} pairs: {@code url}, {@code clients}, {@code rows},
+ * {@code readBytes} and {@code readDelayMs}.</p>
+ */
+public final class SlowClientLoad {
+
+    private static final int CLIENT_STACK_SIZE = 256 * 1024;
+
+    private SlowClientLoad() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        var options = parse(args);
+        var uri = URI.create(options.getOrDefault("url", "http://localhost:8080/generateReport?extension=csv"));
+        var clients = Integer.parseInt(options.getOrDefault("clients", "2000"));
+        var rows = Integer.parseInt(options.getOrDefault("rows", "20000"));
+        var readBytes = Integer.parseInt(options.getOrDefault("readBytes", "4096"));
+        var readDelayMs = Long.parseLong(options.getOrDefault("readDelayMs", "10"));
+
+        var request = request(uri, new ObjectMapper().writeValueAsBytes(BenchmarkData.products(rows, 16, 0.0)));
+        var results = new ConcurrentLinkedQueue<Result>();
+        var downloading = new AtomicInteger();
+        var peakDownloading = new AtomicInteger();
+        var start = new CountDownLatch(1);
+        var threads = new ArrayList<Thread>(clients);
+
+        for (int i = 0; i < clients; i++) {
+            var thread = new Thread(null, () -> {
+                try {
+                    start.await();
+                    results.add(download(uri, request, readBytes, readDelayMs, downloading, peakDownloading));
+                } catch (Exception e) {
+                    results.add(new Result(-1, 0, 0, 0));
+                }
+            }, "slow-client-" + i, CLIENT_STACK_SIZE);
+            thread.start();
+            threads.add(thread);
+        }
+
+        var begin = System.nanoTime();
+        start.countDown();
+        for (var thread : threads) {
+            thread.join();
+        }
+        var elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - begin);
+
+        report(new ArrayList<>(results), elapsedMs, peakDownloading.get());
+    }
+
+    private static Result download(URI uri, byte[] request, int readBytes, long readDelayMs,
+                                   AtomicInteger downloading, AtomicInteger peakDownloading) throws Exception {
+        try (var socket = new Socket()) {
+            socket.setReceiveBufferSize(readBytes);
+            socket.setSoTimeout((int) TimeUnit.MINUTES.toMillis(5));
+            socket.connect(new InetSocketAddress(uri.getHost(), uri.getPort() < 0 ? 80 : uri.getPort()));
+
+            var sentAt = System.nanoTime();
+            socket.getOutputStream().write(request);
+            socket.getOutputStream().flush();
+
+            var in = socket.getInputStream();
+            var buffer = new byte[readBytes];
+            var read = in.read(buffer);
+            if (read < 0) {
+                return new Result(-1, 0, 0, 0);
+            }
+            var firstByteNanos = System.nanoTime() - sentAt;
+            var status = Integer.parseInt(new String(buffer, 9, 3, StandardCharsets.US_ASCII));
+            long bytes = read;
+
+            peakDownloading.accumulateAndGet(downloading.incrementAndGet(), Math::max);
+            try {
+                while ((read = in.read(buffer)) >= 0) {
+                    bytes += read;
+                    Thread.sleep(readDelayMs);
+                }
+            } finally {
+                downloading.decrementAndGet();
+            }
+            return new Result(status, firstByteNanos, System.nanoTime() - sentAt, bytes);
+        }
+    }
+
+    private static byte[] request(URI uri, byte[] payload) throws Exception {
+        var target = uri.getRawPath() + (uri.getRawQuery() == null ? "" : "?" + uri.getRawQuery());
+        var request = new ByteArrayOutputStream();
+
+        request.write(("POST " + target + " HTTP/1.1\r\n"
+                + "Host: " + uri.getRawAuthority() + "\r\n"
+                + "Content-Type: application/json\r\n"
+                + "Transfer-Encoding: chunked\r\n"
+                + "Connection: close\r\n\r\n"
+                + Integer.toHexString(payload.length) + "\r\n").getBytes(StandardCharsets.US_ASCII));
+        request.write(payload);
+        request.write("\r\n0\r\n\r\n".getBytes(StandardCharsets.US_ASCII));
+        return request.toByteArray();
+    }
+
+    private static void report(List<Result> results, long elapsedMs, int peakDownloading) {
+        var ok = results.stream().filter(result -> result.status() == 200).toList();
+        var rejected = results.stream().filter(result -> result.status() == 429).count();
+        var failed = results.size() - ok.size() - rejected;
+
+        System.out.printf("clients=%d ok=%d rejected=%d failed=%d elapsed=%dms peakConcurrentDownloads=%d%n",
+                results.size(), ok.size(), rejected, failed, elapsedMs, peakDownloading);
+        if (ok.isEmpty()) {
+            return;
+        }
+        var firstByte = ok.stream().mapToLong(Result::firstByteNanos).sorted().toArray();
+        var total = ok.stream().mapToLong(Result::totalNanos).sorted().toArray();
+        var megabytes = ok.stream().mapToLong(Result::bytes).sum() / (1024.0 * 1024);
+
+        System.out.printf("timeToFirstByte p50=%dms p99=%dms max=%dms%n",
+                millis(firstByte, 0.5), millis(firstByte, 0.99), millis(firstByte, 1.0));
+        System.out.printf("downloadTime p50=%dms p99=%dms max=%dms%n",
+                millis(total, 0.5), millis(total, 0.99), millis(total, 1.0));
+        System.out.printf("downloaded=%.1fMB%n", megabytes);
+    }
+
+    private static long millis(long[] sortedNanos, double percentile) {
+        var index = (int) Math.min(sortedNanos.length - 1, Math.ceil(percentile * sortedNanos.length) - 1);
+        return TimeUnit.NANOSECONDS.toMillis(sortedNanos[Math.max(0, index)]);
+    }
+
+    private static Map<String, String> parse(String[] args) {
+        var options = new HashMap<String, String>();
+        for (var arg : args) {
+            var separator = arg.indexOf('=');
+            if (separator > 0) {
+                options.put(arg.substring(0, separator), arg.substring(separator + 1));
+            }
+        }
+        return options;
+    }
+
+    private record Result(int status, long firstByteNanos, long totalNanos, long bytes) {
+    }
+}
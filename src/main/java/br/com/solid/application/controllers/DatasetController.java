@@ -0,0 +1,299 @@
+package br.com.solid.application.controllers;
+
+import br.com.solid.application.services.DatasetServiceImpl;
+import br.com.solid.application.services.ReportBundleServiceImpl;
+import br.com.solid.application.services.ReportServiceImpl;
+import br.com.solid.domain.dto.DatasetDto;
+import br.com.solid.domain.dto.DatasetUploadDto;
+import br.com.solid.infrastructure.admission.ReportAdmission;
+import br.com.solid.infrastructure.dataset.DatasetRows;
+import br.com.solid.infrastructure.dataset.DatasetStore;
+import br.com.solid.infrastructure.dataset.DatasetUploads;
+import br.com.solid.infrastructure.query.ReportQuery;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.InputStream;
+import java.net.URI;
+import java.util.List;
+
+/**
+ * Controller responsible for uploaded product datasets.
+ *
+ * <p>Clients upload a product list once and get a dataset identifier back; reports in any
+ * supported format are then generated from the stored dataset, skipping both the transfer
+ * and the parsing of the products on every export. Product lists too large for a single
+ * request are uploaded in numbered chunks under {@code /datasets/uploads}, and a failed
+ * chunk is simply sent again.</p>
+ */
+@RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@RequestMapping("/datasets")
+public class DatasetController {
+
+    private static final MediaType APPLICATION_ZIP = MediaType.parseMediaType("application/zip");
+
+    private final DatasetServiceImpl datasetServiceImpl;
+    private final ReportServiceImpl reportServiceImpl;
+    private final ReportBundleServiceImpl reportBundleServiceImpl;
+    private final ReportAdmission reportAdmission;
+
+    /**
+     * Constructor that injects the dataset and report services and the admission control.
+     *
+     * @param datasetServiceImpl The service responsible for the uploaded datasets.
+     * @param reportServiceImpl The service responsible for generating reports.
+     * @param reportBundleServiceImpl The service responsible for generating multi-format bundles.
+     * @param reportAdmission The admission control that bounds concurrent report generation.
+     */
+    @Autowired
+    public DatasetController(DatasetServiceImpl datasetServiceImpl, ReportServiceImpl reportServiceImpl,
+                             ReportBundleServiceImpl reportBundleServiceImpl, ReportAdmission reportAdmission) {
+        this.datasetServiceImpl = datasetServiceImpl;
+        this.reportServiceImpl = reportServiceImpl;
+        this.reportBundleServiceImpl = reportBundleServiceImpl;
+        this.reportAdmission = reportAdmission;
+    }
+
+    /**
+     * API endpoint to upload a dataset.
+     *
+     * <p>The body is a JSON array of products, newline-delimited JSON products
+     * ({@code application/x-ndjson}) or CSV with a header ({@code text/csv}), as given by its
+     * content type.</p>
+     *
+     * @param contentType The content type of the request body, if any.
+     * @param body The request body containing the products.
+     * @return {@code 201 Created} with the dataset and its location, or
+     * {@code 413 Payload Too Large} if the dataset does not fit in the store.
+     */
+    @PostMapping
+    public ResponseEntity<DatasetDto> uploadDataset(@RequestHeader(value = HttpHeaders.CONTENT_TYPE, required = false) String contentType,
+                                                    InputStream body) {
+        var dataset = datasetServiceImpl.upload(body, contentType);
+
+        return ResponseEntity.created(URI.create("/datasets/" + dataset.getId()))
+                .body(toDto(dataset));
+    }
+
+    /**
+     * API endpoint to start a dataset upload sent in chunks.
+     *
+     * @return {@code 201 Created} with the upload and its location.
+     */
+    @PostMapping("/uploads")
+    public ResponseEntity<DatasetUploadDto> startUpload() {
+        var upload = datasetServiceImpl.startUpload();
+
+        return ResponseEntity.created(URI.create("/datasets/uploads/" + upload.getId()))
+                .body(toDto(upload));
+    }
+
+    /**
+     * API endpoint to describe a dataset upload, including the number of the next chunk it expects.
+     *
+     * @param id The upload identifier.
+     * @return The upload.
+     */
+    @GetMapping("/uploads/{id}")
+    public DatasetUploadDto getUpload(@PathVariable("id") String id) {
+        return toDto(datasetServiceImpl.getUpload(id)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Upload not found")));
+    }
+
+    /**
+     * API endpoint to append a chunk of products to a dataset upload.
+     *
+     * <p>Chunks are numbered from zero and applied in order; each one is a complete payload in
+     * any of the formats accepted by {@link #uploadDataset(String, InputStream)}, and its
+     * products are decoded straight into the dataset as the body arrives. Resending a chunk
+     * that was already applied has no effect, and a chunk that failed can be sent again.</p>
+     *
+     * @param id The upload identifier.
+     * @param chunk The number of the chunk, from zero.
+     * @param contentType The content type of the request body, if any.
+     * @param body The request body containing the products of the chunk.
+     * @return The upload, {@code 409 Conflict} if the chunk is ahead of the next one expected or
+     * another chunk is being appended, or {@code 413 Payload Too Large} if the uploads in
+     * progress would hold too many products.
+     */
+    @PutMapping("/uploads/{id}/chunks/{chunk}")
+    public DatasetUploadDto appendChunk(@PathVariable("id") String id,
+                                        @PathVariable("chunk") int chunk,
+                                        @RequestHeader(value = HttpHeaders.CONTENT_TYPE, required = false) String contentType,
+                                        InputStream body) {
+        if (chunk < 0) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Chunk numbers start at 0");
+        }
+        return toDto(datasetServiceImpl.appendChunk(id, chunk, body, contentType)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Upload not found")));
+    }
+
+    /**
+     * API endpoint to complete a dataset upload and store its products as a dataset.
+     *
+     * @param id The upload identifier.
+     * @return {@code 201 Created} with the dataset and its location, or
+     * {@code 413 Payload Too Large} if the dataset does not fit in the store.
+     */
+    @PostMapping("/uploads/{id}/complete")
+    public ResponseEntity<DatasetDto> completeUpload(@PathVariable("id") String id) {
+        var dataset = datasetServiceImpl.completeUpload(id)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Upload not found"));
+
+        return ResponseEntity.created(URI.create("/datasets/" + dataset.getId()))
+                .body(toDto(dataset));
+    }
+
+    /**
+     * API endpoint to discard a dataset upload in progress.
+     *
+     * @param id The upload identifier.
+     * @return {@code 204 No Content}.
+     */
+    @DeleteMapping("/uploads/{id}")
+    public ResponseEntity<Void> deleteUpload(@PathVariable("id") String id) {
+        if (!datasetServiceImpl.deleteUpload(id)) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Upload not found");
+        }
+        return ResponseEntity.noContent().build();
+    }
+
+    /**
+     * API endpoint to describe a dataset.
+     *
+     * @param id The dataset identifier.
+     * @return The dataset.
+     */
+    @GetMapping("/{id}")
+    public DatasetDto getDataset(@PathVariable("id") String id) {
+        return toDto(findDataset(id));
+    }
+
+    /**
+     * API endpoint to generate a report from a dataset.
+     *
+     * <p>The report is streamed to the client while it is generated, as with
+     * {@code /generateReport}, and the request is admitted against the same memory budget and
+     * per-format caps, using the row count of the dataset. The same query parameters as
+     * {@code /generateReport} select the columns and rows of the report.</p>
+     *
+     * @param id The dataset identifier.
+     * @param extension The file extension that determines the report format (e.g., csv, txt, xlsx).
+     * @param columns The comma-separated columns to include, if not all of them.
+     * @param filters The filters in {@code column:operator:value} form the rows must match, if any.
+     * @param sort The comma-separated sort keys in {@code column[:asc|:desc]} form, if any.
+     * @param limit The maximum number of rows, if any.
+     * @return A {@link ResponseEntity} containing the streamed report and the appropriate headers.
+     */
+    @GetMapping("/{id}/report")
+    public ResponseEntity<StreamingResponseBody> generateReport(@PathVariable("id") String id,
+                                                                @RequestParam("extension") String extension,
+                                                                @RequestParam(value = "columns", required = false) String columns,
+                                                                @RequestParam(value = "filter", required = false) List<String> filters,
+                                                                @RequestParam(value = "sort", required = false) String sort,
+                                                                @RequestParam(value = "limit", required = false) Integer limit) {
+        reportServiceImpl.validateExtension(extension);
+        var query = ReportQuery.parse(columns, filters, sort, limit);
+        var dataset = findDataset(id);
+        var permit = reportAdmission.admitRows(List.of(extension), dataset.getRowCount(), false);
+
+        try {
+            var rows = openRows(id);
+            StreamingResponseBody report = outputStream -> {
+                try (permit; rows) {
+                    reportServiceImpl.generateReport(extension, rows, query, outputStream);
+                }
+            };
+
+            return ResponseEntity.ok()
+                    .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=report." + extension)
+                    .contentType(ReportMediaTypes.forExtension(extension))
+                    .body(report);
+        } catch (RuntimeException e) {
+            permit.close();
+            throw e;
+        }
+    }
+
+    /**
+     * API endpoint to generate a dataset in several formats at once, as a ZIP archive.
+     *
+     * @param id The dataset identifier.
+     * @param extensions The comma-separated file extensions of the formats (e.g., csv,txt,xlsx).
+     * @return A {@link ResponseEntity} containing the streamed ZIP archive and the appropriate headers.
+     */
+    @GetMapping("/{id}/reports")
+    public ResponseEntity<StreamingResponseBody> generateReports(@PathVariable("id") String id,
+                                                                 @RequestParam("extensions") String extensions) {
+        var formats = reportBundleServiceImpl.parseExtensions(extensions);
+        var dataset = findDataset(id);
+        var permit = reportAdmission.admitRows(formats, dataset.getRowCount(), false);
+
+        try {
+            var rows = openRows(id);
+            StreamingResponseBody bundle = outputStream -> {
+                try (permit; rows) {
+                    reportBundleServiceImpl.generateReportBundle(formats, rows, outputStream);
+                }
+            };
+
+            return ResponseEntity.ok()
+                    .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=reports.zip")
+                    .contentType(APPLICATION_ZIP)
+                    .body(bundle);
+        } catch (RuntimeException e) {
+            permit.close();
+            throw e;
+        }
+    }
+
+    /**
+     * API endpoint to discard a dataset.
+     *
+     * @param id The dataset identifier.
+     * @return {@code 204 No Content}.
+     */
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Void> deleteDataset(@PathVariable("id") String id) {
+        if (!datasetServiceImpl.deleteDataset(id)) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Dataset not found");
+        }
+        return ResponseEntity.noContent().build();
+    }
+
+    private DatasetStore.StoredDataset findDataset(String id) {
+        return datasetServiceImpl.getDataset(id)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Dataset not found"));
+    }
+
+    private DatasetRows openRows(String id) {
+        return datasetServiceImpl.openRows(id)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Dataset not found"));
+    }
+
+    private DatasetDto toDto(DatasetStore.StoredDataset dataset) {
+        return new DatasetDto(dataset.getId(), dataset.getRowCount(), dataset.getSizeBytes(), dataset.isSpilled(),
+                dataset.getCreatedAt(), dataset.getExpiresAt());
+    }
+
+    private DatasetUploadDto toDto(DatasetUploads.Upload upload) {
+        return new DatasetUploadDto(upload.getId(), upload.getChunks(), upload.getRowCount(), upload.getCreatedAt(),
+                upload.getExpiresAt());
+    }
+}
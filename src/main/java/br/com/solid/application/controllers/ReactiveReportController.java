@@ -0,0 +1,145 @@
+package br.com.solid.application.controllers;
+
+import br.com.solid.application.services.ReactiveReportServiceImpl;
+import br.com.solid.application.services.ReportServiceImpl;
+import br.com.solid.domain.dto.ProductDto;
+import br.com.solid.infrastructure.admission.ReportAdmission;
+import br.com.solid.infrastructure.query.ReportQuery;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Controller responsible for handling product report generation on the reactive stack.
+ *
+ * <p>This controller serves the same {@code /generateReport} API as {@link ReportController}
+ * when the application runs on Spring WebFlux (the {@code reactive} profile). The request
+ * body is decoded into a {@link Flux} of products and the report is written as a
+ * {@link Flux} of buffers, so a connection waiting on a slow client holds no thread.</p>
+ */
+@RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveReportController {
+
+    private final ReactiveReportServiceImpl reactiveReportServiceImpl;
+    private final ReportServiceImpl reportServiceImpl;
+    private final ReportAdmission reportAdmission;
+
+    /**
+     * Constructor that injects the report services and the admission control.
+     *
+     * @param reactiveReportServiceImpl The service responsible for generating reports as streams.
+     * @param reportServiceImpl The service that validates the report formats.
+     * @param reportAdmission The admission control that bounds concurrent report generation.
+     */
+    @Autowired
+    public ReactiveReportController(ReactiveReportServiceImpl reactiveReportServiceImpl,
+                                    ReportServiceImpl reportServiceImpl, ReportAdmission reportAdmission) {
+        this.reactiveReportServiceImpl = reactiveReportServiceImpl;
+        this.reportServiceImpl = reportServiceImpl;
+        this.reportAdmission = reportAdmission;
+    }
+
+    /**
+     * API endpoint to generate a product report.
+     *
+     * <p>This method generates a report based on the provided data and file extension.
+     * The report is returned as a downloadable file and streamed to the client while the
+     * request body is still being read, paced by how fast the client downloads it.</p>
+     *
+     * <p>The optional {@code columns}, {@code filter}, {@code sort} and {@code limit}
+     * parameters form a {@link ReportQuery}, as in {@link ReportController}. Caching,
+     * compression, archives and CSV request bodies are only offered by the servlet stack;
+     * newline-delimited JSON ({@code application/x-ndjson}) is decoded line by line by the
+     * WebFlux JSON decoder.</p>
+     *
+     * <p>Each request is admitted against a memory budget and a per-format concurrency cap
+     * when its report stream is subscribed, before any row is read, and holds its permit until
+     * the report completes, fails or is cancelled. A response that is never written takes no
+     * permit. Requests that cannot be admitted are rejected with {@code 429 Too Many Requests}.</p>
+     *
+     * <p>The optional {@code X-Request-Deadline} header bounds how long the report may take,
+     * as in {@link ReportController}. A client that goes away cancels the report stream,
+     * which stops the generation within a bounded number of rows.</p>
+     *
+     * @param extension The file extension that determines the report format (e.g., csv, txt, xlsx).
+     * @param columns The comma-separated columns to include, if not all of them.
+     * @param filters The filters in {@code column:operator:value} form the rows must match, if any.
+     * @param sort The comma-separated sort keys in {@code column[:asc|:desc]} form, if any.
+     * @param limit The maximum number of rows, if any.
+     * @param contentLength The size of the request body, if known.
+     * @param deadline The instant by which the client needs the report, if any.
+     * @param body The products of the request body, decoded from a JSON array or newline-delimited JSON.
+     * @param response The response, whose buffer factory allocates the report buffers.
+     * @return A {@link Mono} of the {@link ResponseEntity} containing the streamed report.
+     */
+    @PostMapping("/generateReport")
+    public Mono<ResponseEntity<Flux<DataBuffer>>> generateReport(@RequestParam("extension") String extension,
+                                                                 @RequestParam(value = "columns", required = false) String columns,
+                                                                 @RequestParam(value = "filter", required = false) List<String> filters,
+                                                                 @RequestParam(value = "sort", required = false) String sort,
+                                                                 @RequestParam(value = "limit", required = false) Integer limit,
+                                                                 @RequestHeader(value = HttpHeaders.CONTENT_LENGTH, required = false) Long contentLength,
+                                                                 @RequestHeader(value = ReportDeadlines.HEADER, required = false) String deadline,
+                                                                 @RequestBody Flux<ProductDto> body,
+                                                                 ServerHttpResponse response) {
+        reportServiceImpl.validateExtension(extension);
+        var query = ReportQuery.parse(columns, filters, sort, limit);
+        var cancellation = ReportDeadlines.fromHeader(deadline);
+
+        // The permit is taken only once the report is subscribed, so it is held exactly as long as the report.
+        var report = Flux.defer(() -> {
+            var permit = new PermitHolder();
+
+            // Admission may wait briefly for capacity, which must not happen on an event loop.
+            return Mono.fromCallable(() -> permit.hold(reportAdmission.admit(extension, contentLength, false)))
+                    .subscribeOn(Schedulers.boundedElastic())
+                    .flatMapMany(admitted -> reactiveReportServiceImpl.generateReport(extension, body, query,
+                            response.bufferFactory(), cancellation))
+                    .doFinally(signal -> permit.release());
+        });
+
+        return Mono.just(ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=report." + extension)
+                .contentType(ReportMediaTypes.forExtension(extension))
+                .body(report));
+    }
+
+    /**
+     * Holds the admission permit of one report, releasing it when the report completes, fails
+     * or is cancelled, also if that happens while the permit is still being acquired.
+     */
+    private static final class PermitHolder {
+
+        private static final Object RELEASED = new Object();
+
+        private final AtomicReference<Object> state = new AtomicReference<>();
+
+        private ReportAdmission.Permit hold(ReportAdmission.Permit permit) {
+            if (!state.compareAndSet(null, permit)) {
+                permit.close();
+            }
+            return permit;
+        }
+
+        private void release() {
+            if (state.getAndSet(RELEASED) instanceof ReportAdmission.Permit permit) {
+                permit.close();
+            }
+        }
+    }
+}
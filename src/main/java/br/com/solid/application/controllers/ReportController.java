@@ -1,17 +1,32 @@
 package br.com.solid.application.controllers;
 
+import br.com.solid.application.services.ReportBundleServiceImpl;
 import br.com.solid.application.services.ReportServiceImpl;
 import br.com.solid.domain.dto.ProductDto;
+import br.com.solid.infrastructure.admission.ReportAdmission;
+import br.com.solid.infrastructure.cancellation.ReportCancellation;
+import br.com.solid.infrastructure.compression.ContentCoding;
+import br.com.solid.infrastructure.compression.ReportCompressor;
+import br.com.solid.infrastructure.parsers.ProductPayloadReader;
+import br.com.solid.infrastructure.query.ReportQuery;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.PostMapping;
-import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.InputStream;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
 
 /**
  * Controller responsible for handling product report generation.
@@ -20,52 +35,274 @@ import java.util.List;
  * such as CSV, TXT, and XLSX, based on the file extension provided by the user.</p>
  */
 @RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 public class ReportController {
 
+    private static final String GZIP_ARCHIVE = "gz";
+    private static final MediaType APPLICATION_GZIP = MediaType.parseMediaType("application/gzip");
+    private static final MediaType APPLICATION_ZIP = MediaType.parseMediaType("application/zip");
+
     private final ReportServiceImpl reportServiceImpl;
+    private final ReportBundleServiceImpl reportBundleServiceImpl;
+    private final ProductPayloadReader productPayloadReader;
+    private final ReportCompressor reportCompressor;
+    private final ReportAdmission reportAdmission;
 
     /**
-     * Constructor that injects the report service.
+     * Constructor that injects the report services, the product reader, the report compressor
+     * and the admission control.
      *
      * @param reportServiceImpl The service responsible for generating reports.
+     * @param reportBundleServiceImpl The service responsible for generating multi-format bundles.
+     * @param productPayloadReader The reader that decodes the request body incrementally.
+     * @param reportCompressor The compressor that negotiates and applies response compression.
+     * @param reportAdmission The admission control that bounds concurrent report generation.
      */
     @Autowired
-    public ReportController(ReportServiceImpl reportServiceImpl) {
+    public ReportController(ReportServiceImpl reportServiceImpl, ReportBundleServiceImpl reportBundleServiceImpl,
+                            ProductPayloadReader productPayloadReader, ReportCompressor reportCompressor,
+                            ReportAdmission reportAdmission) {
         this.reportServiceImpl = reportServiceImpl;
+        this.reportBundleServiceImpl = reportBundleServiceImpl;
+        this.productPayloadReader = productPayloadReader;
+        this.reportCompressor = reportCompressor;
+        this.reportAdmission = reportAdmission;
     }
 
     /**
      * API endpoint to generate a product report.
      *
      * <p>This method generates a report based on the provided data and file extension.
-     * The report is returned as a downloadable file.</p>
+     * The report is returned as a downloadable file and streamed to the client while it is
+     * being generated, so the first bytes go out right away.</p>
+     *
+     * <p>The request body, a JSON array of {@link ProductDto}, is decoded incrementally while
+     * the report is written, so the product list is never materialized in memory. Bodies sent
+     * as newline-delimited JSON ({@code application/x-ndjson}) or CSV ({@code text/csv}) are
+     * decoded the same way, one line at a time, so a producer can stream millions of products
+     * with chunked transfer encoding without building one JSON array. Small
+     * payloads with a known length are instead decoded up front so the report can be served
+     * from the cache; their content hash is returned as an {@code ETag}, and a matching
+     * {@code If-None-Match} yields {@code 304 Not Modified} without generating anything.
+     * Buffered reports that outgrow memory spill to a temporary file, which is sent with
+     * {@link java.nio.channels.FileChannel#transferTo} instead of being read into the heap.
+     * Identical cacheable requests that arrive together share a single generation.</p>
+     *
+     * <p>Text reports are compressed on the fly when the client sends a matching
+     * {@code Accept-Encoding}. With {@code archive=gz}, any format is delivered as a
+     * {@code .gz} attachment instead.</p>
+     *
+     * <p>The optional {@code columns}, {@code filter}, {@code sort} and {@code limit}
+     * parameters form a {@link ReportQuery} that is evaluated while the report is generated,
+     * so only the selected columns and rows are encoded and sent. An invalid query is
+     * rejected with {@code 400 Bad Request}.</p>
+     *
+     * <p>Each request is admitted against a memory budget and a per-format concurrency cap
+     * before any work is done. Requests that cannot be admitted within a short wait are
+     * rejected with {@code 429 Too Many Requests} and a {@code Retry-After} header.</p>
+     *
+     * <p>An optional {@code X-Request-Deadline} header, in epoch milliseconds or as an
+     * ISO-8601 instant, bounds how long the report may take. A request whose deadline has
+     * passed before its report is ready fails with {@code 504 Gateway Timeout}; a report
+     * already being streamed is cut off. Generation also stops shortly after the client
+     * disconnects, as soon as writing to it fails.</p>
      *
      * @param extension The file extension that determines the report format (e.g., csv, txt, xlsx).
-     * @param data The list of {@link ProductDto} objects representing the product data to be included in the report.
-     * @return A {@link ResponseEntity} containing the generated report as a byte array and the appropriate headers.
+     * @param columns The comma-separated columns to include, if not all of them.
+     * @param filters The filters in {@code column:operator:value} form the rows must match, if any.
+     * @param sort The comma-separated sort keys in {@code column[:asc|:desc]} form, if any.
+     * @param limit The maximum number of rows, if any.
+     * @param archive The archive format the report is delivered in ({@code gz}), if any.
+     * @param ifNoneMatch The entity tags the client already holds, if any.
+     * @param acceptEncoding The content codings accepted by the client, if any.
+     * @param contentLength The size of the request body, if known.
+     * @param deadline The instant by which the client needs the report, if any.
+     * @param contentType The content type of the request body, which selects its format.
+     * @param body The request body containing the products.
+     * @return A {@link ResponseEntity} containing the streamed report and the appropriate headers.
      */
     @PostMapping("/generateReport")
-    public ResponseEntity<byte[]> generateReport(@RequestParam("extension") String extension, @RequestBody List<ProductDto> data) {
-        byte[] report = reportServiceImpl.generateReport(extension, data);
-        var fileName = "report." + extension;
-
-        return ResponseEntity.ok()
-                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=" + fileName)
-                .contentType(getMediaTypeForFileExtension(extension))
-                .body(report);
+    public ResponseEntity<StreamingResponseBody> generateReport(@RequestParam("extension") String extension,
+                                                                @RequestParam(value = "columns", required = false) String columns,
+                                                                @RequestParam(value = "filter", required = false) List<String> filters,
+                                                                @RequestParam(value = "sort", required = false) String sort,
+                                                                @RequestParam(value = "limit", required = false) Integer limit,
+                                                                @RequestParam(value = "archive", required = false) String archive,
+                                                                @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+                                                                @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+                                                                @RequestHeader(value = HttpHeaders.CONTENT_LENGTH, required = false) Long contentLength,
+                                                                @RequestHeader(value = ReportDeadlines.HEADER, required = false) String deadline,
+                                                                @RequestHeader(value = HttpHeaders.CONTENT_TYPE, required = false) String contentType,
+                                                                InputStream body) {
+        reportServiceImpl.validateExtension(extension);
+        var query = ReportQuery.parse(columns, filters, sort, limit);
+        var cancellation = ReportDeadlines.fromHeader(deadline);
+        var archived = isArchived(archive);
+        var coding = archived
+                ? Optional.of(ContentCoding.GZIP)
+                : reportCompressor.negotiate(extension, acceptEncoding, contentLength);
+
+        var cacheable = reportServiceImpl.isCacheable(contentLength);
+        var permit = reportAdmission.admit(extension, contentLength, cacheable);
+
+        try {
+            var response = cacheable
+                    ? generateCachedReport(extension, query, archived, coding, ifNoneMatch,
+                    productPayloadReader.readAll(body, contentType), cancellation, permit)
+                    : generateStreamedReport(extension, query, archived, coding,
+                    productPayloadReader.read(body, contentType), cancellation);
+            return releasedAfterBody(response, permit);
+        } catch (RuntimeException e) {
+            permit.close();
+            throw e;
+        }
     }
 
     /**
-     * Determines the correct {@link MediaType} based on the file extension.
+     * API endpoint to generate the same product report in several formats at once.
+     *
+     * <p>The request body, in any of the formats accepted by {@code /generateReport}, is
+     * uploaded and decoded only once, and every decoded row feeds the generators of all
+     * requested formats in a single pass. The reports are returned as a ZIP archive with one {@code report.<extension>}
+     * entry per format, in the requested order.</p>
+     *
+     * <p>The request is admitted once for all formats, taking a slot in each of them.</p>
      *
-     * @param extension The file extension (e.g., csv, txt, xlsx).
-     * @return The corresponding {@link MediaType} for the file extension.
+     * @param extensions The comma-separated file extensions of the formats (e.g., csv,txt,xlsx).
+     * @param contentLength The size of the request body, if known.
+     * @param contentType The content type of the request body, which selects its format.
+     * @param body The request body containing the products.
+     * @return A {@link ResponseEntity} containing the streamed ZIP archive and the appropriate headers.
+     */
+    @PostMapping("/generateReports")
+    public ResponseEntity<StreamingResponseBody> generateReports(@RequestParam("extensions") String extensions,
+                                                                 @RequestHeader(value = HttpHeaders.CONTENT_LENGTH, required = false) Long contentLength,
+                                                                 @RequestHeader(value = HttpHeaders.CONTENT_TYPE, required = false) String contentType,
+                                                                 InputStream body) {
+        var formats = reportBundleServiceImpl.parseExtensions(extensions);
+        var permit = reportAdmission.admit(formats, contentLength, false);
+
+        try {
+            var data = productPayloadReader.read(body, contentType);
+            StreamingResponseBody bundle = outputStream -> reportBundleServiceImpl.generateReportBundle(formats, data, outputStream);
+
+            var response = ResponseEntity.ok()
+                    .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=reports.zip")
+                    .contentType(APPLICATION_ZIP)
+                    .body(bundle);
+            return releasedAfterBody(response, permit);
+        } catch (RuntimeException e) {
+            permit.close();
+            throw e;
+        }
+    }
+
+    private ResponseEntity<StreamingResponseBody> generateStreamedReport(String extension, ReportQuery query,
+                                                                         boolean archived, Optional<ContentCoding> coding,
+                                                                         Iterable<ProductDto> data, ReportCancellation cancellation) {
+        StreamingResponseBody report = outputStream ->
+                reportServiceImpl.generateReport(extension, data, query, cancellation.output(outputStream), cancellation);
+
+        return reportResponse(ResponseEntity.ok(), extension, archived, coding)
+                .body(compressed(report, coding));
+    }
+
+    private ResponseEntity<StreamingResponseBody> generateCachedReport(String extension, ReportQuery query,
+                                                                       boolean archived, Optional<ContentCoding> coding,
+                                                                       String ifNoneMatch, List<ProductDto> data,
+                                                                       ReportCancellation cancellation,
+                                                                       ReportAdmission.Permit permit) {
+        var contentKey = reportServiceImpl.getContentKey(extension, data, query);
+        var eTag = "W/\"" + contentKey + "\"";
+
+        if (matches(ifNoneMatch, contentKey)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).build();
+        }
+
+        // Requests served by the cache or by another request's generation give their permit back right away.
+        var buffer = reportServiceImpl.getOrGenerateReport(extension, data, query, contentKey, cancellation, permit::close);
+        StreamingResponseBody report = outputStream -> {
+            try (buffer) {
+                buffer.transferTo(outputStream);
+            }
+        };
+
+        var response = reportResponse(ResponseEntity.ok(), extension, archived, coding).eTag(eTag);
+        if (coding.isEmpty()) {
+            response.contentLength(buffer.size());
+        }
+        return response.body(compressed(report, coding));
+    }
+
+    private ResponseEntity.BodyBuilder reportResponse(ResponseEntity.BodyBuilder response, String extension,
+                                                      boolean archived, Optional<ContentCoding> coding) {
+        if (archived) {
+            return response
+                    .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=report." + extension + "." + GZIP_ARCHIVE)
+                    .contentType(APPLICATION_GZIP);
+        }
+
+        response.header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=report." + extension)
+                .contentType(ReportMediaTypes.forExtension(extension));
+        if (reportCompressor.isCompressible(extension)) {
+            response.header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        }
+        coding.ifPresent(c -> response.header(HttpHeaders.CONTENT_ENCODING, c.getToken()));
+        return response;
+    }
+
+    private StreamingResponseBody compressed(StreamingResponseBody report, Optional<ContentCoding> coding) {
+        if (coding.isEmpty()) {
+            return report;
+        }
+        return outputStream -> {
+            try (var compressed = reportCompressor.compress(outputStream, coding.get())) {
+                report.writeTo(compressed);
+            }
+        };
+    }
+
+    /**
+     * Holds the admission permit until the response body has been written, since streamed
+     * reports are generated only then.
      */
-    private MediaType getMediaTypeForFileExtension(String extension) {
-        return switch (extension.toLowerCase()) {
-            case "csv", "txt" -> MediaType.TEXT_PLAIN;
-            case "xls", "xlsx" -> MediaType.APPLICATION_OCTET_STREAM;
-            default -> MediaType.APPLICATION_OCTET_STREAM;
+    private ResponseEntity<StreamingResponseBody> releasedAfterBody(ResponseEntity<StreamingResponseBody> response,
+                                                                    ReportAdmission.Permit permit) {
+        var report = response.getBody();
+        if (Objects.isNull(report)) {
+            permit.close();
+            return response;
+        }
+
+        StreamingResponseBody released = outputStream -> {
+            try (permit) {
+                report.writeTo(outputStream);
+            }
         };
+        return new ResponseEntity<>(released, response.getHeaders(), response.getStatusCode());
+    }
+
+    private boolean isArchived(String archive) {
+        if (Objects.isNull(archive)) {
+            return false;
+        }
+        if (!GZIP_ARCHIVE.equalsIgnoreCase(archive)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Unsupported archive format: " + archive);
+        }
+        return true;
+    }
+
+    /**
+     * Checks whether an {@code If-None-Match} header matches the content key, using the weak
+     * comparison required for conditional {@code GET}-like requests.
+     */
+    private boolean matches(String ifNoneMatch, String contentKey) {
+        if (Objects.isNull(ifNoneMatch)) {
+            return false;
+        }
+        return Arrays.stream(ifNoneMatch.split(","))
+                .map(String::trim)
+                .map(tag -> tag.startsWith("W/") ? tag.substring(2) : tag)
+                .anyMatch(tag -> tag.equals("*") || tag.equals("\"" + contentKey + "\""));
     }
-}
\ No newline at end of file
+}
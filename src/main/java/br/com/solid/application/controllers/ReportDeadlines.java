@@ -0,0 +1,54 @@
+package br.com.solid.application.controllers;
+
+import br.com.solid.infrastructure.cancellation.ReportCancellation;
+import br.com.solid.infrastructure.cancellation.ReportCancelledException;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.util.Objects;
+
+/**
+ * Turns the {@code X-Request-Deadline} header of a report request into the
+ * {@link ReportCancellation} of its generation.
+ */
+final class ReportDeadlines {
+
+    /**
+     * The header carrying the instant by which the client needs the report.
+     */
+    static final String HEADER = "X-Request-Deadline";
+
+    private ReportDeadlines() {
+    }
+
+    /**
+     * Creates the cancellation of a request from its deadline, given either in epoch
+     * milliseconds or as an ISO-8601 instant (e.g. {@code 2024-05-01T12:00:00Z}).
+     *
+     * @param deadline The value of the {@code X-Request-Deadline} header, if any.
+     * @return The cancellation of the request, without a deadline if the header is absent.
+     * @throws ResponseStatusException with {@code 400 Bad Request} if the deadline is malformed.
+     * @throws ReportCancelledException if the deadline has already passed.
+     */
+    static ReportCancellation fromHeader(String deadline) {
+        if (Objects.isNull(deadline)) {
+            return ReportCancellation.withoutDeadline();
+        }
+        var cancellation = ReportCancellation.until(parse(deadline.trim()));
+        cancellation.throwIfCancelled();
+        return cancellation;
+    }
+
+    private static Instant parse(String deadline) {
+        try {
+            if (!deadline.isEmpty() && deadline.chars().allMatch(Character::isDigit)) {
+                return Instant.ofEpochMilli(Long.parseLong(deadline));
+            }
+            return Instant.parse(deadline);
+        } catch (NumberFormatException | DateTimeException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid " + HEADER + ": " + deadline);
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package br.com.solid.application.controllers;
+
+import br.com.solid.application.jobs.ReportJobPayloadTooLargeException;
+import br.com.solid.infrastructure.admission.ReportAdmissionException;
+import br.com.solid.infrastructure.cancellation.ReportCancelledException;
+import br.com.solid.infrastructure.dataset.DatasetTooLargeException;
+import br.com.solid.infrastructure.dataset.DatasetUploadConflictException;
+import br.com.solid.infrastructure.parsers.ProductPayloadException;
+import br.com.solid.infrastructure.query.ReportQueryException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+/**
+ * Maps the capacity failures, invalid payloads and queries, and cancellations of report
+ * generation to HTTP responses, for every report endpoint.
+ */
+@RestControllerAdvice
+public class ReportExceptionHandler {
+
+    /**
+     * Rejects a report request that could not be admitted with {@code 429 Too Many Requests}.
+     *
+     * @param e The admission failure.
+     * @return {@code 429 Too Many Requests} with a {@code Retry-After} header.
+     */
+    @ExceptionHandler(ReportAdmissionException.class)
+    public ResponseEntity<Void> handleAdmissionRejected(ReportAdmissionException e) {
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(1, e.getRetryAfter().toSeconds())))
+                .build();
+    }
+
+    /**
+     * Rejects a dataset that does not fit in the dataset store with {@code 413 Payload Too Large}.
+     *
+     * @param e The store failure.
+     * @return {@code 413 Payload Too Large}.
+     */
+    @ExceptionHandler(DatasetTooLargeException.class)
+    public ResponseEntity<Void> handleDatasetTooLarge(DatasetTooLargeException e) {
+        return ResponseEntity.status(HttpStatus.PAYLOAD_TOO_LARGE).build();
+    }
+
+    /**
+     * Rejects a report job whose payload is too large to spool with {@code 413 Payload Too Large}.
+     *
+     * @param e The spooling failure.
+     * @return {@code 413 Payload Too Large}.
+     */
+    @ExceptionHandler(ReportJobPayloadTooLargeException.class)
+    public ResponseEntity<Void> handleJobPayloadTooLarge(ReportJobPayloadTooLargeException e) {
+        return ResponseEntity.status(HttpStatus.PAYLOAD_TOO_LARGE).build();
+    }
+
+    /**
+     * Rejects a chunk that is out of order, or sent while another chunk of the same upload is
+     * being appended, with {@code 409 Conflict}.
+     *
+     * @param e The upload conflict.
+     * @return {@code 409 Conflict} with the reason in the body.
+     */
+    @ExceptionHandler(DatasetUploadConflictException.class)
+    public ResponseEntity<String> handleUploadConflict(DatasetUploadConflictException e) {
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(e.getMessage());
+    }
+
+    /**
+     * Rejects a report request with an invalid query with {@code 400 Bad Request}.
+     *
+     * @param e The query failure.
+     * @return {@code 400 Bad Request} with the reason in the body.
+     */
+    @ExceptionHandler(ReportQueryException.class)
+    public ResponseEntity<String> handleInvalidQuery(ReportQueryException e) {
+        return ResponseEntity.badRequest().body(e.getMessage());
+    }
+
+    /**
+     * Rejects a request whose body of products is malformed with {@code 400 Bad Request}.
+     *
+     * <p>A payload that turns out to be malformed only after a streamed report has started is
+     * cut off instead, as with a passed deadline.</p>
+     *
+     * @param e The payload failure.
+     * @return {@code 400 Bad Request} with the reason in the body.
+     */
+    @ExceptionHandler(ProductPayloadException.class)
+    public ResponseEntity<String> handleInvalidPayload(ProductPayloadException e) {
+        return ResponseEntity.badRequest().body(e.getMessage());
+    }
+
+    /**
+     * Fails a report request whose deadline passed before its report was ready with
+     * {@code 504 Gateway Timeout}.
+     *
+     * <p>Once a streamed report has started, the response is already committed and the
+     * connection is closed instead, so the client never mistakes a partial report for a
+     * complete one.</p>
+     *
+     * @param e The cancellation.
+     * @return {@code 504 Gateway Timeout}.
+     */
+    @ExceptionHandler(ReportCancelledException.class)
+    public ResponseEntity<Void> handleCancelled(ReportCancelledException e) {
+        return ResponseEntity.status(HttpStatus.GATEWAY_TIMEOUT).build();
+    }
+}
@@ -0,0 +1,130 @@
+package br.com.solid.application.controllers;
+
+import br.com.solid.application.jobs.ReportJob;
+import br.com.solid.application.jobs.ReportJobStatus;
+import br.com.solid.application.services.ReportJobServiceImpl;
+import br.com.solid.domain.dto.ReportJobDto;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.InputStream;
+import java.net.URI;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Controller responsible for asynchronous product report jobs.
+ *
+ * <p>Large exports are submitted as jobs instead of holding a request thread and the client
+ * connection for the whole generation. Clients poll the job status, which includes the
+ * number of rows written so far, and download the report once the job has completed.</p>
+ */
+@RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@RequestMapping("/reportJobs")
+public class ReportJobController {
+
+    private static final String RETRY_AFTER_SECONDS = "30";
+
+    private final ReportJobServiceImpl reportJobServiceImpl;
+
+    /**
+     * Constructor that injects the report job service.
+     *
+     * @param reportJobServiceImpl The service responsible for running report jobs.
+     */
+    @Autowired
+    public ReportJobController(ReportJobServiceImpl reportJobServiceImpl) {
+        this.reportJobServiceImpl = reportJobServiceImpl;
+    }
+
+    /**
+     * API endpoint to submit a report job.
+     *
+     * @param extension The file extension that determines the report format (e.g., csv, txt, xlsx).
+     * @param body The request body containing a JSON array of products.
+     * @return {@code 202 Accepted} with the job status and its location, or
+     * {@code 503 Service Unavailable} with a {@code Retry-After} header when the queue is full.
+     */
+    @PostMapping
+    public ResponseEntity<ReportJobDto> submitJob(@RequestParam("extension") String extension, InputStream body) {
+        try {
+            var job = reportJobServiceImpl.submit(extension, body);
+
+            return ResponseEntity.accepted()
+                    .location(URI.create("/reportJobs/" + job.getId()))
+                    .body(toDto(job));
+        } catch (RejectedExecutionException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, RETRY_AFTER_SECONDS)
+                    .build();
+        }
+    }
+
+    /**
+     * API endpoint to poll the status of a report job.
+     *
+     * @param id The job identifier.
+     * @return The job status.
+     */
+    @GetMapping("/{id}")
+    public ReportJobDto getJob(@PathVariable("id") String id) {
+        return toDto(findJob(id));
+    }
+
+    /**
+     * API endpoint to download the report generated by a completed job.
+     *
+     * @param id The job identifier.
+     * @return The report file, or {@code 409 Conflict} if the job has not completed.
+     */
+    @GetMapping("/{id}/download")
+    public ResponseEntity<Resource> downloadReport(@PathVariable("id") String id) {
+        var job = findJob(id);
+
+        if (job.getStatus() != ReportJobStatus.COMPLETED) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "Report job is " + job.getStatus());
+        }
+
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=report." + job.getExtension())
+                .contentType(ReportMediaTypes.forExtension(job.getExtension()))
+                .body(new FileSystemResource(job.getReportFile()));
+    }
+
+    /**
+     * API endpoint to cancel a report job and discard its files.
+     *
+     * @param id The job identifier.
+     * @return {@code 204 No Content}.
+     */
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Void> deleteJob(@PathVariable("id") String id) {
+        if (!reportJobServiceImpl.deleteJob(id)) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Report job not found");
+        }
+        return ResponseEntity.noContent().build();
+    }
+
+    private ReportJob findJob(String id) {
+        return reportJobServiceImpl.getJob(id)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Report job not found"));
+    }
+
+    private ReportJobDto toDto(ReportJob job) {
+        return new ReportJobDto(job.getId(), job.getExtension(), job.getStatus().name(), job.getRowsWritten(),
+                job.getError(), job.getCreatedAt(), job.getFinishedAt());
+    }
+}
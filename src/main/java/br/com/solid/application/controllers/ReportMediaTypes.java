@@ -0,0 +1,26 @@
+package br.com.solid.application.controllers;
+
+import org.springframework.http.MediaType;
+
+/**
+ * Maps report file extensions to the {@link MediaType} used when returning them.
+ */
+final class ReportMediaTypes {
+
+    private ReportMediaTypes() {
+    }
+
+    /**
+     * Determines the correct {@link MediaType} based on the file extension.
+     *
+     * @param extension The file extension (e.g., csv, txt, xlsx).
+     * @return The corresponding {@link MediaType} for the file extension.
+     */
+    static MediaType forExtension(String extension) {
+        return switch (extension.toLowerCase()) {
+            case "csv", "txt" -> MediaType.TEXT_PLAIN;
+            case "xls", "xlsx", "pcol" -> MediaType.APPLICATION_OCTET_STREAM;
+            default -> MediaType.APPLICATION_OCTET_STREAM;
+        };
+    }
+}
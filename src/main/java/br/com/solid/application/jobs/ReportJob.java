@@ -0,0 +1,194 @@
+package br.com.solid.application.jobs;
+
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.Objects;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * State of an asynchronous report job.
+ *
+ * <p>A job owns two spool files: the submitted payload and the generated report. Its state
+ * is updated by the worker thread and read concurrently by status requests, so every
+ * mutable field is thread-safe.</p>
+ */
+public class ReportJob {
+
+    private final String id;
+    private final String extension;
+    private final Path payloadFile;
+    private final Path reportFile;
+    private final Instant createdAt;
+    private final AtomicReference<ReportJobStatus> status = new AtomicReference<>(ReportJobStatus.QUEUED);
+    private final AtomicLong rowsWritten = new AtomicLong();
+    private volatile String error;
+    private volatile Instant finishedAt;
+    private volatile Future<?> future;
+
+    /**
+     * Constructor that creates a queued job.
+     *
+     * @param id The job identifier.
+     * @param extension The file extension that determines the report format.
+     * @param payloadFile The file holding the submitted products.
+     * @param reportFile The file that will hold the generated report.
+     */
+    public ReportJob(String id, String extension, Path payloadFile, Path reportFile) {
+        this.id = id;
+        this.extension = extension;
+        this.payloadFile = payloadFile;
+        this.reportFile = reportFile;
+        this.createdAt = Instant.now();
+    }
+
+    /**
+     * Returns the job identifier.
+     *
+     * @return The job identifier.
+     */
+    public String getId() {
+        return id;
+    }
+
+    /**
+     * Returns the file extension that determines the report format.
+     *
+     * @return The file extension (e.g., csv, txt, xlsx).
+     */
+    public String getExtension() {
+        return extension;
+    }
+
+    /**
+     * Returns the spool file holding the submitted products.
+     *
+     * @return The payload file.
+     */
+    public Path getPayloadFile() {
+        return payloadFile;
+    }
+
+    /**
+     * Returns the spool file that holds the generated report.
+     *
+     * @return The report file.
+     */
+    public Path getReportFile() {
+        return reportFile;
+    }
+
+    /**
+     * Returns when the job was submitted.
+     *
+     * @return The submission instant.
+     */
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+
+    /**
+     * Returns the current status of the job.
+     *
+     * @return The job status.
+     */
+    public ReportJobStatus getStatus() {
+        return status.get();
+    }
+
+    /**
+     * Returns the number of rows handed to the report generator so far.
+     *
+     * @return The number of rows written.
+     */
+    public long getRowsWritten() {
+        return rowsWritten.get();
+    }
+
+    /**
+     * Returns the reason the job failed.
+     *
+     * @return The failure reason, or {@code null} if the job has not failed.
+     */
+    public String getError() {
+        return error;
+    }
+
+    /**
+     * Returns when the job completed, failed or was cancelled.
+     *
+     * @return The instant the job finished, or {@code null} if it is still queued or running.
+     */
+    public Instant getFinishedAt() {
+        return finishedAt;
+    }
+
+    /**
+     * Records that one more row has been handed to the report generator.
+     */
+    public void incrementRowsWritten() {
+        rowsWritten.incrementAndGet();
+    }
+
+    /**
+     * Moves the job from {@link ReportJobStatus#QUEUED} to {@link ReportJobStatus#RUNNING}.
+     *
+     * @return {@code true} if the job was still queued.
+     */
+    public boolean start() {
+        return status.compareAndSet(ReportJobStatus.QUEUED, ReportJobStatus.RUNNING);
+    }
+
+    /**
+     * Marks the job as completed, unless it has already finished.
+     */
+    public void complete() {
+        finish(ReportJobStatus.COMPLETED, null);
+    }
+
+    /**
+     * Marks the job as failed, unless it has already finished.
+     *
+     * @param error The reason of the failure.
+     */
+    public void fail(String error) {
+        finish(ReportJobStatus.FAILED, error);
+    }
+
+    /**
+     * Marks the job as cancelled and interrupts its worker, unless it has already finished.
+     *
+     * @return {@code true} if the job was cancelled by this call.
+     */
+    public boolean cancel() {
+        var cancelled = finish(ReportJobStatus.CANCELLED, null);
+        var task = future;
+        if (cancelled && Objects.nonNull(task)) {
+            task.cancel(true);
+        }
+        return cancelled;
+    }
+
+    /**
+     * Attaches the task running this job, so that it can be interrupted on cancellation.
+     *
+     * @param future The task running the job.
+     */
+    public void setFuture(Future<?> future) {
+        this.future = future;
+    }
+
+    private boolean finish(ReportJobStatus finalStatus, String error) {
+        var current = status.get();
+        while (!current.isFinished()) {
+            if (status.compareAndSet(current, finalStatus)) {
+                this.error = error;
+                this.finishedAt = Instant.now();
+                return true;
+            }
+            current = status.get();
+        }
+        return false;
+    }
+}
@@ -0,0 +1,16 @@
+package br.com.solid.application.jobs;
+
+/**
+ * Thrown when the payload of a report job is larger than {@code report.jobs.max-payload-bytes}.
+ */
+public class ReportJobPayloadTooLargeException extends RuntimeException {
+
+    /**
+     * Constructor that describes the rejected payload.
+     *
+     * @param message The reason the payload was rejected.
+     */
+    public ReportJobPayloadTooLargeException(String message) {
+        super(message);
+    }
+}
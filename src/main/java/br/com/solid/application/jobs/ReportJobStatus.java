@@ -0,0 +1,41 @@
+package br.com.solid.application.jobs;
+
+/**
+ * Lifecycle states of an asynchronous report job.
+ */
+public enum ReportJobStatus {
+
+    /**
+     * The job is waiting for a free worker.
+     */
+    QUEUED,
+
+    /**
+     * The report is being generated.
+     */
+    RUNNING,
+
+    /**
+     * The report was generated and can be downloaded.
+     */
+    COMPLETED,
+
+    /**
+     * Report generation failed.
+     */
+    FAILED,
+
+    /**
+     * The job was cancelled before it completed.
+     */
+    CANCELLED;
+
+    /**
+     * Indicates whether the job has reached a final state.
+     *
+     * @return {@code true} if the job will not change state anymore.
+     */
+    public boolean isFinished() {
+        return this == COMPLETED || this == FAILED || this == CANCELLED;
+    }
+}
@@ -0,0 +1,169 @@
+package br.com.solid.application.services;
+
+import br.com.solid.domain.dto.ProductDto;
+import br.com.solid.infrastructure.dataset.DatasetRows;
+import br.com.solid.infrastructure.dataset.DatasetStore;
+import br.com.solid.infrastructure.dataset.DatasetTooLargeException;
+import br.com.solid.infrastructure.dataset.DatasetUploadConflictException;
+import br.com.solid.infrastructure.dataset.DatasetUploads;
+import br.com.solid.infrastructure.dataset.ProductDataset;
+import br.com.solid.infrastructure.parsers.ProductPayloadReader;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.io.InputStream;
+import java.util.Optional;
+
+/**
+ * Service responsible for uploaded product datasets.
+ *
+ * <p>A payload is decoded once into a columnar {@link ProductDataset} and kept in the
+ * {@link DatasetStore}, so reports in any format can then be generated from it repeatedly
+ * without uploading or parsing the products again. Datasets too large to be sent in one
+ * request are uploaded in chunks through {@link DatasetUploads}, and stored once the last
+ * chunk has arrived.</p>
+ */
+@Service
+public class DatasetServiceImpl {
+
+    private final ProductPayloadReader productPayloadReader;
+    private final DatasetStore datasetStore;
+    private final DatasetUploads datasetUploads;
+
+    /**
+     * Constructor that injects the payload reader, the dataset store and the uploads in progress.
+     *
+     * @param productPayloadReader The reader that decodes uploaded payloads incrementally.
+     * @param datasetStore The store that holds the uploaded datasets.
+     * @param datasetUploads The dataset uploads sent in chunks that are still in progress.
+     */
+    @Autowired
+    public DatasetServiceImpl(ProductPayloadReader productPayloadReader, DatasetStore datasetStore,
+                              DatasetUploads datasetUploads) {
+        this.productPayloadReader = productPayloadReader;
+        this.datasetStore = datasetStore;
+        this.datasetUploads = datasetUploads;
+    }
+
+    /**
+     * Decodes a payload into a new dataset and stores it.
+     *
+     * <p>Products are appended to the column arrays as they are decoded, so no list of
+     * {@link ProductDto} objects is built along the way. The payload is decoded as the single
+     * chunk of an upload, so it counts against the row budget shared with the uploads in
+     * progress, and is rejected as soon as it exceeds it instead of after being built.</p>
+     *
+     * @param payload The stream containing the products.
+     * @param contentType The content type of the payload, which selects its format.
+     * @return The stored dataset.
+     * @throws IllegalArgumentException if the payload is not a valid payload of products.
+     * @throws DatasetTooLargeException if the uploads in progress would exceed their row budget,
+     * or the dataset exceeds the capacity of the store.
+     */
+    public DatasetStore.StoredDataset upload(InputStream payload, String contentType) {
+        var id = datasetUploads.start().getId();
+
+        try {
+            datasetUploads.append(id, 0, () -> productPayloadReader.read(payload, contentType));
+            return datasetUploads.complete(id)
+                    .map(datasetStore::put)
+                    .orElseThrow(() -> new IllegalStateException("Upload " + id + " expired"));
+        } catch (RuntimeException e) {
+            datasetUploads.remove(id);
+            throw e;
+        }
+    }
+
+    /**
+     * Starts a dataset upload to be sent in chunks.
+     *
+     * @return The upload, expecting chunk {@code 0}.
+     */
+    public DatasetUploads.Upload startUpload() {
+        return datasetUploads.start();
+    }
+
+    /**
+     * Retrieves a dataset upload in progress.
+     *
+     * @param id The upload identifier.
+     * @return The upload, or an empty {@link Optional} if it does not exist or has expired.
+     */
+    public Optional<DatasetUploads.Upload> getUpload(String id) {
+        return datasetUploads.get(id);
+    }
+
+    /**
+     * Decodes a chunk of products and appends it to an upload.
+     *
+     * <p>Each chunk is a complete payload in its own format, such as a JSON array or CSV with
+     * its header. A chunk that was already applied is acknowledged without reading the payload.</p>
+     *
+     * @param id The upload identifier.
+     * @param chunk The number of the chunk, from zero.
+     * @param payload The stream containing the products of the chunk.
+     * @param contentType The content type of the payload, which selects its format.
+     * @return The upload, or an empty {@link Optional} if it does not exist or has expired.
+     * @throws IllegalArgumentException if the payload is not a valid payload of products.
+     * @throws DatasetUploadConflictException if the chunk is out of order or another chunk is being appended.
+     * @throws DatasetTooLargeException if the uploads in progress would exceed their row budget.
+     */
+    public Optional<DatasetUploads.Upload> appendChunk(String id, int chunk, InputStream payload, String contentType) {
+        return datasetUploads.append(id, chunk, () -> productPayloadReader.read(payload, contentType));
+    }
+
+    /**
+     * Completes an upload and stores its products as a dataset.
+     *
+     * @param id The upload identifier.
+     * @return The stored dataset, or an empty {@link Optional} if the upload does not exist or has expired.
+     * @throws DatasetUploadConflictException if a chunk of the upload is being appended.
+     * @throws DatasetTooLargeException if the dataset exceeds the capacity of the store.
+     */
+    public Optional<DatasetStore.StoredDataset> completeUpload(String id) {
+        return datasetUploads.complete(id).map(datasetStore::put);
+    }
+
+    /**
+     * Discards a dataset upload in progress.
+     *
+     * @param id The upload identifier.
+     * @return {@code true} if the upload existed.
+     * @throws DatasetUploadConflictException if a chunk of the upload is being appended.
+     */
+    public boolean deleteUpload(String id) {
+        return datasetUploads.remove(id);
+    }
+
+    /**
+     * Retrieves a dataset by its identifier.
+     *
+     * @param id The dataset identifier.
+     * @return The dataset, or an empty {@link Optional} if it does not exist or has expired.
+     */
+    public Optional<DatasetStore.StoredDataset> getDataset(String id) {
+        return datasetStore.get(id);
+    }
+
+    /**
+     * Opens the products of a dataset for a single report.
+     *
+     * <p>The caller must close the returned rows once the report is done.</p>
+     *
+     * @param id The dataset identifier.
+     * @return The products, or an empty {@link Optional} if the dataset does not exist or has expired.
+     */
+    public Optional<DatasetRows> openRows(String id) {
+        return datasetStore.rows(id);
+    }
+
+    /**
+     * Discards a dataset.
+     *
+     * @param id The dataset identifier.
+     * @return {@code true} if the dataset existed.
+     */
+    public boolean deleteDataset(String id) {
+        return datasetStore.remove(id);
+    }
+}
@@ -0,0 +1,177 @@
+package br.com.solid.application.services;
+
+import br.com.solid.domain.dto.ProductDto;
+import br.com.solid.infrastructure.cancellation.ReportCancellation;
+import br.com.solid.infrastructure.cancellation.ReportCancelledException;
+import br.com.solid.infrastructure.config.ReportProperties;
+import br.com.solid.infrastructure.factories.ReportFactory;
+import br.com.solid.infrastructure.metrics.ReportMetrics;
+import br.com.solid.infrastructure.query.ReportQuery;
+import br.com.solid.infrastructure.reports.interfaces.ReportGenerator;
+import br.com.solid.infrastructure.reports.text.AbstractReportTextGenerator;
+import br.com.solid.infrastructure.reports.text.ParallelReportTextGenerator;
+import br.com.solid.infrastructure.reports.text.ReactiveTextReportEncoder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.Objects;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Service responsible for generating product reports as reactive streams.
+ *
+ * <p>This is the non-blocking counterpart of {@link ReportServiceImpl}: products arrive as a
+ * {@link Flux} and the report leaves as a {@link Flux} of {@link DataBuffer}s, with
+ * backpressure from the consumer of the report all the way back to the source of the
+ * products. Text reports whose query needs no sort are filtered, limited and encoded on
+ * the fly without blocking any thread. Excel reports, which Apache POI builds through a
+ * blocking {@link java.io.OutputStream}, and sorted queries, which must see every product
+ * first, are generated by {@link ReportServiceImpl} on the bounded elastic scheduler, and
+ * their output is still handed over only as fast as it is consumed.</p>
+ *
+ * <p>A report stream that is cancelled by its consumer, or whose deadline passes, cancels
+ * its {@link ReportCancellation}: encoding on the fly simply stops, and a blocking
+ * generation stops within the configured number of rows.</p>
+ */
+@Service
+public class ReactiveReportServiceImpl {
+
+    private static final int BLOCKING_CHUNK_SIZE = 64 * 1024;
+    private static final Executor BLOCKING_EXECUTOR = task -> Schedulers.boundedElastic().schedule(task);
+
+    private final ReportFactory reportFactory;
+    private final ReportServiceImpl reportServiceImpl;
+    private final ReportMetrics reportMetrics;
+    private final int batchSize;
+
+    /**
+     * Constructor that injects the report factory, the blocking report service and the report metrics.
+     *
+     * @param reportFactory The factory responsible for providing the correct report generator.
+     * @param reportServiceImpl The service that generates reports which cannot be encoded without blocking.
+     * @param properties The report configuration properties.
+     * @param reportMetrics The metrics recorded for every generated report.
+     */
+    @Autowired
+    public ReactiveReportServiceImpl(ReportFactory reportFactory, ReportServiceImpl reportServiceImpl,
+                                     ReportProperties properties, ReportMetrics reportMetrics) {
+        this.reportFactory = reportFactory;
+        this.reportServiceImpl = reportServiceImpl;
+        this.reportMetrics = reportMetrics;
+        this.batchSize = properties.getReactive().getBatchSize();
+    }
+
+    /**
+     * Generates the result of a query over the products in the specified format.
+     *
+     * <p>Nothing happens until the returned {@link Flux} is subscribed; the products are
+     * then read as the report is consumed.</p>
+     *
+     * @param extension The file extension that determines the report format (e.g., csv, txt, xlsx).
+     * @param data The {@link ProductDto} objects representing the product data to be queried.
+     * @param query The {@link ReportQuery} that selects the columns and rows of the report.
+     * @param bufferFactory The factory of the output buffers.
+     * @return The report, as a stream of buffers.
+     * @throws IllegalArgumentException if the file extension is unsupported.
+     */
+    public Flux<DataBuffer> generateReport(String extension, Flux<ProductDto> data, ReportQuery query,
+                                           DataBufferFactory bufferFactory) {
+        return generateReport(extension, data, query, bufferFactory, ReportCancellation.withoutDeadline());
+    }
+
+    /**
+     * Generates the result of a query over the products in the specified format, until the
+     * report is complete, its stream is cancelled or its deadline passes.
+     *
+     * <p>Cancelling the returned {@link Flux} cancels the generation as a disconnect. Once
+     * the deadline passes, the report stream fails with a {@link ReportCancelledException}.</p>
+     *
+     * @param extension The file extension that determines the report format (e.g., csv, txt, xlsx).
+     * @param data The {@link ProductDto} objects representing the product data to be queried.
+     * @param query The {@link ReportQuery} that selects the columns and rows of the report.
+     * @param bufferFactory The factory of the output buffers.
+     * @param cancellation The cancellation and deadline of the generation.
+     * @return The report, as a stream of buffers.
+     * @throws IllegalArgumentException if the file extension is unsupported.
+     */
+    public Flux<DataBuffer> generateReport(String extension, Flux<ProductDto> data, ReportQuery query,
+                                           DataBufferFactory bufferFactory, ReportCancellation cancellation) {
+        var reportGenerator = reportFactory.getReportGenerator(extension);
+        var format = textFormatOf(reportGenerator);
+
+        Flux<DataBuffer> report;
+        if (Objects.isNull(format) || query.isSorted()) {
+            report = Flux.from(DataBufferUtils.outputStreamPublisher(
+                    outputStream -> reportServiceImpl.generateReport(extension, data.toIterable(), query, outputStream, cancellation),
+                    bufferFactory, BLOCKING_EXECUTOR, BLOCKING_CHUNK_SIZE));
+        } else {
+            var rows = query.hasFilters() ? data.filter(query::matches) : data;
+            if (query.hasLimit()) {
+                rows = rows.take(query.getLimit(), true);
+            }
+            report = measured(extension, rows, new ReactiveTextReportEncoder(format, batchSize), query, bufferFactory,
+                    cancellation);
+        }
+        return withDeadline(report.doOnCancel(() -> cancellation.cancel(ReportCancellation.Reason.DISCONNECT)),
+                cancellation);
+    }
+
+    private Flux<DataBuffer> measured(String extension, Flux<ProductDto> rows, ReactiveTextReportEncoder encoder,
+                                      ReportQuery query, DataBufferFactory bufferFactory,
+                                      ReportCancellation cancellation) {
+        return Flux.defer(() -> {
+            var recording = reportMetrics.start(extension);
+            var rowCount = new AtomicLong();
+            var byteCount = new AtomicLong();
+
+            return encoder.encode(rows.doOnNext(row -> rowCount.incrementAndGet()), query.getSchema(), bufferFactory)
+                    .doOnNext(buffer -> byteCount.addAndGet(buffer.readableByteCount()))
+                    .doOnComplete(() -> {
+                        recording.recordGenerated(rowCount.get(), byteCount.get());
+                        recording.success();
+                    })
+                    .doFinally(signal -> {
+                        if (signal == SignalType.CANCEL && Objects.nonNull(cancellation.getReason())) {
+                            recording.cancelled(cancellation.getReason());
+                        }
+                        recording.stop();
+                    });
+        });
+    }
+
+    /**
+     * Ends the report stream once the deadline passes, failing it so that a truncated
+     * report is not mistaken for a complete one.
+     */
+    private static Flux<DataBuffer> withDeadline(Flux<DataBuffer> report, ReportCancellation cancellation) {
+        var remaining = cancellation.getRemaining();
+        if (remaining.isEmpty()) {
+            return report;
+        }
+        var expired = Mono.delay(remaining.get())
+                .doOnNext(tick -> cancellation.cancel(ReportCancellation.Reason.DEADLINE));
+
+        return report.takeUntilOther(expired)
+                .concatWith(Mono.defer(() -> cancellation.getReason() == ReportCancellation.Reason.DEADLINE
+                        ? Mono.error(new ReportCancelledException(ReportCancellation.Reason.DEADLINE))
+                        : Mono.empty()));
+    }
+
+    private static AbstractReportTextGenerator textFormatOf(ReportGenerator reportGenerator) {
+        if (reportGenerator instanceof ParallelReportTextGenerator parallel) {
+            return parallel.getDelegate();
+        }
+        if (reportGenerator instanceof AbstractReportTextGenerator text) {
+            return text;
+        }
+        return null;
+    }
+}
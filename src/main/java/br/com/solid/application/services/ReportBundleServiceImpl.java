@@ -0,0 +1,167 @@
+package br.com.solid.application.services;
+
+import br.com.solid.domain.dto.ProductDto;
+import br.com.solid.infrastructure.buffer.ReportBuffer;
+import br.com.solid.infrastructure.config.ReportConfiguration;
+import br.com.solid.infrastructure.config.ReportProperties;
+import br.com.solid.infrastructure.fanout.RowFanOut;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Service;
+import org.springframework.util.StreamUtils;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.function.Consumer;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedOutputStream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Service responsible for generating the same product report in several formats at once.
+ *
+ * <p>The payload is decoded a single time and every decoded row is handed to the generators
+ * of all requested formats, which run side by side. Each report is buffered, spilling to
+ * disk once it outgrows the memory threshold, and the reports are then delivered together
+ * as a ZIP archive with one entry per format.</p>
+ */
+@Service
+public class ReportBundleServiceImpl {
+
+    private final ReportServiceImpl reportServiceImpl;
+    private final RowFanOut<ProductDto> rowFanOut;
+    private final ReportProperties.Bundle settings;
+    private final ReportProperties.Compression compressionSettings;
+
+    /**
+     * Constructor that injects the report service, the executor of the generators and the
+     * report configuration properties.
+     *
+     * @param reportServiceImpl The service responsible for generating each report.
+     * @param executor The executor on which the generators of a bundle run.
+     * @param properties The report configuration properties.
+     */
+    @Autowired
+    public ReportBundleServiceImpl(ReportServiceImpl reportServiceImpl,
+                                   @Qualifier(ReportConfiguration.REPORT_FAN_OUT_EXECUTOR) ExecutorService executor,
+                                   ReportProperties properties) {
+        this.reportServiceImpl = reportServiceImpl;
+        this.settings = properties.getBundle();
+        this.compressionSettings = properties.getCompression();
+        this.rowFanOut = new RowFanOut<>(executor, settings.getBatchSize(), settings.getBatchesInFlight());
+    }
+
+    /**
+     * Parses and validates the formats requested for a bundle.
+     *
+     * <p>Extensions are separated by commas, compared ignoring case, and duplicates are
+     * dropped while keeping the requested order.</p>
+     *
+     * @param extensions The comma-separated file extensions (e.g., csv,txt,xlsx).
+     * @return The distinct lowercase extensions, in the requested order.
+     * @throws IllegalArgumentException if no format, too many formats, or an unsupported one is requested.
+     */
+    public List<String> parseExtensions(String extensions) {
+        var formats = new ArrayList<String>();
+
+        for (var extension : extensions.split(",")) {
+            var format = extension.trim().toLowerCase();
+            if (!format.isEmpty() && !formats.contains(format)) {
+                reportServiceImpl.validateExtension(format);
+                formats.add(format);
+            }
+        }
+
+        if (formats.isEmpty()) {
+            throw new IllegalArgumentException("At least one file extension is required");
+        }
+        if (formats.size() > settings.getMaxFormats()) {
+            throw new IllegalArgumentException("At most " + settings.getMaxFormats() + " formats can be bundled");
+        }
+        return formats;
+    }
+
+    /**
+     * Generates a report in each of the given formats from a single pass over the data, and
+     * writes them to the output stream as a ZIP archive.
+     *
+     * <p>Each entry is named {@code report.<extension>}. Formats compressed through
+     * {@code report.compression.extensions} are deflated at the configured level; the others,
+     * such as xlsx, which is already a zip archive, are written as stored entries, whose
+     * checksum is computed from the buffered report before the entry is written. The output
+     * stream is flushed but not closed.</p>
+     *
+     * @param extensions The file extensions that determine the report formats, as returned by {@link #parseExtensions(String)}.
+     * @param data The {@link ProductDto} objects representing the product data, iterated exactly once.
+     * @param outputStream The {@link OutputStream} to which the archive will be written.
+     */
+    public void generateReportBundle(List<String> extensions, Iterable<ProductDto> data, OutputStream outputStream) {
+        var buffers = new ArrayList<ReportBuffer>();
+
+        try {
+            var generators = new ArrayList<Consumer<Iterable<ProductDto>>>();
+            for (var extension : extensions) {
+                var buffer = reportServiceImpl.createBuffer();
+                buffers.add(buffer);
+                generators.add(rows -> reportServiceImpl.generateReport(extension, rows, buffer));
+            }
+
+            rowFanOut.run(data, generators);
+            writeArchive(extensions, buffers, outputStream);
+        } finally {
+            closeQuietly(buffers);
+        }
+    }
+
+    private void writeArchive(List<String> extensions, List<ReportBuffer> buffers, OutputStream outputStream) {
+        try (var zip = new ZipOutputStream(StreamUtils.nonClosing(outputStream))) {
+            for (int i = 0; i < extensions.size(); i++) {
+                var extension = extensions.get(i);
+                var buffer = buffers.get(i);
+                if (isCompressible(extension)) {
+                    zip.setLevel(compressionSettings.getLevel());
+                    zip.putNextEntry(new ZipEntry("report." + extension));
+                } else {
+                    zip.putNextEntry(storedEntry("report." + extension, buffer));
+                }
+                buffer.transferTo(zip);
+                zip.closeEntry();
+            }
+            zip.finish();
+            outputStream.flush();
+        } catch (IOException e) {
+            throw new RuntimeException("Error writing report bundle: " + e.getMessage());
+        }
+    }
+
+    private static ZipEntry storedEntry(String name, ReportBuffer buffer) throws IOException {
+        var crc = new CRC32();
+        buffer.transferTo(new CheckedOutputStream(OutputStream.nullOutputStream(), crc));
+
+        var entry = new ZipEntry(name);
+        entry.setMethod(ZipEntry.STORED);
+        entry.setSize(buffer.size());
+        entry.setCompressedSize(buffer.size());
+        entry.setCrc(crc.getValue());
+        return entry;
+    }
+
+    private boolean isCompressible(String extension) {
+        return compressionSettings.isEnabled() && compressionSettings.getExtensions().contains(extension);
+    }
+
+    private static void closeQuietly(Collection<ReportBuffer> buffers) {
+        for (var buffer : buffers) {
+            try {
+                buffer.close();
+            } catch (IOException e) {
+                // The temporary file is deleted on close, so there is nothing else to release.
+            }
+        }
+    }
+}
@@ -0,0 +1,232 @@
+package br.com.solid.application.services;
+
+import br.com.solid.application.jobs.ReportJob;
+import br.com.solid.application.jobs.ReportJobPayloadTooLargeException;
+import br.com.solid.application.jobs.ReportJobStatus;
+import br.com.solid.domain.dto.ProductDto;
+import br.com.solid.infrastructure.config.ReportConfiguration;
+import br.com.solid.infrastructure.config.ReportProperties;
+import br.com.solid.infrastructure.parsers.ProductJsonReader;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * Service responsible for generating product reports asynchronously.
+ *
+ * <p>Submitted payloads are spooled to disk and queued on a bounded executor. Each job
+ * writes its report to a local file, which can be downloaded once the job completes.
+ * Finished jobs are discarded, along with their files, after the configured retention.</p>
+ */
+@Service
+public class ReportJobServiceImpl {
+
+    private final ReportServiceImpl reportServiceImpl;
+    private final ProductJsonReader productJsonReader;
+    private final ExecutorService executor;
+    private final ReportProperties.Jobs settings;
+    private final Map<String, ReportJob> jobs = new ConcurrentHashMap<>();
+
+    /**
+     * Constructor that injects the report service, the payload reader and the job executor.
+     *
+     * @param reportServiceImpl The service responsible for generating reports.
+     * @param productJsonReader The reader that decodes spooled payloads incrementally.
+     * @param executor The bounded executor that runs the jobs.
+     * @param properties The report configuration properties.
+     */
+    @Autowired
+    public ReportJobServiceImpl(ReportServiceImpl reportServiceImpl, ProductJsonReader productJsonReader,
+                                @Qualifier(ReportConfiguration.REPORT_JOB_EXECUTOR) ExecutorService executor,
+                                ReportProperties properties) {
+        this.reportServiceImpl = reportServiceImpl;
+        this.productJsonReader = productJsonReader;
+        this.executor = executor;
+        this.settings = properties.getJobs();
+    }
+
+    /**
+     * Spools the payload to disk and queues a job that generates the report.
+     *
+     * <p>The payload is counted while it is copied, and a payload that outgrows
+     * {@code report.jobs.max-payload-bytes} is rejected and its partial file removed.</p>
+     *
+     * @param extension The file extension that determines the report format (e.g., csv, txt, xlsx).
+     * @param payload The stream containing a JSON array of products.
+     * @return The queued {@link ReportJob}.
+     * @throws IllegalArgumentException if the file extension is unsupported.
+     * @throws RejectedExecutionException if the job queue is full.
+     * @throws ReportJobPayloadTooLargeException if the payload exceeds {@code report.jobs.max-payload-bytes}.
+     */
+    public ReportJob submit(String extension, InputStream payload) {
+        reportServiceImpl.validateExtension(extension);
+        purgeExpired();
+        rejectIfQueueFull();
+
+        var id = UUID.randomUUID().toString();
+        ReportJob job;
+
+        try {
+            var directory = Files.createDirectories(settings.getSpoolDirectory());
+            job = new ReportJob(id, extension, directory.resolve(id + ".json"),
+                    directory.resolve(id + "." + extension.toLowerCase()));
+        } catch (Exception e) {
+            throw new RuntimeException("Error spooling report payload: " + e.getMessage());
+        }
+
+        try {
+            spool(payload, job.getPayloadFile());
+        } catch (ReportJobPayloadTooLargeException e) {
+            deleteFiles(job);
+            throw e;
+        } catch (Exception e) {
+            deleteFiles(job);
+            throw new RuntimeException("Error spooling report payload: " + e.getMessage());
+        }
+
+        jobs.put(id, job);
+        try {
+            job.setFuture(executor.submit(() -> run(job)));
+        } catch (RejectedExecutionException e) {
+            jobs.remove(id);
+            deleteFiles(job);
+            throw e;
+        }
+        return job;
+    }
+
+    /**
+     * Retrieves a job by its identifier.
+     *
+     * @param id The job identifier.
+     * @return The job, or an empty {@link Optional} if it does not exist or has expired.
+     */
+    public Optional<ReportJob> getJob(String id) {
+        purgeExpired();
+        return Optional.ofNullable(jobs.get(id));
+    }
+
+    /**
+     * Cancels a job if it is still running and discards it along with its files.
+     *
+     * @param id The job identifier.
+     * @return {@code true} if the job existed.
+     */
+    public boolean deleteJob(String id) {
+        var job = jobs.remove(id);
+        if (Objects.isNull(job)) {
+            return false;
+        }
+        job.cancel();
+        deleteFiles(job);
+        return true;
+    }
+
+    private void run(ReportJob job) {
+        if (!job.start()) {
+            return;
+        }
+
+        // Files are cleaned up before the status changes, so a finished job never has leftovers.
+        try {
+            try (var in = new BufferedInputStream(Files.newInputStream(job.getPayloadFile()));
+                 var out = new BufferedOutputStream(Files.newOutputStream(job.getReportFile()))) {
+
+                var products = productJsonReader.read(in);
+                reportServiceImpl.generateReport(job.getExtension(), countRows(products, job), out);
+            }
+            deleteQuietly(job.getPayloadFile());
+            job.complete();
+        } catch (Exception e) {
+            deleteFiles(job);
+            job.fail(e.getMessage());
+        }
+        if (job.getStatus() == ReportJobStatus.CANCELLED) {
+            deleteFiles(job);
+        }
+    }
+
+    private void spool(InputStream payload, Path file) throws IOException {
+        var maxBytes = settings.getMaxPayloadBytes();
+        var buffer = new byte[8192];
+        var copied = 0L;
+
+        try (var out = Files.newOutputStream(file)) {
+            for (int read; (read = payload.read(buffer)) != -1; ) {
+                copied += read;
+                if (copied > maxBytes) {
+                    throw new ReportJobPayloadTooLargeException("Report job payload exceeds " + maxBytes + " bytes");
+                }
+                out.write(buffer, 0, read);
+            }
+        }
+    }
+
+    private Iterable<ProductDto> countRows(Iterable<ProductDto> products, ReportJob job) {
+        return () -> {
+            var iterator = products.iterator();
+            return new Iterator<>() {
+                @Override
+                public boolean hasNext() {
+                    return iterator.hasNext();
+                }
+
+                @Override
+                public ProductDto next() {
+                    var product = iterator.next();
+                    job.incrementRowsWritten();
+                    return product;
+                }
+            };
+        };
+    }
+
+    private void rejectIfQueueFull() {
+        if (executor instanceof ThreadPoolExecutor pool && pool.getQueue().remainingCapacity() == 0) {
+            throw new RejectedExecutionException("Report job queue is full");
+        }
+    }
+
+    private void purgeExpired() {
+        var threshold = Instant.now().minus(settings.getRetention());
+
+        jobs.values().removeIf(job -> {
+            var finishedAt = job.getFinishedAt();
+            if (Objects.nonNull(finishedAt) && finishedAt.isBefore(threshold)) {
+                deleteFiles(job);
+                return true;
+            }
+            return false;
+        });
+    }
+
+    private void deleteFiles(ReportJob job) {
+        deleteQuietly(job.getPayloadFile());
+        deleteQuietly(job.getReportFile());
+    }
+
+    private void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (Exception e) {
+            // Leftover spool files are harmless and live in a temporary directory.
+        }
+    }
+}
@@ -1,31 +1,108 @@
 package br.com.solid.application.services;
 
 import br.com.solid.domain.dto.ProductDto;
+import br.com.solid.infrastructure.buffer.ReportBuffer;
+import br.com.solid.infrastructure.buffer.ReportBufferPool;
+import br.com.solid.infrastructure.cache.ReportCache;
+import br.com.solid.infrastructure.cancellation.ReportCancellation;
+import br.com.solid.infrastructure.cancellation.ReportCancelledException;
+import br.com.solid.infrastructure.cache.ReportContentKey;
+import br.com.solid.infrastructure.coalescing.ReportSingleFlight;
+import br.com.solid.infrastructure.config.ReportProperties;
 import br.com.solid.infrastructure.factories.ReportFactory;
+import br.com.solid.infrastructure.metrics.ReportMetrics;
+import br.com.solid.infrastructure.parsers.ProductPayloadException;
+import br.com.solid.infrastructure.query.ReportQuery;
+import br.com.solid.infrastructure.query.ReportQueryExecutor;
+import br.com.solid.infrastructure.reports.schema.ReportSchema;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Collection;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Objects;
 
 /**
  * Service responsible for generating product reports.
  *
  * <p>This service acts as a bridge between the controller and the report generation logic,
- * handling the process of selecting the appropriate report generator based on the file extension.</p>
+ * handling the process of selecting the appropriate report generator based on the file extension.
+ * Reports generated from small payloads are cached by the content hash of their input, and
+ * the cost of every generated report is recorded per format. Buffered reports spill to disk
+ * once they outgrow the configured memory threshold. A {@link ReportQuery} can narrow the
+ * columns and rows of a report; it is evaluated while the report is generated. Identical
+ * cacheable requests that miss the cache at the same time share a single generation.
+ * Generations poll a {@link ReportCancellation} as they read their rows, and stop within a
+ * bounded number of rows once their client is gone or their deadline has passed.</p>
  */
 @Service
 public class ReportServiceImpl {
 
     private final ReportFactory reportFactory;
+    private final ReportCache reportCache;
+    private final ReportProperties.Cache cacheSettings;
+    private final ReportProperties.Buffer bufferSettings;
+    private final ReportBufferPool bufferPool;
+    private final ReportProperties.Coalescing coalescingSettings;
+    private final ReportSingleFlight singleFlight;
+    private final ReportMetrics reportMetrics;
+    private final ReportQueryExecutor queryExecutor;
+    private final int checkIntervalRows;
 
     /**
-     * Constructor that injects the {@link ReportFactory}.
+     * Constructor that uses the {@link ReportFactory} without caching or measuring any report.
      *
      * @param reportFactory The factory responsible for providing the correct report generator.
      */
-    @Autowired
     public ReportServiceImpl(ReportFactory reportFactory) {
+        this(reportFactory, new ReportCache(0, 0), withoutCache(), new ReportMetrics());
+    }
+
+    /**
+     * Constructor that uses the {@link ReportFactory}, the report cache and the report metrics.
+     *
+     * <p>Coalesced generations run on the thread of the request that starts them.</p>
+     *
+     * @param reportFactory The factory responsible for providing the correct report generator.
+     * @param reportCache The cache of generated reports.
+     * @param properties The report configuration properties.
+     * @param reportMetrics The metrics recorded for every generated report.
+     */
+    public ReportServiceImpl(ReportFactory reportFactory, ReportCache reportCache, ReportProperties properties,
+                             ReportMetrics reportMetrics) {
+        this(reportFactory, reportCache, properties, reportMetrics, new ReportSingleFlight(Runnable::run),
+                ReportBufferPool.unpooled());
+    }
+
+    /**
+     * Constructor that injects the {@link ReportFactory}, the report cache, the report metrics,
+     * the coalescing of identical generations and the pool of report buffer chunks.
+     *
+     * @param reportFactory The factory responsible for providing the correct report generator.
+     * @param reportCache The cache of generated reports.
+     * @param properties The report configuration properties.
+     * @param reportMetrics The metrics recorded for every generated report.
+     * @param singleFlight The coalescing of identical concurrent generations.
+     * @param bufferPool The pool of the chunks in which reports are buffered.
+     */
+    @Autowired
+    public ReportServiceImpl(ReportFactory reportFactory, ReportCache reportCache, ReportProperties properties,
+                             ReportMetrics reportMetrics, ReportSingleFlight singleFlight, ReportBufferPool bufferPool) {
         this.reportFactory = reportFactory;
+        this.reportCache = reportCache;
+        this.cacheSettings = properties.getCache();
+        this.bufferSettings = properties.getBuffer();
+        this.bufferPool = bufferPool;
+        this.coalescingSettings = properties.getCoalescing();
+        this.reportMetrics = reportMetrics;
+        this.singleFlight = singleFlight;
+
+        var querySettings = properties.getQuery();
+        this.queryExecutor = new ReportQueryExecutor(querySettings.getSortRunRows(), querySettings.getSpoolDirectory());
+        this.checkIntervalRows = properties.getCancellation().getCheckIntervalRows();
     }
 
     /**
@@ -40,6 +117,344 @@ public class ReportServiceImpl {
      */
     public byte[] generateReport(String extension, List<ProductDto> data) {
         var reportGenerator = reportFactory.getReportGenerator(extension);
-        return reportGenerator.generateReport(data);
+        var recording = reportMetrics.start(extension);
+
+        try {
+            var report = reportGenerator.generateReport(data);
+            recording.recordGenerated(data.size(), report.length);
+            recording.success();
+            return report;
+        } finally {
+            recording.stop();
+        }
+    }
+
+    /**
+     * Generates a product report in the specified format, streaming it to the given output stream.
+     *
+     * <p>The report is written as it is generated, so the first bytes reach the destination
+     * before the whole report has been produced.</p>
+     *
+     * @param extension The file extension that determines the report format (e.g., csv, txt, xlsx).
+     * @param data The {@link ProductDto} objects representing the product data to be included in the report.
+     * @param outputStream The {@link OutputStream} to which the report will be written.
+     */
+    public void generateReport(String extension, Iterable<ProductDto> data, OutputStream outputStream) {
+        generateReport(extension, data, ReportQuery.none(), outputStream);
+    }
+
+    /**
+     * Generates the result of a query over the products in the specified format, streaming it
+     * to the given output stream.
+     *
+     * <p>Only the columns and rows selected by the query are encoded. Filters and limits are
+     * applied as the products are read; sorted queries read all products before the first
+     * row is written, keeping at most the configured number of rows in memory.</p>
+     *
+     * @param extension The file extension that determines the report format (e.g., csv, txt, xlsx).
+     * @param data The {@link ProductDto} objects representing the product data to be queried.
+     * @param query The {@link ReportQuery} that selects the columns and rows of the report.
+     * @param outputStream The {@link OutputStream} to which the report will be written.
+     */
+    public void generateReport(String extension, Iterable<ProductDto> data, ReportQuery query,
+                               OutputStream outputStream) {
+        generateReport(extension, data, query, outputStream, ReportCancellation.never());
+    }
+
+    /**
+     * Generates the result of a query over the products in the specified format, streaming it
+     * to the given output stream until it is complete or cancelled.
+     *
+     * <p>The cancellation is checked as the products are read, and again as the rows of a
+     * sorted query are read back, once every {@code report.cancellation.check-interval-rows}
+     * rows. A cancelled generation stops there, releasing its workbook and spool files, and
+     * is recorded with the {@code cancelled} outcome. Callers that write to a client should
+     * pass an output wrapped by {@link ReportCancellation#output(OutputStream)}, so that a
+     * broken connection cancels the generation as well.</p>
+     *
+     * @param extension The file extension that determines the report format (e.g., csv, txt, xlsx).
+     * @param data The {@link ProductDto} objects representing the product data to be queried.
+     * @param query The {@link ReportQuery} that selects the columns and rows of the report.
+     * @param outputStream The {@link OutputStream} to which the report will be written.
+     * @param cancellation The cancellation and deadline of the generation.
+     * @throws ReportCancelledException if the generation is cancelled before it is complete.
+     * @throws ProductPayloadException if the products cannot be decoded.
+     */
+    public void generateReport(String extension, Iterable<ProductDto> data, ReportQuery query,
+                               OutputStream outputStream, ReportCancellation cancellation) {
+        var reportGenerator = reportFactory.getReportGenerator(extension);
+        var recording = reportMetrics.start(extension);
+        var payload = new PayloadRows(data);
+
+        try {
+            queryExecutor.execute(query, cancellation.rows(payload.rows(), checkIntervalRows), rows -> {
+                reportGenerator.generateReport(cancellation.rows(recording.rows(rows), checkIntervalRows),
+                        recording.output(outputStream), query.getSchema());
+                return null;
+            });
+            recording.success();
+        } catch (RuntimeException e) {
+            // Writing to a closed connection or an interrupted spool file fails with its own error.
+            if (cancellation.isCancelled()) {
+                recording.cancelled(cancellation.getReason());
+                throw e instanceof ReportCancelledException ? e : new ReportCancelledException(cancellation.getReason());
+            }
+            // Generators wrap what they catch, so a malformed payload is reported as itself.
+            throw Objects.nonNull(payload.failure) ? payload.failure : e;
+        } finally {
+            recording.stop();
+        }
+    }
+
+    /**
+     * Validates that a report generator exists for the given file extension.
+     *
+     * <p>Streaming responses are committed before generation starts, so the extension is
+     * checked up front to fail the request while an error status can still be sent.</p>
+     *
+     * @param extension The file extension that determines the report format (e.g., csv, txt, xlsx).
+     * @throws IllegalArgumentException if the file extension is unsupported.
+     */
+    public void validateExtension(String extension) {
+        reportFactory.getReportGenerator(extension);
+    }
+
+    /**
+     * Indicates whether a request payload of the given size is small enough to be cached.
+     *
+     * @param payloadBytes The size of the request payload, or {@code null} if it is unknown.
+     * @return {@code true} if the payload should be buffered and served through the cache.
+     */
+    public boolean isCacheable(Long payloadBytes) {
+        return cacheSettings.isEnabled() && Objects.nonNull(payloadBytes)
+                && payloadBytes <= cacheSettings.getMaxPayloadBytes();
+    }
+
+    /**
+     * Computes the content key of a report request, used as cache key and as ETag.
+     *
+     * @param extension The file extension that determines the report format (e.g., csv, txt, xlsx).
+     * @param data The list of {@link ProductDto} objects representing the product data to be included in the report.
+     * @return The hex-encoded content key.
+     */
+    public String getContentKey(String extension, List<ProductDto> data) {
+        return getContentKey(extension, data, ReportQuery.none());
+    }
+
+    /**
+     * Computes the content key of a report request with a query, used as cache key and as ETag.
+     *
+     * @param extension The file extension that determines the report format (e.g., csv, txt, xlsx).
+     * @param data The list of {@link ProductDto} objects representing the product data to be queried.
+     * @param query The {@link ReportQuery} that selects the columns and rows of the report.
+     * @return The hex-encoded content key.
+     */
+    public String getContentKey(String extension, List<ProductDto> data, ReportQuery query) {
+        return ReportContentKey.of(extension, query.toString(), ReportSchema.of(ProductDto.class), data);
+    }
+
+    /**
+     * Generates a product report into a {@link ReportBuffer}.
+     *
+     * <p>Small reports stay in memory; larger ones spill to a temporary file, so the size of
+     * the report is not limited by the heap. The caller must close the returned buffer.</p>
+     *
+     * @param extension The file extension that determines the report format (e.g., csv, txt, xlsx).
+     * @param data The {@link ProductDto} objects representing the product data to be included in the report.
+     * @return The {@link ReportBuffer} holding the generated report.
+     */
+    public ReportBuffer generateBufferedReport(String extension, Iterable<ProductDto> data) {
+        return generateBufferedReport(extension, data, ReportQuery.none());
+    }
+
+    /**
+     * Generates the result of a query over the products into a {@link ReportBuffer}.
+     *
+     * <p>The caller must close the returned buffer.</p>
+     *
+     * @param extension The file extension that determines the report format (e.g., csv, txt, xlsx).
+     * @param data The {@link ProductDto} objects representing the product data to be queried.
+     * @param query The {@link ReportQuery} that selects the columns and rows of the report.
+     * @return The {@link ReportBuffer} holding the generated report.
+     */
+    public ReportBuffer generateBufferedReport(String extension, Iterable<ProductDto> data, ReportQuery query) {
+        var buffer = createBuffer();
+
+        try {
+            generateReport(extension, data, query, buffer);
+            return buffer;
+        } catch (RuntimeException e) {
+            closeQuietly(buffer);
+            throw e;
+        }
+    }
+
+    /**
+     * Creates an empty {@link ReportBuffer} with the configured memory threshold and spool
+     * directory, whose chunks are borrowed from the buffer pool.
+     *
+     * <p>The caller must close the returned buffer.</p>
+     *
+     * @return The new buffer.
+     */
+    public ReportBuffer createBuffer() {
+        return new ReportBuffer(bufferSettings.getMemoryThreshold(), bufferSettings.getSpoolDirectory(), bufferPool);
+    }
+
+    /**
+     * Returns the cached report for the given content key, generating and caching it on a miss.
+     *
+     * <p>Reports that spill to disk are too large for the cache and are returned without
+     * being cached. The caller must close the returned buffer.</p>
+     *
+     * @param extension The file extension that determines the report format (e.g., csv, txt, xlsx).
+     * @param data The list of {@link ProductDto} objects representing the product data to be included in the report.
+     * @param contentKey The content key computed by {@link #getContentKey(String, List)}.
+     * @return The {@link ReportBuffer} holding the report.
+     */
+    public ReportBuffer getOrGenerateReport(String extension, List<ProductDto> data, String contentKey) {
+        return getOrGenerateReport(extension, data, ReportQuery.none(), contentKey);
+    }
+
+    /**
+     * Returns the cached result of a query for the given content key, generating and caching
+     * it on a miss.
+     *
+     * <p>The caller must close the returned buffer.</p>
+     *
+     * @param extension The file extension that determines the report format (e.g., csv, txt, xlsx).
+     * @param data The list of {@link ProductDto} objects representing the product data to be queried.
+     * @param query The {@link ReportQuery} that selects the columns and rows of the report.
+     * @param contentKey The content key computed by {@link #getContentKey(String, List, ReportQuery)}.
+     * @return The {@link ReportBuffer} holding the report.
+     */
+    public ReportBuffer getOrGenerateReport(String extension, List<ProductDto> data, ReportQuery query,
+                                            String contentKey) {
+        return getOrGenerateReport(extension, data, query, contentKey, ReportCancellation.never(), () -> {
+        });
+    }
+
+    /**
+     * Returns the cached result of a query for the given content key, generating and caching
+     * it on a miss, and tells the caller when the report is not generated for it.
+     *
+     * <p>When {@code report.coalescing.enabled} is set, concurrent misses for the same content
+     * key share one generation, which runs apart from the requests waiting for it: a request
+     * that stops waiting does not stop it for the others, and it is only cancelled once no
+     * request is left waiting. A request whose deadline passes stops waiting with a
+     * {@link ReportCancelledException}; a generation run for this request alone stops as well.</p>
+     *
+     * <p>{@code whenShared} runs when the report is served by the cache or by a generation
+     * already in flight for another request, before waiting for it. Callers use it to give
+     * back resources reserved for generating the report, such as an admission permit. The
+     * caller must close the returned buffer.</p>
+     *
+     * @param extension The file extension that determines the report format (e.g., csv, txt, xlsx).
+     * @param data The list of {@link ProductDto} objects representing the product data to be queried.
+     * @param query The {@link ReportQuery} that selects the columns and rows of the report.
+     * @param contentKey The content key computed by {@link #getContentKey(String, List, ReportQuery)}.
+     * @param cancellation The cancellation and deadline of the request.
+     * @param whenShared The action run when the report is not generated for this request.
+     * @return The {@link ReportBuffer} holding the report.
+     * @throws ReportCancelledException if the request is cancelled before the report is ready.
+     */
+    public ReportBuffer getOrGenerateReport(String extension, List<ProductDto> data, ReportQuery query,
+                                            String contentKey, ReportCancellation cancellation,
+                                            Runnable whenShared) {
+        var report = reportCache.get(contentKey);
+        if (Objects.nonNull(report)) {
+            whenShared.run();
+            return ReportBuffer.of(report);
+        }
+        if (!coalescingSettings.isEnabled()) {
+            return generateCachedReport(extension, data, query, contentKey, cancellation);
+        }
+
+        try (var subscription = singleFlight.join(contentKey,
+                flight -> generateCachedReport(extension, data, query, contentKey, flight))) {
+            if (subscription.isCoalesced()) {
+                whenShared.run();
+            }
+            return subscription.await(cancellation);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("generateReport error ->" + e.getMessage());
+        }
+    }
+
+    private ReportBuffer generateCachedReport(String extension, List<ProductDto> data, ReportQuery query,
+                                              String contentKey, ReportCancellation cancellation) {
+        var buffer = createBuffer();
+
+        try {
+            generateReport(extension, data, query, buffer, cancellation);
+        } catch (RuntimeException e) {
+            closeQuietly(buffer);
+            throw e;
+        }
+        if (!buffer.isSpilled()) {
+            reportCache.put(contentKey, buffer.toByteArray());
+        }
+        return buffer;
+    }
+
+    private static void closeQuietly(ReportBuffer buffer) {
+        try {
+            buffer.close();
+        } catch (IOException e) {
+            // The temporary file is deleted on close, so there is nothing else to release.
+        }
+    }
+
+    private static ReportProperties withoutCache() {
+        var properties = new ReportProperties();
+        properties.getCache().setEnabled(false);
+        return properties;
+    }
+
+    /**
+     * Products that keep the first decoding failure of the payload they are read from.
+     */
+    private static final class PayloadRows implements Iterable<ProductDto> {
+
+        private final Iterable<ProductDto> data;
+        private ProductPayloadException failure;
+
+        private PayloadRows(Iterable<ProductDto> data) {
+            this.data = data;
+        }
+
+        /**
+         * Returns the products to read, unwrapped when they are already decoded.
+         */
+        private Iterable<ProductDto> rows() {
+            return data instanceof Collection ? data : this;
+        }
+
+        @Override
+        public Iterator<ProductDto> iterator() {
+            var iterator = data.iterator();
+            return new Iterator<>() {
+                @Override
+                public boolean hasNext() {
+                    try {
+                        return iterator.hasNext();
+                    } catch (ProductPayloadException e) {
+                        failure = e;
+                        throw e;
+                    }
+                }
+
+                @Override
+                public ProductDto next() {
+                    try {
+                        return iterator.next();
+                    } catch (ProductPayloadException e) {
+                        failure = e;
+                        throw e;
+                    }
+                }
+            };
+        }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,31 @@
+package br.com.solid.domain.annotations;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Declares how a DTO field is exposed as a report column.
+ *
+ * <p>Annotated fields are laid out by {@link #order()}, which gives reports a stable column
+ * order that does not depend on how the JVM happens to return declared fields.</p>
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.FIELD)
+public @interface ReportField {
+
+    /**
+     * The position of the column in the report, starting at zero.
+     *
+     * @return The column position.
+     */
+    int order();
+
+    /**
+     * The column header. Defaults to the field name.
+     *
+     * @return The column header, or an empty string to use the field name.
+     */
+    String name() default "";
+}
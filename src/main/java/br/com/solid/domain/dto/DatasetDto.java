@@ -0,0 +1,46 @@
+package br.com.solid.domain.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * Data Transfer Object (DTO) representing an uploaded product dataset.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DatasetDto {
+
+    /**
+     * The dataset identifier, used to generate reports from it.
+     */
+    private String id;
+
+    /**
+     * The number of products in the dataset.
+     */
+    private long rows;
+
+    /**
+     * The estimated heap held by the dataset, in bytes.
+     */
+    private long sizeBytes;
+
+    /**
+     * Whether the dataset has been spilled to disk.
+     */
+    private boolean spilled;
+
+    /**
+     * When the dataset was uploaded.
+     */
+    private Instant createdAt;
+
+    /**
+     * When the dataset expires and is discarded.
+     */
+    private Instant expiresAt;
+}
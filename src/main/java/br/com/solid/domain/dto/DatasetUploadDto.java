@@ -0,0 +1,41 @@
+package br.com.solid.domain.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * Data Transfer Object (DTO) representing a dataset upload sent in chunks.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DatasetUploadDto {
+
+    /**
+     * The upload identifier, used to append chunks to it.
+     */
+    private String id;
+
+    /**
+     * The number of chunks applied, which is also the number of the next chunk expected.
+     */
+    private int chunks;
+
+    /**
+     * The number of products received so far.
+     */
+    private long rows;
+
+    /**
+     * When the upload was started.
+     */
+    private Instant createdAt;
+
+    /**
+     * When the upload is discarded unless another chunk arrives.
+     */
+    private Instant expiresAt;
+}
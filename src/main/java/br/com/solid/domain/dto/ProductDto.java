@@ -1,5 +1,6 @@
 package br.com.solid.domain.dto;
 
+import br.com.solid.domain.annotations.ReportField;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -19,15 +20,18 @@ public class ProductDto {
     /**
      * The name of the product.
      */
+    @ReportField(order = 0)
     private String name;
 
     /**
      * The price of the product.
      */
+    @ReportField(order = 1)
     private BigDecimal price;
 
     /**
      * The quantity of the product available.
      */
+    @ReportField(order = 2)
     private Long quantity;
 }
\ No newline at end of file
@@ -0,0 +1,51 @@
+package br.com.solid.domain.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * Data Transfer Object (DTO) representing the status of an asynchronous report job.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReportJobDto {
+
+    /**
+     * The job identifier.
+     */
+    private String id;
+
+    /**
+     * The file extension that determines the report format.
+     */
+    private String extension;
+
+    /**
+     * The job status (QUEUED, RUNNING, COMPLETED, FAILED or CANCELLED).
+     */
+    private String status;
+
+    /**
+     * The number of rows written to the report so far.
+     */
+    private long rowsWritten;
+
+    /**
+     * The reason of the failure, when the job failed.
+     */
+    private String error;
+
+    /**
+     * When the job was submitted.
+     */
+    private Instant createdAt;
+
+    /**
+     * When the job finished, if it has.
+     */
+    private Instant finishedAt;
+}
@@ -0,0 +1,212 @@
+package br.com.solid.infrastructure.admission;
+
+import br.com.solid.infrastructure.config.ReportProperties;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Admission control for report requests.
+ *
+ * <p>Before a report is generated, its memory cost is estimated from the number of rows,
+ * derived from the payload size, and from the format, and reserved against a global heap
+ * budget. The number of reports generated concurrently is also capped per format. A request
+ * that cannot get both within the configured wait is rejected with a
+ * {@link ReportAdmissionException}, so load spikes slow the node down instead of running it
+ * out of memory.</p>
+ *
+ * <p>The budget is accounted in kibibytes, and both semaphores are fair, so large requests
+ * are not starved by a stream of small ones. A request costing more than the whole budget
+ * is clamped to it and runs alone.</p>
+ */
+@Component
+public class ReportAdmission {
+
+    private static final int KIB = 1024;
+
+    private final ReportProperties.Admission settings;
+    private final int budgetKib;
+    private final Semaphore budget;
+    private final Map<String, Semaphore> concurrency = new ConcurrentHashMap<>();
+    private final AtomicLong rejections = new AtomicLong();
+
+    /**
+     * Constructor that uses the default admission settings.
+     */
+    public ReportAdmission() {
+        this(new ReportProperties());
+    }
+
+    /**
+     * Constructor that injects the report configuration properties.
+     *
+     * @param properties The report configuration properties.
+     */
+    @Autowired
+    public ReportAdmission(ReportProperties properties) {
+        this.settings = properties.getAdmission();
+        var budgetBytes = settings.getBudgetBytes() > 0
+                ? settings.getBudgetBytes()
+                : (long) (Runtime.getRuntime().maxMemory() * settings.getHeapFraction());
+        this.budgetKib = (int) Math.min(Integer.MAX_VALUE, Math.max(1, budgetBytes / KIB));
+        this.budget = new Semaphore(budgetKib, true);
+    }
+
+    /**
+     * Reserves the memory and concurrency needed to generate a report, waiting up to the
+     * configured deadline for them to become available.
+     *
+     * @param extension The file extension that determines the report format (e.g., csv, txt, xlsx).
+     * @param payloadBytes The size of the request payload, or {@code null} if it is unknown.
+     * @param buffered Whether the rows and the report are held in memory rather than streamed.
+     * @return The {@link Permit}, which must be closed once the report has been generated.
+     * @throws ReportAdmissionException if the request cannot be admitted in time.
+     */
+    public Permit admit(String extension, Long payloadBytes, boolean buffered) {
+        return admit(List.of(extension), payloadBytes, buffered);
+    }
+
+    /**
+     * Reserves the memory and concurrency needed to generate the same payload in several
+     * formats at once, waiting up to the configured deadline for them to become available.
+     *
+     * <p>A slot is taken in every format, and the budget is reserved for the sum of their
+     * costs. Formats are acquired in a fixed order, so concurrent bundles do not hold each
+     * other's slots while waiting.</p>
+     *
+     * @param extensions The file extensions that determine the report formats.
+     * @param payloadBytes The size of the request payload, or {@code null} if it is unknown.
+     * @param buffered Whether the rows and the reports are held in memory rather than streamed.
+     * @return The {@link Permit}, which must be closed once the reports have been generated.
+     * @throws ReportAdmissionException if the request cannot be admitted in time.
+     */
+    public Permit admit(Collection<String> extensions, Long payloadBytes, boolean buffered) {
+        return admitRows(extensions, rowsOf(payloadBytes), buffered);
+    }
+
+    /**
+     * Reserves the memory and concurrency needed to generate reports with a known number of
+     * rows, such as those of a stored dataset, waiting up to the configured deadline.
+     *
+     * @param extensions The file extensions that determine the report formats.
+     * @param rows The number of rows of the reports.
+     * @param buffered Whether the rows and the reports are held in memory rather than streamed.
+     * @return The {@link Permit}, which must be closed once the reports have been generated.
+     * @throws ReportAdmissionException if the request cannot be admitted in time.
+     */
+    public Permit admitRows(Collection<String> extensions, long rows, boolean buffered) {
+        if (!settings.isEnabled()) {
+            return new Permit(List.of(), 0);
+        }
+
+        var formats = extensions.stream().map(String::toLowerCase).distinct().sorted().toList();
+        var costBytes = formats.stream().mapToLong(format -> estimateRowBytes(format, rows, buffered)).sum();
+        var costKib = (int) Math.min(budgetKib, Math.max(1, costBytes / KIB));
+        var deadline = System.nanoTime() + settings.getMaxWait().toNanos();
+        var acquired = new ArrayList<Semaphore>();
+
+        try {
+            for (var format : formats) {
+                var slots = concurrency.computeIfAbsent(format, key -> new Semaphore(settings.maxConcurrentFor(key), true));
+                if (!slots.tryAcquire(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS)) {
+                    throw reject("Too many " + format + " reports in progress");
+                }
+                acquired.add(slots);
+            }
+            if (!budget.tryAcquire(costKib, Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS)) {
+                throw reject("Report memory budget exhausted");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            acquired.forEach(Semaphore::release);
+            throw reject("Interrupted while waiting for admission");
+        } catch (ReportAdmissionException e) {
+            acquired.forEach(Semaphore::release);
+            throw e;
+        }
+        return new Permit(acquired, costKib);
+    }
+
+    /**
+     * Estimates the heap needed to generate a report.
+     *
+     * @param extension The file extension that determines the report format (e.g., csv, txt, xlsx).
+     * @param payloadBytes The size of the request payload, or {@code null} if it is unknown.
+     * @param buffered Whether the rows and the report are held in memory rather than streamed.
+     * @return The estimated cost, in bytes.
+     */
+    public long estimateBytes(String extension, Long payloadBytes, boolean buffered) {
+        return estimateRowBytes(extension.toLowerCase(), rowsOf(payloadBytes), buffered);
+    }
+
+    /**
+     * Returns the part of the memory budget not reserved by admitted reports.
+     *
+     * @return The available budget, in bytes.
+     */
+    public long getAvailableBytes() {
+        return (long) budget.availablePermits() * KIB;
+    }
+
+    /**
+     * Returns the number of requests rejected since startup.
+     *
+     * @return The rejection count.
+     */
+    public long getRejections() {
+        return rejections.get();
+    }
+
+    private long rowsOf(Long payloadBytes) {
+        return Objects.isNull(payloadBytes)
+                ? settings.getUnknownPayloadRows()
+                : payloadBytes / settings.getPayloadBytesPerRow() + 1;
+    }
+
+    private long estimateRowBytes(String format, long rows, boolean buffered) {
+        var bytesPerRow = settings.bytesPerRowFor(format) + (buffered ? settings.getBufferedBytesPerRow() : 0);
+        return settings.baseBytesFor(format) + rows * bytesPerRow;
+    }
+
+    private ReportAdmissionException reject(String message) {
+        rejections.incrementAndGet();
+        return new ReportAdmissionException(message, settings.getRetryAfter());
+    }
+
+    /**
+     * Reservation held while a report is generated; closing it returns the reservation.
+     */
+    public final class Permit implements AutoCloseable {
+
+        private final List<Semaphore> slots;
+        private final int costKib;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        private Permit(List<Semaphore> slots, int costKib) {
+            this.slots = slots;
+            this.costKib = costKib;
+        }
+
+        /**
+         * Releases the reserved memory and concurrency slots. Further calls have no effect.
+         */
+        @Override
+        public void close() {
+            if (slots.isEmpty() || released.getAndSet(true)) {
+                return;
+            }
+            budget.release(costKib);
+            slots.forEach(Semaphore::release);
+        }
+    }
+}
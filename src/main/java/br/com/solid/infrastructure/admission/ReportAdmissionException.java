@@ -0,0 +1,31 @@
+package br.com.solid.infrastructure.admission;
+
+import java.time.Duration;
+
+/**
+ * Thrown when a report request cannot be admitted before its deadline.
+ */
+public class ReportAdmissionException extends RuntimeException {
+
+    private final Duration retryAfter;
+
+    /**
+     * Constructor that describes the rejection and when the client may retry.
+     *
+     * @param message The reason the request was rejected.
+     * @param retryAfter How long the client should wait before retrying.
+     */
+    public ReportAdmissionException(String message, Duration retryAfter) {
+        super(message);
+        this.retryAfter = retryAfter;
+    }
+
+    /**
+     * Returns how long the client should wait before retrying.
+     *
+     * @return The retry delay.
+     */
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+}
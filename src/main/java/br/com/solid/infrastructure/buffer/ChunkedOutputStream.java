@@ -0,0 +1,157 @@
+package br.com.solid.infrastructure.buffer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * In-memory output stream that stores what is written in a chain of pooled chunks.
+ *
+ * <p>Unlike {@link java.io.ByteArrayOutputStream}, it never regrows and copies one contiguous
+ * array: once a chunk is full, the next one is borrowed from the {@link ReportBufferPool}, and
+ * the bytes already written stay where they are. The chunks are returned to the pool by
+ * {@link #close()}.</p>
+ *
+ * <p>It has a single writer and is not thread-safe; once complete, it can be read from any
+ * thread to which it has been safely published. None of its methods hold a monitor, so a
+ * virtual thread writing it to a slow client is not pinned to its carrier.</p>
+ */
+public class ChunkedOutputStream extends OutputStream {
+
+    private final ReportBufferPool pool;
+    private final List<ReportBufferPool.Chunk> chunks = new ArrayList<>();
+    private byte[] current;
+    private int position;
+    private long size;
+    private boolean closed;
+
+    /**
+     * Constructor that defines the pool the chunks are borrowed from.
+     *
+     * @param pool The {@link ReportBufferPool} that provides the chunks.
+     */
+    public ChunkedOutputStream(ReportBufferPool pool) {
+        this.pool = pool;
+    }
+
+    /**
+     * Creates a stream holding an already written array, without copying it.
+     *
+     * @param bytes The content of the stream; it must not be modified.
+     * @return A {@link ChunkedOutputStream} whose further writes go to chunks of the unpooled pool.
+     */
+    public static ChunkedOutputStream of(byte[] bytes) {
+        var stream = new ChunkedOutputStream(ReportBufferPool.unpooled());
+        var chunk = ReportBufferPool.Chunk.wrap(bytes);
+        stream.chunks.add(chunk);
+        stream.current = chunk.array();
+        stream.position = bytes.length;
+        stream.size = bytes.length;
+        return stream;
+    }
+
+    @Override
+    public void write(int b) {
+        if (Objects.isNull(current) || position == current.length) {
+            next();
+        }
+        current[position++] = (byte) b;
+        size++;
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) {
+        Objects.checkFromIndexSize(off, len, b.length);
+        while (len > 0) {
+            if (Objects.isNull(current) || position == current.length) {
+                next();
+            }
+            var length = Math.min(len, current.length - position);
+            System.arraycopy(b, off, current, position, length);
+            position += length;
+            off += length;
+            len -= length;
+            size += length;
+        }
+    }
+
+    /**
+     * Returns the number of bytes written to the stream.
+     *
+     * @return The size of the content, in bytes.
+     */
+    public long size() {
+        return size;
+    }
+
+    /**
+     * Writes the whole content to the given stream, one chunk at a time.
+     *
+     * @param out The {@link OutputStream} that receives the content.
+     * @throws IOException if the content cannot be written.
+     */
+    public void writeTo(OutputStream out) throws IOException {
+        ensureOpen();
+        var remaining = size;
+        for (var chunk : chunks) {
+            var array = chunk.array();
+            var length = (int) Math.min(remaining, array.length);
+            out.write(array, 0, length);
+            remaining -= length;
+        }
+    }
+
+    /**
+     * Returns a copy of the content in a single array.
+     *
+     * @return The bytes written to the stream.
+     * @throws IllegalStateException if the content does not fit in an array.
+     */
+    public byte[] toByteArray() {
+        ensureOpen();
+        if (size > Integer.MAX_VALUE - 8) {
+            throw new IllegalStateException("Content is too large for an array: " + size + " bytes");
+        }
+        var bytes = new byte[(int) size];
+        var offset = 0;
+        for (var chunk : chunks) {
+            var array = chunk.array();
+            var length = Math.min(bytes.length - offset, array.length);
+            System.arraycopy(array, 0, bytes, offset, length);
+            offset += length;
+        }
+        return bytes;
+    }
+
+    /**
+     * Returns the chunks to their pool; the content is no longer available afterwards.
+     */
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        chunks.forEach(ReportBufferPool.Chunk::close);
+        chunks.clear();
+        current = null;
+    }
+
+    private void next() {
+        if (closed) {
+            throw new IllegalStateException("Stream has been closed");
+        }
+        var chunk = pool.acquire();
+        chunks.add(chunk);
+        current = chunk.array();
+        position = 0;
+    }
+
+    private void ensureOpen() {
+        if (closed) {
+            throw new IllegalStateException("Stream has been closed");
+        }
+    }
+}
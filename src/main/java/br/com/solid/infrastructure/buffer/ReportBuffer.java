@@ -0,0 +1,336 @@
+package br.com.solid.infrastructure.buffer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Output buffer for generated reports that spills to a temporary file once it grows large.
+ *
+ * <p>Reports up to the memory threshold are kept in a chain of chunks borrowed from a
+ * {@link ReportBufferPool}, so a growing report never copies what it already holds. As soon
+ * as a write would cross the threshold, the buffered bytes are moved to a temporary file,
+ * their chunks are returned to the pool, and every following write goes to disk through a
+ * single pooled chunk, so a large report never occupies the heap. Spilled reports are sent
+ * with {@link FileChannel#transferTo}, without reading the file back into memory.</p>
+ *
+ * <p>The file is transferred through a channel adapter that holds no monitor while writing,
+ * unlike {@link Channels#newChannel(OutputStream)}, so a virtual thread serving a slow
+ * client is not pinned to its carrier.</p>
+ *
+ * <p>Generators flush but never close the stream they write to, so {@link #close()} is
+ * reserved for releasing the buffer: it returns its chunks to the pool and deletes its
+ * temporary file. A buffer has a single
+ * writer and is not thread-safe.</p>
+ *
+ * <p>A complete report can be {@linkplain #share() shared} with other readers, each of
+ * which gets its own buffer to send and close; the report is released when the last of
+ * them is closed.</p>
+ */
+public class ReportBuffer extends OutputStream {
+
+    /**
+     * Default number of bytes kept in memory before the report spills to disk.
+     */
+    public static final int DEFAULT_MEMORY_THRESHOLD = 8 * 1024 * 1024;
+
+    private final int memoryThreshold;
+    private final Path spoolDirectory;
+    private final ReportBufferPool pool;
+    private ChunkedOutputStream memory;
+    private FileChannel channel;
+    private ReportBufferPool.Chunk fileBuffer;
+    private int filePosition;
+    private long size;
+    private boolean closed;
+    private AtomicInteger references;
+
+    /**
+     * Constructor that defines when the report spills and where its temporary file is created,
+     * with chunks that are not pooled.
+     *
+     * @param memoryThreshold The number of bytes kept in memory before spilling to disk.
+     * @param spoolDirectory The directory in which temporary files are created.
+     */
+    public ReportBuffer(int memoryThreshold, Path spoolDirectory) {
+        this(memoryThreshold, spoolDirectory, ReportBufferPool.unpooled());
+    }
+
+    /**
+     * Constructor that defines when the report spills, where its temporary file is created
+     * and the pool its chunks are borrowed from.
+     *
+     * @param memoryThreshold The number of bytes kept in memory before spilling to disk.
+     * @param spoolDirectory The directory in which temporary files are created.
+     * @param pool The {@link ReportBufferPool} that provides the chunks.
+     */
+    public ReportBuffer(int memoryThreshold, Path spoolDirectory, ReportBufferPool pool) {
+        if (memoryThreshold < 0) {
+            throw new IllegalArgumentException("Memory threshold must not be negative");
+        }
+        this.memoryThreshold = memoryThreshold;
+        this.spoolDirectory = spoolDirectory;
+        this.pool = pool;
+        this.memory = new ChunkedOutputStream(pool);
+    }
+
+    /**
+     * Creates an in-memory buffer holding an already generated report, such as a cached one.
+     *
+     * @param report The generated report; it is not copied and must not be modified.
+     * @return A {@link ReportBuffer} containing the report.
+     */
+    public static ReportBuffer of(byte[] report) {
+        var buffer = new ReportBuffer(report.length, null);
+        buffer.memory = ChunkedOutputStream.of(report);
+        buffer.size = report.length;
+        return buffer;
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        ensureWritable();
+        if (!isSpilled() && size < memoryThreshold) {
+            memory.write(b);
+            size++;
+            return;
+        }
+        spill();
+        if (filePosition == fileBuffer.array().length) {
+            drain();
+        }
+        fileBuffer.array()[filePosition++] = (byte) b;
+        size++;
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        Objects.checkFromIndexSize(off, len, b.length);
+        ensureWritable();
+        if (!isSpilled() && size + len <= memoryThreshold) {
+            memory.write(b, off, len);
+            size += len;
+            return;
+        }
+        spill();
+        var array = fileBuffer.array();
+        if (len >= array.length) {
+            drain();
+            writeFully(ByteBuffer.wrap(b, off, len));
+        } else {
+            if (filePosition + len > array.length) {
+                drain();
+            }
+            System.arraycopy(b, off, array, filePosition, len);
+            filePosition += len;
+        }
+        size += len;
+    }
+
+    @Override
+    public void flush() throws IOException {
+        if (Objects.nonNull(fileBuffer)) {
+            drain();
+        }
+    }
+
+    /**
+     * Returns the number of bytes written to the buffer.
+     *
+     * @return The size of the report, in bytes.
+     */
+    public long size() {
+        return size;
+    }
+
+    /**
+     * Indicates whether the report has been moved to a temporary file.
+     *
+     * @return {@code true} if the report no longer fits in memory.
+     */
+    public boolean isSpilled() {
+        return Objects.nonNull(channel);
+    }
+
+    /**
+     * Returns a copy of a report that is still held in memory.
+     *
+     * @return The report bytes.
+     * @throws IllegalStateException if the report has spilled to disk.
+     */
+    public byte[] toByteArray() {
+        ensureInMemory();
+        return memory.toByteArray();
+    }
+
+    /**
+     * Sends the whole report to the given stream, flushing but not closing it.
+     *
+     * <p>Spilled reports are transferred straight from the file channel, so the report is
+     * never copied into a heap array of its size.</p>
+     *
+     * @param out The {@link OutputStream} that receives the report.
+     * @throws IOException if the report cannot be read or written.
+     */
+    public void transferTo(OutputStream out) throws IOException {
+        ensureOpen();
+
+        if (!isSpilled()) {
+            memory.writeTo(out);
+        } else {
+            flush();
+            try (var chunk = pool.acquire()) {
+                var target = new OutputStreamChannel(out, chunk.array());
+                for (long position = 0; position < size; ) {
+                    position += channel.transferTo(position, size - position, target);
+                }
+            }
+        }
+        out.flush();
+    }
+
+    /**
+     * Returns another buffer holding the same report, for a different reader.
+     *
+     * <p>Nothing is copied: the shared buffers read the same chunks or temporary file, which
+     * is released when the last of them, this one included, is closed. Once shared, a
+     * buffer can no longer be written. Buffers that share a report can be sent and closed
+     * from different threads.</p>
+     *
+     * @return A new buffer holding the report; the caller must close it.
+     * @throws IOException if the report cannot be flushed to its temporary file.
+     */
+    public ReportBuffer share() throws IOException {
+        ensureOpen();
+        flush();
+
+        synchronized (this) {
+            if (Objects.isNull(references)) {
+                references = new AtomicInteger(1);
+            }
+        }
+        references.incrementAndGet();
+
+        var shared = new ReportBuffer(memoryThreshold, spoolDirectory, pool);
+        shared.memory = memory;
+        shared.channel = channel;
+        shared.size = size;
+        shared.references = references;
+        return shared;
+    }
+
+    /**
+     * Releases the buffer, returning its chunks to the pool and deleting its temporary file,
+     * if any and if no other buffer still shares them.
+     *
+     * @throws IOException if the temporary file cannot be closed.
+     */
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        if (Objects.nonNull(fileBuffer)) {
+            fileBuffer.close();
+            fileBuffer = null;
+        }
+
+        if (Objects.nonNull(references) && references.decrementAndGet() > 0) {
+            return;
+        }
+        if (Objects.nonNull(memory)) {
+            memory.close();
+        }
+        if (Objects.nonNull(channel)) {
+            channel.close();
+        }
+    }
+
+    private void spill() throws IOException {
+        if (isSpilled()) {
+            return;
+        }
+        var file = Files.createTempFile(Files.createDirectories(spoolDirectory), "report-", ".tmp");
+        channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE,
+                StandardOpenOption.DELETE_ON_CLOSE);
+        memory.writeTo(Channels.newOutputStream(channel));
+        memory.close();
+        memory = null;
+        fileBuffer = pool.acquire();
+    }
+
+    private void drain() throws IOException {
+        writeFully(ByteBuffer.wrap(fileBuffer.array(), 0, filePosition));
+        filePosition = 0;
+    }
+
+    private void writeFully(ByteBuffer source) throws IOException {
+        while (source.hasRemaining()) {
+            channel.write(source);
+        }
+    }
+
+    private void ensureInMemory() {
+        ensureOpen();
+        if (isSpilled()) {
+            throw new IllegalStateException("Report has spilled to disk");
+        }
+    }
+
+    private void ensureWritable() {
+        ensureOpen();
+        if (Objects.nonNull(references)) {
+            throw new IllegalStateException("Report buffer is shared and can no longer be written");
+        }
+    }
+
+    private void ensureOpen() {
+        if (closed) {
+            throw new IllegalStateException("Report buffer has been released");
+        }
+    }
+
+    /**
+     * Channel that copies the bytes it is given to an output stream, without locking.
+     */
+    private static final class OutputStreamChannel implements WritableByteChannel {
+
+        private final OutputStream out;
+        private final byte[] chunk;
+
+        private OutputStreamChannel(OutputStream out, byte[] chunk) {
+            this.out = out;
+            this.chunk = chunk;
+        }
+
+        @Override
+        public int write(ByteBuffer source) throws IOException {
+            var written = source.remaining();
+            while (source.hasRemaining()) {
+                var length = Math.min(source.remaining(), chunk.length);
+                source.get(chunk, 0, length);
+                out.write(chunk, 0, length);
+            }
+            return written;
+        }
+
+        @Override
+        public boolean isOpen() {
+            return true;
+        }
+
+        @Override
+        public void close() {
+            // The output stream belongs to the caller.
+        }
+    }
+}
@@ -0,0 +1,248 @@
+package br.com.solid.infrastructure.buffer;
+
+import java.lang.ref.Cleaner;
+import java.util.Objects;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounded pool of fixed-size byte chunks reused by the report pipeline across requests.
+ *
+ * <p>Report output is buffered in chunks of the same size, and text reports are encoded
+ * through one of them, so once the pool is warm a report allocates no buffers of its own:
+ * every chunk is borrowed with {@link #acquire()} and returned when its lease is closed.
+ * The pool keeps at most a fixed number of idle chunks; chunks returned while it is full
+ * are dropped and left to the garbage collector, so a burst of large reports cannot pin
+ * its peak memory forever.</p>
+ *
+ * <p>A lease that becomes unreachable without being closed is counted as a leak. Its chunk
+ * is never recycled, since a caller may still hold the array, and is reclaimed by the
+ * garbage collector instead.</p>
+ *
+ * <p>The pool is thread-safe; each lease belongs to a single owner.</p>
+ */
+public class ReportBufferPool {
+
+    /**
+     * Default size of a chunk, in bytes.
+     */
+    public static final int DEFAULT_CHUNK_SIZE = 64 * 1024;
+
+    private static final int MIN_CHUNK_SIZE = 1024;
+    private static final Cleaner LEAK_DETECTOR = Cleaner.create();
+    private static final ReportBufferPool UNPOOLED = new ReportBufferPool(DEFAULT_CHUNK_SIZE, 0);
+
+    private final int chunkSize;
+    private final ArrayBlockingQueue<byte[]> idle;
+    private final AtomicLong acquired = new AtomicLong();
+    private final AtomicLong allocated = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private final AtomicLong leaked = new AtomicLong();
+    private final AtomicInteger inUse = new AtomicInteger();
+
+    /**
+     * Constructor that defines the size of the chunks and how much memory the idle ones may take.
+     *
+     * @param chunkSize The size of every chunk, in bytes.
+     * @param maxPooledBytes The maximum number of bytes kept in idle chunks; {@code 0} disables pooling.
+     * @throws IllegalArgumentException if the chunk size is below 1 KB or the maximum is negative.
+     */
+    public ReportBufferPool(int chunkSize, long maxPooledBytes) {
+        if (chunkSize < MIN_CHUNK_SIZE) {
+            throw new IllegalArgumentException("Chunk size must be at least " + MIN_CHUNK_SIZE + " bytes: " + chunkSize);
+        }
+        if (maxPooledBytes < 0) {
+            throw new IllegalArgumentException("Maximum pooled bytes must not be negative: " + maxPooledBytes);
+        }
+        this.chunkSize = chunkSize;
+        var maxPooledChunks = (int) Math.min(Integer.MAX_VALUE - 8, maxPooledBytes / chunkSize);
+        this.idle = maxPooledChunks > 0 ? new ArrayBlockingQueue<>(maxPooledChunks) : null;
+    }
+
+    /**
+     * Returns the shared pool that keeps no idle chunks, used where no pool is configured.
+     *
+     * @return The pool that allocates a new chunk for every lease.
+     */
+    public static ReportBufferPool unpooled() {
+        return UNPOOLED;
+    }
+
+    /**
+     * Borrows a chunk, reusing an idle one if there is any.
+     *
+     * <p>The chunk may hold data of a previous lease. It must be released by closing the
+     * lease, after which its array must no longer be used.</p>
+     *
+     * @return The lease of the chunk.
+     */
+    public Chunk acquire() {
+        var array = Objects.isNull(idle) ? null : idle.poll();
+        if (Objects.isNull(array)) {
+            array = new byte[chunkSize];
+            allocated.incrementAndGet();
+        }
+        acquired.incrementAndGet();
+        inUse.incrementAndGet();
+        return new Chunk(this, array);
+    }
+
+    /**
+     * Returns the size of the chunks of this pool.
+     *
+     * @return The chunk size, in bytes.
+     */
+    public int getChunkSize() {
+        return chunkSize;
+    }
+
+    /**
+     * Returns the number of chunks borrowed so far.
+     *
+     * @return The number of leases.
+     */
+    public long getAcquired() {
+        return acquired.get();
+    }
+
+    /**
+     * Returns the number of chunks allocated because no idle one was available.
+     *
+     * @return The number of new chunks.
+     */
+    public long getAllocated() {
+        return allocated.get();
+    }
+
+    /**
+     * Returns the number of released chunks dropped because the pool was full.
+     *
+     * @return The number of dropped chunks.
+     */
+    public long getDropped() {
+        return dropped.get();
+    }
+
+    /**
+     * Returns the number of leases that became unreachable without being released.
+     *
+     * @return The number of leaked chunks.
+     */
+    public long getLeaked() {
+        return leaked.get();
+    }
+
+    /**
+     * Returns the number of chunks currently borrowed.
+     *
+     * @return The number of open leases.
+     */
+    public int getInUse() {
+        return inUse.get();
+    }
+
+    /**
+     * Returns the number of idle chunks kept for reuse.
+     *
+     * @return The number of pooled chunks.
+     */
+    public int getIdle() {
+        return Objects.isNull(idle) ? 0 : idle.size();
+    }
+
+    private void recycle(byte[] array) {
+        inUse.decrementAndGet();
+        if (Objects.isNull(idle) || !idle.offer(array)) {
+            dropped.incrementAndGet();
+        }
+    }
+
+    /**
+     * Lease of a chunk of the pool.
+     *
+     * <p>Closing the lease returns the chunk to its pool; closing it again has no effect.</p>
+     */
+    public static final class Chunk implements AutoCloseable {
+
+        private final ReportBufferPool pool;
+        private final Leak leak;
+        private final Cleaner.Cleanable cleanable;
+        private byte[] array;
+
+        private Chunk(ReportBufferPool pool, byte[] array) {
+            this.pool = pool;
+            this.array = array;
+            this.leak = new Leak(pool);
+            this.cleanable = LEAK_DETECTOR.register(this, leak);
+        }
+
+        private Chunk(byte[] array) {
+            this.pool = null;
+            this.array = array;
+            this.leak = null;
+            this.cleanable = null;
+        }
+
+        /**
+         * Wraps an array that does not belong to any pool, such as an already generated report.
+         *
+         * @param array The array to lease; it is not copied.
+         * @return A lease whose release has no effect on the array.
+         */
+        public static Chunk wrap(byte[] array) {
+            return new Chunk(array);
+        }
+
+        /**
+         * Returns the array of the chunk.
+         *
+         * @return The array, valid until the lease is closed.
+         * @throws IllegalStateException if the lease has been closed.
+         */
+        public byte[] array() {
+            if (Objects.isNull(array)) {
+                throw new IllegalStateException("Chunk has been released");
+            }
+            return array;
+        }
+
+        /**
+         * Returns the chunk to its pool.
+         */
+        @Override
+        public void close() {
+            if (Objects.isNull(array)) {
+                return;
+            }
+            var released = array;
+            array = null;
+            if (Objects.nonNull(pool)) {
+                leak.released = true;
+                cleanable.clean();
+                pool.recycle(released);
+            }
+        }
+    }
+
+    /**
+     * Cleaning action that counts a lease dropped without being released.
+     */
+    private static final class Leak implements Runnable {
+
+        private final ReportBufferPool pool;
+        private volatile boolean released;
+
+        private Leak(ReportBufferPool pool) {
+            this.pool = pool;
+        }
+
+        @Override
+        public void run() {
+            if (!released) {
+                pool.inUse.decrementAndGet();
+                pool.leaked.incrementAndGet();
+            }
+        }
+    }
+}
@@ -0,0 +1,142 @@
+package br.com.solid.infrastructure.cache;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * In-memory cache of generated reports, keyed by the content hash of their input.
+ *
+ * <p>Entries are evicted in least-recently-used order once the total size of the cached
+ * reports exceeds the configured number of bytes. Reports larger than the per-entry limit
+ * are never cached. Hit, miss and eviction counts are kept for monitoring.</p>
+ */
+public class ReportCache {
+
+    private final long maxBytes;
+    private final long maxEntryBytes;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final LinkedHashMap<String, byte[]> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+    private long sizeBytes;
+
+    /**
+     * Constructor that defines the size limits of the cache.
+     *
+     * @param maxBytes The maximum total size of the cached reports, in bytes.
+     * @param maxEntryBytes The maximum size of a single cached report, in bytes.
+     */
+    public ReportCache(long maxBytes, long maxEntryBytes) {
+        this.maxBytes = maxBytes;
+        this.maxEntryBytes = Math.min(maxEntryBytes, maxBytes);
+    }
+
+    /**
+     * Retrieves a cached report.
+     *
+     * @param key The content key of the report.
+     * @return The cached report, or {@code null} if it is not cached.
+     */
+    public byte[] get(String key) {
+        byte[] report;
+
+        lock.lock();
+        try {
+            report = entries.get(key);
+        } finally {
+            lock.unlock();
+        }
+
+        (Objects.nonNull(report) ? hits : misses).incrementAndGet();
+        return report;
+    }
+
+    /**
+     * Caches a report, evicting the least recently used entries to stay within the size limit.
+     *
+     * @param key The content key of the report.
+     * @param report The generated report.
+     * @return {@code true} if the report was cached, {@code false} if it exceeds the per-entry limit.
+     */
+    public boolean put(String key, byte[] report) {
+        if (report.length > maxEntryBytes) {
+            return false;
+        }
+
+        lock.lock();
+        try {
+            var previous = entries.put(key, report);
+            sizeBytes += report.length - (Objects.nonNull(previous) ? previous.length : 0);
+
+            var iterator = entries.entrySet().iterator();
+            while (sizeBytes > maxBytes && iterator.hasNext()) {
+                Map.Entry<String, byte[]> eldest = iterator.next();
+                iterator.remove();
+                sizeBytes -= eldest.getValue().length;
+                evictions.incrementAndGet();
+            }
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Returns the number of lookups that found a cached report.
+     *
+     * @return The hit count.
+     */
+    public long getHits() {
+        return hits.get();
+    }
+
+    /**
+     * Returns the number of lookups that did not find a cached report.
+     *
+     * @return The miss count.
+     */
+    public long getMisses() {
+        return misses.get();
+    }
+
+    /**
+     * Returns the number of reports evicted to stay within the size limit.
+     *
+     * @return The eviction count.
+     */
+    public long getEvictions() {
+        return evictions.get();
+    }
+
+    /**
+     * Returns the total size of the cached reports.
+     *
+     * @return The cached size, in bytes.
+     */
+    public long getSizeBytes() {
+        lock.lock();
+        try {
+            return sizeBytes;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Returns the number of cached reports.
+     *
+     * @return The entry count.
+     */
+    public int getEntryCount() {
+        lock.lock();
+        try {
+            return entries.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package br.com.solid.infrastructure.cache;
+
+import br.com.solid.infrastructure.reports.schema.ReportSchema;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Objects;
+
+/**
+ * Computes content keys for report requests.
+ *
+ * <p>The key is a SHA-256 hash of the report format and of the normalized rows: every
+ * column value of every row, in schema order, with explicit length prefixes and null
+ * markers. It therefore depends only on the decoded data, not on how the JSON payload was
+ * formatted, and identical payloads always produce the same key. Reports that differ for the
+ * same rows, such as the results of different queries, are told apart by a variant that is
+ * hashed along with the format.</p>
+ */
+public final class ReportContentKey {
+
+    private static final byte NULL_MARKER = 0;
+    private static final byte VALUE_MARKER = 1;
+
+    private ReportContentKey() {
+    }
+
+    /**
+     * Computes the content key of a report request.
+     *
+     * @param extension The file extension that determines the report format.
+     * @param schema The {@link ReportSchema} describing the rows.
+     * @param rows The rows included in the report.
+     * @param <T> The type of the rows.
+     * @return The hex-encoded SHA-256 content key.
+     */
+    public static <T> String of(String extension, ReportSchema<T> schema, Iterable<T> rows) {
+        return of(extension, "", schema, rows);
+    }
+
+    /**
+     * Computes the content key of a report request whose output also depends on a variant.
+     *
+     * @param extension The file extension that determines the report format.
+     * @param variant Any other input that changes the report for the same rows, or an empty string.
+     * @param schema The {@link ReportSchema} describing the rows.
+     * @param rows The rows included in the report.
+     * @param <T> The type of the rows.
+     * @return The hex-encoded SHA-256 content key.
+     */
+    public static <T> String of(String extension, String variant, ReportSchema<T> schema, Iterable<T> rows) {
+        var digest = sha256();
+        update(digest, extension.toLowerCase());
+        if (!variant.isEmpty()) {
+            update(digest, variant);
+        }
+
+        var columns = schema.getColumns();
+        for (T row : rows) {
+            for (int i = 0; i < columns.size(); i++) {
+                var value = columns.get(i).getValue(row);
+                if (Objects.isNull(value)) {
+                    digest.update(NULL_MARKER);
+                } else {
+                    digest.update(VALUE_MARKER);
+                    update(digest, value.toString());
+                }
+            }
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    private static void update(MessageDigest digest, String value) {
+        var bytes = value.getBytes(StandardCharsets.UTF_8);
+        var length = bytes.length;
+        digest.update(new byte[]{(byte) (length >>> 24), (byte) (length >>> 16), (byte) (length >>> 8), (byte) length});
+        digest.update(bytes);
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
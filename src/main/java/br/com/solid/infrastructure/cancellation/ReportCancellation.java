@@ -0,0 +1,297 @@
+package br.com.solid.infrastructure.cancellation;
+
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Iterator;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Cooperative cancellation of a report generation, with an optional deadline.
+ *
+ * <p>A generation cannot be stopped from outside without leaving its workbook, spool files
+ * and buffers behind, so it polls this token instead: its rows are wrapped by
+ * {@link #rows(Iterable, int)}, which checks the token once every given number of rows and
+ * throws {@link ReportCancelledException} once it is cancelled. The generation then unwinds
+ * through its usual {@code finally} blocks, which release everything it holds. The token is
+ * cancelled explicitly, when the client goes away or nobody waits for the report any longer,
+ * or implicitly, as soon as its deadline has passed.</p>
+ *
+ * <p>The output to the client is wrapped by {@link #output(OutputStream)}, which turns a
+ * failed write into a {@linkplain Reason#DISCONNECT disconnect}. A servlet container only
+ * reports a client that has gone away when the response is written to, so this is where a
+ * blocking generation notices it.</p>
+ *
+ * <p>Tokens are thread-safe: they are usually cancelled on one thread and polled on another.</p>
+ */
+public final class ReportCancellation {
+
+    /**
+     * Deadlines further away are treated as this far away, and passed deadlines as expiring
+     * now, to keep the clock arithmetic exact.
+     */
+    private static final Duration MAX_TIMEOUT = Duration.ofDays(365);
+
+    private static final ReportCancellation NEVER = new ReportCancellation(false, false, 0);
+
+    private final boolean cancellable;
+    private final boolean hasDeadline;
+    private final long deadlineNanos;
+    private final AtomicReference<Reason> reason = new AtomicReference<>();
+
+    private ReportCancellation(boolean cancellable, boolean hasDeadline, long deadlineNanos) {
+        this.cancellable = cancellable;
+        this.hasDeadline = hasDeadline;
+        this.deadlineNanos = deadlineNanos;
+    }
+
+    /**
+     * Returns the token of generations that cannot be cancelled, whose rows and output are
+     * left unwrapped.
+     *
+     * @return The shared token that is never cancelled.
+     */
+    public static ReportCancellation never() {
+        return NEVER;
+    }
+
+    /**
+     * Creates a token without a deadline, cancelled only explicitly.
+     *
+     * @return The new token.
+     */
+    public static ReportCancellation withoutDeadline() {
+        return new ReportCancellation(true, false, 0);
+    }
+
+    /**
+     * Creates a token that is cancelled once the given time has passed.
+     *
+     * @param timeout How long the generation may take from now.
+     * @return The new token, already cancelled if the timeout is not positive.
+     */
+    public static ReportCancellation after(Duration timeout) {
+        var bounded = timeout.isNegative() ? Duration.ZERO
+                : timeout.compareTo(MAX_TIMEOUT) > 0 ? MAX_TIMEOUT : timeout;
+        return new ReportCancellation(true, true, System.nanoTime() + bounded.toNanos());
+    }
+
+    /**
+     * Creates a token that is cancelled once the given instant has passed.
+     *
+     * @param deadline The instant by which the generation must be complete.
+     * @return The new token, already cancelled if the deadline is in the past.
+     */
+    public static ReportCancellation until(Instant deadline) {
+        return after(Duration.between(Instant.now(), deadline));
+    }
+
+    /**
+     * Cancels the generation, unless it has already been cancelled for another reason or
+     * cannot be cancelled.
+     *
+     * @param reason Why the generation is cancelled.
+     */
+    public void cancel(Reason reason) {
+        if (cancellable) {
+            this.reason.compareAndSet(null, reason);
+        }
+    }
+
+    /**
+     * Indicates whether the generation has been cancelled or its deadline has passed.
+     *
+     * @return {@code true} if the generation should stop.
+     */
+    public boolean isCancelled() {
+        if (Objects.nonNull(reason.get())) {
+            return true;
+        }
+        if (hasDeadline && System.nanoTime() - deadlineNanos >= 0) {
+            cancel(Reason.DEADLINE);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Returns why the generation was cancelled.
+     *
+     * <p>A passed deadline is only recorded once {@link #isCancelled()} has noticed it.</p>
+     *
+     * @return The reason of the cancellation, or {@code null} if it has not been cancelled.
+     */
+    public Reason getReason() {
+        return reason.get();
+    }
+
+    /**
+     * Returns the time left until the deadline.
+     *
+     * @return The remaining time, zero once it has passed, or empty if there is no deadline.
+     */
+    public Optional<Duration> getRemaining() {
+        if (!hasDeadline) {
+            return Optional.empty();
+        }
+        return Optional.of(Duration.ofNanos(Math.max(0, deadlineNanos - System.nanoTime())));
+    }
+
+    /**
+     * Stops the generation if it has been cancelled.
+     *
+     * @throws ReportCancelledException if the generation has been cancelled or its deadline has passed.
+     */
+    public void throwIfCancelled() {
+        if (isCancelled()) {
+            throw new ReportCancelledException(reason.get());
+        }
+    }
+
+    /**
+     * Wraps the rows of a report so that reading them stops once the generation is cancelled.
+     *
+     * <p>The token is checked before the first row and then once every {@code checkInterval}
+     * rows, so a cancelled generation reads at most that many more rows.</p>
+     *
+     * @param rows The rows included in the report.
+     * @param checkInterval The number of rows read between two checks.
+     * @param <T> The type of the rows.
+     * @return The checked rows, or the given rows if the token cannot be cancelled.
+     * @throws IllegalArgumentException if the interval is not positive.
+     */
+    public <T> Iterable<T> rows(Iterable<T> rows, int checkInterval) {
+        if (checkInterval <= 0) {
+            throw new IllegalArgumentException("Cancellation check interval must be positive: " + checkInterval);
+        }
+        if (!cancellable) {
+            return rows;
+        }
+        return () -> new CheckingIterator<>(rows.iterator(), checkInterval);
+    }
+
+    /**
+     * Wraps the output to a client so that a failed write cancels the generation as a
+     * disconnect, and writing stops once it is cancelled.
+     *
+     * @param out The {@link OutputStream} connected to the client.
+     * @return The guarded stream, or the given stream if the token cannot be cancelled.
+     */
+    public OutputStream output(OutputStream out) {
+        if (!cancellable) {
+            return out;
+        }
+        return new DisconnectDetectingOutputStream(out);
+    }
+
+    /**
+     * Why a generation was cancelled.
+     */
+    public enum Reason {
+
+        /**
+         * The deadline of the request passed.
+         */
+        DEADLINE("deadline"),
+
+        /**
+         * The client went away.
+         */
+        DISCONNECT("disconnect"),
+
+        /**
+         * Every request waiting for a shared generation left.
+         */
+        ABANDONED("abandoned");
+
+        private final String tag;
+
+        Reason(String tag) {
+            this.tag = tag;
+        }
+
+        /**
+         * Returns the name of the reason, as used in metric tags.
+         *
+         * @return The lowercase name of the reason.
+         */
+        public String getTag() {
+            return tag;
+        }
+    }
+
+    /**
+     * Iterator that checks the token once every check interval.
+     */
+    private final class CheckingIterator<T> implements Iterator<T> {
+
+        private final Iterator<T> iterator;
+        private final int checkInterval;
+        private int untilCheck = 1;
+
+        private CheckingIterator(Iterator<T> iterator, int checkInterval) {
+            this.iterator = iterator;
+            this.checkInterval = checkInterval;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (--untilCheck == 0) {
+                untilCheck = checkInterval;
+                throwIfCancelled();
+            }
+            return iterator.hasNext();
+        }
+
+        @Override
+        public T next() {
+            return iterator.next();
+        }
+    }
+
+    /**
+     * Output stream that records a failed write as a disconnect.
+     */
+    private final class DisconnectDetectingOutputStream extends FilterOutputStream {
+
+        private DisconnectDetectingOutputStream(OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            throwIfCancelled();
+            try {
+                out.write(b);
+            } catch (IOException e) {
+                cancel(Reason.DISCONNECT);
+                throw e;
+            }
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            throwIfCancelled();
+            try {
+                out.write(b, off, len);
+            } catch (IOException e) {
+                cancel(Reason.DISCONNECT);
+                throw e;
+            }
+        }
+
+        @Override
+        public void flush() throws IOException {
+            try {
+                out.flush();
+            } catch (IOException e) {
+                cancel(Reason.DISCONNECT);
+                throw e;
+            }
+        }
+    }
+}
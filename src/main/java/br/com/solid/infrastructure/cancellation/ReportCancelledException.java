@@ -0,0 +1,28 @@
+package br.com.solid.infrastructure.cancellation;
+
+/**
+ * Thrown when a report generation stops because it was cancelled.
+ */
+public class ReportCancelledException extends RuntimeException {
+
+    private final ReportCancellation.Reason reason;
+
+    /**
+     * Constructor that records why the generation was cancelled.
+     *
+     * @param reason The reason of the cancellation.
+     */
+    public ReportCancelledException(ReportCancellation.Reason reason) {
+        super("Report generation cancelled: " + reason.getTag());
+        this.reason = reason;
+    }
+
+    /**
+     * Returns why the generation was cancelled.
+     *
+     * @return The reason of the cancellation.
+     */
+    public ReportCancellation.Reason getReason() {
+        return reason;
+    }
+}
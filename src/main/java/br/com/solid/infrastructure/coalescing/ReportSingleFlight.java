@@ -0,0 +1,329 @@
+package br.com.solid.infrastructure.coalescing;
+
+import br.com.solid.infrastructure.buffer.ReportBuffer;
+import br.com.solid.infrastructure.cancellation.ReportCancellation;
+import br.com.solid.infrastructure.cancellation.ReportCancelledException;
+
+import java.io.IOException;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Coalesces identical concurrent report generations into a single one.
+ *
+ * <p>Requests are identified by the content key of their input. The first request for a key
+ * starts a flight, which generates the report on the given executor; requests for the same
+ * key that arrive while it is in flight join it instead of generating the report again.
+ * Every subscriber of a flight waits for the same generation and gets its own
+ * {@linkplain ReportBuffer#share() shared} buffer of the result as soon as it is ready.</p>
+ *
+ * <p>No subscriber owns the generation, so one that leaves early, for instance because it
+ * was interrupted, does not affect the others. The generation is only cancelled when every
+ * subscriber has left before it completes. Completed flights are forgotten; later requests
+ * for the same key start a new one, or are served by the report cache.</p>
+ */
+public class ReportSingleFlight {
+
+    private final Executor executor;
+    private final ConcurrentHashMap<String, Flight> flights = new ConcurrentHashMap<>();
+    private final AtomicLong started = new AtomicLong();
+    private final AtomicLong joined = new AtomicLong();
+    private final AtomicLong cancelled = new AtomicLong();
+
+    /**
+     * Constructor that defines where the generations run.
+     *
+     * @param executor The executor that runs each generation.
+     */
+    public ReportSingleFlight(Executor executor) {
+        this.executor = executor;
+    }
+
+    /**
+     * Subscribes to the generation of a report, starting it if none is in flight for the key.
+     *
+     * <p>The subscription must be closed, whether or not its report has been retrieved.</p>
+     *
+     * @param key The content key of the report.
+     * @param generation The generation to run if no flight exists for the key.
+     * @return The subscription to the flight.
+     */
+    public Subscription join(String key, Generation generation) {
+        while (true) {
+            var created = new Flight[1];
+            var flight = flights.computeIfAbsent(key, k -> created[0] = new Flight(k, generation));
+
+            if (flight.subscribe()) {
+                var coalesced = flight != created[0];
+                if (coalesced) {
+                    joined.incrementAndGet();
+                } else {
+                    start(flight);
+                }
+                return new Subscription(flight, coalesced);
+            }
+            // The flight ended while it was being looked up; start over.
+            flights.remove(key, flight);
+        }
+    }
+
+    /**
+     * Returns the number of generations started.
+     *
+     * @return The number of flights started.
+     */
+    public long getStarted() {
+        return started.get();
+    }
+
+    /**
+     * Returns the number of requests that joined a generation already in flight.
+     *
+     * @return The number of coalesced requests.
+     */
+    public long getJoined() {
+        return joined.get();
+    }
+
+    /**
+     * Returns the number of generations cancelled because all their subscribers left.
+     *
+     * @return The number of cancelled flights.
+     */
+    public long getCancelled() {
+        return cancelled.get();
+    }
+
+    /**
+     * Returns the number of generations currently in flight.
+     *
+     * @return The number of flights in progress.
+     */
+    public int getInFlight() {
+        return flights.size();
+    }
+
+    private void start(Flight flight) {
+        try {
+            executor.execute(flight.task);
+            started.incrementAndGet();
+        } catch (RuntimeException e) {
+            flights.remove(flight.key, flight);
+            throw e;
+        }
+    }
+
+    /**
+     * A report generation that can be coalesced.
+     */
+    @FunctionalInterface
+    public interface Generation {
+
+        /**
+         * Generates the report.
+         *
+         * <p>The generation should poll the given token, for instance by reading its rows
+         * through {@link ReportCancellation#rows(Iterable, int)}, so it stops soon after every
+         * subscriber has left.</p>
+         *
+         * @param cancellation The cancellation of the flight, which has no deadline of its own.
+         * @return The buffer holding the generated report.
+         * @throws Exception if the report cannot be generated.
+         */
+        ReportBuffer generate(ReportCancellation cancellation) throws Exception;
+    }
+
+    /**
+     * Subscription of a request to a flight.
+     */
+    public static final class Subscription implements AutoCloseable {
+
+        private final Flight flight;
+        private final boolean coalesced;
+        private boolean closed;
+
+        private Subscription(Flight flight, boolean coalesced) {
+            this.flight = flight;
+            this.coalesced = coalesced;
+        }
+
+        /**
+         * Indicates whether this subscription joined a generation started for another request.
+         *
+         * @return {@code true} if the report was already in flight when this subscription was made.
+         */
+        public boolean isCoalesced() {
+            return coalesced;
+        }
+
+        /**
+         * Waits for the report and returns a buffer of it for this subscriber.
+         *
+         * <p>It must be called before the subscription is closed. The caller must close the
+         * returned buffer, which stays valid after the subscription is closed.</p>
+         *
+         * @return The buffer holding the report.
+         * @throws InterruptedException if the thread is interrupted while waiting.
+         * @throws RuntimeException if the generation failed.
+         */
+        public ReportBuffer await() throws InterruptedException {
+            return await(ReportCancellation.never());
+        }
+
+        /**
+         * Waits for the report, at most until the deadline of the subscriber, and returns a
+         * buffer of it for this subscriber.
+         *
+         * <p>A subscriber whose deadline passes stops waiting, but the generation goes on for
+         * the others until the subscription is closed.</p>
+         *
+         * @param cancellation The cancellation of the subscriber, whose deadline bounds the wait.
+         * @return The buffer holding the report.
+         * @throws InterruptedException if the thread is interrupted while waiting.
+         * @throws ReportCancelledException if the deadline of the subscriber passes first.
+         * @throws RuntimeException if the generation failed.
+         */
+        public ReportBuffer await(ReportCancellation cancellation) throws InterruptedException {
+            try {
+                var remaining = cancellation.getRemaining();
+                if (remaining.isPresent()) {
+                    flight.task.get(remaining.get().toNanos(), TimeUnit.NANOSECONDS);
+                } else {
+                    flight.task.get();
+                }
+            } catch (TimeoutException e) {
+                cancellation.cancel(ReportCancellation.Reason.DEADLINE);
+                throw new ReportCancelledException(ReportCancellation.Reason.DEADLINE);
+            } catch (ExecutionException e) {
+                var cause = e.getCause();
+                if (cause instanceof RuntimeException runtime) {
+                    throw runtime;
+                }
+                throw new RuntimeException("generateReport error ->" + cause.getMessage());
+            }
+            return flight.share();
+        }
+
+        /**
+         * Leaves the flight, cancelling the generation if no other subscriber is left.
+         */
+        @Override
+        public void close() {
+            if (!closed) {
+                closed = true;
+                flight.unsubscribe();
+            }
+        }
+    }
+
+    /**
+     * One generation and the subscribers waiting for it.
+     */
+    private final class Flight {
+
+        private final String key;
+        private final ReportCancellation cancellation = ReportCancellation.withoutDeadline();
+        private final FutureTask<ReportBuffer> task;
+        private int subscribers;
+        private boolean finished;
+        private ReportBuffer report;
+
+        private Flight(String key, Generation generation) {
+            this.key = key;
+            this.task = new FutureTask<>(() -> run(generation));
+        }
+
+        private ReportBuffer run(Generation generation) throws Exception {
+            try {
+                var buffer = generation.generate(cancellation);
+                if (!publish(buffer)) {
+                    buffer.close();
+                }
+                return buffer;
+            } finally {
+                finish();
+                flights.remove(key, this);
+            }
+        }
+
+        /**
+         * Adds a subscriber, unless the flight has been cancelled or its report already released.
+         */
+        private synchronized boolean subscribe() {
+            if (cancellation.isCancelled() || (finished && Objects.isNull(report))) {
+                return false;
+            }
+            subscribers++;
+            return true;
+        }
+
+        /**
+         * Keeps the report until the current subscribers have taken their buffer of it.
+         */
+        private synchronized boolean publish(ReportBuffer buffer) {
+            finished = true;
+            if (subscribers == 0) {
+                return false;
+            }
+            report = buffer;
+            return true;
+        }
+
+        /**
+         * Marks the generation as over, even when it failed, so leaving it is not counted as
+         * cancelling it.
+         */
+        private synchronized void finish() {
+            finished = true;
+        }
+
+        private synchronized ReportBuffer share() {
+            if (Objects.isNull(report)) {
+                throw new IllegalStateException("Report is no longer available");
+            }
+            try {
+                return report.share();
+            } catch (IOException e) {
+                throw new RuntimeException("generateReport error ->" + e.getMessage());
+            }
+        }
+
+        private void unsubscribe() {
+            Future<ReportBuffer> cancelledTask = null;
+            ReportBuffer released = null;
+
+            synchronized (this) {
+                if (--subscribers > 0) {
+                    return;
+                }
+                if (finished) {
+                    released = report;
+                    report = null;
+                } else {
+                    cancellation.cancel(ReportCancellation.Reason.ABANDONED);
+                    cancelledTask = task;
+                }
+            }
+
+            if (Objects.nonNull(cancelledTask)) {
+                flights.remove(key, this);
+                cancelled.incrementAndGet();
+                cancelledTask.cancel(true);
+            }
+            if (Objects.nonNull(released)) {
+                try {
+                    released.close();
+                } catch (IOException e) {
+                    // The temporary file is deleted on close, so there is nothing else to release.
+                }
+            }
+        }
+    }
+}
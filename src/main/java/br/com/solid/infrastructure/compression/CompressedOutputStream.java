@@ -0,0 +1,88 @@
+package br.com.solid.infrastructure.compression;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+
+/**
+ * Output stream that compresses everything written to it with a given content coding.
+ *
+ * <p>Unlike {@link java.util.zip.GZIPOutputStream}, the compression level is configurable and
+ * closing this stream finishes the compressed data without closing the underlying stream,
+ * which belongs to the servlet container. The native deflater is released on close.</p>
+ */
+public class CompressedOutputStream extends DeflaterOutputStream {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final byte[] GZIP_HEADER = {0x1f, (byte) 0x8b, Deflater.DEFLATED, 0, 0, 0, 0, 0, 0, (byte) 0xff};
+
+    private final boolean gzip;
+    private final CRC32 crc = new CRC32();
+    private boolean finished;
+    private boolean closed;
+
+    /**
+     * Constructor that starts a compressed stream over the given output stream.
+     *
+     * @param out The {@link OutputStream} to which the compressed report is written.
+     * @param coding The content coding to apply.
+     * @param level The compression level, from 1 (fastest) to 9 (smallest).
+     * @throws IOException if the gzip header cannot be written.
+     */
+    public CompressedOutputStream(OutputStream out, ContentCoding coding, int level) throws IOException {
+        super(out, new Deflater(level, coding == ContentCoding.GZIP), BUFFER_SIZE);
+        this.gzip = coding == ContentCoding.GZIP;
+
+        if (gzip) {
+            out.write(GZIP_HEADER);
+        }
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        super.write(b, off, len);
+        if (gzip) {
+            crc.update(b, off, len);
+        }
+    }
+
+    @Override
+    public void finish() throws IOException {
+        if (finished) {
+            return;
+        }
+        super.finish();
+        finished = true;
+
+        if (gzip) {
+            writeIntLE(crc.getValue());
+            writeIntLE(def.getBytesRead());
+        }
+    }
+
+    /**
+     * Finishes the compressed data and flushes it, leaving the underlying stream open.
+     *
+     * @throws IOException if the compressed data cannot be written.
+     */
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+
+        try {
+            finish();
+            out.flush();
+        } finally {
+            def.end();
+        }
+    }
+
+    private void writeIntLE(long value) throws IOException {
+        out.write(new byte[]{(byte) value, (byte) (value >> 8), (byte) (value >> 16), (byte) (value >> 24)});
+    }
+}
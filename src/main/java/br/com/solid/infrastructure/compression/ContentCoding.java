@@ -0,0 +1,47 @@
+package br.com.solid.infrastructure.compression;
+
+import java.util.Arrays;
+import java.util.Optional;
+
+/**
+ * HTTP content codings that reports can be compressed with, in order of preference.
+ */
+public enum ContentCoding {
+
+    /**
+     * The gzip format (RFC 1952).
+     */
+    GZIP("gzip"),
+
+    /**
+     * The zlib format (RFC 1950), which is what HTTP calls {@code deflate}.
+     */
+    DEFLATE("deflate");
+
+    private final String token;
+
+    ContentCoding(String token) {
+        this.token = token;
+    }
+
+    /**
+     * Returns the token used in {@code Accept-Encoding} and {@code Content-Encoding} headers.
+     *
+     * @return The content coding token.
+     */
+    public String getToken() {
+        return token;
+    }
+
+    /**
+     * Finds the content coding identified by the given token, ignoring case.
+     *
+     * @param token The content coding token.
+     * @return The matching {@link ContentCoding}, or an empty {@link Optional} if it is not supported.
+     */
+    public static Optional<ContentCoding> fromToken(String token) {
+        return Arrays.stream(values())
+                .filter(coding -> coding.token.equalsIgnoreCase(token))
+                .findFirst();
+    }
+}
@@ -0,0 +1,129 @@
+package br.com.solid.infrastructure.compression;
+
+import br.com.solid.infrastructure.config.ReportProperties;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.EnumMap;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * Negotiates and applies the compression of report responses.
+ *
+ * <p>Reports are compressed as a stream while the generator writes them, so the finished
+ * report is never buffered just to be compressed. Only formats that are not already
+ * compressed are eligible, and requests whose payload is below the configured threshold
+ * are answered uncompressed, since compressing a tiny report costs more than it saves.</p>
+ */
+@Component
+public class ReportCompressor {
+
+    private final ReportProperties.Compression settings;
+
+    /**
+     * Constructor that uses the default compression settings.
+     */
+    public ReportCompressor() {
+        this(new ReportProperties());
+    }
+
+    /**
+     * Constructor that injects the report configuration properties.
+     *
+     * @param properties The report configuration properties.
+     */
+    @Autowired
+    public ReportCompressor(ReportProperties properties) {
+        this.settings = properties.getCompression();
+    }
+
+    /**
+     * Indicates whether reports in the given format may be compressed, which means their
+     * responses vary with the {@code Accept-Encoding} header.
+     *
+     * @param extension The file extension that determines the report format (e.g., csv, txt, xlsx).
+     * @return {@code true} if the format is eligible for compression.
+     */
+    public boolean isCompressible(String extension) {
+        return settings.isEnabled() && settings.getExtensions().contains(extension.toLowerCase());
+    }
+
+    /**
+     * Selects the content coding for a report response from the client's {@code Accept-Encoding}.
+     *
+     * <p>The coding with the highest quality value wins; ties are broken in the order of
+     * {@link ContentCoding}. A wildcard only applies to codings the header does not list, so
+     * a coding refused with {@code q=0} stays refused.</p>
+     *
+     * @param extension The file extension that determines the report format (e.g., csv, txt, xlsx).
+     * @param acceptEncoding The {@code Accept-Encoding} header, or {@code null} if absent.
+     * @param payloadBytes The size of the request payload, or {@code null} if it is unknown.
+     * @return The selected coding, or an empty {@link Optional} if the report is sent uncompressed.
+     */
+    public Optional<ContentCoding> negotiate(String extension, String acceptEncoding, Long payloadBytes) {
+        if (!isCompressible(extension) || Objects.isNull(acceptEncoding)
+                || (Objects.nonNull(payloadBytes) && payloadBytes < settings.getMinPayloadBytes())) {
+            return Optional.empty();
+        }
+
+        var qualities = new EnumMap<ContentCoding, Double>(ContentCoding.class);
+        var wildcardQuality = 0.0;
+
+        for (var element : acceptEncoding.split(",")) {
+            var parts = element.split(";");
+            var token = parts[0].trim();
+            if (token.equals("*")) {
+                wildcardQuality = quality(parts);
+            } else {
+                var coding = ContentCoding.fromToken(token);
+                if (coding.isPresent()) {
+                    qualities.put(coding.get(), quality(parts));
+                }
+            }
+        }
+
+        ContentCoding selected = null;
+        var selectedQuality = 0.0;
+
+        for (var coding : ContentCoding.values()) {
+            var quality = qualities.getOrDefault(coding, wildcardQuality);
+            if (quality > selectedQuality) {
+                selected = coding;
+                selectedQuality = quality;
+            }
+        }
+        return Optional.ofNullable(selected);
+    }
+
+    /**
+     * Wraps the response stream so everything written to it is compressed.
+     *
+     * <p>Closing the returned stream finishes the compressed data but leaves the response
+     * stream open.</p>
+     *
+     * @param out The response {@link OutputStream}.
+     * @param coding The content coding to apply.
+     * @return The compressing {@link OutputStream}.
+     * @throws IOException if the compressed stream cannot be started.
+     */
+    public OutputStream compress(OutputStream out, ContentCoding coding) throws IOException {
+        return new CompressedOutputStream(out, coding, settings.getLevel());
+    }
+
+    private static double quality(String[] parameters) {
+        for (int i = 1; i < parameters.length; i++) {
+            var parameter = parameters[i].trim();
+            if (parameter.startsWith("q=")) {
+                try {
+                    return Double.parseDouble(parameter.substring(2));
+                } catch (NumberFormatException e) {
+                    return 0;
+                }
+            }
+        }
+        return 1;
+    }
+}
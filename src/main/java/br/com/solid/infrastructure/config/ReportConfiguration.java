@@ -0,0 +1,387 @@
+package br.com.solid.infrastructure.config;
+
+import br.com.solid.infrastructure.admission.ReportAdmission;
+import br.com.solid.infrastructure.buffer.ReportBufferPool;
+import br.com.solid.infrastructure.cache.ReportCache;
+import br.com.solid.infrastructure.coalescing.ReportSingleFlight;
+import br.com.solid.infrastructure.dataset.DatasetStore;
+import br.com.solid.infrastructure.dataset.DatasetUploads;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.boot.web.embedded.netty.NettyServerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Controller;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Configuration of the infrastructure shared by the report generators.
+ */
+@Configuration
+@EnableConfigurationProperties(ReportProperties.class)
+public class ReportConfiguration {
+
+    /**
+     * Name of the pool used to encode report chunks in parallel.
+     */
+    public static final String REPORT_ENCODING_POOL = "reportEncodingPool";
+
+    /**
+     * Name of the executor that runs asynchronous report jobs.
+     */
+    public static final String REPORT_JOB_EXECUTOR = "reportJobExecutor";
+
+    /**
+     * Name of the executor that runs the generators of multi-format report bundles.
+     */
+    public static final String REPORT_FAN_OUT_EXECUTOR = "reportFanOutExecutor";
+
+    /**
+     * Name of the executor that runs coalesced report generations.
+     */
+    public static final String REPORT_FLIGHT_EXECUTOR = "reportFlightExecutor";
+
+    /**
+     * Pool shared by all parallel text reports.
+     *
+     * <p>It is separate from the common pool and from the request threads, and its size
+     * is fixed by {@code report.parallel.threads}, so parallel reports cannot take more
+     * cores than configured. Worker threads are only started when parallel work arrives.</p>
+     *
+     * @param properties The report configuration properties.
+     * @return The encoding pool.
+     */
+    @Bean(name = REPORT_ENCODING_POOL, destroyMethod = "shutdown")
+    public ExecutorService reportEncodingPool(ReportProperties properties) {
+        return new ForkJoinPool(properties.getParallel().getThreads());
+    }
+
+    /**
+     * Executor that runs asynchronous report jobs.
+     *
+     * <p>It has a fixed number of workers and a bounded queue; once the queue is full,
+     * submissions are rejected instead of piling up, so heavy exports cannot exhaust the
+     * node or take request threads away from interactive requests.</p>
+     *
+     * @param properties The report configuration properties.
+     * @return The job executor.
+     */
+    @Bean(name = REPORT_JOB_EXECUTOR, destroyMethod = "shutdownNow")
+    @ConditionalOnThreading(Threading.PLATFORM)
+    public ExecutorService reportJobExecutor(ReportProperties properties) {
+        return jobExecutor(properties.getJobs(), new CustomizableThreadFactory("report-job-"));
+    }
+
+    /**
+     * Executor that runs asynchronous report jobs on virtual threads.
+     *
+     * <p>Used when {@code spring.threads.virtual.enabled} is set on Java 21. The number of
+     * concurrent jobs and the queue stay bounded as with platform threads; only the workers
+     * are virtual, so jobs blocked on disk or network do not hold a carrier thread.</p>
+     *
+     * @param properties The report configuration properties.
+     * @return The job executor.
+     */
+    @Bean(name = REPORT_JOB_EXECUTOR, destroyMethod = "shutdownNow")
+    @ConditionalOnThreading(Threading.VIRTUAL)
+    public ExecutorService virtualReportJobExecutor(ReportProperties properties) {
+        return jobExecutor(properties.getJobs(), new VirtualThreadTaskExecutor("report-job-").getVirtualThreadFactory());
+    }
+
+    /**
+     * Executor that runs each generator of a multi-format report bundle.
+     *
+     * <p>Every generator blocks on the shared row stream for the whole bundle, so the executor
+     * starts a thread per task instead of queueing tasks behind a fixed pool. Idle threads are
+     * reused; the number of live ones is bounded by the admission control of the bundles.</p>
+     *
+     * @return The fan-out executor.
+     */
+    @Bean(name = REPORT_FAN_OUT_EXECUTOR, destroyMethod = "shutdownNow")
+    @ConditionalOnThreading(Threading.PLATFORM)
+    public ExecutorService reportFanOutExecutor() {
+        return Executors.newCachedThreadPool(new CustomizableThreadFactory("report-fan-out-"));
+    }
+
+    /**
+     * Executor that runs each generator of a multi-format report bundle on a virtual thread.
+     *
+     * @return The fan-out executor.
+     */
+    @Bean(name = REPORT_FAN_OUT_EXECUTOR, destroyMethod = "shutdownNow")
+    @ConditionalOnThreading(Threading.VIRTUAL)
+    public ExecutorService virtualReportFanOutExecutor() {
+        return Executors.newCachedThreadPool(new VirtualThreadTaskExecutor("report-fan-out-").getVirtualThreadFactory());
+    }
+
+    /**
+     * Executor that runs coalesced report generations.
+     *
+     * <p>A generation runs apart from the requests waiting for it, so it survives any one of
+     * them leaving. Every generation has at least one admitted request waiting for it, so the
+     * admission control bounds the number of live threads.</p>
+     *
+     * @return The flight executor.
+     */
+    @Bean(name = REPORT_FLIGHT_EXECUTOR, destroyMethod = "shutdownNow")
+    @ConditionalOnThreading(Threading.PLATFORM)
+    public ExecutorService reportFlightExecutor() {
+        return Executors.newCachedThreadPool(new CustomizableThreadFactory("report-flight-"));
+    }
+
+    /**
+     * Executor that runs coalesced report generations on virtual threads.
+     *
+     * @return The flight executor.
+     */
+    @Bean(name = REPORT_FLIGHT_EXECUTOR, destroyMethod = "shutdownNow")
+    @ConditionalOnThreading(Threading.VIRTUAL)
+    public ExecutorService virtualReportFlightExecutor() {
+        return Executors.newCachedThreadPool(new VirtualThreadTaskExecutor("report-flight-").getVirtualThreadFactory());
+    }
+
+    /**
+     * Keeps the request path eager when {@code spring.main.lazy-initialization} is set.
+     *
+     * <p>Lazy initialization shortens startup by deferring beans to their first use, but a
+     * deferred controller would make the first request of a fresh node pay for creating it,
+     * its services and the report generators. Controllers, and therefore everything they
+     * depend on, and the beans that act once startup completes, such as the report warmup,
+     * are still created eagerly; only beans off the request path are deferred.</p>
+     *
+     * @return The filter of beans excluded from lazy initialization.
+     */
+    @Bean
+    public static LazyInitializationExcludeFilter requestPathLazyInitializationExcludeFilter() {
+        return (beanName, beanDefinition, beanType) -> AnnotatedElementUtils.hasAnnotation(beanType, Controller.class)
+                || SmartInitializingSingleton.class.isAssignableFrom(beanType);
+    }
+
+    /**
+     * Netty server of the reactive execution mode.
+     *
+     * <p>With both Spring MVC and WebFlux on the classpath, Spring Boot would run the reactive
+     * application on Tomcat. Declaring the factory runs it on Netty instead, whose event
+     * loops serve every connection with a handful of threads.</p>
+     *
+     * @param serverCustomizers The customizers of the Netty server.
+     * @return The reactive web server factory.
+     */
+    @Bean
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+    public NettyReactiveWebServerFactory nettyReactiveWebServerFactory(ObjectProvider<NettyServerCustomizer> serverCustomizers) {
+        var factory = new NettyReactiveWebServerFactory();
+        serverCustomizers.orderedStream().forEach(factory::addServerCustomizers);
+        return factory;
+    }
+
+    /**
+     * Cache of generated reports shared by all requests.
+     *
+     * @param properties The report configuration properties.
+     * @return The report cache.
+     */
+    @Bean
+    public ReportCache reportCache(ReportProperties properties) {
+        var cache = properties.getCache();
+        return new ReportCache(cache.getMaxBytes(), cache.getMaxEntryBytes());
+    }
+
+    /**
+     * Pool of the chunks in which reports are buffered and encoded, shared by all requests.
+     *
+     * @param properties The report configuration properties.
+     * @return The buffer pool.
+     */
+    @Bean
+    public ReportBufferPool reportBufferPool(ReportProperties properties) {
+        var buffer = properties.getBuffer();
+        return new ReportBufferPool(buffer.getChunkSize(), buffer.getPoolMaxBytes());
+    }
+
+    /**
+     * Coalescing of identical concurrent report generations.
+     *
+     * @param reportFlightExecutor The executor that runs coalesced generations.
+     * @return The report single flight.
+     */
+    @Bean
+    public ReportSingleFlight reportSingleFlight(@Qualifier(REPORT_FLIGHT_EXECUTOR) ExecutorService reportFlightExecutor) {
+        return new ReportSingleFlight(reportFlightExecutor);
+    }
+
+    /**
+     * Store of uploaded product datasets shared by all requests.
+     *
+     * @param properties The report configuration properties.
+     * @return The dataset store.
+     */
+    @Bean
+    public DatasetStore datasetStore(ReportProperties properties) {
+        var datasets = properties.getDatasets();
+        return new DatasetStore(datasets.getMaxBytes(), datasets.getTimeToLive(), datasets.isSpillEnabled(),
+                datasets.getSpoolDirectory(), datasets.getMaxDiskBytes());
+    }
+
+    /**
+     * Dataset uploads in progress, sent in chunks, shared by all requests.
+     *
+     * @param properties The report configuration properties.
+     * @return The dataset uploads.
+     */
+    @Bean
+    public DatasetUploads datasetUploads(ReportProperties properties) {
+        var datasets = properties.getDatasets();
+        return new DatasetUploads(datasets.getUploadTimeToLive(), datasets.getUploadMaxRows());
+    }
+
+    /**
+     * Publishes the hit, miss and eviction counts and the size of the report cache.
+     *
+     * @param reportCache The cache of generated reports.
+     * @return The binder that registers the cache metrics.
+     */
+    @Bean
+    public MeterBinder reportCacheMetrics(ReportCache reportCache) {
+        return registry -> {
+            FunctionCounter.builder("report.cache.requests", reportCache, ReportCache::getHits)
+                    .tag("result", "hit").register(registry);
+            FunctionCounter.builder("report.cache.requests", reportCache, ReportCache::getMisses)
+                    .tag("result", "miss").register(registry);
+            FunctionCounter.builder("report.cache.evictions", reportCache, ReportCache::getEvictions)
+                    .register(registry);
+            Gauge.builder("report.cache.size", reportCache, ReportCache::getSizeBytes)
+                    .baseUnit("bytes").register(registry);
+            Gauge.builder("report.cache.entries", reportCache, ReportCache::getEntryCount)
+                    .register(registry);
+        };
+    }
+
+    /**
+     * Publishes how many chunks the buffer pool lends, allocates, drops and leaks, and how
+     * many are in use or idle.
+     *
+     * @param reportBufferPool The pool of report buffer chunks.
+     * @return The binder that registers the buffer pool metrics.
+     */
+    @Bean
+    public MeterBinder reportBufferPoolMetrics(ReportBufferPool reportBufferPool) {
+        return registry -> {
+            FunctionCounter.builder("report.buffer.pool.acquired", reportBufferPool, ReportBufferPool::getAcquired)
+                    .register(registry);
+            FunctionCounter.builder("report.buffer.pool.allocated", reportBufferPool, ReportBufferPool::getAllocated)
+                    .register(registry);
+            FunctionCounter.builder("report.buffer.pool.dropped", reportBufferPool, ReportBufferPool::getDropped)
+                    .register(registry);
+            FunctionCounter.builder("report.buffer.pool.leaked", reportBufferPool, ReportBufferPool::getLeaked)
+                    .register(registry);
+            Gauge.builder("report.buffer.pool.chunks", reportBufferPool, ReportBufferPool::getInUse)
+                    .tag("state", "in-use").register(registry);
+            Gauge.builder("report.buffer.pool.chunks", reportBufferPool, ReportBufferPool::getIdle)
+                    .tag("state", "idle").register(registry);
+        };
+    }
+
+    /**
+     * Publishes the number of started, joined and cancelled coalesced generations and the
+     * number in flight.
+     *
+     * @param reportSingleFlight The coalescing of identical concurrent generations.
+     * @return The binder that registers the coalescing metrics.
+     */
+    @Bean
+    public MeterBinder reportSingleFlightMetrics(ReportSingleFlight reportSingleFlight) {
+        return registry -> {
+            FunctionCounter.builder("report.coalescing.requests", reportSingleFlight, ReportSingleFlight::getStarted)
+                    .tag("result", "started").register(registry);
+            FunctionCounter.builder("report.coalescing.requests", reportSingleFlight, ReportSingleFlight::getJoined)
+                    .tag("result", "joined").register(registry);
+            FunctionCounter.builder("report.coalescing.cancellations", reportSingleFlight, ReportSingleFlight::getCancelled)
+                    .register(registry);
+            Gauge.builder("report.coalescing.flights", reportSingleFlight, ReportSingleFlight::getInFlight)
+                    .register(registry);
+        };
+    }
+
+    /**
+     * Publishes the number and size of the stored datasets and their eviction count.
+     *
+     * @param datasetStore The store of uploaded product datasets.
+     * @return The binder that registers the dataset store metrics.
+     */
+    @Bean
+    public MeterBinder datasetStoreMetrics(DatasetStore datasetStore) {
+        return registry -> {
+            Gauge.builder("report.datasets.size", datasetStore, DatasetStore::getMemoryBytes)
+                    .tag("storage", "memory").baseUnit("bytes").register(registry);
+            Gauge.builder("report.datasets.size", datasetStore, DatasetStore::getDiskBytes)
+                    .tag("storage", "disk").baseUnit("bytes").register(registry);
+            Gauge.builder("report.datasets.entries", datasetStore, DatasetStore::getEntryCount)
+                    .register(registry);
+            FunctionCounter.builder("report.datasets.evictions", datasetStore, DatasetStore::getEvictions)
+                    .register(registry);
+        };
+    }
+
+    /**
+     * Publishes the number of dataset uploads in progress, the products they hold and how
+     * many expired.
+     *
+     * @param datasetUploads The dataset uploads in progress.
+     * @return The binder that registers the dataset upload metrics.
+     */
+    @Bean
+    public MeterBinder datasetUploadMetrics(DatasetUploads datasetUploads) {
+        return registry -> {
+            Gauge.builder("report.datasets.uploads", datasetUploads, DatasetUploads::getUploadCount)
+                    .register(registry);
+            Gauge.builder("report.datasets.upload.rows", datasetUploads, DatasetUploads::getRowCount)
+                    .register(registry);
+            FunctionCounter.builder("report.datasets.upload.expirations", datasetUploads, DatasetUploads::getExpirations)
+                    .register(registry);
+        };
+    }
+
+    /**
+     * Publishes the available memory budget and the rejection count of the admission control.
+     *
+     * @param reportAdmission The admission control of report requests.
+     * @return The binder that registers the admission metrics.
+     */
+    @Bean
+    public MeterBinder reportAdmissionMetrics(ReportAdmission reportAdmission) {
+        return registry -> {
+            Gauge.builder("report.admission.budget.available", reportAdmission, ReportAdmission::getAvailableBytes)
+                    .baseUnit("bytes").register(registry);
+            FunctionCounter.builder("report.admission.rejections", reportAdmission, ReportAdmission::getRejections)
+                    .register(registry);
+        };
+    }
+
+    private static ExecutorService jobExecutor(ReportProperties.Jobs jobs, ThreadFactory threadFactory) {
+        return new ThreadPoolExecutor(jobs.getThreads(), jobs.getThreads(), 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(jobs.getQueueCapacity()),
+                threadFactory,
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+}
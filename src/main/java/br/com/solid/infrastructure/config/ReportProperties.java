@@ -0,0 +1,528 @@
+package br.com.solid.infrastructure.config;
+
+import br.com.solid.infrastructure.buffer.ReportBuffer;
+import br.com.solid.infrastructure.buffer.ReportBufferPool;
+import br.com.solid.infrastructure.reports.columnar.ReportPCOL;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.math.RoundingMode;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Configuration properties for report generation, bound from the {@code report.*} namespace.
+ */
+@Data
+@ConfigurationProperties(prefix = "report")
+public class ReportProperties {
+
+    /**
+     * Settings for parallel generation of text-based reports.
+     */
+    private Parallel parallel = new Parallel();
+
+    /**
+     * Settings for asynchronous report jobs.
+     */
+    private Jobs jobs = new Jobs();
+
+    /**
+     * Settings for the report result cache.
+     */
+    private Cache cache = new Cache();
+
+    /**
+     * Settings for the coalescing of identical concurrent reports.
+     */
+    private Coalescing coalescing = new Coalescing();
+
+    /**
+     * Settings for compressed report delivery.
+     */
+    private Compression compression = new Compression();
+
+    /**
+     * Settings for buffering generated reports.
+     */
+    private Buffer buffer = new Buffer();
+
+    /**
+     * Settings for admission control of report requests.
+     */
+    private Admission admission = new Admission();
+
+    /**
+     * Settings for multi-format report bundles.
+     */
+    private Bundle bundle = new Bundle();
+
+    /**
+     * Settings for uploaded product datasets.
+     */
+    private Datasets datasets = new Datasets();
+
+    /**
+     * Settings for report queries (projection, filtering, sorting and limits).
+     */
+    private Query query = new Query();
+
+    /**
+     * Settings for the reactive report pipeline.
+     */
+    private Reactive reactive = new Reactive();
+
+    /**
+     * Settings for the warmup of the report generators at startup.
+     */
+    private Warmup warmup = new Warmup();
+
+    /**
+     * Settings for how numbers are written in reports.
+     */
+    private Format format = new Format();
+
+    /**
+     * Settings for the cancellation of report generations.
+     */
+    private Cancellation cancellation = new Cancellation();
+
+    /**
+     * Settings for the columnar pcol report format.
+     */
+    private Columnar columnar = new Columnar();
+
+    /**
+     * Parallel generation settings ({@code report.parallel.*}).
+     */
+    @Data
+    public static class Parallel {
+
+        /**
+         * Whether CSV and TXT reports are encoded in parallel chunks.
+         */
+        private boolean enabled = false;
+
+        /**
+         * Number of threads in the pool shared by all parallel reports.
+         */
+        private int threads = Runtime.getRuntime().availableProcessors();
+
+        /**
+         * Number of rows encoded by each task.
+         */
+        private int chunkSize = 10_000;
+
+        /**
+         * Maximum number of chunks a single report may have queued or running at once,
+         * which bounds both its memory use and its share of the pool.
+         */
+        private int maxChunksInFlight = 4;
+    }
+
+    /**
+     * Asynchronous report job settings ({@code report.jobs.*}).
+     */
+    @Data
+    public static class Jobs {
+
+        /**
+         * Number of jobs generated concurrently.
+         */
+        private int threads = 2;
+
+        /**
+         * Maximum number of jobs waiting for a worker; further submissions are rejected.
+         */
+        private int queueCapacity = 16;
+
+        /**
+         * Directory where payloads and generated reports are spooled.
+         */
+        private Path spoolDirectory = Path.of(System.getProperty("java.io.tmpdir"), "report-jobs");
+
+        /**
+         * How long a finished job and its report are kept before being discarded.
+         */
+        private Duration retention = Duration.ofHours(1);
+
+        /**
+         * Largest payload, in bytes, that a job spools to disk; larger payloads are rejected.
+         */
+        private long maxPayloadBytes = 512L * 1024 * 1024;
+    }
+
+    /**
+     * Report result cache settings ({@code report.cache.*}).
+     */
+    @Data
+    public static class Cache {
+
+        /**
+         * Whether small payloads are buffered so their reports can be cached and served with an ETag.
+         */
+        private boolean enabled = true;
+
+        /**
+         * Maximum total size of the cached reports, in bytes.
+         */
+        private long maxBytes = 64L * 1024 * 1024;
+
+        /**
+         * Maximum size of a single cached report, in bytes.
+         */
+        private long maxEntryBytes = 8L * 1024 * 1024;
+
+        /**
+         * Largest request payload, in bytes, that is buffered for caching; larger or chunked
+         * payloads are always streamed.
+         */
+        private long maxPayloadBytes = 1024L * 1024;
+    }
+
+    /**
+     * Report coalescing settings ({@code report.coalescing.*}).
+     */
+    @Data
+    public static class Coalescing {
+
+        /**
+         * Whether identical cacheable requests that miss the cache at the same time share one generation.
+         */
+        private boolean enabled = true;
+    }
+
+    /**
+     * Compressed report delivery settings ({@code report.compression.*}).
+     */
+    @Data
+    public static class Compression {
+
+        /**
+         * Whether reports are compressed when the client accepts it.
+         */
+        private boolean enabled = true;
+
+        /**
+         * Deflate compression level, from 1 (fastest) to 9 (smallest).
+         */
+        private int level = 6;
+
+        /**
+         * Request payloads smaller than this, in bytes, are answered uncompressed.
+         */
+        private long minPayloadBytes = 2048;
+
+        /**
+         * Report formats compressed through {@code Accept-Encoding}; xlsx is already a zip archive.
+         */
+        private List<String> extensions = List.of("csv", "txt", "xls");
+    }
+
+    /**
+     * Report buffer settings ({@code report.buffer.*}).
+     */
+    @Data
+    public static class Buffer {
+
+        /**
+         * Bytes of a buffered report kept in memory before it spills to a temporary file.
+         */
+        private int memoryThreshold = ReportBuffer.DEFAULT_MEMORY_THRESHOLD;
+
+        /**
+         * Directory in which spilled reports are written.
+         */
+        private Path spoolDirectory = Path.of(System.getProperty("java.io.tmpdir"), "report-buffers");
+
+        /**
+         * Size of the pooled chunks in which reports are buffered and encoded.
+         */
+        private int chunkSize = ReportBufferPool.DEFAULT_CHUNK_SIZE;
+
+        /**
+         * Bytes of idle chunks kept for reuse across requests; 0 disables pooling.
+         */
+        private long poolMaxBytes = 32L * 1024 * 1024;
+    }
+
+    /**
+     * Multi-format report bundle settings ({@code report.bundle.*}).
+     */
+    @Data
+    public static class Bundle {
+
+        /**
+         * Maximum number of formats requested in a single bundle.
+         */
+        private int maxFormats = 4;
+
+        /**
+         * Number of decoded rows handed to the generators at once.
+         */
+        private int batchSize = 256;
+
+        /**
+         * Maximum number of batches queued for each generator; the slowest generator paces
+         * the decoding of the payload.
+         */
+        private int batchesInFlight = 16;
+    }
+
+    /**
+     * Uploaded dataset settings ({@code report.datasets.*}).
+     */
+    @Data
+    public static class Datasets {
+
+        /**
+         * Maximum heap held by the datasets kept in memory, in bytes.
+         */
+        private long maxBytes = 256L * 1024 * 1024;
+
+        /**
+         * How long a dataset is kept after it is uploaded.
+         */
+        private Duration timeToLive = Duration.ofMinutes(30);
+
+        /**
+         * Whether datasets that do not fit in memory are spilled to disk instead of evicted.
+         */
+        private boolean spillEnabled = true;
+
+        /**
+         * Directory in which spilled datasets are written.
+         */
+        private Path spoolDirectory = Path.of(System.getProperty("java.io.tmpdir"), "report-datasets");
+
+        /**
+         * Maximum total size of the spilled datasets, in bytes.
+         */
+        private long maxDiskBytes = 2L * 1024 * 1024 * 1024;
+
+        /**
+         * How long a chunked upload is kept after its last chunk.
+         */
+        private Duration uploadTimeToLive = Duration.ofMinutes(10);
+
+        /**
+         * Maximum number of products held by all uploads in progress together, sent in one
+         * request or in chunks.
+         */
+        private long uploadMaxRows = 10_000_000;
+    }
+
+    /**
+     * Report query settings ({@code report.query.*}).
+     */
+    @Data
+    public static class Query {
+
+        /**
+         * Number of rows sorted in memory before a sorted run is spilled to disk; limits up to
+         * this value are served from an in-memory top-N heap instead.
+         */
+        private int sortRunRows = 100_000;
+
+        /**
+         * Directory in which sorted runs are written.
+         */
+        private Path spoolDirectory = Path.of(System.getProperty("java.io.tmpdir"), "report-sort");
+    }
+
+    /**
+     * Reactive report pipeline settings ({@code report.reactive.*}).
+     */
+    @Data
+    public static class Reactive {
+
+        /**
+         * Number of rows encoded into each response buffer of a text report.
+         */
+        private int batchSize = 256;
+    }
+
+    /**
+     * Startup warmup settings ({@code report.warmup.*}).
+     */
+    @Data
+    public static class Warmup {
+
+        /**
+         * Whether every report format is generated from synthetic data before the
+         * application reports itself ready.
+         */
+        private boolean enabled = false;
+
+        /**
+         * Number of synthetic products in each warmup report.
+         */
+        private int rows = 1_000;
+
+        /**
+         * Number of times each report format is generated.
+         */
+        private int iterations = 3;
+    }
+
+    /**
+     * Number format settings ({@code report.format.*}).
+     */
+    @Data
+    public static class Format {
+
+        /**
+         * Number of fraction digits of every decimal value; unset keeps the scale of each value.
+         */
+        private Integer decimalScale;
+
+        /**
+         * Rounding applied when a decimal value has more fraction digits than the scale.
+         */
+        private RoundingMode roundingMode = RoundingMode.HALF_EVEN;
+
+        /**
+         * Locale whose decimal separator is used in text reports, e.g. {@code pt-BR} for a comma.
+         */
+        private Locale locale = Locale.ROOT;
+    }
+
+    /**
+     * Cancellation settings ({@code report.cancellation.*}).
+     */
+    @Data
+    public static class Cancellation {
+
+        /**
+         * Number of rows a generation reads between two checks of its cancellation and
+         * deadline, which bounds how much work it does once the client is gone.
+         */
+        private int checkIntervalRows = 1_024;
+    }
+
+    /**
+     * Columnar report settings ({@code report.columnar.*}).
+     */
+    @Data
+    public static class Columnar {
+
+        /**
+         * Number of rows in each row group of a pcol report; a report holds one row group
+         * in memory at a time.
+         */
+        private int rowGroupSize = ReportPCOL.DEFAULT_ROW_GROUP_SIZE;
+    }
+
+    /**
+     * Admission control settings ({@code report.admission.*}).
+     */
+    @Data
+    public static class Admission {
+
+        /**
+         * Whether report requests are admitted against a memory budget and concurrency caps.
+         */
+        private boolean enabled = true;
+
+        /**
+         * Memory budget shared by all reports, in bytes; when zero, a fraction of the maximum heap is used.
+         */
+        private long budgetBytes = 0;
+
+        /**
+         * Fraction of the maximum heap used as budget when no explicit budget is set.
+         */
+        private double heapFraction = 0.5;
+
+        /**
+         * How long a request may wait for admission before it is rejected.
+         */
+        private Duration maxWait = Duration.ofSeconds(2);
+
+        /**
+         * Delay suggested to rejected clients through the {@code Retry-After} header.
+         */
+        private Duration retryAfter = Duration.ofSeconds(5);
+
+        /**
+         * Average size of a product in the JSON payload, used to estimate the number of rows.
+         */
+        private long payloadBytesPerRow = 48;
+
+        /**
+         * Number of rows assumed for payloads of unknown size.
+         */
+        private long unknownPayloadRows = 100_000;
+
+        /**
+         * Heap per row added when the rows and the report are buffered instead of streamed.
+         */
+        private long bufferedBytesPerRow = 256;
+
+        /**
+         * Maximum number of reports generated concurrently, per report format.
+         */
+        private Map<String, Integer> maxConcurrent = new LinkedHashMap<>(Map.of("csv", 16, "txt", 16, "xls", 2, "xlsx", 4, "pcol", 8));
+
+        /**
+         * Fixed heap cost of generating one report, in bytes, per report format.
+         */
+        private Map<String, Long> baseBytes = new LinkedHashMap<>(Map.of(
+                "csv", 2L * 1024 * 1024, "txt", 2L * 1024 * 1024, "xls", 1024L * 1024, "xlsx", 8L * 1024 * 1024,
+                "pcol", 16L * 1024 * 1024));
+
+        /**
+         * Heap cost per row held by the generator, in bytes, per report format; zero for streaming generators.
+         */
+        private Map<String, Long> bytesPerRow = new LinkedHashMap<>(Map.of("csv", 0L, "txt", 0L, "xls", 512L, "xlsx", 0L, "pcol", 0L));
+
+        /**
+         * Concurrency cap of formats without their own entry.
+         */
+        private int defaultMaxConcurrent = 4;
+
+        /**
+         * Fixed heap cost of formats without their own entry, in bytes.
+         */
+        private long defaultBaseBytes = 1024L * 1024;
+
+        /**
+         * Heap cost per row of formats without their own entry, in bytes.
+         */
+        private long defaultBytesPerRow = 512;
+
+        /**
+         * Returns the concurrency cap of the given format.
+         *
+         * @param extension The lowercase file extension of the format.
+         * @return The maximum number of reports generated concurrently.
+         */
+        public int maxConcurrentFor(String extension) {
+            return maxConcurrent.getOrDefault(extension, defaultMaxConcurrent);
+        }
+
+        /**
+         * Returns the fixed heap cost of generating one report in the given format.
+         *
+         * @param extension The lowercase file extension of the format.
+         * @return The cost, in bytes.
+         */
+        public long baseBytesFor(String extension) {
+            return baseBytes.getOrDefault(extension, defaultBaseBytes);
+        }
+
+        /**
+         * Returns the heap cost per row of the given format.
+         *
+         * @param extension The lowercase file extension of the format.
+         * @return The cost, in bytes.
+         */
+        public long bytesPerRowFor(String extension) {
+            return bytesPerRow.getOrDefault(extension, defaultBytesPerRow);
+        }
+    }
+}
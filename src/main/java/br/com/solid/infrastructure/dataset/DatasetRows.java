@@ -0,0 +1,41 @@
+package br.com.solid.infrastructure.dataset;
+
+import br.com.solid.domain.dto.ProductDto;
+
+import java.util.Iterator;
+
+/**
+ * The products of a dataset opened for a single report, which must be closed once the report
+ * is done, whether or not every row was read.
+ *
+ * <p>Rows of a spilled dataset are read from an open file, which closing releases; rows kept
+ * in memory hold nothing to release.</p>
+ */
+public interface DatasetRows extends Iterable<ProductDto>, AutoCloseable {
+
+    /**
+     * Releases the file the rows are read from, if any. Closing the rows more than once has no
+     * further effect.
+     */
+    @Override
+    void close();
+
+    /**
+     * Wraps rows that hold no resources.
+     *
+     * @param rows The rows, such as those of a dataset in memory.
+     * @return The rows, whose {@link #close()} does nothing.
+     */
+    static DatasetRows of(Iterable<ProductDto> rows) {
+        return new DatasetRows() {
+            @Override
+            public Iterator<ProductDto> iterator() {
+                return rows.iterator();
+            }
+
+            @Override
+            public void close() {
+            }
+        };
+    }
+}
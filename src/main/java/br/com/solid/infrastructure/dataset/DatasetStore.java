@@ -0,0 +1,451 @@
+package br.com.solid.infrastructure.dataset;
+
+import br.com.solid.domain.dto.ProductDto;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Store of uploaded product datasets, so reports can be generated many times from a single upload.
+ *
+ * <p>Datasets are kept in memory in their columnar form. Once the datasets in memory exceed
+ * the configured number of bytes, the least recently used ones are spilled to a file in the
+ * spool directory, when spilling is enabled, or evicted otherwise. Spilled datasets are read
+ * back from disk row by row, and the least recently used ones are evicted once the files
+ * exceed their own limit. Every dataset expires after the configured time to live.</p>
+ */
+public class DatasetStore {
+
+    private static final String FILE_SUFFIX = ".dataset";
+
+    private final long maxBytes;
+    private final Duration timeToLive;
+    private final boolean spillEnabled;
+    private final Path spoolDirectory;
+    private final long maxDiskBytes;
+    private final Clock clock;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final LinkedHashMap<String, StoredDataset> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private final AtomicLong evictions = new AtomicLong();
+    private long memoryBytes;
+    private long spillingBytes;
+    private long diskBytes;
+
+    /**
+     * Constructor that defines the limits of the store.
+     *
+     * @param maxBytes The maximum heap held by the datasets kept in memory, in bytes.
+     * @param timeToLive How long a dataset is kept after it is uploaded.
+     * @param spillEnabled Whether datasets that do not fit in memory are spilled to disk instead of evicted.
+     * @param spoolDirectory The directory in which spilled datasets are written.
+     * @param maxDiskBytes The maximum total size of the spilled datasets, in bytes.
+     */
+    public DatasetStore(long maxBytes, Duration timeToLive, boolean spillEnabled, Path spoolDirectory,
+                        long maxDiskBytes) {
+        this(maxBytes, timeToLive, spillEnabled, spoolDirectory, maxDiskBytes, Clock.systemUTC());
+    }
+
+    DatasetStore(long maxBytes, Duration timeToLive, boolean spillEnabled, Path spoolDirectory,
+                 long maxDiskBytes, Clock clock) {
+        this.maxBytes = maxBytes;
+        this.timeToLive = timeToLive;
+        this.spillEnabled = spillEnabled;
+        this.spoolDirectory = spoolDirectory;
+        this.maxDiskBytes = maxDiskBytes;
+        this.clock = clock;
+    }
+
+    /**
+     * Stores a dataset under a new identifier, spilling or evicting the least recently used
+     * datasets to stay within the size limits.
+     *
+     * <p>The datasets to spill are chosen under the store lock, but their files are written
+     * outside it, so the other datasets stay readable while a large one is written to disk.</p>
+     *
+     * @param dataset The dataset to be stored.
+     * @return The stored dataset.
+     * @throws DatasetTooLargeException if the dataset alone exceeds the capacity of the store.
+     */
+    public StoredDataset put(ProductDataset dataset) {
+        var sizeBytes = dataset.getSizeBytes();
+        if (sizeBytes > maxBytes && !spillEnabled) {
+            throw new DatasetTooLargeException("Dataset of " + sizeBytes + " bytes exceeds the store capacity");
+        }
+
+        var now = clock.instant();
+        var stored = new StoredDataset(UUID.randomUUID().toString(), dataset, now, now.plus(timeToLive));
+        List<StoredDataset> victims;
+
+        lock.lock();
+        try {
+            purgeExpired(now);
+            entries.put(stored.getId(), stored);
+            memoryBytes += sizeBytes;
+            victims = spillEnabled ? selectSpills() : evictFromMemory();
+        } finally {
+            lock.unlock();
+        }
+
+        var files = new LinkedHashMap<StoredDataset, Path>();
+        for (var victim : victims) {
+            files.put(victim, writeSpillFile(victim));
+        }
+
+        lock.lock();
+        try {
+            files.forEach(this::completeSpill);
+            evictFromDisk();
+
+            if (!entries.containsKey(stored.getId())) {
+                throw new DatasetTooLargeException("Dataset of " + sizeBytes + " bytes exceeds the store capacity");
+            }
+            return stored;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Retrieves a stored dataset, marking it as recently used.
+     *
+     * @param id The dataset identifier.
+     * @return The dataset, or an empty {@link Optional} if it does not exist or has expired.
+     */
+    public Optional<StoredDataset> get(String id) {
+        lock.lock();
+        try {
+            purgeExpired(clock.instant());
+            return Optional.ofNullable(entries.get(id));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Opens the products of a stored dataset for a single iteration, marking it as recently used.
+     *
+     * <p>Datasets in memory are iterated in place; spilled datasets are read from disk. The
+     * rows remain readable even if the dataset is evicted or expires while they are iterated.
+     * The caller must close the rows, which releases the file of a spilled dataset.</p>
+     *
+     * @param id The dataset identifier.
+     * @return The products, or an empty {@link Optional} if the dataset does not exist or has expired.
+     */
+    public Optional<DatasetRows> rows(String id) {
+        lock.lock();
+        try {
+            purgeExpired(clock.instant());
+            var stored = entries.get(id);
+            if (Objects.isNull(stored)) {
+                return Optional.empty();
+            }
+
+            var dataset = stored.dataset;
+            return Optional.of(Objects.nonNull(dataset) ? DatasetRows.of(dataset.rows()) : ProductDataset.open(stored.spillFile));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Removes a dataset, deleting its file if it was spilled.
+     *
+     * @param id The dataset identifier.
+     * @return {@code true} if the dataset existed.
+     */
+    public boolean remove(String id) {
+        lock.lock();
+        try {
+            var stored = entries.remove(id);
+            if (Objects.isNull(stored)) {
+                return false;
+            }
+            release(stored);
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Returns the heap held by the datasets kept in memory.
+     *
+     * @return The size, in bytes.
+     */
+    public long getMemoryBytes() {
+        lock.lock();
+        try {
+            return memoryBytes;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Returns the total size of the spilled datasets.
+     *
+     * @return The size, in bytes.
+     */
+    public long getDiskBytes() {
+        lock.lock();
+        try {
+            return diskBytes;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Returns the number of stored datasets, in memory or spilled.
+     *
+     * @return The dataset count.
+     */
+    public int getEntryCount() {
+        lock.lock();
+        try {
+            return entries.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Returns the number of datasets evicted to stay within the size limits.
+     *
+     * @return The eviction count.
+     */
+    public long getEvictions() {
+        return evictions.get();
+    }
+
+    /**
+     * Marks the least recently used datasets in memory to be spilled, until the rest fits
+     * within the memory limit.
+     */
+    private List<StoredDataset> selectSpills() {
+        var victims = new ArrayList<StoredDataset>();
+        var excess = memoryBytes - spillingBytes - maxBytes;
+
+        for (var stored : entries.values()) {
+            if (excess <= 0) {
+                break;
+            }
+            if (Objects.isNull(stored.dataset) || stored.spilling) {
+                continue;
+            }
+            stored.spilling = true;
+            spillingBytes += stored.getSizeBytes();
+            excess -= stored.getSizeBytes();
+            victims.add(stored);
+        }
+        return victims;
+    }
+
+    private List<StoredDataset> evictFromMemory() {
+        for (var stored : new ArrayList<>(entries.values())) {
+            if (memoryBytes <= maxBytes) {
+                break;
+            }
+            if (Objects.nonNull(stored.dataset)) {
+                evict(stored);
+            }
+        }
+        return List.of();
+    }
+
+    private void evictFromDisk() {
+        for (var stored : new ArrayList<>(entries.values())) {
+            if (diskBytes <= maxDiskBytes) {
+                break;
+            }
+            if (Objects.nonNull(stored.spillFile)) {
+                evict(stored);
+            }
+        }
+    }
+
+    /**
+     * Writes the file of a dataset chosen to be spilled, without holding the store lock.
+     *
+     * @return The file, or {@code null} if the dataset is gone or could not be written.
+     */
+    private Path writeSpillFile(StoredDataset stored) {
+        var dataset = stored.dataset;
+        if (Objects.isNull(dataset)) {
+            return null;
+        }
+
+        Path file = null;
+        try {
+            file = Files.createDirectories(spoolDirectory).resolve(stored.getId() + FILE_SUFFIX);
+            dataset.writeTo(file);
+            return file;
+        } catch (IOException | RuntimeException e) {
+            deleteQuietly(file);
+            return null;
+        }
+    }
+
+    /**
+     * Swaps a dataset for its spill file, unless it was removed or expired while the file was
+     * written; a dataset whose file could not be written is evicted.
+     */
+    private void completeSpill(StoredDataset stored, Path file) {
+        stored.spilling = false;
+        spillingBytes -= stored.getSizeBytes();
+
+        if (!entries.containsKey(stored.getId()) || Objects.isNull(stored.dataset)) {
+            deleteQuietly(file);
+            return;
+        }
+        if (Objects.isNull(file)) {
+            evict(stored);
+            return;
+        }
+
+        try {
+            stored.fileBytes = Files.size(file);
+        } catch (IOException e) {
+            deleteQuietly(file);
+            evict(stored);
+            return;
+        }
+        stored.spillFile = file;
+        memoryBytes -= stored.getSizeBytes();
+        diskBytes += stored.fileBytes;
+        stored.dataset = null;
+    }
+
+    private void evict(StoredDataset stored) {
+        entries.remove(stored.getId());
+        release(stored);
+        evictions.incrementAndGet();
+    }
+
+    private void release(StoredDataset stored) {
+        if (Objects.nonNull(stored.dataset)) {
+            memoryBytes -= stored.getSizeBytes();
+            stored.dataset = null;
+        }
+        if (Objects.nonNull(stored.spillFile)) {
+            if (stored.fileBytes > 0) {
+                diskBytes -= stored.fileBytes;
+            }
+            deleteQuietly(stored.spillFile);
+            stored.spillFile = null;
+        }
+    }
+
+    private static void deleteQuietly(Path file) {
+        if (Objects.isNull(file)) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            // A leftover file in the spool directory is harmless.
+        }
+    }
+
+    private void purgeExpired(Instant now) {
+        var iterator = entries.values().iterator();
+        while (iterator.hasNext()) {
+            var stored = iterator.next();
+            if (!now.isBefore(stored.getExpiresAt())) {
+                iterator.remove();
+                release(stored);
+            }
+        }
+    }
+
+    /**
+     * A dataset held by the store, in memory or spilled to disk.
+     */
+    public static final class StoredDataset {
+
+        private final String id;
+        private final int rowCount;
+        private final long sizeBytes;
+        private final Instant createdAt;
+        private final Instant expiresAt;
+        private volatile ProductDataset dataset;
+        private volatile Path spillFile;
+        private long fileBytes;
+        private boolean spilling;
+
+        private StoredDataset(String id, ProductDataset dataset, Instant createdAt, Instant expiresAt) {
+            this.id = id;
+            this.dataset = dataset;
+            this.rowCount = dataset.getRowCount();
+            this.sizeBytes = dataset.getSizeBytes();
+            this.createdAt = createdAt;
+            this.expiresAt = expiresAt;
+        }
+
+        /**
+         * Returns the dataset identifier.
+         *
+         * @return The dataset identifier.
+         */
+        public String getId() {
+            return id;
+        }
+
+        /**
+         * Returns the number of products in the dataset.
+         *
+         * @return The row count.
+         */
+        public int getRowCount() {
+            return rowCount;
+        }
+
+        /**
+         * Returns the estimated memory footprint of the dataset.
+         *
+         * @return The size of the dataset in memory, in bytes.
+         */
+        public long getSizeBytes() {
+            return sizeBytes;
+        }
+
+        /**
+         * Returns when the dataset was stored.
+         *
+         * @return The instant the dataset was stored.
+         */
+        public Instant getCreatedAt() {
+            return createdAt;
+        }
+
+        /**
+         * Returns when the dataset expires and is discarded.
+         *
+         * @return The expiration instant.
+         */
+        public Instant getExpiresAt() {
+            return expiresAt;
+        }
+
+        /**
+         * Indicates whether the dataset has been spilled to disk.
+         *
+         * @return {@code true} if the rows are read from a file.
+         */
+        public boolean isSpilled() {
+            return Objects.isNull(dataset) && Objects.nonNull(spillFile);
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package br.com.solid.infrastructure.dataset;
+
+/**
+ * Thrown when a dataset does not fit in the {@link DatasetStore}, even after spilling or
+ * evicting every other dataset.
+ */
+public class DatasetTooLargeException extends RuntimeException {
+
+    /**
+     * Constructor that describes the rejected dataset.
+     *
+     * @param message The reason the dataset was rejected.
+     */
+    public DatasetTooLargeException(String message) {
+        super(message);
+    }
+}
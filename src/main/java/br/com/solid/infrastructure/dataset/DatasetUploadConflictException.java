@@ -0,0 +1,17 @@
+package br.com.solid.infrastructure.dataset;
+
+/**
+ * Thrown when a chunk cannot be applied to a dataset upload in its current state, because it
+ * is out of order or another request is working on the same upload.
+ */
+public class DatasetUploadConflictException extends RuntimeException {
+
+    /**
+     * Constructor that describes the conflict.
+     *
+     * @param message The reason the chunk was rejected.
+     */
+    public DatasetUploadConflictException(String message) {
+        super(message);
+    }
+}
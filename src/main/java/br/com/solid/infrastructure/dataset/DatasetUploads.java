@@ -0,0 +1,317 @@
+package br.com.solid.infrastructure.dataset;
+
+import br.com.solid.domain.dto.ProductDto;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Dataset uploads in progress, built from a sequence of chunks sent in separate requests.
+ *
+ * <p>Each upload collects its products straight into a {@link ProductDataset.Builder} as its
+ * chunks are decoded, so a large dataset is sent in pieces without any request holding the
+ * whole payload. Chunks are numbered from zero and applied in order: a chunk that was already
+ * applied is acknowledged again without being read, so a client that lost a response can
+ * resend it, and a chunk that fails halfway is rolled back, so it can be sent again as well.</p>
+ *
+ * <p>The products of all open uploads share a row budget. An upload that has received no
+ * chunk for the configured time to live is discarded.</p>
+ */
+public class DatasetUploads {
+
+    private static final int RESERVED_ROWS = 1024;
+
+    private final Duration timeToLive;
+    private final long maxRows;
+    private final Clock clock;
+    private final ConcurrentHashMap<String, Upload> uploads = new ConcurrentHashMap<>();
+    private final AtomicLong rows = new AtomicLong();
+    private final AtomicLong expirations = new AtomicLong();
+
+    /**
+     * Constructor that defines the limits of the uploads.
+     *
+     * @param timeToLive How long an upload is kept after its last chunk.
+     * @param maxRows The maximum number of products held by all open uploads together.
+     */
+    public DatasetUploads(Duration timeToLive, long maxRows) {
+        this(timeToLive, maxRows, Clock.systemUTC());
+    }
+
+    DatasetUploads(Duration timeToLive, long maxRows, Clock clock) {
+        this.timeToLive = timeToLive;
+        this.maxRows = maxRows;
+        this.clock = clock;
+    }
+
+    /**
+     * Starts a new, empty upload.
+     *
+     * @return The upload, expecting chunk {@code 0}.
+     */
+    public Upload start() {
+        var now = clock.instant();
+        purgeExpired(now);
+
+        var upload = new Upload(UUID.randomUUID().toString(), now, now.plus(timeToLive));
+        uploads.put(upload.getId(), upload);
+        return upload;
+    }
+
+    /**
+     * Retrieves an upload in progress.
+     *
+     * @param id The upload identifier.
+     * @return The upload, or an empty {@link Optional} if it does not exist or has expired.
+     */
+    public Optional<Upload> get(String id) {
+        purgeExpired(clock.instant());
+        return Optional.ofNullable(uploads.get(id));
+    }
+
+    /**
+     * Appends a chunk of products to an upload.
+     *
+     * <p>The products are only opened if the chunk is the next one expected; a chunk that was
+     * already applied is acknowledged without reading them. If decoding fails or the row
+     * budget is exhausted, the products of the chunk are dropped and the upload still expects
+     * the same chunk.</p>
+     *
+     * @param id The upload identifier.
+     * @param chunk The number of the chunk, from zero.
+     * @param products Opens the products of the chunk, iterated once.
+     * @return The upload, or an empty {@link Optional} if it does not exist or has expired.
+     * @throws DatasetUploadConflictException if the chunk is ahead of the next one expected,
+     * or another chunk of the upload is being appended.
+     * @throws DatasetTooLargeException if the open uploads would exceed the row budget.
+     */
+    public Optional<Upload> append(String id, int chunk, Supplier<Iterable<ProductDto>> products) {
+        var found = get(id);
+        if (found.isEmpty()) {
+            return found;
+        }
+
+        var upload = found.get();
+        lock(upload);
+        try {
+            if (upload.closed) {
+                return Optional.empty();
+            }
+            if (chunk < upload.chunks) {
+                return found;
+            }
+            if (chunk > upload.chunks) {
+                throw new DatasetUploadConflictException("Expected chunk " + upload.chunks + " of upload " + id
+                        + ", got " + chunk);
+            }
+
+            addAll(upload, products.get());
+            upload.chunks++;
+            upload.expiresAt = clock.instant().plus(timeToLive);
+            return found;
+        } finally {
+            upload.lock.unlock();
+        }
+    }
+
+    /**
+     * Completes an upload, turning its products into a dataset and discarding the upload.
+     *
+     * @param id The upload identifier.
+     * @return The dataset, or an empty {@link Optional} if the upload does not exist or has expired.
+     * @throws DatasetUploadConflictException if a chunk of the upload is being appended.
+     */
+    public Optional<ProductDataset> complete(String id) {
+        return close(id).map(ProductDataset.Builder::build);
+    }
+
+    /**
+     * Discards an upload and its products.
+     *
+     * @param id The upload identifier.
+     * @return {@code true} if the upload existed.
+     * @throws DatasetUploadConflictException if a chunk of the upload is being appended.
+     */
+    public boolean remove(String id) {
+        return close(id).isPresent();
+    }
+
+    /**
+     * Returns the number of uploads in progress.
+     *
+     * @return The upload count.
+     */
+    public int getUploadCount() {
+        return uploads.size();
+    }
+
+    /**
+     * Returns the number of products held by the uploads in progress.
+     *
+     * @return The row count, including rows reserved by chunks being appended.
+     */
+    public long getRowCount() {
+        return rows.get();
+    }
+
+    /**
+     * Returns the number of uploads discarded because they received no chunk in time.
+     *
+     * @return The expiration count.
+     */
+    public long getExpirations() {
+        return expirations.get();
+    }
+
+    /**
+     * Adds the products of a chunk, reserving room in the row budget a block at a time.
+     */
+    private void addAll(Upload upload, Iterable<ProductDto> products) {
+        var builder = upload.builder;
+        var start = builder.getRowCount();
+        long reserved = 0;
+
+        try {
+            for (var product : products) {
+                if (builder.getRowCount() - start == reserved) {
+                    reserve(RESERVED_ROWS);
+                    reserved += RESERVED_ROWS;
+                }
+                builder.add(product);
+            }
+        } catch (RuntimeException e) {
+            builder.truncate(start);
+            rows.addAndGet(-reserved);
+            throw e;
+        }
+
+        rows.addAndGet(builder.getRowCount() - start - reserved);
+        upload.rowCount = builder.getRowCount();
+    }
+
+    private void reserve(int count) {
+        if (rows.addAndGet(count) > maxRows) {
+            rows.addAndGet(-count);
+            throw new DatasetTooLargeException("Uploads in progress exceed " + maxRows + " rows");
+        }
+    }
+
+    private Optional<ProductDataset.Builder> close(String id) {
+        var upload = uploads.get(id);
+        if (Objects.isNull(upload)) {
+            return Optional.empty();
+        }
+
+        lock(upload);
+        try {
+            if (upload.closed || !uploads.remove(id, upload)) {
+                return Optional.empty();
+            }
+            upload.closed = true;
+            rows.addAndGet(-upload.rowCount);
+            return Optional.of(upload.builder);
+        } finally {
+            upload.lock.unlock();
+        }
+    }
+
+    private static void lock(Upload upload) {
+        if (!upload.lock.tryLock()) {
+            throw new DatasetUploadConflictException("A chunk of upload " + upload.getId() + " is being appended");
+        }
+    }
+
+    /**
+     * Discards the expired uploads, skipping those with a chunk being appended.
+     */
+    private void purgeExpired(Instant now) {
+        for (var upload : uploads.values()) {
+            if (now.isBefore(upload.expiresAt) || !upload.lock.tryLock()) {
+                continue;
+            }
+            try {
+                if (!upload.closed && uploads.remove(upload.getId(), upload)) {
+                    upload.closed = true;
+                    rows.addAndGet(-upload.rowCount);
+                    expirations.incrementAndGet();
+                }
+            } finally {
+                upload.lock.unlock();
+            }
+        }
+    }
+
+    /**
+     * A dataset upload in progress.
+     */
+    public static final class Upload {
+
+        private final String id;
+        private final Instant createdAt;
+        private final ProductDataset.Builder builder = ProductDataset.builder();
+        private final ReentrantLock lock = new ReentrantLock();
+        private volatile Instant expiresAt;
+        private volatile int chunks;
+        private volatile int rowCount;
+        private boolean closed;
+
+        private Upload(String id, Instant createdAt, Instant expiresAt) {
+            this.id = id;
+            this.createdAt = createdAt;
+            this.expiresAt = expiresAt;
+        }
+
+        /**
+         * Returns the upload identifier.
+         *
+         * @return The upload identifier.
+         */
+        public String getId() {
+            return id;
+        }
+
+        /**
+         * Returns the number of chunks applied, which is also the number of the next chunk expected.
+         *
+         * @return The chunk count.
+         */
+        public int getChunks() {
+            return chunks;
+        }
+
+        /**
+         * Returns the number of products appended so far.
+         *
+         * @return The row count.
+         */
+        public int getRowCount() {
+            return rowCount;
+        }
+
+        /**
+         * Returns when the upload was started.
+         *
+         * @return The instant the upload was started.
+         */
+        public Instant getCreatedAt() {
+            return createdAt;
+        }
+
+        /**
+         * Returns when the upload expires if no further chunk arrives.
+         *
+         * @return The expiration instant.
+         */
+        public Instant getExpiresAt() {
+            return expiresAt;
+        }
+    }
+}
@@ -0,0 +1,455 @@
+package br.com.solid.infrastructure.dataset;
+
+import br.com.solid.domain.dto.ProductDto;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+
+/**
+ * Immutable, column-oriented snapshot of a list of products.
+ *
+ * <p>Each field is held in a primitive array instead of one object per row: names are
+ * dictionary-encoded, so repeated names are stored once; prices are kept as an unscaled
+ * {@code long} plus a one-byte scale, which restores the exact {@link BigDecimal}, including
+ * its scale; quantities are plain {@code long}s with a bitmap for missing values. Prices that
+ * do not fit in that form are kept aside as {@link BigDecimal}s.</p>
+ *
+ * <p>Rows are turned back into {@link ProductDto} objects one at a time, only while they are
+ * iterated, so the same snapshot can feed any number of reports.</p>
+ */
+public final class ProductDataset {
+
+    private static final int MAGIC = 0x50445331;
+    private static final int NULL_NAME = -1;
+    private static final byte NULL_PRICE = Byte.MIN_VALUE;
+    private static final byte LARGE_PRICE = Byte.MIN_VALUE + 1;
+    private static final int OBJECT_OVERHEAD_BYTES = 16;
+
+    private final String[] dictionary;
+    private final int[] nameIds;
+    private final long[] unscaledPrices;
+    private final byte[] priceScales;
+    private final Map<Integer, BigDecimal> largePrices;
+    private final long[] quantities;
+    private final BitSet missingQuantities;
+    private final int rowCount;
+
+    private ProductDataset(String[] dictionary, int[] nameIds, long[] unscaledPrices, byte[] priceScales,
+                           Map<Integer, BigDecimal> largePrices, long[] quantities, BitSet missingQuantities,
+                           int rowCount) {
+        this.dictionary = dictionary;
+        this.nameIds = nameIds;
+        this.unscaledPrices = unscaledPrices;
+        this.priceScales = priceScales;
+        this.largePrices = largePrices;
+        this.quantities = quantities;
+        this.missingQuantities = missingQuantities;
+        this.rowCount = rowCount;
+    }
+
+    /**
+     * Creates a builder that collects products into a new dataset.
+     *
+     * @return An empty builder.
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Returns the number of products in the dataset.
+     *
+     * @return The row count.
+     */
+    public int getRowCount() {
+        return rowCount;
+    }
+
+    /**
+     * Returns the number of distinct product names.
+     *
+     * @return The size of the name dictionary.
+     */
+    public int getDistinctNames() {
+        return dictionary.length;
+    }
+
+    /**
+     * Estimates the heap held by the dataset.
+     *
+     * @return The estimated size, in bytes.
+     */
+    public long getSizeBytes() {
+        long size = (long) rowCount * (Integer.BYTES + Long.BYTES + Byte.BYTES + Long.BYTES) + rowCount / 8;
+        for (var name : dictionary) {
+            size += OBJECT_OVERHEAD_BYTES * 2 + name.length();
+        }
+        for (var price : largePrices.values()) {
+            size += OBJECT_OVERHEAD_BYTES * 3 + price.unscaledValue().bitLength() / 8;
+        }
+        return size;
+    }
+
+    /**
+     * Decodes the product at the given position.
+     *
+     * @param row The position of the product, from zero.
+     * @return A new {@link ProductDto} with the values of that row.
+     */
+    public ProductDto getRow(int row) {
+        Objects.checkIndex(row, rowCount);
+        var nameId = nameIds[row];
+        return new ProductDto(
+                nameId == NULL_NAME ? null : dictionary[nameId],
+                decodePrice(row),
+                missingQuantities.get(row) ? null : quantities[row]);
+    }
+
+    /**
+     * Returns the products in upload order.
+     *
+     * <p>The returned {@link Iterable} can be iterated any number of times, also concurrently;
+     * each row is decoded when it is reached.</p>
+     *
+     * @return The products of the dataset.
+     */
+    public Iterable<ProductDto> rows() {
+        return () -> new Iterator<>() {
+            private int next;
+
+            @Override
+            public boolean hasNext() {
+                return next < rowCount;
+            }
+
+            @Override
+            public ProductDto next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                return getRow(next++);
+            }
+        };
+    }
+
+    /**
+     * Writes the dataset to a file, so it can be dropped from memory and read back with
+     * {@link #open(Path)}.
+     *
+     * <p>The name dictionary is written first and the rows follow in upload order, so the
+     * file can be read sequentially without loading the rows.</p>
+     *
+     * @param file The file to be written.
+     */
+    public void writeTo(Path file) {
+        try (var out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file), 64 * 1024))) {
+            out.writeInt(MAGIC);
+            out.writeInt(rowCount);
+            out.writeInt(dictionary.length);
+            for (var name : dictionary) {
+                writeString(out, name);
+            }
+
+            for (int row = 0; row < rowCount; row++) {
+                out.writeInt(nameIds[row]);
+                out.writeByte(priceScales[row]);
+                if (priceScales[row] == LARGE_PRICE) {
+                    writeString(out, largePrices.get(row).toString());
+                } else if (priceScales[row] != NULL_PRICE) {
+                    out.writeLong(unscaledPrices[row]);
+                }
+                out.writeBoolean(missingQuantities.get(row));
+                out.writeLong(quantities[row]);
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("Error writing dataset: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Opens a dataset file written by {@link #writeTo(Path)} for a single sequential read.
+     *
+     * <p>Only the name dictionary is loaded; rows are read from the file as they are iterated.
+     * The file is opened immediately, so it can be deleted once this method returns, and it is
+     * closed after the last row has been read, or when the returned rows are closed.</p>
+     *
+     * @param file The dataset file.
+     * @return Single-use rows over the products of the file, which must be closed.
+     */
+    public static DatasetRows open(Path file) {
+        var reader = new FileRowReader(file);
+        return new DatasetRows() {
+            @Override
+            public Iterator<ProductDto> iterator() {
+                return reader;
+            }
+
+            @Override
+            public void close() {
+                reader.close();
+            }
+        };
+    }
+
+    private BigDecimal decodePrice(int row) {
+        var scale = priceScales[row];
+        if (scale == NULL_PRICE) {
+            return null;
+        }
+        if (scale == LARGE_PRICE) {
+            return largePrices.get(row);
+        }
+        return BigDecimal.valueOf(unscaledPrices[row], scale);
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        var bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        var bytes = new byte[in.readInt()];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static boolean fitsScaledLong(BigDecimal price) {
+        return price.scale() > LARGE_PRICE && price.scale() <= Byte.MAX_VALUE
+                && price.unscaledValue().bitLength() < Long.SIZE;
+    }
+
+    /**
+     * Collects products into the column arrays of a new {@link ProductDataset}.
+     *
+     * <p>A builder is meant to be filled by one thread at a time and used once. Rows appended
+     * since a given row count can be dropped with {@link #truncate(int)}, so a batch that
+     * fails halfway leaves no trace.</p>
+     */
+    public static final class Builder {
+
+        private static final int INITIAL_CAPACITY = 1024;
+
+        private final Map<String, Integer> nameIndex = new HashMap<>();
+        private final List<String> dictionary = new ArrayList<>();
+        private final Map<Integer, BigDecimal> largePrices = new HashMap<>();
+        private final BitSet missingQuantities = new BitSet();
+        private int[] nameIds = new int[INITIAL_CAPACITY];
+        private long[] unscaledPrices = new long[INITIAL_CAPACITY];
+        private byte[] priceScales = new byte[INITIAL_CAPACITY];
+        private long[] quantities = new long[INITIAL_CAPACITY];
+        private int[] nameFirstRows = new int[INITIAL_CAPACITY];
+        private int rowCount;
+
+        private Builder() {
+        }
+
+        /**
+         * Appends a product to the dataset.
+         *
+         * @param product The product to be appended.
+         * @return This builder.
+         */
+        public Builder add(ProductDto product) {
+            if (rowCount == nameIds.length) {
+                grow();
+            }
+            var row = rowCount++;
+
+            var name = product.getName();
+            nameIds[row] = Objects.isNull(name) ? NULL_NAME : nameIndex.computeIfAbsent(name, key -> {
+                var id = dictionary.size();
+                if (id == nameFirstRows.length) {
+                    nameFirstRows = Arrays.copyOf(nameFirstRows, id * 2);
+                }
+                nameFirstRows[id] = row;
+                dictionary.add(key);
+                return id;
+            });
+
+            var price = product.getPrice();
+            if (Objects.isNull(price)) {
+                priceScales[row] = NULL_PRICE;
+            } else if (fitsScaledLong(price)) {
+                unscaledPrices[row] = price.unscaledValue().longValue();
+                priceScales[row] = (byte) price.scale();
+            } else {
+                priceScales[row] = LARGE_PRICE;
+                largePrices.put(row, price);
+            }
+
+            var quantity = product.getQuantity();
+            if (Objects.isNull(quantity)) {
+                missingQuantities.set(row);
+            } else {
+                quantities[row] = quantity;
+            }
+            return this;
+        }
+
+        /**
+         * Appends every product of the given sequence to the dataset.
+         *
+         * @param products The products to be appended, iterated once.
+         * @return This builder.
+         */
+        public Builder addAll(Iterable<ProductDto> products) {
+            for (var product : products) {
+                add(product);
+            }
+            return this;
+        }
+
+        /**
+         * Returns the number of products appended so far.
+         *
+         * @return The row count.
+         */
+        public int getRowCount() {
+            return rowCount;
+        }
+
+        /**
+         * Drops the products appended after the first {@code rowCount} ones, along with the
+         * names that only they used.
+         *
+         * @param rowCount The number of products to keep.
+         * @return This builder.
+         * @throws IndexOutOfBoundsException if more rows are kept than have been appended.
+         */
+        public Builder truncate(int rowCount) {
+            Objects.checkIndex(rowCount, this.rowCount + 1);
+            // Names get their ids in order of first use, so the dropped ones are at the end.
+            while (!dictionary.isEmpty() && nameFirstRows[dictionary.size() - 1] >= rowCount) {
+                nameIndex.remove(dictionary.remove(dictionary.size() - 1));
+            }
+            largePrices.keySet().removeIf(row -> row >= rowCount);
+            missingQuantities.clear(rowCount, this.rowCount);
+            this.rowCount = rowCount;
+            return this;
+        }
+
+        /**
+         * Creates the dataset, trimming the column arrays to the number of rows.
+         *
+         * @return The new dataset.
+         */
+        public ProductDataset build() {
+            return new ProductDataset(dictionary.toArray(String[]::new),
+                    Arrays.copyOf(nameIds, rowCount),
+                    Arrays.copyOf(unscaledPrices, rowCount),
+                    Arrays.copyOf(priceScales, rowCount),
+                    Map.copyOf(largePrices),
+                    Arrays.copyOf(quantities, rowCount),
+                    (BitSet) missingQuantities.clone(),
+                    rowCount);
+        }
+
+        private void grow() {
+            var capacity = nameIds.length * 2;
+            nameIds = Arrays.copyOf(nameIds, capacity);
+            unscaledPrices = Arrays.copyOf(unscaledPrices, capacity);
+            priceScales = Arrays.copyOf(priceScales, capacity);
+            quantities = Arrays.copyOf(quantities, capacity);
+        }
+    }
+
+    /**
+     * Iterator that reads the rows of a dataset file one at a time.
+     */
+    private static final class FileRowReader implements Iterator<ProductDto>, Closeable {
+
+        private final DataInputStream in;
+        private final String[] dictionary;
+        private final int rowCount;
+        private int next;
+        private boolean consumed;
+
+        private FileRowReader(Path file) {
+            try {
+                in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file), 64 * 1024));
+                if (in.readInt() != MAGIC) {
+                    in.close();
+                    throw new IllegalStateException("Not a dataset file: " + file);
+                }
+                rowCount = in.readInt();
+                dictionary = new String[in.readInt()];
+                for (int i = 0; i < dictionary.length; i++) {
+                    dictionary[i] = readString(in);
+                }
+            } catch (IOException e) {
+                throw new RuntimeException("Error opening dataset: " + e.getMessage());
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (next < rowCount) {
+                return true;
+            }
+            close();
+            return false;
+        }
+
+        @Override
+        public ProductDto next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            next++;
+
+            try {
+                var nameId = in.readInt();
+                var scale = in.readByte();
+                BigDecimal price = null;
+                if (scale == LARGE_PRICE) {
+                    price = new BigDecimal(readString(in));
+                } else if (scale != NULL_PRICE) {
+                    price = BigDecimal.valueOf(in.readLong(), scale);
+                }
+                var missingQuantity = in.readBoolean();
+                var quantity = in.readLong();
+
+                return new ProductDto(nameId == NULL_NAME ? null : dictionary[nameId], price,
+                        missingQuantity ? null : quantity);
+            } catch (EOFException e) {
+                close();
+                throw new IllegalStateException("Dataset file is truncated");
+            } catch (IOException e) {
+                close();
+                throw new RuntimeException("Error reading dataset: " + e.getMessage());
+            }
+        }
+
+        @Override
+        public void close() {
+            if (consumed) {
+                return;
+            }
+            consumed = true;
+            try {
+                in.close();
+            } catch (IOException e) {
+                // The file is only read, so there is nothing to recover.
+            }
+        }
+    }
+}
@@ -1,14 +1,28 @@
 package br.com.solid.infrastructure.factories;
 
+import br.com.solid.infrastructure.buffer.ReportBufferPool;
+import br.com.solid.infrastructure.config.ReportConfiguration;
+import br.com.solid.infrastructure.config.ReportProperties;
+import br.com.solid.infrastructure.reports.columnar.ReportPCOL;
 import br.com.solid.infrastructure.reports.excel.ReportExcel;
+import br.com.solid.infrastructure.reports.excel.ReportXLSX;
+import br.com.solid.infrastructure.reports.format.ReportNumberFormat;
 import br.com.solid.infrastructure.reports.interfaces.ReportGenerator;
+import br.com.solid.infrastructure.reports.text.AbstractReportTextGenerator;
+import br.com.solid.infrastructure.reports.text.ParallelReportTextGenerator;
 import br.com.solid.infrastructure.reports.text.ReportCSV;
 import br.com.solid.infrastructure.reports.text.ReportTXT;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Component;
 
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ExecutorService;
 
 /**
  * Factory responsible for providing the appropriate {@link ReportGenerator}
@@ -25,13 +39,47 @@ public class ReportFactory {
     /**
      * Constructor that initializes the map of file extensions to their respective report generators.
      *
-     * <p>The factory supports CSV, TXT, XLS, and XLSX formats by default.</p>
+     * <p>The factory supports CSV, TXT, XLS, XLSX and the columnar PCOL formats by default. Generators keep
+     * no per-report state, so a single instance per format is shared by all requests.</p>
      */
     public ReportFactory() {
         generatorMap.put("csv", new ReportCSV());
         generatorMap.put("txt", new ReportTXT());
         generatorMap.put("xls", new ReportExcel());
-        generatorMap.put("xlsx", new ReportExcel());
+        generatorMap.put("xlsx", new ReportXLSX());
+        generatorMap.put("pcol", new ReportPCOL());
+    }
+
+    /**
+     * Constructor that initializes the generators according to the report configuration.
+     *
+     * <p>Every generator writes numbers in the {@link ReportNumberFormat} configured under
+     * {@code report.format.*}. When {@code report.parallel.enabled} is set, the text-based
+     * generators are wrapped in a {@link ParallelReportTextGenerator} that encodes chunks on
+     * the given pool. The text-based generators encode through chunks of the given buffer pool.</p>
+     *
+     * @param properties The report configuration properties.
+     * @param reportEncodingPool The pool used to encode report chunks in parallel.
+     * @param bufferPool The pool of the chunks through which text reports are encoded.
+     */
+    @Autowired
+    public ReportFactory(ReportProperties properties,
+                         @Qualifier(ReportConfiguration.REPORT_ENCODING_POOL) ExecutorService reportEncodingPool,
+                         ReportBufferPool bufferPool) {
+        var format = properties.getFormat();
+        var numberFormat = ReportNumberFormat.of(format.getDecimalScale(), format.getRoundingMode(), format.getLocale());
+
+        generatorMap.put("csv", new ReportCSV(numberFormat, bufferPool));
+        generatorMap.put("txt", new ReportTXT(numberFormat, bufferPool));
+        generatorMap.put("xls", new ReportExcel(numberFormat));
+        generatorMap.put("xlsx", new ReportXLSX(numberFormat));
+        generatorMap.put("pcol", new ReportPCOL(numberFormat, bufferPool, properties.getColumnar().getRowGroupSize()));
+
+        var parallel = properties.getParallel();
+        if (parallel.isEnabled()) {
+            generatorMap.put("csv", parallelize(new ReportCSV(numberFormat, bufferPool), reportEncodingPool, parallel));
+            generatorMap.put("txt", parallelize(new ReportTXT(numberFormat, bufferPool), reportEncodingPool, parallel));
+        }
     }
 
     /**
@@ -40,7 +88,7 @@ public class ReportFactory {
      * <p>If the provided file extension is not supported, an {@link IllegalArgumentException}
      * is thrown.</p>
      *
-     * @param fileExtension The file extension (e.g., csv, txt, xls, xlsx).
+     * @param fileExtension The file extension (e.g., csv, txt, xls, xlsx, pcol).
      * @return The corresponding {@link ReportGenerator} for the given file extension.
      * @throws IllegalArgumentException if the file extension is unsupported.
      */
@@ -52,4 +100,18 @@ public class ReportFactory {
         }
         return generator;
     }
-}
\ No newline at end of file
+
+    /**
+     * Returns the file extensions of all supported report formats.
+     *
+     * @return The supported file extensions, in alphabetical order.
+     */
+    public Set<String> getSupportedExtensions() {
+        return Collections.unmodifiableSet(new TreeSet<>(generatorMap.keySet()));
+    }
+
+    private static ReportGenerator parallelize(AbstractReportTextGenerator generator, ExecutorService pool,
+                                               ReportProperties.Parallel parallel) {
+        return new ParallelReportTextGenerator(generator, pool, parallel.getChunkSize(), parallel.getMaxChunksInFlight());
+    }
+}
@@ -0,0 +1,216 @@
+package br.com.solid.infrastructure.fanout;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+
+/**
+ * Feeds several consumers from a single pass over a sequence of rows.
+ *
+ * <p>The rows are read once, on the calling thread, and grouped into batches that are
+ * handed to every consumer through its own bounded queue. Each consumer runs on the given
+ * executor and sees the rows as a regular {@link Iterable}, so pull-based report generators
+ * can be used unchanged. Batches are shared, not copied, and at most a fixed number of them
+ * is queued per consumer, so memory stays bounded and the slowest consumer paces the read.</p>
+ *
+ * <p>Consumers run on threads of their own for the whole pass, so the executor must not
+ * queue tasks behind a fixed number of workers.</p>
+ *
+ * @param <T> The type of the rows.
+ */
+public class RowFanOut<T> {
+
+    private static final List<Object> END = new ArrayList<>(0);
+    private static final List<Object> ABORT = new ArrayList<>(0);
+
+    private final ExecutorService executor;
+    private final int batchSize;
+    private final int batchesInFlight;
+
+    /**
+     * Constructor that defines where consumers run and how rows are batched.
+     *
+     * @param executor The executor on which each consumer runs.
+     * @param batchSize The number of rows handed over at once.
+     * @param batchesInFlight The maximum number of batches queued for each consumer.
+     */
+    public RowFanOut(ExecutorService executor, int batchSize, int batchesInFlight) {
+        if (batchSize < 1 || batchesInFlight < 1) {
+            throw new IllegalArgumentException("Batch size and batches in flight must be positive");
+        }
+        this.executor = executor;
+        this.batchSize = batchSize;
+        this.batchesInFlight = batchesInFlight;
+    }
+
+    /**
+     * Reads the rows once and feeds them to every consumer, returning when all of them are done.
+     *
+     * <p>If reading fails, every consumer sees the failure on its next row, and the read
+     * failure is rethrown once all of them have stopped. If a consumer fails, the others
+     * still receive every row, and its failure is rethrown once all of them have finished.</p>
+     *
+     * @param rows The rows to be read, iterated exactly once.
+     * @param consumers The consumers, each of which iterates the rows exactly once.
+     */
+    public void run(Iterable<T> rows, List<Consumer<Iterable<T>>> consumers) {
+        var queues = new ArrayList<BlockingQueue<List<?>>>();
+        var futures = new ArrayList<Future<?>>();
+
+        for (var consumer : consumers) {
+            var queue = new ArrayBlockingQueue<List<?>>(batchesInFlight);
+            queues.add(queue);
+            futures.add(executor.submit(() -> {
+                consume(consumer, queue);
+                return null;
+            }));
+        }
+
+        RuntimeException readFailure = null;
+        try {
+            publish(rows, queues);
+        } catch (RuntimeException e) {
+            readFailure = e;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            futures.forEach(future -> future.cancel(true));
+            throw new RuntimeException("Interrupted while reading rows");
+        }
+
+        try {
+            awaitAll(futures);
+        } catch (RuntimeException e) {
+            if (Objects.isNull(readFailure)) {
+                throw e;
+            }
+        }
+        if (Objects.nonNull(readFailure)) {
+            throw readFailure;
+        }
+    }
+
+    private void publish(Iterable<T> rows, List<BlockingQueue<List<?>>> queues) throws InterruptedException {
+        var batch = new ArrayList<T>(batchSize);
+
+        try {
+            for (T row : rows) {
+                batch.add(row);
+                if (batch.size() == batchSize) {
+                    putAll(queues, batch);
+                    batch = new ArrayList<>(batchSize);
+                }
+            }
+            if (!batch.isEmpty()) {
+                putAll(queues, batch);
+            }
+        } catch (RuntimeException e) {
+            putAll(queues, ABORT);
+            throw e;
+        }
+        putAll(queues, END);
+    }
+
+    private static void putAll(List<BlockingQueue<List<?>>> queues, List<?> batch) throws InterruptedException {
+        for (var queue : queues) {
+            queue.put(batch);
+        }
+    }
+
+    /**
+     * Runs a consumer and then drains its queue, so a consumer that fails or stops early
+     * never blocks the rows from reaching the others.
+     */
+    private void consume(Consumer<Iterable<T>> consumer, BlockingQueue<List<?>> queue) throws InterruptedException {
+        var iterator = new QueueIterator(queue);
+
+        try {
+            consumer.accept(() -> iterator);
+        } finally {
+            while (!iterator.finished) {
+                iterator.finished = isTerminal(queue.take());
+            }
+        }
+    }
+
+    private static void awaitAll(List<Future<?>> futures) {
+        RuntimeException failure = null;
+
+        for (var future : futures) {
+            try {
+                future.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                futures.forEach(f -> f.cancel(true));
+                throw new RuntimeException("Interrupted while waiting for consumers");
+            } catch (ExecutionException e) {
+                if (Objects.isNull(failure)) {
+                    failure = e.getCause() instanceof RuntimeException runtime
+                            ? runtime
+                            : new RuntimeException("Error consuming rows: " + e.getCause().getMessage());
+                }
+            }
+        }
+        if (Objects.nonNull(failure)) {
+            throw failure;
+        }
+    }
+
+    private static boolean isTerminal(List<?> batch) {
+        return batch == END || batch == ABORT;
+    }
+
+    /**
+     * Iterator over the rows of the batches taken from a consumer's queue.
+     */
+    private class QueueIterator implements Iterator<T> {
+
+        private final BlockingQueue<List<?>> queue;
+        private List<?> batch = List.of();
+        private int index;
+        private boolean finished;
+
+        private QueueIterator(BlockingQueue<List<?>> queue) {
+            this.queue = queue;
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (index == batch.size()) {
+                if (finished) {
+                    return false;
+                }
+                try {
+                    batch = queue.take();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new RuntimeException("Interrupted while waiting for rows");
+                }
+                index = 0;
+
+                if (batch == ABORT) {
+                    finished = true;
+                    throw new IllegalStateException("Reading the rows failed");
+                }
+                finished = batch == END;
+            }
+            return true;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public T next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            return (T) batch.get(index++);
+        }
+    }
+}
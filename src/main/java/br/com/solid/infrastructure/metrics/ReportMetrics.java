@@ -0,0 +1,306 @@
+package br.com.solid.infrastructure.metrics;
+
+import br.com.solid.infrastructure.cancellation.ReportCancellation;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Records the cost of generating reports, tagged by report format.
+ *
+ * <p>Each report is split into three phases: parsing the input rows, generating the report,
+ * and writing it to the output stream. Parse and write time are measured around the row
+ * iterator and the output stream, and whatever remains of the total is attributed to
+ * generation. Rows, output bytes, throughput, reports in flight and the bytes allocated by
+ * the generating thread are recorded as well. Reports that stop because they were cancelled
+ * are recorded with their own outcome and counted by reason.</p>
+ *
+ * <p>Parsing is timed on one row out of every {@value #PARSE_SAMPLE_INTERVAL} and scaled
+ * up, so that two clock reads per row do not become a noticeable part of the cost being
+ * measured.</p>
+ */
+@Component
+public class ReportMetrics {
+
+    private static final int PARSE_SAMPLE_INTERVAL = 16;
+    private static final double[] PERCENTILES = {0.5, 0.99, 0.999};
+
+    private final MeterRegistry registry;
+    private final Map<String, AtomicInteger> inFlight = new ConcurrentHashMap<>();
+
+    /**
+     * Constructor that records nothing, for use outside the application context.
+     */
+    public ReportMetrics() {
+        this.registry = null;
+    }
+
+    /**
+     * Constructor that injects the registry the metrics are published to.
+     *
+     * @param registry The application's {@link MeterRegistry}.
+     */
+    @Autowired
+    public ReportMetrics(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    /**
+     * Starts recording the generation of a report on the current thread.
+     *
+     * @param extension The file extension that determines the report format (e.g., csv, txt, xlsx).
+     * @return The {@link Recording}, which must be stopped on the same thread.
+     */
+    public Recording start(String extension) {
+        return new Recording(extension.toLowerCase());
+    }
+
+    private AtomicInteger inFlight(String extension) {
+        return inFlight.computeIfAbsent(extension, key -> {
+            var count = new AtomicInteger();
+            Gauge.builder("report.in.flight", count, AtomicInteger::get)
+                    .description("Reports currently being generated")
+                    .tag("extension", key)
+                    .register(registry);
+            return count;
+        });
+    }
+
+    private static long allocatedBytes() {
+        if (ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean threads
+                && threads.isThreadAllocatedMemorySupported() && threads.isThreadAllocatedMemoryEnabled()) {
+            return threads.getCurrentThreadAllocatedBytes();
+        }
+        return -1;
+    }
+
+    /**
+     * Measurements of a single report, published when it is stopped.
+     */
+    public final class Recording {
+
+        private final String extension;
+        private final long startNanos;
+        private final long startAllocatedBytes;
+        private final Thread thread;
+        private long rows;
+        private long sampledRows;
+        private long sampledParseNanos;
+        private long bytes;
+        private long writeNanos;
+        private boolean succeeded;
+        private ReportCancellation.Reason cancelled;
+
+        private Recording(String extension) {
+            this.extension = extension;
+            this.startNanos = System.nanoTime();
+            this.startAllocatedBytes = isEnabled() ? allocatedBytes() : -1;
+            this.thread = Thread.currentThread();
+
+            if (isEnabled()) {
+                inFlight(extension).incrementAndGet();
+            }
+        }
+
+        /**
+         * Wraps the input rows so the time spent producing them is measured as the parse phase.
+         *
+         * @param rows The rows included in the report.
+         * @param <T> The type of the rows.
+         * @return The measured rows, or the given rows if metrics are disabled.
+         */
+        public <T> Iterable<T> rows(Iterable<T> rows) {
+            if (!isEnabled()) {
+                return rows;
+            }
+            return () -> new ParseTimingIterator<>(rows.iterator());
+        }
+
+        /**
+         * Wraps the output stream so the time spent writing to it is measured as the write phase.
+         *
+         * @param out The {@link OutputStream} the report is written to.
+         * @return The measured stream, or the given stream if metrics are disabled.
+         */
+        public OutputStream output(OutputStream out) {
+            if (!isEnabled()) {
+                return out;
+            }
+            return new WriteTimingOutputStream(out);
+        }
+
+        /**
+         * Records rows and output bytes of a report generated in memory, without wrapping.
+         *
+         * @param rows The number of rows in the report.
+         * @param bytes The size of the report, in bytes.
+         */
+        public void recordGenerated(long rows, long bytes) {
+            this.rows = rows;
+            this.bytes = bytes;
+        }
+
+        /**
+         * Marks the report as successfully generated.
+         */
+        public void success() {
+            succeeded = true;
+        }
+
+        /**
+         * Marks the report as cancelled before it was complete.
+         *
+         * @param reason Why the generation was cancelled.
+         */
+        public void cancelled(ReportCancellation.Reason reason) {
+            cancelled = reason;
+        }
+
+        /**
+         * Publishes the measurements of the report.
+         */
+        public void stop() {
+            if (!isEnabled()) {
+                return;
+            }
+            var totalNanos = System.nanoTime() - startNanos;
+            inFlight(extension).decrementAndGet();
+
+            // The sampled parse time is an estimate, so it is capped to keep the phases within the total.
+            var estimatedParseNanos = sampledRows == 0 ? 0 : sampledParseNanos * rows / sampledRows;
+            var parseNanos = Math.min(estimatedParseNanos, Math.max(0, totalNanos - writeNanos));
+            var generateNanos = Math.max(0, totalNanos - parseNanos - writeNanos);
+            var outcome = succeeded ? "success" : Objects.nonNull(cancelled) ? "cancelled" : "error";
+
+            recordPhase("total", outcome, totalNanos);
+            recordPhase("parse", outcome, parseNanos);
+            recordPhase("generate", outcome, generateNanos);
+            recordPhase("write", outcome, writeNanos);
+
+            if (!succeeded) {
+                if (Objects.nonNull(cancelled)) {
+                    Counter.builder("report.cancelled")
+                            .description("Reports whose generation was cancelled before completion")
+                            .tags("extension", extension, "reason", cancelled.getTag())
+                            .register(registry)
+                            .increment();
+                }
+                return;
+            }
+            summary("report.rows", "rows", "Rows per report").record(rows);
+            summary("report.output", "bytes", "Size of the generated reports").record(bytes);
+            if (totalNanos > 0) {
+                summary("report.throughput", "rows/s", "Rows generated per second")
+                        .record(rows * (double) TimeUnit.SECONDS.toNanos(1) / totalNanos);
+            }
+
+            var allocatedBytes = allocatedBytes();
+            if (startAllocatedBytes >= 0 && allocatedBytes >= 0 && thread == Thread.currentThread()) {
+                summary("report.allocated", "bytes", "Bytes allocated by the generating thread per report")
+                        .record(allocatedBytes - startAllocatedBytes);
+            }
+        }
+
+        private boolean isEnabled() {
+            return Objects.nonNull(registry);
+        }
+
+        private void recordPhase(String phase, String outcome, long nanos) {
+            Timer.builder("report.duration")
+                    .description("Time spent generating reports, by phase")
+                    .tags("extension", extension, "phase", phase, "outcome", outcome)
+                    .publishPercentiles(PERCENTILES)
+                    .publishPercentileHistogram()
+                    .register(registry)
+                    .record(nanos, TimeUnit.NANOSECONDS);
+        }
+
+        private DistributionSummary summary(String name, String baseUnit, String description) {
+            return DistributionSummary.builder(name)
+                    .description(description)
+                    .baseUnit(baseUnit)
+                    .tag("extension", extension)
+                    .publishPercentiles(PERCENTILES)
+                    .register(registry);
+        }
+
+        /**
+         * Iterator that counts rows and times one {@code hasNext} call out of every sample interval.
+         */
+        private final class ParseTimingIterator<T> implements Iterator<T> {
+
+            private final Iterator<T> iterator;
+
+            private ParseTimingIterator(Iterator<T> iterator) {
+                this.iterator = iterator;
+            }
+
+            @Override
+            public boolean hasNext() {
+                if (rows % PARSE_SAMPLE_INTERVAL != 0) {
+                    return iterator.hasNext();
+                }
+                var start = System.nanoTime();
+                var hasNext = iterator.hasNext();
+                sampledParseNanos += System.nanoTime() - start;
+                sampledRows++;
+                return hasNext;
+            }
+
+            @Override
+            public T next() {
+                var next = iterator.next();
+                rows++;
+                return next;
+            }
+        }
+
+        /**
+         * Output stream that counts and times every write to the underlying stream.
+         */
+        private final class WriteTimingOutputStream extends FilterOutputStream {
+
+            private WriteTimingOutputStream(OutputStream out) {
+                super(out);
+            }
+
+            @Override
+            public void write(int b) throws IOException {
+                var start = System.nanoTime();
+                out.write(b);
+                writeNanos += System.nanoTime() - start;
+                bytes++;
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) throws IOException {
+                var start = System.nanoTime();
+                out.write(b, off, len);
+                writeNanos += System.nanoTime() - start;
+                bytes += len;
+            }
+
+            @Override
+            public void flush() throws IOException {
+                var start = System.nanoTime();
+                out.flush();
+                writeNanos += System.nanoTime() - start;
+            }
+        }
+    }
+}
@@ -0,0 +1,319 @@
+package br.com.solid.infrastructure.parsers;
+
+import br.com.solid.domain.dto.ProductDto;
+import br.com.solid.infrastructure.reports.schema.ReportSchema;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Reader responsible for decoding a CSV payload of products incrementally.
+ *
+ * <p>The first record is a header with the report column names of {@link ProductDto}, in
+ * any order and ignoring case, so a {@code csv} report can be uploaded back as it is.
+ * Columns left out of the header are {@code null}. Fields are separated by the delimiter
+ * of the {@code csv} report, a semicolon, or by commas when the header uses commas, and may
+ * be enclosed in double quotes with embedded quotes doubled. Empty unquoted fields are
+ * {@code null}.</p>
+ *
+ * <p>As with {@link ProductJsonReader}, each record is decoded only when the consumer asks
+ * for the next product, so memory per request stays constant regardless of the number of
+ * rows.</p>
+ */
+@Component
+public class ProductCsvReader {
+
+    private static final ReportSchema<ProductDto> SCHEMA = ReportSchema.of(ProductDto.class);
+    private static final String NAME = "name";
+    private static final String PRICE = "price";
+    private static final String QUANTITY = "quantity";
+
+    /**
+     * Opens the given input stream as a lazily decoded sequence of products.
+     *
+     * <p>Only the header is read eagerly, so a payload with an unknown or repeated column is
+     * rejected before any report output is produced. The returned {@link Iterable} can be
+     * iterated only once, and closes the stream after the last record is read.</p>
+     *
+     * @param inputStream The stream containing a UTF-8 CSV payload of products.
+     * @return A single-use {@link Iterable} over the decoded products.
+     * @throws ProductPayloadException if the header is missing or names an unknown or repeated column.
+     */
+    public Iterable<ProductDto> read(InputStream inputStream) {
+        var parser = new CsvParser(new InputStreamReader(inputStream, StandardCharsets.UTF_8));
+        String[] columns;
+
+        try {
+            columns = parser.readHeader();
+        } catch (RuntimeException e) {
+            parser.close();
+            throw e;
+        }
+
+        var consumed = new AtomicBoolean();
+        return () -> {
+            if (consumed.getAndSet(true)) {
+                throw new IllegalStateException("Products stream can only be iterated once");
+            }
+            return new ProductIterator(parser, columns);
+        };
+    }
+
+    /**
+     * Iterator that decodes one record per call to {@link #next()}.
+     */
+    private static final class ProductIterator implements Iterator<ProductDto> {
+
+        private final CsvParser parser;
+        private final String[] columns;
+        private final List<String> fields = new ArrayList<>();
+        private ProductDto next;
+        private boolean finished;
+        private long row;
+
+        private ProductIterator(CsvParser parser, String[] columns) {
+            this.parser = parser;
+            this.columns = columns;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (Objects.nonNull(next)) {
+                return true;
+            }
+            if (finished) {
+                return false;
+            }
+            if (!parser.readRecord(fields)) {
+                finished = true;
+                parser.close();
+                return false;
+            }
+
+            row++;
+            if (fields.size() != columns.length) {
+                throw new ProductPayloadException("CSV row " + row + " has " + fields.size()
+                        + " fields, expected " + columns.length);
+            }
+            next = toProduct();
+            return true;
+        }
+
+        @Override
+        public ProductDto next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            var product = next;
+            next = null;
+            return product;
+        }
+
+        private ProductDto toProduct() {
+            var product = new ProductDto();
+            for (int i = 0; i < columns.length; i++) {
+                var value = fields.get(i);
+                if (Objects.isNull(value)) {
+                    continue;
+                }
+                try {
+                    switch (columns[i]) {
+                        case NAME -> product.setName(value);
+                        case PRICE -> product.setPrice(new BigDecimal(value.trim()));
+                        case QUANTITY -> product.setQuantity(Long.parseLong(value.trim()));
+                        default -> throw new IllegalStateException("Unmapped CSV column: " + columns[i]);
+                    }
+                } catch (NumberFormatException e) {
+                    throw new ProductPayloadException("Invalid " + columns[i] + " in CSV row " + row + ": " + value);
+                }
+            }
+            return product;
+        }
+    }
+
+    /**
+     * Splits a CSV payload into records, reading it through a fixed buffer.
+     */
+    private static final class CsvParser {
+
+        private static final int EOF = -1;
+        private static final int BUFFER_SIZE = 8192;
+        private static final char BYTE_ORDER_MARK = '\uFEFF';
+
+        private final Reader reader;
+        private final char[] buffer = new char[BUFFER_SIZE];
+        private final StringBuilder text = new StringBuilder();
+        private int position;
+        private int limit;
+        private char delimiter;
+        private boolean closed;
+
+        private CsvParser(Reader reader) {
+            this.reader = reader;
+        }
+
+        /**
+         * Reads the header, taking its first delimiter as the delimiter of the payload.
+         */
+        private String[] readHeader() {
+            var fields = new ArrayList<String>();
+            if (!readRecord(fields)) {
+                throw new ProductPayloadException("Expected a CSV header of products");
+            }
+            if (delimiter == 0) {
+                delimiter = ';';
+            }
+
+            var columns = new String[fields.size()];
+            for (int i = 0; i < columns.length; i++) {
+                var header = Objects.requireNonNullElse(fields.get(i), "").trim();
+                if (i == 0 && !header.isEmpty() && header.charAt(0) == BYTE_ORDER_MARK) {
+                    header = header.substring(1);
+                }
+                var name = column(header);
+                for (int j = 0; j < i; j++) {
+                    if (columns[j].equals(name)) {
+                        throw new ProductPayloadException("Duplicate CSV column: " + header);
+                    }
+                }
+                columns[i] = name;
+            }
+            return columns;
+        }
+
+        /**
+         * Reads the next non-blank record into the given list.
+         *
+         * @return {@code false} at the end of the payload.
+         */
+        private boolean readRecord(List<String> fields) {
+            try {
+                int c;
+                do {
+                    c = read();
+                } while (c == '\n');
+                if (c == EOF) {
+                    return false;
+                }
+
+                fields.clear();
+                while (true) {
+                    text.setLength(0);
+                    var quoted = c == '"';
+                    c = quoted ? readQuoted() : readUnquoted(c);
+                    fields.add(quoted || !text.isEmpty() ? text.toString() : null);
+
+                    if (c == EOF || c == '\n') {
+                        return true;
+                    }
+                    c = read();
+                }
+            } catch (IOException e) {
+                throw new RuntimeException("Error reading products: " + e.getMessage());
+            }
+        }
+
+        private int readUnquoted(int c) throws IOException {
+            while (c != EOF && c != '\n' && !isDelimiter(c)) {
+                text.append((char) c);
+                c = read();
+            }
+            return c;
+        }
+
+        private int readQuoted() throws IOException {
+            while (true) {
+                var c = read();
+                if (c == EOF) {
+                    throw new ProductPayloadException("Unterminated quoted field in CSV payload");
+                }
+                if (c == '"') {
+                    c = read();
+                    if (c != '"') {
+                        if (c != EOF && c != '\n' && !isDelimiter(c)) {
+                            throw new ProductPayloadException("Unexpected character after quoted field in CSV payload");
+                        }
+                        return c;
+                    }
+                }
+                text.append((char) c);
+            }
+        }
+
+        private static String column(String header) {
+            try {
+                return SCHEMA.getColumn(header).getName();
+            } catch (IllegalArgumentException e) {
+                throw new ProductPayloadException(e.getMessage());
+            }
+        }
+
+        private boolean isDelimiter(int c) {
+            if (delimiter == 0 && (c == ';' || c == ',')) {
+                delimiter = (char) c;
+            }
+            return c == delimiter;
+        }
+
+        /**
+         * Reads the next character, turning {@code \r\n} and lone {@code \r} line breaks into {@code \n}.
+         */
+        private int read() throws IOException {
+            var c = readChar();
+            if (c != '\r') {
+                return c;
+            }
+            if (peekChar() == '\n') {
+                position++;
+            }
+            return '\n';
+        }
+
+        private int readChar() throws IOException {
+            return fill() ? buffer[position++] : EOF;
+        }
+
+        private int peekChar() throws IOException {
+            return fill() ? buffer[position] : EOF;
+        }
+
+        private boolean fill() throws IOException {
+            if (position < limit) {
+                return true;
+            }
+            if (closed) {
+                return false;
+            }
+            var read = reader.read(buffer);
+            if (read <= 0) {
+                return false;
+            }
+            position = 0;
+            limit = read;
+            return true;
+        }
+
+        private void close() {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            try {
+                reader.close();
+            } catch (IOException e) {
+                // The payload is only read, so there is nothing to recover.
+            }
+        }
+    }
+}
@@ -0,0 +1,198 @@
+package br.com.solid.infrastructure.parsers;
+
+import br.com.solid.domain.dto.ProductDto;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Reader responsible for decoding a JSON array of products incrementally.
+ *
+ * <p>Instead of materializing the whole array, the payload is parsed token by token and
+ * each {@link ProductDto} is decoded only when the consumer asks for the next element.
+ * This lets report generation overlap with parsing, keeping memory per request constant
+ * regardless of the number of rows. Newline-delimited JSON, one product object per line,
+ * is decoded the same way.</p>
+ */
+@Component
+public class ProductJsonReader {
+
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Constructor that injects the {@link ObjectMapper} used to decode each product.
+     *
+     * @param objectMapper The application's JSON mapper.
+     */
+    @Autowired
+    public ProductJsonReader(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Opens the given input stream as a lazily decoded sequence of products.
+     *
+     * <p>Only the opening token is read eagerly, so a payload that is not a JSON array is
+     * rejected before any report output is produced. The returned {@link Iterable} can be
+     * iterated only once, and closes the stream after the last element is read.</p>
+     *
+     * @param inputStream The stream containing a JSON array of products.
+     * @return A single-use {@link Iterable} over the decoded products.
+     * @throws ProductPayloadException if the payload does not start with a JSON array.
+     */
+    public Iterable<ProductDto> read(InputStream inputStream) {
+        JsonParser parser;
+
+        try {
+            parser = objectMapper.getFactory().createParser(inputStream);
+
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                parser.close();
+                throw new ProductPayloadException("Expected a JSON array of products");
+            }
+        } catch (IllegalArgumentException e) {
+            throw e;
+        } catch (JsonProcessingException e) {
+            throw new ProductPayloadException("Invalid products payload: " + e.getOriginalMessage());
+        } catch (Exception e) {
+            throw new RuntimeException("Error reading products: " + e.getMessage());
+        }
+
+        return iterable(parser, true);
+    }
+
+    /**
+     * Opens the given input stream as a lazily decoded sequence of newline-delimited JSON
+     * products, one object per line.
+     *
+     * <p>Blank lines are skipped. As with {@link #read(InputStream)}, the first token is read
+     * eagerly, so a payload that does not start with an object is rejected before any report
+     * output is produced, and the returned {@link Iterable} can be iterated only once.</p>
+     *
+     * @param inputStream The stream containing one JSON product per line.
+     * @return A single-use {@link Iterable} over the decoded products.
+     * @throws ProductPayloadException if the payload does not start with a JSON object.
+     */
+    public Iterable<ProductDto> readLines(InputStream inputStream) {
+        JsonParser parser;
+
+        try {
+            parser = objectMapper.getFactory().createParser(inputStream);
+
+            var token = parser.nextToken();
+            if (Objects.nonNull(token) && token != JsonToken.START_OBJECT) {
+                parser.close();
+                throw new ProductPayloadException("Expected newline-delimited JSON products");
+            }
+        } catch (IllegalArgumentException e) {
+            throw e;
+        } catch (JsonProcessingException e) {
+            throw new ProductPayloadException("Invalid products payload: " + e.getOriginalMessage());
+        } catch (Exception e) {
+            throw new RuntimeException("Error reading products: " + e.getMessage());
+        }
+
+        return iterable(parser, false);
+    }
+
+    /**
+     * Decodes the whole JSON array of products into a list.
+     *
+     * <p>Meant for small payloads that must be inspected before generation, such as those
+     * served from the report cache; large payloads should be consumed with {@link #read(InputStream)}.</p>
+     *
+     * @param inputStream The stream containing a JSON array of products.
+     * @return The decoded products.
+     * @throws ProductPayloadException if the payload is not a well-formed JSON array of products.
+     */
+    public List<ProductDto> readAll(InputStream inputStream) {
+        var products = new ArrayList<ProductDto>();
+        read(inputStream).forEach(products::add);
+        return products;
+    }
+
+    private Iterable<ProductDto> iterable(JsonParser parser, boolean array) {
+        var consumed = new AtomicBoolean();
+        return () -> {
+            if (consumed.getAndSet(true)) {
+                throw new IllegalStateException("Products stream can only be iterated once");
+            }
+            return new ProductIterator(parser, array);
+        };
+    }
+
+    /**
+     * Iterator that decodes one array element, or one line, per call to {@link #next()}.
+     */
+    private class ProductIterator implements Iterator<ProductDto> {
+
+        private final JsonParser parser;
+        private final boolean array;
+        private boolean started;
+        private ProductDto next;
+        private boolean finished;
+
+        private ProductIterator(JsonParser parser, boolean array) {
+            this.parser = parser;
+            this.array = array;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (Objects.nonNull(next)) {
+                return true;
+            }
+            if (finished) {
+                return false;
+            }
+
+            try {
+                // Lines start on the token read by readLines(), which checked the first one.
+                var token = array || started ? parser.nextToken() : parser.currentToken();
+                started = true;
+
+                if (token == JsonToken.START_OBJECT) {
+                    next = objectMapper.readValue(parser, ProductDto.class);
+                    return true;
+                }
+                if (array && token != JsonToken.END_ARRAY) {
+                    throw new ProductPayloadException("Unexpected token in products array: " + token);
+                }
+                if (!array && Objects.nonNull(token)) {
+                    throw new ProductPayloadException("Unexpected token in products lines: " + token);
+                }
+
+                finished = true;
+                parser.close();
+                return false;
+            } catch (IllegalArgumentException e) {
+                throw e;
+            } catch (JsonProcessingException e) {
+                throw new ProductPayloadException("Invalid products payload: " + e.getOriginalMessage());
+            } catch (Exception e) {
+                throw new RuntimeException("Error reading products: " + e.getMessage());
+            }
+        }
+
+        @Override
+        public ProductDto next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            var product = next;
+            next = null;
+            return product;
+        }
+    }
+}
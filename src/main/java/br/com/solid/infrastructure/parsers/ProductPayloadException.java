@@ -0,0 +1,17 @@
+package br.com.solid.infrastructure.parsers;
+
+/**
+ * Thrown when a request body of products is malformed or does not have the shape its format
+ * requires.
+ */
+public class ProductPayloadException extends IllegalArgumentException {
+
+    /**
+     * Constructor that describes the invalid part of the payload.
+     *
+     * @param message The reason the payload was rejected.
+     */
+    public ProductPayloadException(String message) {
+        super(message);
+    }
+}
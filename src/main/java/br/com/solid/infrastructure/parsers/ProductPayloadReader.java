@@ -0,0 +1,106 @@
+package br.com.solid.infrastructure.parsers;
+
+import br.com.solid.domain.dto.ProductDto;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Reader responsible for decoding a product payload in the format given by its content type.
+ *
+ * <p>Payloads are decoded incrementally whatever their format, so a streamed request body,
+ * such as one sent with chunked transfer encoding, feeds the report as it arrives:</p>
+ * <ul>
+ *     <li>{@code application/x-ndjson}: one JSON product per line, read by {@link ProductJsonReader#readLines(InputStream)};</li>
+ *     <li>{@code text/csv}: a header and one product per record, read by {@link ProductCsvReader};</li>
+ *     <li>any other or no content type: a JSON array of products, read by {@link ProductJsonReader#read(InputStream)}.</li>
+ * </ul>
+ */
+@Component
+public class ProductPayloadReader {
+
+    /**
+     * Content type of newline-delimited JSON payloads.
+     */
+    public static final MediaType APPLICATION_NDJSON = MediaType.parseMediaType("application/x-ndjson");
+
+    /**
+     * Content type of CSV payloads.
+     */
+    public static final MediaType TEXT_CSV = MediaType.parseMediaType("text/csv");
+
+    private final ProductJsonReader productJsonReader;
+    private final ProductCsvReader productCsvReader;
+
+    /**
+     * Constructor that injects the readers of each payload format.
+     *
+     * @param productJsonReader The reader of JSON arrays and newline-delimited JSON.
+     * @param productCsvReader The reader of CSV payloads.
+     */
+    @Autowired
+    public ProductPayloadReader(ProductJsonReader productJsonReader, ProductCsvReader productCsvReader) {
+        this.productJsonReader = productJsonReader;
+        this.productCsvReader = productCsvReader;
+    }
+
+    /**
+     * Opens the given input stream as a lazily decoded sequence of products.
+     *
+     * <p>The returned {@link Iterable} can be iterated only once, and closes the stream after
+     * the last element is read.</p>
+     *
+     * @param inputStream The stream containing the products.
+     * @param contentType The content type of the payload, if any.
+     * @return A single-use {@link Iterable} over the decoded products.
+     * @throws ProductPayloadException if the payload does not start as its format requires.
+     */
+    public Iterable<ProductDto> read(InputStream inputStream, String contentType) {
+        var mediaType = parse(contentType);
+        if (APPLICATION_NDJSON.equalsTypeAndSubtype(mediaType)) {
+            return productJsonReader.readLines(inputStream);
+        }
+        if (TEXT_CSV.equalsTypeAndSubtype(mediaType)) {
+            return productCsvReader.read(inputStream);
+        }
+        return productJsonReader.read(inputStream);
+    }
+
+    /**
+     * Decodes the whole payload into a list.
+     *
+     * <p>Meant for small payloads that must be inspected before generation, such as those
+     * served from the report cache; large payloads should be consumed with
+     * {@link #read(InputStream, String)}.</p>
+     *
+     * @param inputStream The stream containing the products.
+     * @param contentType The content type of the payload, if any.
+     * @return The decoded products.
+     * @throws ProductPayloadException if the payload is malformed.
+     */
+    public List<ProductDto> readAll(InputStream inputStream, String contentType) {
+        var products = new ArrayList<ProductDto>();
+        read(inputStream, contentType).forEach(products::add);
+        return products;
+    }
+
+    /**
+     * Parses a content type, treating a missing or malformed one as unspecified.
+     */
+    private static MediaType parse(String contentType) {
+        if (Objects.isNull(contentType) || contentType.isBlank()) {
+            return null;
+        }
+        try {
+            return MediaType.parseMediaType(contentType);
+        } catch (InvalidMediaTypeException e) {
+            return null;
+        }
+    }
+}
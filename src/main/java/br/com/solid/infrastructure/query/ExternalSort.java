@@ -0,0 +1,189 @@
+package br.com.solid.infrastructure.query;
+
+import br.com.solid.domain.dto.ProductDto;
+import br.com.solid.infrastructure.dataset.ProductDataset;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.PriorityQueue;
+
+/**
+ * Sorted view of a sequence of products that may not fit in memory.
+ *
+ * <p>Rows are collected into runs of a fixed size; each full run is sorted and written to
+ * the spool directory as a {@link ProductDataset} file. The rows are then produced by a
+ * k-way merge of the runs, reading each file sequentially, with the last, partial run kept
+ * in memory. Input that fits in a single run is sorted in memory without touching the disk.
+ * The sort is stable: rows that compare equal keep their input order.</p>
+ *
+ * <p>Run files are deleted as soon as they are opened for the merge; closing the sort
+ * releases the open files and removes any file left behind by a failure.</p>
+ */
+final class ExternalSort implements Iterable<ProductDto>, AutoCloseable {
+
+    private final List<Path> files = new ArrayList<>();
+    private final List<Iterator<ProductDto>> runs = new ArrayList<>();
+    private final Comparator<ProductDto> order;
+    private boolean iterated;
+
+    private ExternalSort(Comparator<ProductDto> order) {
+        this.order = order;
+    }
+
+    /**
+     * Reads and sorts the given rows, spilling sorted runs to disk.
+     *
+     * @param rows The rows to be sorted, iterated once.
+     * @param order The order of the rows.
+     * @param runRows The number of rows sorted in memory before a run is spilled.
+     * @param spoolDirectory The directory in which runs are written.
+     * @return The sorted rows, which must be closed.
+     */
+    static ExternalSort sort(Iterable<ProductDto> rows, Comparator<ProductDto> order, int runRows,
+                             Path spoolDirectory) {
+        var sort = new ExternalSort(order);
+
+        try {
+            var run = new ArrayList<ProductDto>(Math.min(runRows, 1024));
+            for (var row : rows) {
+                run.add(row);
+                if (run.size() == runRows) {
+                    sort.spill(run, spoolDirectory);
+                    run = new ArrayList<>(Math.min(runRows, 1024));
+                }
+            }
+
+            for (var file : sort.files) {
+                sort.runs.add(ProductDataset.open(file).iterator());
+                Files.deleteIfExists(file);
+            }
+            sort.files.clear();
+
+            run.sort(order);
+            sort.runs.add(run.iterator());
+            return sort;
+        } catch (IOException e) {
+            sort.close();
+            throw new RuntimeException("Error sorting rows: " + e.getMessage());
+        } catch (RuntimeException e) {
+            sort.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Returns the number of runs that were spilled to disk.
+     *
+     * @return The spilled run count.
+     */
+    int getSpilledRuns() {
+        return runs.size() - 1;
+    }
+
+    /**
+     * Returns the sorted rows; the merge can be iterated only once.
+     *
+     * @return The iterator over the sorted rows.
+     */
+    @Override
+    public Iterator<ProductDto> iterator() {
+        if (iterated) {
+            throw new IllegalStateException("Sorted rows can only be iterated once");
+        }
+        iterated = true;
+
+        return runs.size() == 1 ? runs.get(0) : new MergeIterator();
+    }
+
+    /**
+     * Closes the runs still being read and deletes any run file left on disk.
+     */
+    @Override
+    public void close() {
+        for (var run : runs) {
+            if (run instanceof Closeable closeable) {
+                try {
+                    closeable.close();
+                } catch (IOException e) {
+                    // The run is only read, so there is nothing to recover.
+                }
+            }
+        }
+        for (var file : files) {
+            try {
+                Files.deleteIfExists(file);
+            } catch (IOException e) {
+                // A leftover file in the spool directory is harmless.
+            }
+        }
+        files.clear();
+    }
+
+    private void spill(List<ProductDto> run, Path spoolDirectory) throws IOException {
+        run.sort(order);
+        var file = Files.createTempFile(Files.createDirectories(spoolDirectory), "sort-", ".run");
+        files.add(file);
+        ProductDataset.builder().addAll(run).build().writeTo(file);
+    }
+
+    /**
+     * Iterator that merges the runs, taking the smallest head row each time; ties go to the
+     * earliest run, which keeps the sort stable.
+     */
+    private final class MergeIterator implements Iterator<ProductDto> {
+
+        private final PriorityQueue<Head> heads = new PriorityQueue<>(runs.size(),
+                Comparator.<Head, ProductDto>comparing(head -> head.row, order)
+                        .thenComparingInt(head -> head.run));
+
+        private MergeIterator() {
+            for (int i = 0; i < runs.size(); i++) {
+                advance(i);
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return !heads.isEmpty();
+        }
+
+        @Override
+        public ProductDto next() {
+            var head = heads.poll();
+            if (Objects.isNull(head)) {
+                throw new NoSuchElementException();
+            }
+            advance(head.run);
+            return head.row;
+        }
+
+        private void advance(int run) {
+            var rows = runs.get(run);
+            if (rows.hasNext()) {
+                heads.add(new Head(run, rows.next()));
+            }
+        }
+    }
+
+    /**
+     * The next row of a run.
+     */
+    private static final class Head {
+
+        private final int run;
+        private final ProductDto row;
+
+        private Head(int run, ProductDto row) {
+            this.run = run;
+            this.row = row;
+        }
+    }
+}
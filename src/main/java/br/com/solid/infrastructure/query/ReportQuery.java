@@ -0,0 +1,374 @@
+package br.com.solid.infrastructure.query;
+
+import br.com.solid.domain.dto.ProductDto;
+import br.com.solid.infrastructure.reports.schema.ReportColumn;
+import br.com.solid.infrastructure.reports.schema.ReportSchema;
+
+import java.math.BigDecimal;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+/**
+ * Column projection, row filters, sort keys and row limit applied to the products of a report.
+ *
+ * <p>A query is parsed from the request parameters of a report endpoint:</p>
+ * <ul>
+ *     <li>{@code columns=name,price} keeps only the given columns, in the given order;</li>
+ *     <li>{@code filter=quantity:gt:0} keeps only the rows whose column compares to the value
+ *     as the operator says ({@code eq}, {@code ne}, {@code gt}, {@code ge}, {@code lt},
+ *     {@code le}); several filters must all match, and a missing value never matches;</li>
+ *     <li>{@code sort=price:desc,name} orders the rows by the given columns, ascending unless
+ *     {@code desc} is given, with missing values last;</li>
+ *     <li>{@code limit=1000} keeps only the first rows, after filtering and sorting.</li>
+ * </ul>
+ *
+ * <p>Values are compared in the type of their column, so {@code price:eq:10} matches a price
+ * of {@code 10.00}. Filters and sort keys may use any column, also one left out of the
+ * report. A query is immutable; it is evaluated by a {@link ReportQueryExecutor}.</p>
+ */
+public final class ReportQuery {
+
+    private static final ReportSchema<ProductDto> FULL_SCHEMA = ReportSchema.of(ProductDto.class);
+    private static final ReportQuery NONE = new ReportQuery(FULL_SCHEMA, List.of(), List.of(), null);
+
+    private final ReportSchema<ProductDto> schema;
+    private final List<Filter> filters;
+    private final List<SortKey> sortKeys;
+    private final Comparator<ProductDto> order;
+    private final Integer limit;
+
+    private ReportQuery(ReportSchema<ProductDto> schema, List<Filter> filters, List<SortKey> sortKeys, Integer limit) {
+        this.schema = schema;
+        this.filters = List.copyOf(filters);
+        this.sortKeys = List.copyOf(sortKeys);
+        this.order = sortKeys.stream()
+                .map(SortKey::comparator)
+                .reduce(Comparator::thenComparing)
+                .orElse(null);
+        this.limit = limit;
+    }
+
+    /**
+     * Returns the query that keeps every column and every row, in input order.
+     *
+     * @return The empty query.
+     */
+    public static ReportQuery none() {
+        return NONE;
+    }
+
+    /**
+     * Parses a query from the parameters of a report request.
+     *
+     * @param columns The comma-separated columns to keep, or {@code null} to keep all of them.
+     * @param filters The filters in {@code column:operator:value} form, or {@code null}.
+     * @param sort The comma-separated sort keys in {@code column[:asc|:desc]} form, or {@code null}.
+     * @param limit The maximum number of rows, or {@code null} for no limit.
+     * @return The parsed query.
+     * @throws ReportQueryException if any part of the query is invalid.
+     */
+    public static ReportQuery parse(String columns, List<String> filters, String sort, Integer limit) {
+        var schema = FULL_SCHEMA;
+        if (Objects.nonNull(columns)) {
+            try {
+                schema = FULL_SCHEMA.select(split(columns));
+            } catch (IllegalArgumentException e) {
+                throw new ReportQueryException(e.getMessage());
+            }
+        }
+
+        var parsedFilters = new ArrayList<Filter>();
+        if (Objects.nonNull(filters)) {
+            for (var filter : filters) {
+                parsedFilters.add(Filter.parse(filter));
+            }
+        }
+
+        var sortKeys = new ArrayList<SortKey>();
+        if (Objects.nonNull(sort)) {
+            for (var key : split(sort)) {
+                sortKeys.add(SortKey.parse(key));
+            }
+        }
+
+        if (Objects.nonNull(limit) && limit < 1) {
+            throw new ReportQueryException("Limit must be positive: " + limit);
+        }
+
+        if (schema.getColumns().equals(FULL_SCHEMA.getColumns()) && parsedFilters.isEmpty() && sortKeys.isEmpty()
+                && Objects.isNull(limit)) {
+            return NONE;
+        }
+        return new ReportQuery(schema, parsedFilters, sortKeys, limit);
+    }
+
+    /**
+     * Returns the columns written to the report.
+     *
+     * @return The projected schema, or the full {@link ProductDto} schema if no columns were selected.
+     */
+    public ReportSchema<ProductDto> getSchema() {
+        return schema;
+    }
+
+    /**
+     * Indicates whether the query keeps every column and every row, in input order.
+     *
+     * @return {@code true} if the query changes nothing.
+     */
+    public boolean isEmpty() {
+        return this == NONE;
+    }
+
+    /**
+     * Indicates whether the query has at least one filter.
+     *
+     * @return {@code true} if some rows may be left out.
+     */
+    public boolean hasFilters() {
+        return !filters.isEmpty();
+    }
+
+    /**
+     * Checks a row against every filter of the query.
+     *
+     * @param product The row to be checked.
+     * @return {@code true} if the row matches all filters.
+     */
+    public boolean matches(ProductDto product) {
+        for (var filter : filters) {
+            if (!filter.matches(product)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Indicates whether the query has sort keys.
+     *
+     * @return {@code true} if the rows are reordered.
+     */
+    public boolean isSorted() {
+        return Objects.nonNull(order);
+    }
+
+    /**
+     * Returns the order defined by the sort keys.
+     *
+     * @return The comparator of the rows, or {@code null} if the query is not sorted.
+     */
+    public Comparator<ProductDto> getOrder() {
+        return order;
+    }
+
+    /**
+     * Indicates whether the query limits the number of rows.
+     *
+     * @return {@code true} if a limit was given.
+     */
+    public boolean hasLimit() {
+        return Objects.nonNull(limit);
+    }
+
+    /**
+     * Returns the maximum number of rows.
+     *
+     * @return The limit, or {@link Integer#MAX_VALUE} if none was given.
+     */
+    public int getLimit() {
+        return Objects.nonNull(limit) ? limit : Integer.MAX_VALUE;
+    }
+
+    /**
+     * Returns the canonical form of the query, which identifies the reports it produces.
+     *
+     * <p>Filter values are URL-encoded, so a value holding {@code &} or {@code filter=} cannot
+     * make one filter read as several, and two different queries never share a form.</p>
+     *
+     * @return The query as request parameters, or an empty string for the empty query.
+     */
+    @Override
+    public String toString() {
+        if (isEmpty()) {
+            return "";
+        }
+
+        var parts = new ArrayList<String>();
+        parts.add("columns=" + schema.getColumns().stream().map(ReportColumn::getName).collect(Collectors.joining(",")));
+        filters.forEach(filter -> parts.add("filter=" + filter));
+        if (!sortKeys.isEmpty()) {
+            parts.add("sort=" + sortKeys.stream().map(SortKey::toString).collect(Collectors.joining(",")));
+        }
+        if (hasLimit()) {
+            parts.add("limit=" + limit);
+        }
+        return String.join("&", parts);
+    }
+
+    private static List<String> split(String list) {
+        return Arrays.stream(list.split(","))
+                .map(String::trim)
+                .filter(item -> !item.isEmpty())
+                .toList();
+    }
+
+    private static ReportColumn<ProductDto> column(String name) {
+        try {
+            return FULL_SCHEMA.getColumn(name);
+        } catch (IllegalArgumentException e) {
+            throw new ReportQueryException(e.getMessage());
+        }
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static int compare(Object value, Object other) {
+        return ((Comparable) value).compareTo(other);
+    }
+
+    private static void requireComparable(ReportColumn<ProductDto> column) {
+        if (!column.getType().isPrimitive() && !Comparable.class.isAssignableFrom(column.getType())) {
+            throw new ReportQueryException("Column cannot be compared: " + column.getName());
+        }
+    }
+
+    /**
+     * Comparison operators of a filter.
+     */
+    private enum Operator {
+        EQ, NE, GT, GE, LT, LE;
+
+        private static Operator parse(String token) {
+            try {
+                return valueOf(token.toUpperCase());
+            } catch (IllegalArgumentException e) {
+                throw new ReportQueryException("Unknown filter operator: " + token);
+            }
+        }
+
+        private boolean matches(int comparison) {
+            return switch (this) {
+                case EQ -> comparison == 0;
+                case NE -> comparison != 0;
+                case GT -> comparison > 0;
+                case GE -> comparison >= 0;
+                case LT -> comparison < 0;
+                case LE -> comparison <= 0;
+            };
+        }
+
+        @Override
+        public String toString() {
+            return name().toLowerCase();
+        }
+    }
+
+    /**
+     * A single {@code column:operator:value} filter, with the value converted to the column type.
+     */
+    private static final class Filter {
+
+        private final ReportColumn<ProductDto> column;
+        private final Operator operator;
+        private final Object operand;
+        private final String text;
+
+        private Filter(ReportColumn<ProductDto> column, Operator operator, Object operand, String text) {
+            this.column = column;
+            this.operator = operator;
+            this.operand = operand;
+            this.text = text;
+        }
+
+        private static Filter parse(String filter) {
+            var parts = filter.split(":", 3);
+            if (parts.length < 3) {
+                throw new ReportQueryException("Filter must be column:operator:value: " + filter);
+            }
+
+            var column = column(parts[0].trim());
+            requireComparable(column);
+            var operator = Operator.parse(parts[1].trim());
+            return new Filter(column, operator, convert(column, parts[2]), parts[2]);
+        }
+
+        private static Object convert(ReportColumn<ProductDto> column, String value) {
+            var type = column.getType();
+            try {
+                if (type == String.class) {
+                    return value;
+                }
+                if (type == BigDecimal.class) {
+                    return new BigDecimal(value.trim());
+                }
+                if (type == Long.class || type == long.class) {
+                    return Long.valueOf(value.trim());
+                }
+                if (type == Integer.class || type == int.class) {
+                    return Integer.valueOf(value.trim());
+                }
+                if (type == Double.class || type == double.class) {
+                    return Double.valueOf(value.trim());
+                }
+                if (type == Boolean.class || type == boolean.class) {
+                    return Boolean.valueOf(value.trim());
+                }
+            } catch (NumberFormatException e) {
+                throw new ReportQueryException("Invalid value for column " + column.getName() + ": " + value);
+            }
+            throw new ReportQueryException("Column cannot be filtered: " + column.getName());
+        }
+
+        private boolean matches(ProductDto product) {
+            var value = column.getValue(product);
+            return Objects.nonNull(value) && operator.matches(compare(value, operand));
+        }
+
+        @Override
+        public String toString() {
+            return column.getName() + ":" + operator + ":" + URLEncoder.encode(text, StandardCharsets.UTF_8);
+        }
+    }
+
+    /**
+     * A single sort key, ascending or descending, with missing values last.
+     */
+    private static final class SortKey {
+
+        private final ReportColumn<ProductDto> column;
+        private final boolean descending;
+
+        private SortKey(ReportColumn<ProductDto> column, boolean descending) {
+            this.column = column;
+            this.descending = descending;
+        }
+
+        private static SortKey parse(String key) {
+            var parts = key.split(":", 2);
+            var column = column(parts[0].trim());
+            requireComparable(column);
+
+            var direction = parts.length > 1 ? parts[1].trim() : "asc";
+            if (!direction.equalsIgnoreCase("asc") && !direction.equalsIgnoreCase("desc")) {
+                throw new ReportQueryException("Sort direction must be asc or desc: " + key);
+            }
+            return new SortKey(column, direction.equalsIgnoreCase("desc"));
+        }
+
+        private Comparator<ProductDto> comparator() {
+            Comparator<Object> values = descending ? (a, b) -> compare(b, a) : ReportQuery::compare;
+            return Comparator.comparing(column::getValue, Comparator.nullsLast(values));
+        }
+
+        @Override
+        public String toString() {
+            return column.getName() + ":" + (descending ? "desc" : "asc");
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package br.com.solid.infrastructure.query;
+
+/**
+ * Thrown when the columns, filters, sort keys or limit of a report query are invalid.
+ */
+public class ReportQueryException extends IllegalArgumentException {
+
+    /**
+     * Constructor that describes the invalid part of the query.
+     *
+     * @param message The reason the query was rejected.
+     */
+    public ReportQueryException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,162 @@
+package br.com.solid.infrastructure.query;
+
+import br.com.solid.domain.dto.ProductDto;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.PriorityQueue;
+import java.util.function.Function;
+
+/**
+ * Evaluates a {@link ReportQuery} over a sequence of products, inside report generation.
+ *
+ * <p>Filters and limits are applied lazily while the rows are read, so a limited, unsorted
+ * query stops reading its input as soon as enough rows have matched. Sorted queries read
+ * the whole input first: a limit up to the configured run size is served by a bounded heap
+ * that keeps only the best rows seen so far, and any other sort is an {@link ExternalSort}
+ * that spills sorted runs to disk and merges them. Memory therefore stays bounded by the
+ * run size whatever the size of the input.</p>
+ */
+public class ReportQueryExecutor {
+
+    private final int sortRunRows;
+    private final Path spoolDirectory;
+
+    /**
+     * Constructor that defines how large sorts are split.
+     *
+     * @param sortRunRows The number of rows sorted in memory before a run is spilled to disk.
+     * @param spoolDirectory The directory in which sorted runs are written.
+     */
+    public ReportQueryExecutor(int sortRunRows, Path spoolDirectory) {
+        if (sortRunRows < 1) {
+            throw new IllegalArgumentException("Sort run rows must be positive");
+        }
+        this.sortRunRows = sortRunRows;
+        this.spoolDirectory = spoolDirectory;
+    }
+
+    /**
+     * Applies the query to the rows and hands the result to the given consumer.
+     *
+     * <p>The empty query hands over the rows unchanged. Any files used to sort the rows are
+     * removed once the consumer returns or fails.</p>
+     *
+     * @param query The query to be applied.
+     * @param rows The rows to be queried, iterated once.
+     * @param consumer The consumer of the resulting rows, which it iterates at most once.
+     * @param <R> The type of the result of the consumer.
+     * @return The result of the consumer.
+     */
+    public <R> R execute(ReportQuery query, Iterable<ProductDto> rows, Function<Iterable<ProductDto>, R> consumer) {
+        if (query.isEmpty()) {
+            return consumer.apply(rows);
+        }
+
+        var filtered = query.hasFilters() ? filtered(rows, query) : rows;
+        if (!query.isSorted()) {
+            return consumer.apply(query.hasLimit() ? limited(filtered, query.getLimit()) : filtered);
+        }
+        if (query.getLimit() <= sortRunRows) {
+            return consumer.apply(top(filtered, query.getOrder(), query.getLimit()));
+        }
+
+        try (var sorted = ExternalSort.sort(filtered, query.getOrder(), sortRunRows, spoolDirectory)) {
+            return consumer.apply(query.hasLimit() ? limited(sorted, query.getLimit()) : sorted);
+        }
+    }
+
+    /**
+     * Keeps the first rows in the given order, using a heap bounded by the limit whose head
+     * is the worst row kept. A row replaces the head only if it is strictly better, so rows
+     * that compare equal keep their input order.
+     */
+    private static List<ProductDto> top(Iterable<ProductDto> rows, Comparator<ProductDto> order, int limit) {
+        Comparator<Ranked> ranking = Comparator.<Ranked, ProductDto>comparing(ranked -> ranked.row, order)
+                .thenComparingLong(ranked -> ranked.sequence);
+        var heap = new PriorityQueue<Ranked>(Math.min(limit, 1024), ranking.reversed());
+
+        long sequence = 0;
+        for (var row : rows) {
+            if (heap.size() < limit) {
+                heap.add(new Ranked(row, sequence));
+            } else if (order.compare(row, heap.peek().row) < 0) {
+                heap.poll();
+                heap.add(new Ranked(row, sequence));
+            }
+            sequence++;
+        }
+
+        var top = new ArrayList<>(heap);
+        top.sort(ranking);
+        return top.stream().map(ranked -> ranked.row).toList();
+    }
+
+    private static Iterable<ProductDto> filtered(Iterable<ProductDto> rows, ReportQuery query) {
+        return () -> new Iterator<>() {
+            private final Iterator<ProductDto> source = rows.iterator();
+            private ProductDto next;
+
+            @Override
+            public boolean hasNext() {
+                while (Objects.isNull(next) && source.hasNext()) {
+                    var row = source.next();
+                    if (query.matches(row)) {
+                        next = row;
+                    }
+                }
+                return Objects.nonNull(next);
+            }
+
+            @Override
+            public ProductDto next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                var row = next;
+                next = null;
+                return row;
+            }
+        };
+    }
+
+    private static Iterable<ProductDto> limited(Iterable<ProductDto> rows, int limit) {
+        return () -> new Iterator<>() {
+            private final Iterator<ProductDto> source = rows.iterator();
+            private int returned;
+
+            @Override
+            public boolean hasNext() {
+                return returned < limit && source.hasNext();
+            }
+
+            @Override
+            public ProductDto next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                returned++;
+                return source.next();
+            }
+        };
+    }
+
+    /**
+     * A row with its position in the input, which breaks ties between equal rows.
+     */
+    private static final class Ranked {
+
+        private final ProductDto row;
+        private final long sequence;
+
+        private Ranked(ProductDto row, long sequence) {
+            this.row = row;
+            this.sequence = sequence;
+        }
+    }
+}
@@ -0,0 +1,212 @@
+package br.com.solid.infrastructure.reports.columnar;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigInteger;
+
+/**
+ * Little-endian writer of the {@code pcol} format through a single reusable byte buffer.
+ *
+ * <p>It keeps track of the offset of every byte from the start of the file, so sections can
+ * be padded to the 8-byte alignment that lets readers map their buffers directly onto typed
+ * arrays. It is not thread-safe.</p>
+ */
+final class ColumnarWriter {
+
+    /**
+     * Alignment of every section of the file, in bytes.
+     */
+    static final int ALIGNMENT = 8;
+
+    private static final int MAX_BYTES_PER_CHAR = 4;
+    private static final int MIN_BUFFER_SIZE = 16;
+
+    private final OutputStream out;
+    private final byte[] buffer;
+    private int position;
+    private long flushed;
+
+    /**
+     * Constructor that writes through the given buffer.
+     *
+     * @param out The {@link OutputStream} to which the report is written.
+     * @param buffer The write buffer, at least 16 bytes long.
+     */
+    ColumnarWriter(OutputStream out, byte[] buffer) {
+        if (buffer.length < MIN_BUFFER_SIZE) {
+            throw new IllegalArgumentException("Buffer size must be at least " + MIN_BUFFER_SIZE + " bytes");
+        }
+        this.out = out;
+        this.buffer = buffer;
+    }
+
+    /**
+     * Rounds a length up to the alignment of the file.
+     *
+     * @param length The length, in bytes.
+     * @return The padded length.
+     */
+    static long align(long length) {
+        return (length + ALIGNMENT - 1) & -ALIGNMENT;
+    }
+
+    /**
+     * Returns the number of bytes the given text takes in UTF-8, as written by {@link #writeUtf8(String)}.
+     *
+     * @param text The text.
+     * @return The encoded length, in bytes.
+     */
+    static int utf8Length(String text) {
+        var bytes = 0;
+        for (int i = 0, length = text.length(); i < length; i++) {
+            var c = text.charAt(i);
+            if (c < 0x80) {
+                bytes++;
+            } else if (c < 0x800) {
+                bytes += 2;
+            } else if (Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(text.charAt(i + 1))) {
+                bytes += 4;
+                i++;
+            } else if (Character.isSurrogate(c)) {
+                bytes++;
+            } else {
+                bytes += 3;
+            }
+        }
+        return bytes;
+    }
+
+    void writeByte(int value) throws IOException {
+        ensureCapacity(1);
+        buffer[position++] = (byte) value;
+    }
+
+    void writeShort(int value) throws IOException {
+        writeFixed(value, 2);
+    }
+
+    void writeInt(int value) throws IOException {
+        writeFixed(value, 4);
+    }
+
+    void writeLong(long value) throws IOException {
+        writeFixed(value, 8);
+    }
+
+    /**
+     * Writes the low {@code width} bytes of a value, or the value sign-extended to 16 bytes.
+     *
+     * @param value The value to write.
+     * @param width The number of bytes written: 1, 2, 4, 8 or 16.
+     * @throws IOException if the buffer cannot be flushed.
+     */
+    void writeFixed(long value, int width) throws IOException {
+        ensureCapacity(width);
+        var bytes = Math.min(width, Long.BYTES);
+        for (int i = 0; i < bytes; i++) {
+            buffer[position++] = (byte) (value >>> (8 * i));
+        }
+        var extension = (byte) (value < 0 ? -1 : 0);
+        for (int i = bytes; i < width; i++) {
+            buffer[position++] = extension;
+        }
+    }
+
+    /**
+     * Writes a value as a 16-byte two's complement integer.
+     *
+     * @param value The value to write, which must fit in 128 bits.
+     * @throws IOException if the buffer cannot be flushed.
+     */
+    void writeInt128(BigInteger value) throws IOException {
+        ensureCapacity(16);
+        var bigEndian = value.toByteArray();
+        var extension = (byte) (value.signum() < 0 ? -1 : 0);
+        for (int i = 0; i < 16; i++) {
+            var index = bigEndian.length - 1 - i;
+            buffer[position++] = index >= 0 ? bigEndian[index] : extension;
+        }
+    }
+
+    void writeBytes(byte[] bytes) throws IOException {
+        for (var b : bytes) {
+            writeByte(b);
+        }
+    }
+
+    /**
+     * Writes the given text as UTF-8, replacing unpaired surrogates like {@link String#getBytes}.
+     *
+     * @param text The text to write.
+     * @throws IOException if the buffer cannot be flushed.
+     */
+    void writeUtf8(String text) throws IOException {
+        for (int i = 0, length = text.length(); i < length; i++) {
+            var c = text.charAt(i);
+            ensureCapacity(MAX_BYTES_PER_CHAR);
+
+            if (c < 0x80) {
+                buffer[position++] = (byte) c;
+            } else if (c < 0x800) {
+                buffer[position++] = (byte) (0xC0 | (c >> 6));
+                buffer[position++] = (byte) (0x80 | (c & 0x3F));
+            } else if (Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(text.charAt(i + 1))) {
+                var codePoint = Character.toCodePoint(c, text.charAt(++i));
+                buffer[position++] = (byte) (0xF0 | (codePoint >> 18));
+                buffer[position++] = (byte) (0x80 | ((codePoint >> 12) & 0x3F));
+                buffer[position++] = (byte) (0x80 | ((codePoint >> 6) & 0x3F));
+                buffer[position++] = (byte) (0x80 | (codePoint & 0x3F));
+            } else if (Character.isSurrogate(c)) {
+                buffer[position++] = '?';
+            } else {
+                buffer[position++] = (byte) (0xE0 | (c >> 12));
+                buffer[position++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+                buffer[position++] = (byte) (0x80 | (c & 0x3F));
+            }
+        }
+    }
+
+    /**
+     * Writes zeros up to the next aligned offset.
+     *
+     * @throws IOException if the buffer cannot be flushed.
+     */
+    void pad() throws IOException {
+        while ((getOffset() & (ALIGNMENT - 1)) != 0) {
+            writeByte(0);
+        }
+    }
+
+    /**
+     * Returns the number of bytes written so far.
+     *
+     * @return The offset of the next byte from the start of the file.
+     */
+    long getOffset() {
+        return flushed + position;
+    }
+
+    /**
+     * Writes the buffered bytes to the underlying stream and flushes it.
+     *
+     * @throws IOException if the bytes cannot be written.
+     */
+    void flush() throws IOException {
+        drain();
+        out.flush();
+    }
+
+    private void ensureCapacity(int bytes) throws IOException {
+        if (position + bytes > buffer.length) {
+            drain();
+        }
+    }
+
+    private void drain() throws IOException {
+        if (position > 0) {
+            out.write(buffer, 0, position);
+            flushed += position;
+            position = 0;
+        }
+    }
+}
@@ -0,0 +1,593 @@
+package br.com.solid.infrastructure.reports.columnar;
+
+import br.com.solid.domain.dto.ProductDto;
+import br.com.solid.infrastructure.buffer.ReportBufferPool;
+import br.com.solid.infrastructure.reports.format.ReportNumberFormat;
+import br.com.solid.infrastructure.reports.interfaces.ReportGenerator;
+import br.com.solid.infrastructure.reports.schema.ReportColumn;
+import br.com.solid.infrastructure.reports.schema.ReportSchema;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Report generator for the {@code pcol} columnar binary format, meant for analytics tools
+ * that would otherwise re-parse a CSV report.
+ *
+ * <p>Rows are grouped into row groups of a fixed number of rows, and each row group is
+ * written column by column, so the report streams with bounded memory. Every column is
+ * typed after its field: whole numbers are {@code int64}, decimals are {@code decimal}
+ * unscaled integers with a scale, and anything else is a UTF-8 {@code string}. Within a
+ * row group, integers are stored in the narrowest width that holds them, and strings are
+ * dictionary-encoded as long as at most half of them are distinct; a column whose first
+ * values are mostly distinct stops building its dictionary early.</p>
+ *
+ * <p>The layout is little-endian, and every section starts at an offset that is a multiple
+ * of 8, so a reader can map a row group and view its buffers as typed arrays without
+ * copying them:</p>
+ *
+ * <pre>
+ * file        = magic, int32 schemaLength, int32 0, schema JSON (UTF-8, padded), rowGroup*, end
+ * magic       = "PCOL" 0x01 0x00 0x00 0x00
+ * schema      = {"format":"pcol","version":1,"columns":[{"name":"price","type":"decimal"}, ...]}
+ * rowGroup    = int32 rowCount (&gt; 0), int32 columnCount, columnChunk* (in schema order)
+ * columnChunk = uint8 encoding (0 plain, 1 dictionary), uint8 width, uint16 0,
+ *               int32 scale, int32 nullCount, int32 dictionarySize, int64 bodyLength, body
+ * body        = [validity bitmap, only if nullCount &gt; 0], then per type and encoding:
+ *               int64/decimal plain: rowCount values of width bytes (1, 2, 4, 8 or 16)
+ *               string plain:        int32 offsets[rowCount + 1], UTF-8 bytes
+ *               string dictionary:   int32 offsets[dictionarySize + 1], UTF-8 bytes,
+ *                                    rowCount unsigned indices of width bytes (1, 2 or 4)
+ * end         = int32 0, int32 0, int64 totalRows, magic
+ * </pre>
+ *
+ * <p>Each buffer of a body is padded to 8 bytes. Bit {@code i % 8} of byte {@code i / 8} of
+ * the validity bitmap is set when row {@code i} has a value; null rows hold zero, an empty
+ * string or dictionary index 0. A decimal is its unscaled value divided by
+ * {@code 10^scale}, with the scale of its row group: the configured decimal scale, or else
+ * the largest scale of the row group.</p>
+ */
+public class ReportPCOL implements ReportGenerator {
+
+    /**
+     * Default number of rows in each row group.
+     */
+    public static final int DEFAULT_ROW_GROUP_SIZE = 65_536;
+
+    /**
+     * Version of the format written by this generator.
+     */
+    public static final int VERSION = 1;
+
+    static final int PLAIN = 0;
+    static final int DICTIONARY = 1;
+
+    private static final byte[] MAGIC = {'P', 'C', 'O', 'L', VERSION, 0, 0, 0};
+
+    private final ReportNumberFormat numberFormat;
+    private final ReportBufferPool bufferPool;
+    private final int rowGroupSize;
+
+    /**
+     * Constructor that uses the default number format and row group size.
+     */
+    public ReportPCOL() {
+        this(ReportNumberFormat.defaults());
+    }
+
+    /**
+     * Constructor that defines how decimal values are rounded.
+     *
+     * @param numberFormat The {@link ReportNumberFormat} of the decimal values; only its scale applies.
+     */
+    public ReportPCOL(ReportNumberFormat numberFormat) {
+        this(numberFormat, ReportBufferPool.unpooled(), DEFAULT_ROW_GROUP_SIZE);
+    }
+
+    /**
+     * Constructor that defines how decimal values are rounded, where the write buffer comes
+     * from and how many rows go into each row group.
+     *
+     * @param numberFormat The {@link ReportNumberFormat} of the decimal values; only its scale applies.
+     * @param bufferPool The {@link ReportBufferPool} that provides the write buffer of each report.
+     * @param rowGroupSize The number of rows in each row group.
+     * @throws IllegalArgumentException if the row group size is not positive.
+     */
+    public ReportPCOL(ReportNumberFormat numberFormat, ReportBufferPool bufferPool, int rowGroupSize) {
+        if (rowGroupSize < 1) {
+            throw new IllegalArgumentException("Row group size must be positive: " + rowGroupSize);
+        }
+        this.numberFormat = numberFormat;
+        this.bufferPool = bufferPool;
+        this.rowGroupSize = rowGroupSize;
+    }
+
+    /**
+     * Generates a columnar report for the provided products.
+     *
+     * <p>Only one row group is held in memory at a time; it is written as soon as it is full.</p>
+     *
+     * @param productList The {@link ProductDto} objects representing the product data.
+     * @param outputStream The {@link OutputStream} to which the report will be written.
+     * @param schema The {@link ReportSchema} whose columns are written, in order.
+     */
+    @Override
+    public void generateReport(Iterable<ProductDto> productList, OutputStream outputStream,
+                               ReportSchema<ProductDto> schema) {
+        try (var chunk = bufferPool.acquire()) {
+            var out = new ColumnarWriter(outputStream, chunk.array());
+            var columns = new ArrayList<ColumnEncoder>(schema.size());
+            for (var column : schema.getColumns()) {
+                columns.add(encoderOf(column));
+            }
+            writeHeader(out, columns);
+
+            var rowGroup = new ArrayList<ProductDto>(Math.min(rowGroupSize, 1024));
+            long totalRows = 0;
+            for (ProductDto product : productList) {
+                rowGroup.add(product);
+
+                if (rowGroup.size() == rowGroupSize) {
+                    writeRowGroup(out, columns, rowGroup);
+                    totalRows += rowGroup.size();
+                    rowGroup.clear();
+                }
+            }
+            if (!rowGroup.isEmpty()) {
+                writeRowGroup(out, columns, rowGroup);
+                totalRows += rowGroup.size();
+            }
+
+            out.writeInt(0);
+            out.writeInt(0);
+            out.writeLong(totalRows);
+            out.writeBytes(MAGIC);
+            out.flush();
+        } catch (Exception e) {
+            throw new RuntimeException("generateReport error ->" + e.getMessage());
+        }
+    }
+
+    private ColumnEncoder encoderOf(ReportColumn<ProductDto> column) {
+        var type = column.getType();
+        if (BigDecimal.class.isAssignableFrom(type)) {
+            return new DecimalEncoder(column, numberFormat);
+        }
+        if (type == Long.class || type == Integer.class || type == Short.class || type == Byte.class
+                || type == long.class || type == int.class || type == short.class || type == byte.class) {
+            return new Int64Encoder(column);
+        }
+        return new StringEncoder(column);
+    }
+
+    private static void writeHeader(ColumnarWriter out, List<ColumnEncoder> columns) throws IOException {
+        var schema = new StringBuilder("{\"format\":\"pcol\",\"version\":").append(VERSION).append(",\"columns\":[");
+        for (int i = 0; i < columns.size(); i++) {
+            if (i > 0) {
+                schema.append(',');
+            }
+            schema.append("{\"name\":");
+            appendJsonString(schema, columns.get(i).column.getName());
+            schema.append(",\"type\":\"").append(columns.get(i).type).append("\"}");
+        }
+        var json = schema.append("]}").toString();
+
+        out.writeBytes(MAGIC);
+        out.writeInt(ColumnarWriter.utf8Length(json));
+        out.writeInt(0);
+        out.writeUtf8(json);
+        out.pad();
+    }
+
+    private static void writeRowGroup(ColumnarWriter out, List<ColumnEncoder> columns, List<ProductDto> rows)
+            throws IOException {
+        out.writeInt(rows.size());
+        out.writeInt(columns.size());
+        for (var column : columns) {
+            column.write(out, rows);
+        }
+    }
+
+    private static void appendJsonString(StringBuilder json, String value) {
+        json.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            var c = value.charAt(i);
+            if (c == '"' || c == '\\') {
+                json.append('\\').append(c);
+            } else if (c < 0x20) {
+                json.append(String.format("\\u%04x", (int) c));
+            } else {
+                json.append(c);
+            }
+        }
+        json.append('"');
+    }
+
+    /**
+     * Smallest signed width, in bytes, that holds every value between the bounds.
+     */
+    private static int signedWidth(long min, long max) {
+        if (min >= Byte.MIN_VALUE && max <= Byte.MAX_VALUE) {
+            return 1;
+        }
+        if (min >= Short.MIN_VALUE && max <= Short.MAX_VALUE) {
+            return 2;
+        }
+        if (min >= Integer.MIN_VALUE && max <= Integer.MAX_VALUE) {
+            return 4;
+        }
+        return 8;
+    }
+
+    /**
+     * Encoder of one column, which keeps its scratch arrays from one row group to the next.
+     */
+    private abstract static class ColumnEncoder {
+
+        final ReportColumn<ProductDto> column;
+        final String type;
+        boolean[] valid = new boolean[0];
+
+        ColumnEncoder(ReportColumn<ProductDto> column, String type) {
+            this.column = column;
+            this.type = type;
+        }
+
+        abstract void write(ColumnarWriter out, List<ProductDto> rows) throws IOException;
+
+        void ensureCapacity(int rows) {
+            if (valid.length < rows) {
+                valid = new boolean[rows];
+                grow(rows);
+            }
+        }
+
+        abstract void grow(int rows);
+
+        static long bitmapLength(int rows, int nullCount) {
+            return nullCount > 0 ? ColumnarWriter.align((rows + 7) / 8) : 0;
+        }
+
+        static void writeChunkHeader(ColumnarWriter out, int encoding, int width, int scale, int nullCount,
+                                     int dictionarySize, long bodyLength) throws IOException {
+            out.writeByte(encoding);
+            out.writeByte(width);
+            out.writeShort(0);
+            out.writeInt(scale);
+            out.writeInt(nullCount);
+            out.writeInt(dictionarySize);
+            out.writeLong(bodyLength);
+        }
+
+        void writeValidity(ColumnarWriter out, int rows, int nullCount) throws IOException {
+            if (nullCount == 0) {
+                return;
+            }
+            for (int start = 0; start < rows; start += 8) {
+                var bits = 0;
+                for (int i = start; i < Math.min(start + 8, rows); i++) {
+                    if (valid[i]) {
+                        bits |= 1 << (i - start);
+                    }
+                }
+                out.writeByte(bits);
+            }
+            out.pad();
+        }
+    }
+
+    /**
+     * Whole numbers, stored in the narrowest width that holds the row group.
+     */
+    private static final class Int64Encoder extends ColumnEncoder {
+
+        private long[] values = new long[0];
+
+        private Int64Encoder(ReportColumn<ProductDto> column) {
+            super(column, "int64");
+        }
+
+        @Override
+        void grow(int rows) {
+            values = new long[rows];
+        }
+
+        @Override
+        void write(ColumnarWriter out, List<ProductDto> rows) throws IOException {
+            var count = rows.size();
+            ensureCapacity(count);
+            var nullCount = 0;
+            long min = 0;
+            long max = 0;
+
+            for (int i = 0; i < count; i++) {
+                var value = column.getValue(rows.get(i));
+                valid[i] = Objects.nonNull(value);
+                if (!valid[i]) {
+                    nullCount++;
+                    values[i] = 0;
+                    continue;
+                }
+                values[i] = ((Number) value).longValue();
+                min = Math.min(min, values[i]);
+                max = Math.max(max, values[i]);
+            }
+
+            var width = signedWidth(min, max);
+            writeChunkHeader(out, PLAIN, width, 0, nullCount, 0,
+                    bitmapLength(count, nullCount) + ColumnarWriter.align((long) count * width));
+            writeValidity(out, count, nullCount);
+            for (int i = 0; i < count; i++) {
+                out.writeFixed(values[i], width);
+            }
+            out.pad();
+        }
+    }
+
+    /**
+     * Decimals, stored as unscaled integers with the scale of the row group.
+     */
+    private static final class DecimalEncoder extends ColumnEncoder {
+
+        private static final int MAX_BITS = 127;
+        private static final int MAX_COMPACT_DIGITS = 18;
+        private static final long[] POWERS_OF_TEN = powersOfTen();
+
+        private final ReportNumberFormat numberFormat;
+        private long[] unscaled = new long[0];
+        private BigInteger[] wide = new BigInteger[0];
+        private BigDecimal[] decimals = new BigDecimal[0];
+
+        private DecimalEncoder(ReportColumn<ProductDto> column, ReportNumberFormat numberFormat) {
+            super(column, "decimal");
+            this.numberFormat = numberFormat;
+        }
+
+        @Override
+        void grow(int rows) {
+            unscaled = new long[rows];
+            wide = new BigInteger[rows];
+            decimals = new BigDecimal[rows];
+        }
+
+        @Override
+        void write(ColumnarWriter out, List<ProductDto> rows) throws IOException {
+            var count = rows.size();
+            ensureCapacity(count);
+            var nullCount = 0;
+            var scale = 0;
+
+            for (int i = 0; i < count; i++) {
+                var value = (BigDecimal) column.getValue(rows.get(i));
+                valid[i] = Objects.nonNull(value);
+                if (!valid[i]) {
+                    nullCount++;
+                    decimals[i] = null;
+                    continue;
+                }
+                decimals[i] = numberFormat.round(value);
+                scale = Math.max(scale, decimals[i].scale());
+            }
+            if (Objects.nonNull(numberFormat.getScale())) {
+                scale = numberFormat.getScale();
+            }
+
+            var isWide = false;
+            long min = 0;
+            long max = 0;
+            for (int i = 0; i < count; i++) {
+                wide[i] = null;
+                unscaled[i] = 0;
+                if (!valid[i]) {
+                    continue;
+                }
+                var decimal = decimals[i];
+                decimals[i] = null;
+                if (unscaleCompact(decimal, scale, i)) {
+                    min = Math.min(min, unscaled[i]);
+                    max = Math.max(max, unscaled[i]);
+                    continue;
+                }
+                var value = decimal.setScale(scale).unscaledValue();
+                if (value.bitLength() > MAX_BITS) {
+                    throw new IllegalArgumentException("Decimal too large for pcol in column " + column.getName());
+                }
+                if (value.bitLength() < Long.SIZE) {
+                    unscaled[i] = value.longValue();
+                    min = Math.min(min, unscaled[i]);
+                    max = Math.max(max, unscaled[i]);
+                } else {
+                    wide[i] = value;
+                    isWide = true;
+                }
+            }
+
+            var width = isWide ? 16 : signedWidth(min, max);
+            writeChunkHeader(out, PLAIN, width, scale, nullCount, 0,
+                    bitmapLength(count, nullCount) + ColumnarWriter.align((long) count * width));
+            writeValidity(out, count, nullCount);
+            for (int i = 0; i < count; i++) {
+                if (Objects.nonNull(wide[i])) {
+                    out.writeInt128(wide[i]);
+                } else {
+                    out.writeFixed(unscaled[i], width);
+                }
+            }
+            out.pad();
+            Arrays.fill(wide, 0, count, null);
+        }
+
+        /**
+         * Stores the unscaled value of a decimal that fits in a {@code long} without going
+         * through a {@link BigInteger}, as {@code unscaledValue()} would.
+         */
+        private boolean unscaleCompact(BigDecimal decimal, int scale, int row) {
+            var shift = scale - decimal.scale();
+            if (decimal.precision() > MAX_COMPACT_DIGITS || shift < 0 || shift >= POWERS_OF_TEN.length) {
+                return false;
+            }
+            // A scale of zero lets longValue() return the compact value as is.
+            var value = decimal.scaleByPowerOfTen(decimal.scale()).longValue();
+            var high = Math.multiplyHigh(value, POWERS_OF_TEN[shift]);
+            var low = value * POWERS_OF_TEN[shift];
+            if (high != (low >> 63)) {
+                return false;
+            }
+            unscaled[row] = low;
+            return true;
+        }
+
+        private static long[] powersOfTen() {
+            var powers = new long[MAX_COMPACT_DIGITS + 1];
+            powers[0] = 1;
+            for (int i = 1; i < powers.length; i++) {
+                powers[i] = powers[i - 1] * 10;
+            }
+            return powers;
+        }
+    }
+
+    /**
+     * Text, dictionary-encoded when the row group repeats its values enough.
+     */
+    private static final class StringEncoder extends ColumnEncoder {
+
+        private static final int DICTIONARY_SAMPLE = 1024;
+
+        private final Map<String, Integer> dictionaryIds = new HashMap<>();
+        private final List<String> dictionary = new ArrayList<>();
+        private String[] values = new String[0];
+        private int[] lengths = new int[0];
+        private int[] ids = new int[0];
+
+        private StringEncoder(ReportColumn<ProductDto> column) {
+            super(column, "string");
+        }
+
+        @Override
+        void grow(int rows) {
+            values = new String[rows];
+            lengths = new int[rows];
+            ids = new int[rows];
+        }
+
+        @Override
+        void write(ColumnarWriter out, List<ProductDto> rows) throws IOException {
+            var count = rows.size();
+            ensureCapacity(count);
+            var nullCount = 0;
+
+            for (int i = 0; i < count; i++) {
+                var value = column.getValue(rows.get(i));
+                valid[i] = Objects.nonNull(value);
+                values[i] = valid[i] ? value.toString() : null;
+                if (!valid[i]) {
+                    nullCount++;
+                }
+            }
+
+            var maxDictionarySize = (count - nullCount) / 2;
+            if (buildDictionary(count, maxDictionarySize)) {
+                writeDictionary(out, count, nullCount);
+            } else {
+                writePlain(out, count, nullCount);
+            }
+            dictionaryIds.clear();
+            dictionary.clear();
+            Arrays.fill(values, 0, count, null);
+        }
+
+        private boolean buildDictionary(int count, int maxDictionarySize) {
+            var seen = 0;
+            for (int i = 0; i < count; i++) {
+                if (!valid[i]) {
+                    ids[i] = 0;
+                    continue;
+                }
+                seen++;
+                var id = dictionaryIds.get(values[i]);
+                if (Objects.isNull(id)) {
+                    var size = dictionary.size();
+                    if (size == maxDictionarySize || (seen >= DICTIONARY_SAMPLE && 2 * size >= seen)) {
+                        return false;
+                    }
+                    id = dictionary.size();
+                    dictionaryIds.put(values[i], id);
+                    dictionary.add(values[i]);
+                }
+                ids[i] = id;
+            }
+            return !dictionary.isEmpty();
+        }
+
+        private void writeDictionary(ColumnarWriter out, int count, int nullCount) throws IOException {
+            var size = dictionary.size();
+            var dataLength = 0L;
+            for (int id = 0; id < size; id++) {
+                lengths[id] = ColumnarWriter.utf8Length(dictionary.get(id));
+                dataLength += lengths[id];
+            }
+            checkOffsets(dataLength);
+            var width = size <= 0x100 ? 1 : size <= 0x10000 ? 2 : 4;
+
+            writeChunkHeader(out, DICTIONARY, width, 0, nullCount, size,
+                    bitmapLength(count, nullCount) + ColumnarWriter.align(4L * (size + 1))
+                            + ColumnarWriter.align(dataLength) + ColumnarWriter.align((long) count * width));
+            writeValidity(out, count, nullCount);
+            writeOffsets(out, size);
+            for (var value : dictionary) {
+                out.writeUtf8(value);
+            }
+            out.pad();
+            for (int i = 0; i < count; i++) {
+                out.writeFixed(ids[i], width);
+            }
+            out.pad();
+        }
+
+        private void writePlain(ColumnarWriter out, int count, int nullCount) throws IOException {
+            var dataLength = 0L;
+            for (int i = 0; i < count; i++) {
+                lengths[i] = valid[i] ? ColumnarWriter.utf8Length(values[i]) : 0;
+                dataLength += lengths[i];
+            }
+            checkOffsets(dataLength);
+
+            writeChunkHeader(out, PLAIN, 0, 0, nullCount, 0,
+                    bitmapLength(count, nullCount) + ColumnarWriter.align(4L * (count + 1))
+                            + ColumnarWriter.align(dataLength));
+            writeValidity(out, count, nullCount);
+            writeOffsets(out, count);
+            for (int i = 0; i < count; i++) {
+                if (valid[i]) {
+                    out.writeUtf8(values[i]);
+                }
+            }
+            out.pad();
+        }
+
+        private void writeOffsets(ColumnarWriter out, int count) throws IOException {
+            var offset = 0;
+            out.writeInt(offset);
+            for (int i = 0; i < count; i++) {
+                offset += lengths[i];
+                out.writeInt(offset);
+            }
+            out.pad();
+        }
+
+        private void checkOffsets(long dataLength) {
+            if (dataLength > Integer.MAX_VALUE) {
+                throw new IllegalArgumentException("Text of a row group too large for pcol in column " + column.getName());
+            }
+        }
+    }
+}
@@ -0,0 +1,238 @@
+package br.com.solid.infrastructure.reports.excel;
+
+import br.com.solid.domain.dto.ProductDto;
+import br.com.solid.infrastructure.reports.format.ReportNumberFormat;
+import br.com.solid.infrastructure.reports.interfaces.ReportGenerator;
+import br.com.solid.infrastructure.reports.schema.ReportColumn;
+import br.com.solid.infrastructure.reports.schema.ReportSchema;
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.usermodel.Workbook;
+
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.util.Objects;
+
+/**
+ * Abstract class for generating Excel product reports (e.g., XLS, XLSX).
+ *
+ * <p>This class uses Apache POI to build the report by creating the workbook, sheet, header,
+ * and data rows for the product information. A new workbook is created for every report,
+ * so a single generator instance can serve concurrent requests safely. Subclasses decide
+ * which workbook implementation, and therefore which file format, is used.</p>
+ */
+public abstract class AbstractReportExcelGenerator implements ReportGenerator {
+
+    private static final String SHEET_NAME = "Report";
+    // Excel keeps 15 significant digits; numbers beyond that are written as text so no digit is lost.
+    private static final int MAX_EXACT_DIGITS = 15;
+    private static final long MAX_EXACT_LONG = 999_999_999_999_999L;
+
+    private final ReportNumberFormat numberFormat;
+
+    /**
+     * Constructor that uses the default number format.
+     */
+    protected AbstractReportExcelGenerator() {
+        this(ReportNumberFormat.defaults());
+    }
+
+    /**
+     * Constructor that defines how decimal values are rounded.
+     *
+     * @param numberFormat The {@link ReportNumberFormat} of the decimal values.
+     */
+    protected AbstractReportExcelGenerator(ReportNumberFormat numberFormat) {
+        this.numberFormat = numberFormat;
+    }
+
+    /**
+     * Generates an Excel report for the provided products and writes it to the output stream.
+     *
+     * <p>Numbers are written as native numeric cells, so they can be summed and sorted in
+     * Excel. Decimals are rounded by the {@link ReportNumberFormat} of this generator and
+     * displayed with their scale. Numbers with more significant digits than Excel keeps are
+     * written as text instead, and missing values leave the cell blank.</p>
+     *
+     * @param productList The {@link ProductDto} objects representing the product data.
+     * @param outputStream The {@link OutputStream} to which the workbook will be written.
+     * @param schema The {@link ReportSchema} whose columns are written, in order.
+     */
+    @Override
+    public void generateReport(Iterable<ProductDto> productList, OutputStream outputStream,
+                               ReportSchema<ProductDto> schema) {
+        var workbook = createWorkbook();
+
+        try {
+            var sheet = workbook.createSheet(SHEET_NAME);
+
+            writeHeader(sheet, schema);
+            writeDataRows(sheet, productList, schema, new DecimalStyles(workbook));
+
+            writeWorkbookToStream(workbook, outputStream);
+        } catch (Exception e) {
+            throw new RuntimeException("Error generating report: " + e.getMessage());
+        } finally {
+            disposeWorkbook(workbook);
+        }
+    }
+
+    /**
+     * Creates the workbook that will hold a single report.
+     *
+     * @return A new, empty {@link Workbook}.
+     */
+    protected abstract Workbook createWorkbook();
+
+    /**
+     * Releases the resources held by the workbook once the report has been written.
+     *
+     * <p>The default implementation closes the workbook; subclasses backed by temporary
+     * files must also remove them here.</p>
+     *
+     * @param workbook The {@link Workbook} used to build the report.
+     */
+    protected void disposeWorkbook(Workbook workbook) {
+        try {
+            workbook.close();
+        } catch (Exception e) {
+            throw new RuntimeException("Error closing workbook: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Writes the header row for the Excel report using the column names from {@link ProductDto}.
+     *
+     * @param sheet The {@link Sheet} where the header will be written.
+     * @param schema The {@link ReportSchema} whose column names are used as headers.
+     */
+    private void writeHeader(Sheet sheet, ReportSchema<ProductDto> schema) {
+        try {
+            var headerRow = sheet.createRow(0);
+            var colNum = 0;
+
+            for (var column : schema.getColumns()) {
+                headerRow.createCell(colNum++).setCellValue(column.getName());
+            }
+
+        } catch (Exception e) {
+            throw new RuntimeException("Error writing header: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Writes the data rows for the Excel report using the provided products.
+     *
+     * @param sheet The {@link Sheet} where the data will be written.
+     * @param productList The {@link ProductDto} objects representing the product data.
+     * @param schema The {@link ReportSchema} whose columns are used to read the data.
+     * @param decimalStyles The cell styles of the decimals, by scale.
+     */
+    private void writeDataRows(Sheet sheet, Iterable<ProductDto> productList, ReportSchema<ProductDto> schema,
+                               DecimalStyles decimalStyles) {
+        try {
+            int rowCount = 1;
+            for (ProductDto product : productList) {
+                var dataRow = sheet.createRow(rowCount++);
+                writeDataRow(dataRow, schema, product, decimalStyles);
+            }
+        } catch (Exception e) {
+            throw new RuntimeException("Error writing data rows: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Writes a single data row for a given product.
+     *
+     * @param dataRow The row in the sheet where data will be written.
+     * @param schema The {@link ReportSchema} whose columns are used to read the data.
+     * @param product The {@link ProductDto} object representing the product data.
+     * @param decimalStyles The cell styles of the decimals, by scale.
+     */
+    private void writeDataRow(Row dataRow, ReportSchema<ProductDto> schema, ProductDto product,
+                              DecimalStyles decimalStyles) {
+        try {
+            var colNum = 0;
+            for (ReportColumn<ProductDto> column : schema.getColumns()) {
+                writeCell(dataRow.createCell(colNum++), column.getValue(product), decimalStyles);
+            }
+        } catch (Exception e) {
+            throw new RuntimeException("Error writing data to row: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Writes a single cell value, as a number when it is one and Excel can hold it exactly.
+     *
+     * @param cell The cell to write.
+     * @param value The cell value, which may be {@code null}.
+     * @param decimalStyles The cell styles of the decimals, by scale.
+     */
+    private void writeCell(Cell cell, Object value, DecimalStyles decimalStyles) {
+        if (Objects.isNull(value)) {
+            return;
+        }
+        if (value instanceof BigDecimal decimal) {
+            var rounded = numberFormat.round(decimal);
+            if (rounded.precision() <= MAX_EXACT_DIGITS) {
+                cell.setCellValue(rounded.doubleValue());
+                decimalStyles.apply(cell, rounded.scale());
+            } else {
+                cell.setCellValue(rounded.toString());
+            }
+            return;
+        }
+        if (value instanceof Long || value instanceof Integer || value instanceof Short || value instanceof Byte) {
+            var number = ((Number) value).longValue();
+            if (Math.abs(number) <= MAX_EXACT_LONG) {
+                cell.setCellValue((double) number);
+                return;
+            }
+        }
+        cell.setCellValue(value.toString());
+    }
+
+    /**
+     * Writes the workbook to the output stream.
+     *
+     * @param workbook The {@link Workbook} containing the report.
+     * @param outputStream The {@link OutputStream} where the workbook will be written.
+     */
+    private void writeWorkbookToStream(Workbook workbook, OutputStream outputStream) {
+        try {
+            workbook.write(outputStream);
+            outputStream.flush();
+        } catch (Exception e) {
+            throw new RuntimeException("Error writing workbook to stream: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Cell styles that display decimals with their scale, e.g. {@code 7.50} rather than
+     * {@code 7.5}. They are created on first use, one per scale, and shared by all the cells
+     * of a workbook, which only holds a few thousand styles.
+     */
+    private static final class DecimalStyles {
+
+        private final Workbook workbook;
+        private final CellStyle[] styles = new CellStyle[MAX_EXACT_DIGITS + 1];
+
+        private DecimalStyles(Workbook workbook) {
+            this.workbook = workbook;
+        }
+
+        private void apply(Cell cell, int scale) {
+            if (scale <= 0 || scale >= styles.length) {
+                return;
+            }
+            if (Objects.isNull(styles[scale])) {
+                var style = workbook.createCellStyle();
+                style.setDataFormat(workbook.createDataFormat().getFormat("0." + "0".repeat(scale)));
+                styles[scale] = style;
+            }
+            cell.setCellStyle(styles[scale]);
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package br.com.solid.infrastructure.reports.excel;
+
+import br.com.solid.infrastructure.reports.format.ReportNumberFormat;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+
+/**
+ * Report generator for Office Open XML Excel format (.xlsx).
+ *
+ * <p>This class uses the Apache POI streaming workbook ({@link SXSSFWorkbook}), which keeps
+ * only a sliding window of rows in memory and flushes older rows to a compressed temporary
+ * file. Memory use stays bounded regardless of the number of rows in the report.</p>
+ */
+public class ReportXLSX extends AbstractReportExcelGenerator {
+
+    /**
+     * Default number of rows kept in memory before older rows are flushed to disk.
+     */
+    public static final int DEFAULT_ROW_ACCESS_WINDOW_SIZE = 100;
+
+    private final int rowAccessWindowSize;
+
+    /**
+     * Constructor that uses the default row access window.
+     */
+    public ReportXLSX() {
+        this(DEFAULT_ROW_ACCESS_WINDOW_SIZE);
+    }
+
+    /**
+     * Constructor that uses the default row access window and defines how decimal values are rounded.
+     *
+     * @param numberFormat The {@link ReportNumberFormat} of the decimal values.
+     */
+    public ReportXLSX(ReportNumberFormat numberFormat) {
+        this(DEFAULT_ROW_ACCESS_WINDOW_SIZE, numberFormat);
+    }
+
+    /**
+     * Constructor that defines how many rows are kept in memory.
+     *
+     * @param rowAccessWindowSize The number of rows kept in memory before flushing to disk.
+     */
+    public ReportXLSX(int rowAccessWindowSize) {
+        this(rowAccessWindowSize, ReportNumberFormat.defaults());
+    }
+
+    /**
+     * Constructor that defines how many rows are kept in memory and how decimal values are rounded.
+     *
+     * @param rowAccessWindowSize The number of rows kept in memory before flushing to disk.
+     * @param numberFormat The {@link ReportNumberFormat} of the decimal values.
+     */
+    public ReportXLSX(int rowAccessWindowSize, ReportNumberFormat numberFormat) {
+        super(numberFormat);
+        this.rowAccessWindowSize = rowAccessWindowSize;
+    }
+
+    /**
+     * Creates a new streaming workbook for a single report.
+     *
+     * @return A new {@link SXSSFWorkbook} with compressed temporary files.
+     */
+    @Override
+    protected Workbook createWorkbook() {
+        var workbook = new SXSSFWorkbook(rowAccessWindowSize);
+        workbook.setCompressTempFiles(true);
+        return workbook;
+    }
+
+    /**
+     * Removes the temporary files backing the streaming workbook and closes it.
+     *
+     * @param workbook The {@link Workbook} used to build the report.
+     */
+    @Override
+    protected void disposeWorkbook(Workbook workbook) {
+        ((SXSSFWorkbook) workbook).dispose();
+        super.disposeWorkbook(workbook);
+    }
+}
@@ -0,0 +1,97 @@
+package br.com.solid.infrastructure.reports.format;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.text.DecimalFormatSymbols;
+import java.util.Locale;
+import java.util.Objects;
+
+/**
+ * How decimal values are rounded and written in reports.
+ *
+ * <p>By default decimals keep their own scale and use a dot as the decimal separator, which
+ * is exactly what {@link BigDecimal#toString()} produces for plain values. A fixed scale
+ * rounds every decimal to that many fraction digits with the given {@link RoundingMode},
+ * and a locale selects its decimal separator, e.g. a comma for {@code pt-BR}.</p>
+ *
+ * <p>Instances are immutable and shared by all reports of a generator.</p>
+ */
+public final class ReportNumberFormat {
+
+    private static final ReportNumberFormat DEFAULTS = new ReportNumberFormat(null, RoundingMode.HALF_EVEN, '.');
+
+    private final Integer scale;
+    private final RoundingMode roundingMode;
+    private final char decimalSeparator;
+
+    private ReportNumberFormat(Integer scale, RoundingMode roundingMode, char decimalSeparator) {
+        this.scale = scale;
+        this.roundingMode = roundingMode;
+        this.decimalSeparator = decimalSeparator;
+    }
+
+    /**
+     * Returns the default format, which writes decimals as {@link BigDecimal#toString()} does.
+     *
+     * @return The default format.
+     */
+    public static ReportNumberFormat defaults() {
+        return DEFAULTS;
+    }
+
+    /**
+     * Creates a format with a fixed scale, if any, and the decimal separator of a locale.
+     *
+     * @param scale The number of fraction digits of every decimal, or {@code null} to keep their own scale.
+     * @param roundingMode The rounding applied when a decimal has more fraction digits than the scale.
+     * @param locale The locale whose decimal separator is used.
+     * @return The format.
+     * @throws IllegalArgumentException if the scale is negative or the separator is not ASCII.
+     */
+    public static ReportNumberFormat of(Integer scale, RoundingMode roundingMode, Locale locale) {
+        if (Objects.nonNull(scale) && scale < 0) {
+            throw new IllegalArgumentException("Decimal scale must not be negative: " + scale);
+        }
+        var decimalSeparator = DecimalFormatSymbols.getInstance(locale).getDecimalSeparator();
+        if (decimalSeparator >= 0x80) {
+            throw new IllegalArgumentException("Unsupported decimal separator for locale " + locale);
+        }
+        if (Objects.isNull(scale) && decimalSeparator == '.') {
+            return DEFAULTS;
+        }
+        return new ReportNumberFormat(scale, roundingMode, decimalSeparator);
+    }
+
+    /**
+     * Returns the fixed scale of the decimals, if any.
+     *
+     * @return The number of fraction digits, or {@code null} if decimals keep their own scale.
+     */
+    public Integer getScale() {
+        return scale;
+    }
+
+    /**
+     * Returns the decimal separator.
+     *
+     * @return The decimal separator, an ASCII character.
+     */
+    public char getDecimalSeparator() {
+        return decimalSeparator;
+    }
+
+    /**
+     * Rounds a decimal to the fixed scale, if there is one.
+     *
+     * <p>No new value is created when the decimal already has the right scale.</p>
+     *
+     * @param value The decimal to round.
+     * @return The rounded decimal.
+     */
+    public BigDecimal round(BigDecimal value) {
+        if (Objects.isNull(scale) || value.scale() == scale) {
+            return value;
+        }
+        return value.setScale(scale, roundingMode);
+    }
+}
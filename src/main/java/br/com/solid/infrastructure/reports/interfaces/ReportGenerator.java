@@ -1,22 +1,60 @@
 package br.com.solid.infrastructure.reports.interfaces;
 
 import br.com.solid.domain.dto.ProductDto;
+import br.com.solid.infrastructure.buffer.ChunkedOutputStream;
+import br.com.solid.infrastructure.buffer.ReportBufferPool;
+import br.com.solid.infrastructure.reports.schema.ReportSchema;
 
+import java.io.OutputStream;
 import java.util.List;
 
 /**
  * Interface for generating product reports.
  *
  * <p>Implementations of this interface are responsible for generating reports
- * in various formats (e.g., CSV, TXT, XLS) based on the provided product data.</p>
+ * in various formats (e.g., CSV, TXT, XLS) based on the provided product data.
+ * Reports are written straight to an {@link OutputStream}, so callers can stream
+ * them to their destination without holding the whole artifact in memory.</p>
  */
 public interface ReportGenerator {
 
+    /**
+     * Generates a report with the given columns for the provided products, writing it to the
+     * given output stream.
+     *
+     * <p>The products are consumed in iteration order exactly once. The output stream is
+     * flushed but not closed; closing it remains the responsibility of the caller.</p>
+     *
+     * @param products The {@link ProductDto} objects representing the product data.
+     * @param outputStream The {@link OutputStream} to which the report will be written.
+     * @param schema The {@link ReportSchema} whose columns are written, in order.
+     */
+    void generateReport(Iterable<ProductDto> products, OutputStream outputStream, ReportSchema<ProductDto> schema);
+
+    /**
+     * Generates a report with every column of {@link ProductDto}, writing it to the given output stream.
+     *
+     * @param products The {@link ProductDto} objects representing the product data.
+     * @param outputStream The {@link OutputStream} to which the report will be written.
+     */
+    default void generateReport(Iterable<ProductDto> products, OutputStream outputStream) {
+        generateReport(products, outputStream, ReportSchema.of(ProductDto.class));
+    }
+
     /**
      * Generates a report for the provided list of products.
      *
+     * <p>Adapter kept for callers that need the whole report in memory; it delegates to
+     * {@link #generateReport(Iterable, OutputStream)} and buffers the report in chunks,
+     * copying it only once into the returned array.</p>
+     *
      * @param productDto The list of {@link ProductDto} objects representing the product data.
      * @return A byte array containing the generated report.
      */
-    byte[] generateReport(List<ProductDto> productDto);
-}
\ No newline at end of file
+    default byte[] generateReport(List<ProductDto> productDto) {
+        try (var buffer = new ChunkedOutputStream(ReportBufferPool.unpooled())) {
+            generateReport(productDto, buffer);
+            return buffer.toByteArray();
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package br.com.solid.infrastructure.reports.schema;
+
+import java.util.function.Function;
+
+/**
+ * A single column of a {@link ReportSchema}.
+ *
+ * <p>Each column pairs a header name with a compiled accessor that reads the column value
+ * from a row object. The accessor is resolved once per class, so reading a cell is a plain
+ * method call with no reflection involved.</p>
+ *
+ * @param <T> The type of the row objects.
+ */
+public final class ReportColumn<T> {
+
+    private final String name;
+    private final Class<?> type;
+    private final Function<T, Object> accessor;
+
+    ReportColumn(String name, Class<?> type, Function<T, Object> accessor) {
+        this.name = name;
+        this.type = type;
+        this.accessor = accessor;
+    }
+
+    /**
+     * Returns the column header.
+     *
+     * @return The column header.
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Returns the declared type of the column values.
+     *
+     * @return The column value type.
+     */
+    public Class<?> getType() {
+        return type;
+    }
+
+    /**
+     * Reads the value of this column from the given row.
+     *
+     * @param row The row object.
+     * @return The column value, which may be {@code null}.
+     */
+    public Object getValue(T row) {
+        return accessor.apply(row);
+    }
+}
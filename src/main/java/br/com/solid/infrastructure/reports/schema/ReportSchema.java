@@ -0,0 +1,207 @@
+package br.com.solid.infrastructure.reports.schema;
+
+import br.com.solid.domain.annotations.ReportField;
+
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Function;
+
+/**
+ * Ordered set of columns describing how a DTO is laid out in a report.
+ *
+ * <p>A schema is resolved once per class and cached. Columns follow the order declared with
+ * {@link ReportField}; fields without the annotation are appended in declaration order.
+ * Static and transient fields are ignored. Each column accessor is compiled with
+ * {@link LambdaMetafactory} into a direct call to the field getter, falling back to a
+ * {@link MethodHandle} field read when the class has no getter.</p>
+ *
+ * @param <T> The type of the row objects.
+ */
+public final class ReportSchema<T> {
+
+    private static final ClassValue<ReportSchema<?>> CACHE = new ClassValue<>() {
+        @Override
+        protected ReportSchema<?> computeValue(Class<?> type) {
+            return resolve(type);
+        }
+    };
+
+    private final Class<T> type;
+    private final List<ReportColumn<T>> columns;
+
+    private ReportSchema(Class<T> type, List<ReportColumn<T>> columns) {
+        this.type = type;
+        this.columns = List.copyOf(columns);
+    }
+
+    /**
+     * Returns the cached schema for the given class, resolving it on first use.
+     *
+     * @param type The DTO class.
+     * @param <T> The type of the row objects.
+     * @return The schema for the class.
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> ReportSchema<T> of(Class<T> type) {
+        return (ReportSchema<T>) CACHE.get(type);
+    }
+
+    /**
+     * Returns the class described by this schema.
+     *
+     * @return The DTO class.
+     */
+    public Class<T> getType() {
+        return type;
+    }
+
+    /**
+     * Returns the columns in report order.
+     *
+     * @return An immutable list of columns.
+     */
+    public List<ReportColumn<T>> getColumns() {
+        return columns;
+    }
+
+    /**
+     * Returns the number of columns.
+     *
+     * @return The column count.
+     */
+    public int size() {
+        return columns.size();
+    }
+
+    /**
+     * Returns the column with the given header, ignoring case.
+     *
+     * @param name The column header.
+     * @return The column.
+     * @throws IllegalArgumentException if the schema has no such column.
+     */
+    public ReportColumn<T> getColumn(String name) {
+        for (var column : columns) {
+            if (column.getName().equalsIgnoreCase(name)) {
+                return column;
+            }
+        }
+        throw new IllegalArgumentException("Unknown report column: " + name);
+    }
+
+    /**
+     * Returns a schema with only the given columns, in the given order.
+     *
+     * <p>Projected schemas are built per request and are not cached.</p>
+     *
+     * @param names The headers of the columns to keep, ignoring case.
+     * @return The projected schema.
+     * @throws IllegalArgumentException if a column does not exist, is repeated, or none is given.
+     */
+    public ReportSchema<T> select(List<String> names) {
+        if (names.isEmpty()) {
+            throw new IllegalArgumentException("At least one report column is required");
+        }
+
+        var selected = new ArrayList<ReportColumn<T>>(names.size());
+        for (var name : names) {
+            var column = getColumn(name);
+            if (selected.contains(column)) {
+                throw new IllegalArgumentException("Duplicate report column: " + name);
+            }
+            selected.add(column);
+        }
+        return new ReportSchema<>(type, selected);
+    }
+
+    private static <T> ReportSchema<T> resolve(Class<T> type) {
+        var lookup = privateLookup(type);
+        var fields = new ArrayList<Field>();
+
+        for (var field : type.getDeclaredFields()) {
+            var modifiers = field.getModifiers();
+            if (!Modifier.isStatic(modifiers) && !Modifier.isTransient(modifiers) && !field.isSynthetic()) {
+                fields.add(field);
+            }
+        }
+
+        // List.sort is stable, so unannotated fields keep their declaration order.
+        fields.sort(Comparator.comparingInt(ReportSchema::orderOf));
+
+        var columns = new ArrayList<ReportColumn<T>>(fields.size());
+        for (var field : fields) {
+            columns.add(new ReportColumn<>(nameOf(field), field.getType(), compileAccessor(lookup, type, field)));
+        }
+        return new ReportSchema<>(type, columns);
+    }
+
+    private static int orderOf(Field field) {
+        var annotation = field.getAnnotation(ReportField.class);
+        return Objects.nonNull(annotation) ? annotation.order() : Integer.MAX_VALUE;
+    }
+
+    private static String nameOf(Field field) {
+        var annotation = field.getAnnotation(ReportField.class);
+        return Objects.nonNull(annotation) && !annotation.name().isEmpty() ? annotation.name() : field.getName();
+    }
+
+    private static MethodHandles.Lookup privateLookup(Class<?> type) {
+        try {
+            return MethodHandles.privateLookupIn(type, MethodHandles.lookup());
+        } catch (IllegalAccessException e) {
+            throw new IllegalArgumentException("Cannot access report type " + type.getName() + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * Compiles a getter-backed accessor for the field, or a field-read accessor when no getter exists.
+     */
+    @SuppressWarnings("unchecked")
+    private static <T> Function<T, Object> compileAccessor(MethodHandles.Lookup lookup, Class<T> type, Field field) {
+        try {
+            var getter = findGetter(lookup, type, field);
+
+            if (Objects.nonNull(getter)) {
+                var site = LambdaMetafactory.metafactory(lookup, "apply",
+                        MethodType.methodType(Function.class),
+                        MethodType.methodType(Object.class, Object.class),
+                        getter,
+                        getter.type().wrap());
+                return (Function<T, Object>) site.getTarget().invoke();
+            }
+
+            var handle = lookup.unreflectGetter(field).asType(MethodType.methodType(Object.class, Object.class));
+            return row -> {
+                try {
+                    return handle.invokeExact((Object) row);
+                } catch (Throwable e) {
+                    throw new IllegalStateException("Error reading field " + field.getName() + ": " + e.getMessage());
+                }
+            };
+        } catch (Throwable e) {
+            throw new IllegalArgumentException("Cannot compile accessor for field " + field.getName() + ": " + e.getMessage());
+        }
+    }
+
+    private static MethodHandle findGetter(MethodHandles.Lookup lookup, Class<?> type, Field field) {
+        var suffix = Character.toUpperCase(field.getName().charAt(0)) + field.getName().substring(1);
+        var prefixes = field.getType() == boolean.class ? new String[]{"is", "get"} : new String[]{"get"};
+
+        for (var prefix : prefixes) {
+            try {
+                return lookup.findVirtual(type, prefix + suffix, MethodType.methodType(field.getType()));
+            } catch (NoSuchMethodException | IllegalAccessException e) {
+                // Try the next naming convention, then fall back to reading the field.
+            }
+        }
+        return null;
+    }
+}
@@ -1,11 +1,13 @@
 package br.com.solid.infrastructure.reports.text;
 
 import br.com.solid.domain.dto.ProductDto;
+import br.com.solid.infrastructure.buffer.ReportBufferPool;
+import br.com.solid.infrastructure.reports.format.ReportNumberFormat;
 import br.com.solid.infrastructure.reports.interfaces.ReportGenerator;
+import br.com.solid.infrastructure.reports.schema.ReportSchema;
 
-import java.io.ByteArrayOutputStream;
-import java.lang.reflect.Field;
-import java.util.List;
+import java.io.OutputStream;
+import java.math.BigDecimal;
 
 /**
  * Abstract class for generating text-based product reports (e.g., CSV, TXT).
@@ -15,34 +17,100 @@ import java.util.List;
  */
 public abstract class AbstractReportTextGenerator implements ReportGenerator {
 
+    private final ReportNumberFormat numberFormat;
+    private final ReportBufferPool bufferPool;
+
+    /**
+     * Constructor that uses the default number format.
+     */
+    protected AbstractReportTextGenerator() {
+        this(ReportNumberFormat.defaults());
+    }
+
+    /**
+     * Constructor that defines how decimal values are written.
+     *
+     * @param numberFormat The {@link ReportNumberFormat} of the decimal values.
+     */
+    protected AbstractReportTextGenerator(ReportNumberFormat numberFormat) {
+        this(numberFormat, ReportBufferPool.unpooled());
+    }
+
+    /**
+     * Constructor that defines how decimal values are written and where encode buffers come from.
+     *
+     * @param numberFormat The {@link ReportNumberFormat} of the decimal values.
+     * @param bufferPool The {@link ReportBufferPool} that provides the encode buffer of each report.
+     */
+    protected AbstractReportTextGenerator(ReportNumberFormat numberFormat, ReportBufferPool bufferPool) {
+        this.numberFormat = numberFormat;
+        this.bufferPool = bufferPool;
+    }
+
     /**
-     * Generates a text-based report for the provided list of products.
+     * Generates a text-based report for the provided products.
      *
      * <p>This method is common for all text-based report generators and calls the
-     * abstract methods {@link #writeHeader(ByteArrayOutputStream, Field[])} and
-     * {@link #writeData(ByteArrayOutputStream, Field[], ProductDto)} to handle
-     * the specific formatting of the report.</p>
+     * abstract methods {@link #writeHeader(TextReportEncoder, ReportSchema)} and
+     * {@link #writeData(TextReportEncoder, ReportSchema, ProductDto)} to handle
+     * the specific formatting of the report. A single {@link TextReportEncoder} is used
+     * for the whole report, so rows are encoded into one buffer as they are produced and the
+     * report is never fully held in memory. The buffer is a chunk borrowed from the
+     * {@link ReportBufferPool} of this generator for the duration of the report.</p>
      *
-     * @param productList The list of {@link ProductDto} representing the product data.
-     * @return A byte array containing the generated text-based report.
+     * @param productList The {@link ProductDto} objects representing the product data.
+     * @param outputStream The {@link OutputStream} to which the report will be written.
+     * @param schema The {@link ReportSchema} whose columns are written, in order.
      */
     @Override
-    public byte[] generateReport(List<ProductDto> productList) {
-        var baos = new ByteArrayOutputStream();
-
-        try {
-            Field[] fields = ProductDto.class.getDeclaredFields();
+    public void generateReport(Iterable<ProductDto> productList, OutputStream outputStream,
+                               ReportSchema<ProductDto> schema) {
+        try (var chunk = bufferPool.acquire()) {
+            var encoder = new TextReportEncoder(outputStream, chunk.array());
 
-            writeHeader(baos, fields);
+            writeHeader(encoder, schema);
 
             for (ProductDto product : productList) {
-                writeData(baos, fields, product);
+                writeData(encoder, schema, product);
             }
+            encoder.flush();
         } catch (Exception e) {
             throw new RuntimeException("generateReport error ->" + e.getMessage());
         }
+    }
+
+    /**
+     * Writes a numeric cell value straight into the encoder, without creating a string.
+     *
+     * <p>Decimals are rounded and written according to the {@link ReportNumberFormat} of
+     * this generator; whole numbers are written as they are. Numbers never need quoting,
+     * as no decimal separator is a delimiter, a quote or a line break.</p>
+     *
+     * @param encoder The {@link TextReportEncoder} to which the value will be written.
+     * @param value The cell value, which must not be {@code null}.
+     * @return {@code true} if the value was a number and has been written; {@code false} if
+     *         nothing was written.
+     * @throws Exception if an error occurs while writing the value.
+     */
+    protected boolean writeNumber(TextReportEncoder encoder, Object value) throws Exception {
+        if (value instanceof BigDecimal decimal) {
+            encoder.writeDecimal(numberFormat.round(decimal), numberFormat.getDecimalSeparator());
+            return true;
+        }
+        if (value instanceof Long || value instanceof Integer || value instanceof Short || value instanceof Byte) {
+            encoder.writeLong(((Number) value).longValue());
+            return true;
+        }
+        return false;
+    }
 
-        return baos.toByteArray();
+    /**
+     * Returns the pool that provides the encode buffers of this generator.
+     *
+     * @return The {@link ReportBufferPool} of the generator.
+     */
+    ReportBufferPool getBufferPool() {
+        return bufferPool;
     }
 
     /**
@@ -51,10 +119,10 @@ public abstract class AbstractReportTextGenerator implements ReportGenerator {
      * <p>This method must be implemented by subclasses to handle the formatting
      * of the header for the specific text format (e.g., CSV, TXT).</p>
      *
-     * @param baos The {@link ByteArrayOutputStream} to which the header will be written.
-     * @param fields The fields of the {@link ProductDto} class to be used as headers.
+     * @param encoder The {@link TextReportEncoder} to which the header will be written.
+     * @param schema The {@link ReportSchema} whose column names are used as headers.
      */
-    protected abstract void writeHeader(ByteArrayOutputStream baos, Field[] fields) throws Exception;
+    protected abstract void writeHeader(TextReportEncoder encoder, ReportSchema<ProductDto> schema) throws Exception;
 
     /**
      * Writes the data rows for the text-based report.
@@ -62,9 +130,9 @@ public abstract class AbstractReportTextGenerator implements ReportGenerator {
      * <p>This method must be implemented by subclasses to handle the formatting
      * of the data rows for the specific text format (e.g., CSV, TXT).</p>
      *
-     * @param baos The {@link ByteArrayOutputStream} to which the data will be written.
-     * @param fields The fields of the {@link ProductDto} class to be used as data.
+     * @param encoder The {@link TextReportEncoder} to which the data will be written.
+     * @param schema The {@link ReportSchema} whose columns are used to read the data.
      * @param product The {@link ProductDto} object representing the product data.
      */
-    protected abstract void writeData(ByteArrayOutputStream baos, Field[] fields, ProductDto product) throws Exception;
-}
\ No newline at end of file
+    protected abstract void writeData(TextReportEncoder encoder, ReportSchema<ProductDto> schema, ProductDto product) throws Exception;
+}
@@ -0,0 +1,184 @@
+package br.com.solid.infrastructure.reports.text;
+
+import br.com.solid.domain.dto.ProductDto;
+import br.com.solid.infrastructure.buffer.ChunkedOutputStream;
+import br.com.solid.infrastructure.reports.interfaces.ReportGenerator;
+import br.com.solid.infrastructure.reports.schema.ReportSchema;
+
+import java.io.OutputStream;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Report generator that encodes a text-based report in parallel chunks.
+ *
+ * <p>Rows are read sequentially and grouped into chunks, which are encoded concurrently on
+ * a shared pool into separate buffers by the wrapped {@link AbstractReportTextGenerator}.
+ * Encoded chunks are written after the header strictly in input order, so the output is
+ * byte-identical to sequential generation. Each report keeps at most a fixed number of
+ * chunks in flight, which bounds its memory use and its share of the pool.</p>
+ *
+ * <p>Chunks are encoded into {@link ChunkedOutputStream}s, through encode buffers borrowed
+ * from the buffer pool of the wrapped generator, and their memory goes back to that pool as
+ * soon as they have been written.</p>
+ */
+public class ParallelReportTextGenerator implements ReportGenerator {
+
+    private final AbstractReportTextGenerator delegate;
+    private final ExecutorService pool;
+    private final int chunkSize;
+    private final int maxChunksInFlight;
+
+    /**
+     * Constructor that wraps a text generator with parallel chunked encoding.
+     *
+     * @param delegate The text generator that defines the report format.
+     * @param pool The pool on which chunks are encoded.
+     * @param chunkSize The number of rows encoded by each task.
+     * @param maxChunksInFlight The maximum number of chunks queued or running for one report.
+     */
+    public ParallelReportTextGenerator(AbstractReportTextGenerator delegate, ExecutorService pool,
+                                       int chunkSize, int maxChunksInFlight) {
+        if (chunkSize < 1 || maxChunksInFlight < 1) {
+            throw new IllegalArgumentException("Chunk size and chunks in flight must be positive");
+        }
+        this.delegate = delegate;
+        this.pool = pool;
+        this.chunkSize = chunkSize;
+        this.maxChunksInFlight = maxChunksInFlight;
+    }
+
+    /**
+     * Returns the generator that defines the report format.
+     *
+     * @return The wrapped text generator.
+     */
+    public AbstractReportTextGenerator getDelegate() {
+        return delegate;
+    }
+
+    /**
+     * Generates the report, encoding chunks of rows concurrently and writing them in order.
+     *
+     * @param productList The {@link ProductDto} objects representing the product data.
+     * @param outputStream The {@link OutputStream} to which the report will be written.
+     * @param schema The {@link ReportSchema} whose columns are written, in order.
+     */
+    @Override
+    public void generateReport(Iterable<ProductDto> productList, OutputStream outputStream,
+                               ReportSchema<ProductDto> schema) {
+        var pending = new ArrayDeque<Future<ChunkedOutputStream>>();
+        var aborted = new AtomicBoolean();
+
+        try {
+            try (var encodeBuffer = delegate.getBufferPool().acquire()) {
+                var headerEncoder = new TextReportEncoder(outputStream, encodeBuffer.array());
+                delegate.writeHeader(headerEncoder, schema);
+                headerEncoder.flush();
+            }
+
+            var chunk = new ArrayList<ProductDto>(chunkSize);
+            for (ProductDto product : productList) {
+                chunk.add(product);
+
+                if (chunk.size() == chunkSize) {
+                    submit(chunk, schema, pending, aborted, outputStream);
+                    chunk = new ArrayList<>(chunkSize);
+                }
+            }
+            if (!chunk.isEmpty()) {
+                submit(chunk, schema, pending, aborted, outputStream);
+            }
+            while (!pending.isEmpty()) {
+                writeNext(pending, outputStream);
+            }
+            outputStream.flush();
+        } catch (Exception e) {
+            aborted.set(true);
+            pending.forEach(ParallelReportTextGenerator::discard);
+            if (e instanceof InterruptedException) {
+                Thread.currentThread().interrupt();
+            }
+            throw new RuntimeException("generateReport error ->" + e.getMessage());
+        }
+    }
+
+    private void submit(List<ProductDto> chunk, ReportSchema<ProductDto> schema,
+                        ArrayDeque<Future<ChunkedOutputStream>> pending, AtomicBoolean aborted,
+                        OutputStream outputStream) throws Exception {
+        while (pending.size() >= maxChunksInFlight) {
+            writeNext(pending, outputStream);
+        }
+        pending.add(pool.submit(() -> encode(chunk, schema, aborted)));
+    }
+
+    private void writeNext(ArrayDeque<Future<ChunkedOutputStream>> pending, OutputStream outputStream) throws Exception {
+        // The chunk stays pending until it is retrieved, so a failed wait still discards it.
+        try (var encoded = pending.peek().get()) {
+            pending.poll();
+            encoded.writeTo(outputStream);
+        } catch (ExecutionException e) {
+            throw new RuntimeException(e.getCause().getMessage(), e.getCause());
+        }
+    }
+
+    private ChunkedOutputStream encode(List<ProductDto> chunk, ReportSchema<ProductDto> schema,
+                                       AtomicBoolean aborted) throws Exception {
+        if (aborted.get()) {
+            return null;
+        }
+
+        var bufferPool = delegate.getBufferPool();
+        var buffer = new ChunkedOutputStream(bufferPool);
+
+        try (var encodeBuffer = bufferPool.acquire()) {
+            var encoder = new TextReportEncoder(buffer, encodeBuffer.array());
+            for (ProductDto product : chunk) {
+                delegate.writeData(encoder, schema, product);
+            }
+            encoder.flush();
+            return buffer;
+        } catch (Exception e) {
+            buffer.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Waits for a chunk that will not be written and releases its buffer.
+     *
+     * <p>A pool task that is already running cannot be stopped, and cancelling it would drop
+     * the buffer it returns, so the chunk is awaited instead; a chunk that has not started yet
+     * sees the report aborted and returns right away.</p>
+     */
+    private static void discard(Future<ChunkedOutputStream> future) {
+        var interrupted = false;
+
+        try {
+            while (true) {
+                try {
+                    var encoded = future.get();
+                    if (Objects.nonNull(encoded)) {
+                        encoded.close();
+                    }
+                    return;
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                } catch (Exception e) {
+                    // The chunk failed to encode, so it holds nothing to release.
+                    return;
+                }
+            }
+        } finally {
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
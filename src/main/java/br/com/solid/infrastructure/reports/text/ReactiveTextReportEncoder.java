@@ -0,0 +1,128 @@
+package br.com.solid.infrastructure.reports.text;
+
+import br.com.solid.domain.dto.ProductDto;
+import br.com.solid.infrastructure.reports.schema.ReportSchema;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.io.OutputStream;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Non-blocking encoder of text-based reports, from a stream of products to a stream of buffers.
+ *
+ * <p>Products are grouped into batches, and each batch is encoded by the wrapped
+ * {@link AbstractReportTextGenerator} into one {@link DataBuffer}. The header goes into
+ * the first buffer, so nothing is sent, and a response is not committed, before the first
+ * products have been read. Batches are only requested when the subscriber asks for more
+ * buffers, so a slow consumer, such as a slow client on the other end of the connection,
+ * paces how fast products are read. No thread is held while waiting; encoding runs on whichever
+ * thread delivers the products.</p>
+ */
+public class ReactiveTextReportEncoder {
+
+    private static final int HEADER_BYTES = 256;
+    private static final int ESTIMATED_BYTES_PER_ROW = 64;
+    private static final int ENCODER_BUFFER_SIZE = 8 * 1024;
+
+    private final AbstractReportTextGenerator format;
+    private final int batchSize;
+
+    /**
+     * Constructor that defines the report format and how many rows go into each buffer.
+     *
+     * @param format The text generator that defines the report format.
+     * @param batchSize The number of rows encoded into each buffer.
+     */
+    public ReactiveTextReportEncoder(AbstractReportTextGenerator format, int batchSize) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("Batch size must be positive");
+        }
+        this.format = format;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Encodes the products as a report with the given columns.
+     *
+     * <p>Each subscription encodes the report from the start. Buffers discarded by a
+     * cancelled or failed subscription are released.</p>
+     *
+     * @param products The products of the report.
+     * @param schema The {@link ReportSchema} whose columns are written, in order.
+     * @param bufferFactory The factory of the output buffers.
+     * @return The encoded report.
+     */
+    public Flux<DataBuffer> encode(Flux<ProductDto> products, ReportSchema<ProductDto> schema,
+                                   DataBufferFactory bufferFactory) {
+        return Flux.defer(() -> {
+            var sink = new DataBufferSink();
+            var encoder = new TextReportEncoder(sink, ENCODER_BUFFER_SIZE);
+            var headerPending = new AtomicBoolean(true);
+
+            var rows = products.buffer(batchSize)
+                    .map(batch -> encode(sink, encoder, bufferFactory.allocateBuffer(HEADER_BYTES + batch.size() * ESTIMATED_BYTES_PER_ROW),
+                            () -> writeRows(encoder, schema, batch, headerPending.getAndSet(false))));
+            var headerOnly = Mono.fromCallable(() -> encode(sink, encoder, bufferFactory.allocateBuffer(HEADER_BYTES),
+                    () -> format.writeHeader(encoder, schema)));
+
+            return rows.switchIfEmpty(headerOnly);
+        }).doOnDiscard(DataBuffer.class, DataBufferUtils::release);
+    }
+
+    private void writeRows(TextReportEncoder encoder, ReportSchema<ProductDto> schema, List<ProductDto> batch,
+                           boolean withHeader) throws Exception {
+        if (withHeader) {
+            format.writeHeader(encoder, schema);
+        }
+        for (ProductDto product : batch) {
+            format.writeData(encoder, schema, product);
+        }
+    }
+
+    private static DataBuffer encode(DataBufferSink sink, TextReportEncoder encoder, DataBuffer buffer, Encoding encoding) {
+        sink.target = buffer;
+        try {
+            encoding.run();
+            encoder.flush();
+            return buffer;
+        } catch (Exception e) {
+            DataBufferUtils.release(buffer);
+            throw new RuntimeException("generateReport error ->" + e.getMessage());
+        } finally {
+            sink.target = null;
+        }
+    }
+
+    /**
+     * Part of a report written through the encoder.
+     */
+    @FunctionalInterface
+    private interface Encoding {
+
+        void run() throws Exception;
+    }
+
+    /**
+     * Output stream that appends to the buffer currently being filled, so a single encoder,
+     * and its scratch buffer, serves the whole report.
+     */
+    private static final class DataBufferSink extends OutputStream {
+
+        private DataBuffer target;
+
+        @Override
+        public void write(int b) {
+            target.write((byte) b);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            target.write(b, off, len);
+        }
+    }
+}
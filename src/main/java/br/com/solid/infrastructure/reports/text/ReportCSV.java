@@ -1,78 +1,95 @@
 package br.com.solid.infrastructure.reports.text;
 
 import br.com.solid.domain.dto.ProductDto;
-import com.opencsv.CSVWriter;
+import br.com.solid.infrastructure.buffer.ReportBufferPool;
+import br.com.solid.infrastructure.reports.format.ReportNumberFormat;
+import br.com.solid.infrastructure.reports.schema.ReportSchema;
 
-import java.io.ByteArrayOutputStream;
-import java.io.OutputStreamWriter;
-import java.lang.reflect.Field;
-import java.nio.charset.StandardCharsets;
-import java.util.Arrays;
 import java.util.Objects;
 
 /**
  * Report generator for CSV format.
  *
- * <p>This class generates a CSV report for a given list of products, using the OpenCSV library
- * to format the data with semicolon (;) as the delimiter.</p>
+ * <p>This class generates a CSV report for a given list of products, using semicolon (;)
+ * as the delimiter. Fields are enclosed in double quotes only when they contain the
+ * delimiter, a double quote, or a line break; embedded quotes are doubled.</p>
  */
 public class ReportCSV extends AbstractReportTextGenerator {
 
+    private static final char DELIMITER = ';';
+
+    /**
+     * Constructor that uses the default number format.
+     */
+    public ReportCSV() {
+        super();
+    }
+
+    /**
+     * Constructor that defines how decimal values are written.
+     *
+     * @param numberFormat The {@link ReportNumberFormat} of the decimal values.
+     */
+    public ReportCSV(ReportNumberFormat numberFormat) {
+        super(numberFormat);
+    }
+
     /**
-     * Writes the CSV header using the field names of {@link ProductDto}.
+     * Constructor that defines how decimal values are written and where encode buffers come from.
      *
-     * <p>This method uses OpenCSV to write the header row based on the fields of the
-     * {@link ProductDto} class.</p>
+     * @param numberFormat The {@link ReportNumberFormat} of the decimal values.
+     * @param bufferPool The {@link ReportBufferPool} that provides the encode buffer of each report.
+     */
+    public ReportCSV(ReportNumberFormat numberFormat, ReportBufferPool bufferPool) {
+        super(numberFormat, bufferPool);
+    }
+
+    /**
+     * Writes the CSV header using the column names of {@link ProductDto}.
      *
-     * @param baos The {@link ByteArrayOutputStream} to which the header will be written.
-     * @param fields The fields of the {@link ProductDto} class to be used as headers.
+     * @param encoder The {@link TextReportEncoder} to which the header will be written.
+     * @param schema The {@link ReportSchema} whose column names are used as headers.
      * @throws Exception if an error occurs while writing the header.
      */
     @Override
-    protected void writeHeader(ByteArrayOutputStream baos, Field[] fields) throws Exception {
-        try (var writer = new CSVWriter(new OutputStreamWriter(baos, StandardCharsets.UTF_8),
-                ';', CSVWriter.NO_QUOTE_CHARACTER,
-                CSVWriter.DEFAULT_ESCAPE_CHARACTER,
-                CSVWriter.DEFAULT_LINE_END)) {
+    protected void writeHeader(TextReportEncoder encoder, ReportSchema<ProductDto> schema) throws Exception {
+        var columns = schema.getColumns();
 
-            var header = Arrays.stream(fields)
-                    .map(Field::getName)
-                    .toArray(String[]::new);
-            writer.writeNext(header);
+        for (int i = 0; i < columns.size(); i++) {
+            if (i > 0) {
+                encoder.writeAscii(DELIMITER);
+            }
+            encoder.writeEscaped(columns.get(i).getName(), DELIMITER);
         }
+        encoder.writeAscii('\n');
     }
 
     /**
      * Writes the CSV data rows for each product in the provided list.
      *
      * <p>This method writes the data rows for the CSV report, where each row corresponds
-     * to a product in the {@link ProductDto} list. It handles the conversion of field values
-     * to string and handles null values gracefully.</p>
+     * to a product in the {@link ProductDto} list. Numbers are written directly in the
+     * configured number format, other values are converted to string, and null values are
+     * handled gracefully.</p>
      *
-     * @param baos The {@link ByteArrayOutputStream} to which the data will be written.
-     * @param fields The fields of the {@link ProductDto} class to be used as data.
+     * @param encoder The {@link TextReportEncoder} to which the data will be written.
+     * @param schema The {@link ReportSchema} whose columns are used to read the data.
      * @param product The {@link ProductDto} object representing the product data.
      * @throws Exception if an error occurs while writing the data.
      */
     @Override
-    protected void writeData(ByteArrayOutputStream baos, Field[] fields, ProductDto product) throws Exception {
-        try (var writer = new CSVWriter(new OutputStreamWriter(baos, StandardCharsets.UTF_8),
-                ';', CSVWriter.NO_QUOTE_CHARACTER,
-                CSVWriter.DEFAULT_ESCAPE_CHARACTER,
-                CSVWriter.DEFAULT_LINE_END)) {
+    protected void writeData(TextReportEncoder encoder, ReportSchema<ProductDto> schema, ProductDto product) throws Exception {
+        var columns = schema.getColumns();
 
-            var data = Arrays.stream(fields)
-                    .map(field -> {
-                        try {
-                            field.setAccessible(true);
-                            var value = field.get(product);
-                            return Objects.nonNull(value) ? value.toString() : "";
-                        } catch (Exception e) {
-                            return "";
-                        }
-                    })
-                    .toArray(String[]::new);
-            writer.writeNext(data);
+        for (int i = 0; i < columns.size(); i++) {
+            if (i > 0) {
+                encoder.writeAscii(DELIMITER);
+            }
+            var value = columns.get(i).getValue(product);
+            if (Objects.nonNull(value) && !writeNumber(encoder, value)) {
+                encoder.writeEscaped(value.toString(), DELIMITER);
+            }
         }
+        encoder.writeAscii('\n');
     }
-}
\ No newline at end of file
+}
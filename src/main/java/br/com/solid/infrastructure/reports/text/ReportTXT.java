@@ -1,12 +1,10 @@
 package br.com.solid.infrastructure.reports.text;
 
 import br.com.solid.domain.dto.ProductDto;
+import br.com.solid.infrastructure.buffer.ReportBufferPool;
+import br.com.solid.infrastructure.reports.format.ReportNumberFormat;
+import br.com.solid.infrastructure.reports.schema.ReportSchema;
 
-import java.io.ByteArrayOutputStream;
-import java.io.OutputStreamWriter;
-import java.lang.reflect.Field;
-import java.nio.charset.StandardCharsets;
-import java.util.Arrays;
 import java.util.Objects;
 
 /**
@@ -14,63 +12,85 @@ import java.util.Objects;
  *
  * <p>This class generates a plain text report for a given list of products,
  * with data fields separated by semicolons (;). It writes both the header
- * and data rows using UTF-8 encoding.</p>
+ * and data rows using UTF-8 encoding, without any quoting.</p>
  */
 public class ReportTXT extends AbstractReportTextGenerator {
 
+    private static final char DELIMITER = ';';
+
+    /**
+     * Constructor that uses the default number format.
+     */
+    public ReportTXT() {
+        super();
+    }
+
     /**
-     * Writes the TXT header using the field names of {@link ProductDto}, separated by semicolons.
+     * Constructor that defines how decimal values are written.
+     *
+     * @param numberFormat The {@link ReportNumberFormat} of the decimal values.
+     */
+    public ReportTXT(ReportNumberFormat numberFormat) {
+        super(numberFormat);
+    }
+
+    /**
+     * Constructor that defines how decimal values are written and where encode buffers come from.
+     *
+     * @param numberFormat The {@link ReportNumberFormat} of the decimal values.
+     * @param bufferPool The {@link ReportBufferPool} that provides the encode buffer of each report.
+     */
+    public ReportTXT(ReportNumberFormat numberFormat, ReportBufferPool bufferPool) {
+        super(numberFormat, bufferPool);
+    }
+
+    /**
+     * Writes the TXT header using the column names of {@link ProductDto}, separated by semicolons.
      *
      * <p>The header is written as a single line where each field name is separated by a semicolon.</p>
      *
-     * @param baos The {@link ByteArrayOutputStream} to which the header will be written.
-     * @param fields The fields of the {@link ProductDto} class to be used as headers.
+     * @param encoder The {@link TextReportEncoder} to which the header will be written.
+     * @param schema The {@link ReportSchema} whose column names are used as headers.
      * @throws Exception if an error occurs while writing the header.
      */
     @Override
-    protected void writeHeader(ByteArrayOutputStream baos, Field[] fields) throws Exception {
-        try (var writer = new OutputStreamWriter(baos, StandardCharsets.UTF_8)) {
+    protected void writeHeader(TextReportEncoder encoder, ReportSchema<ProductDto> schema) throws Exception {
+        var columns = schema.getColumns();
 
-            var header = Arrays.stream(fields)
-                    .map(Field::getName)
-                    .reduce((field1, field2) -> field1 + ";" + field2)
-                    .orElse("");
-
-            writer.write(header + "\n");
-            writer.flush();
+        for (int i = 0; i < columns.size(); i++) {
+            if (i > 0) {
+                encoder.writeAscii(DELIMITER);
+            }
+            encoder.writeText(columns.get(i).getName());
         }
+        encoder.writeAscii('\n');
     }
 
     /**
      * Writes the TXT data rows for each product in the provided list, with fields separated by semicolons.
      *
      * <p>The data is written as rows where each field value is separated by a semicolon (;).
-     * Null values are handled gracefully and converted to an empty string.</p>
+     * Numbers are written directly in the configured number format, and null values are
+     * handled gracefully and converted to an empty string.</p>
      *
-     * @param baos The {@link ByteArrayOutputStream} to which the data will be written.
-     * @param fields The fields of the {@link ProductDto} class to be used as data.
+     * @param encoder The {@link TextReportEncoder} to which the data will be written.
+     * @param schema The {@link ReportSchema} whose columns are used to read the data.
      * @param product The {@link ProductDto} object representing the product data.
      * @throws Exception if an error occurs while writing the data.
      */
     @Override
-    protected void writeData(ByteArrayOutputStream baos, Field[] fields, ProductDto product) throws Exception {
-        try (var writer = new OutputStreamWriter(baos, StandardCharsets.UTF_8)) {
-
-            var data = Arrays.stream(fields)
-                    .map(field -> {
-                        try {
-                            field.setAccessible(true);
-                            var value = field.get(product);
-                            return Objects.nonNull(value) ? value.toString() : "";
-                        } catch (Exception e) {
-                            return "";
-                        }
-                    })
-                    .reduce((value1, value2) -> value1 + ";" + value2)
-                    .orElse("");
+    protected void writeData(TextReportEncoder encoder, ReportSchema<ProductDto> schema, ProductDto product) throws Exception {
+        var columns = schema.getColumns();
 
-            writer.write(data + "\n");
-            writer.flush();
+        for (int i = 0; i < columns.size(); i++) {
+            if (i > 0) {
+                encoder.writeAscii(DELIMITER);
+            }
+            var value = columns.get(i).getValue(product);
+            if (Objects.nonNull(value) && !writeNumber(encoder, value)) {
+                encoder.writeText(value.toString());
+            }
         }
+        encoder.writeAscii('\n');
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,284 @@
+package br.com.solid.infrastructure.reports.text;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+
+/**
+ * UTF-8 encoder that writes text-based reports through a single reusable byte buffer.
+ *
+ * <p>Characters are encoded directly into the buffer, which is flushed to the underlying
+ * stream only when it fills up, so writing a row allocates no intermediate writers, strings
+ * or byte arrays. Numbers are written digit by digit as well. One encoder is used for the whole report; it is not thread-safe.</p>
+ */
+public final class TextReportEncoder {
+
+    /**
+     * Default size of the encode buffer.
+     */
+    public static final int DEFAULT_BUFFER_SIZE = 64 * 1024;
+
+    private static final int MAX_BYTES_PER_CHAR = 4;
+    private static final byte QUOTE = '"';
+    private static final int MAX_COMPACT_DIGITS = 18;
+    private static final int MIN_PLAIN_EXPONENT = -6;
+    // Sign, integer digits, separator and up to 23 fraction digits of a plain compact decimal.
+    private static final int MAX_NUMBER_BYTES = 48;
+    private static final long[] POWERS_OF_TEN = powersOfTen();
+
+    private final OutputStream out;
+    private final byte[] buffer;
+    private int position;
+
+    /**
+     * Constructor that uses the default buffer size.
+     *
+     * @param out The {@link OutputStream} to which the encoded report is written.
+     */
+    public TextReportEncoder(OutputStream out) {
+        this(out, DEFAULT_BUFFER_SIZE);
+    }
+
+    /**
+     * Constructor that defines the size of the encode buffer.
+     *
+     * @param out The {@link OutputStream} to which the encoded report is written.
+     * @param bufferSize The size of the encode buffer, in bytes.
+     */
+    public TextReportEncoder(OutputStream out, int bufferSize) {
+        this(out, new byte[Math.max(bufferSize, 0)]);
+    }
+
+    /**
+     * Constructor that encodes through the given buffer, such as a chunk borrowed from a pool.
+     *
+     * <p>The encoder overwrites the buffer, which must not be used elsewhere until the
+     * encoder has been flushed for the last time.</p>
+     *
+     * @param out The {@link OutputStream} to which the encoded report is written.
+     * @param buffer The encode buffer.
+     */
+    public TextReportEncoder(OutputStream out, byte[] buffer) {
+        if (buffer.length < MAX_BYTES_PER_CHAR) {
+            throw new IllegalArgumentException("Buffer size must be at least " + MAX_BYTES_PER_CHAR + " bytes");
+        }
+        this.out = out;
+        this.buffer = buffer;
+    }
+
+    /**
+     * Writes a single ASCII character, such as a delimiter or a line break.
+     *
+     * @param ascii The character to write; must be in the ASCII range.
+     * @throws IOException if the buffer cannot be flushed.
+     */
+    public void writeAscii(char ascii) throws IOException {
+        ensureCapacity(1);
+        buffer[position++] = (byte) ascii;
+    }
+
+    /**
+     * Writes the given text as UTF-8, without any escaping.
+     *
+     * @param text The text to write.
+     * @throws IOException if the buffer cannot be flushed.
+     */
+    public void writeText(CharSequence text) throws IOException {
+        encode(text, false);
+    }
+
+    /**
+     * Writes the given text as a delimited field, quoting it only when it has to be.
+     *
+     * <p>When the text contains the delimiter, a double quote, or a line break, it is
+     * enclosed in double quotes and embedded quotes are doubled. Otherwise it is written
+     * as is, so the common case costs a single scan of the text.</p>
+     *
+     * @param text The text to write.
+     * @param delimiter The field delimiter of the report.
+     * @throws IOException if the buffer cannot be flushed.
+     */
+    public void writeEscaped(CharSequence text, char delimiter) throws IOException {
+        if (!needsQuoting(text, delimiter)) {
+            encode(text, false);
+            return;
+        }
+        writeAscii('"');
+        encode(text, true);
+        writeAscii('"');
+    }
+
+    /**
+     * Writes a whole number in decimal notation, exactly as {@link Long#toString(long)} does.
+     *
+     * <p>The digits are written straight into the buffer, without creating a string.</p>
+     *
+     * @param value The number to write.
+     * @throws IOException if the buffer cannot be flushed.
+     */
+    public void writeLong(long value) throws IOException {
+        if (value == Long.MIN_VALUE || buffer.length < MAX_NUMBER_BYTES) {
+            encode(Long.toString(value), false);
+            return;
+        }
+        ensureCapacity(MAX_NUMBER_BYTES);
+        if (value < 0) {
+            buffer[position++] = '-';
+            value = -value;
+        }
+        var end = position + digitCount(value);
+        writeDigits(value, position, end);
+        position = end;
+    }
+
+    /**
+     * Writes a decimal number in plain notation with the given decimal separator.
+     *
+     * <p>With a dot as the separator, the output is exactly that of
+     * {@link BigDecimal#toString()}. Decimals whose unscaled value fits in a {@code long}
+     * and that {@code toString()} would not write in scientific notation, which covers
+     * prices and other everyday amounts, are written digit by digit straight into the
+     * buffer. Any other decimal falls back to {@code toString()}.</p>
+     *
+     * @param value The number to write.
+     * @param decimalSeparator The decimal separator, an ASCII character.
+     * @throws IOException if the buffer cannot be flushed.
+     */
+    public void writeDecimal(BigDecimal value, char decimalSeparator) throws IOException {
+        var scale = value.scale();
+        var precision = value.precision();
+        var compact = precision <= MAX_COMPACT_DIGITS && buffer.length >= MAX_NUMBER_BYTES;
+
+        if (compact && scale == 0) {
+            writeLong(value.longValue());
+        } else if (compact && scale > 0 && precision - 1 - scale >= MIN_PLAIN_EXPONENT) {
+            // Unlike unscaledValue(), this does not inflate the value into a BigInteger.
+            writeScaled(value.scaleByPowerOfTen(scale).longValue(), scale, decimalSeparator);
+        } else {
+            writeDecimalText(value.toString(), decimalSeparator);
+        }
+    }
+
+    /**
+     * Flushes the buffered bytes and the underlying stream, without closing it.
+     *
+     * @throws IOException if the underlying stream cannot be written.
+     */
+    public void flush() throws IOException {
+        flushBuffer();
+        out.flush();
+    }
+
+    /**
+     * Writes {@code unscaled / 10^scale}, with at least one digit before the separator.
+     */
+    private void writeScaled(long unscaled, int scale, char decimalSeparator) throws IOException {
+        ensureCapacity(MAX_NUMBER_BYTES);
+        if (unscaled < 0) {
+            buffer[position++] = '-';
+            unscaled = -unscaled;
+        }
+
+        var separator = position + Math.max(digitCount(unscaled) - scale, 1);
+        var end = separator + 1 + scale;
+        // Past 18 fraction digits the whole unscaled value is fraction.
+        var divisor = scale < POWERS_OF_TEN.length ? POWERS_OF_TEN[scale] : Long.MAX_VALUE;
+
+        // The fraction is padded with leading zeros, and the integer part is at least "0".
+        writeDigits(unscaled % divisor, separator + 1, end);
+        buffer[separator] = (byte) decimalSeparator;
+        writeDigits(unscaled / divisor, position, separator);
+        position = end;
+    }
+
+    /**
+     * Writes the digits of {@code value} right-aligned in {@code [start, end)}, padded with zeros.
+     */
+    private void writeDigits(long value, int start, int end) {
+        for (int i = end - 1; i >= start; i--) {
+            buffer[i] = (byte) ('0' + value % 10);
+            value /= 10;
+        }
+    }
+
+    private void writeDecimalText(String text, char decimalSeparator) throws IOException {
+        if (decimalSeparator == '.') {
+            encode(text, false);
+            return;
+        }
+        for (int i = 0, length = text.length(); i < length; i++) {
+            var c = text.charAt(i);
+            writeAscii(c == '.' ? decimalSeparator : c);
+        }
+    }
+
+    private static int digitCount(long value) {
+        var digits = 1;
+        while (digits < POWERS_OF_TEN.length && value >= POWERS_OF_TEN[digits]) {
+            digits++;
+        }
+        return digits;
+    }
+
+    private static boolean needsQuoting(CharSequence text, char delimiter) {
+        for (int i = 0, length = text.length(); i < length; i++) {
+            var c = text.charAt(i);
+            if (c == delimiter || c == '"' || c == '\n' || c == '\r') {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void encode(CharSequence text, boolean doubleQuotes) throws IOException {
+        for (int i = 0, length = text.length(); i < length; i++) {
+            var c = text.charAt(i);
+            ensureCapacity(MAX_BYTES_PER_CHAR);
+
+            if (c < 0x80) {
+                buffer[position++] = (byte) c;
+                if (doubleQuotes && c == '"') {
+                    buffer[position++] = QUOTE;
+                }
+            } else if (c < 0x800) {
+                buffer[position++] = (byte) (0xC0 | (c >> 6));
+                buffer[position++] = (byte) (0x80 | (c & 0x3F));
+            } else if (Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(text.charAt(i + 1))) {
+                var codePoint = Character.toCodePoint(c, text.charAt(++i));
+                buffer[position++] = (byte) (0xF0 | (codePoint >> 18));
+                buffer[position++] = (byte) (0x80 | ((codePoint >> 12) & 0x3F));
+                buffer[position++] = (byte) (0x80 | ((codePoint >> 6) & 0x3F));
+                buffer[position++] = (byte) (0x80 | (codePoint & 0x3F));
+            } else if (Character.isSurrogate(c)) {
+                // Unpaired surrogates are replaced, matching String.getBytes(UTF_8).
+                buffer[position++] = '?';
+            } else {
+                buffer[position++] = (byte) (0xE0 | (c >> 12));
+                buffer[position++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+                buffer[position++] = (byte) (0x80 | (c & 0x3F));
+            }
+        }
+    }
+
+    private void ensureCapacity(int bytes) throws IOException {
+        if (position + bytes > buffer.length) {
+            flushBuffer();
+        }
+    }
+
+    private void flushBuffer() throws IOException {
+        if (position > 0) {
+            out.write(buffer, 0, position);
+            position = 0;
+        }
+    }
+
+    private static long[] powersOfTen() {
+        var powers = new long[MAX_COMPACT_DIGITS + 1];
+        powers[0] = 1;
+        for (int i = 1; i < powers.length; i++) {
+            powers[i] = powers[i - 1] * 10;
+        }
+        return powers;
+    }
+}
@@ -0,0 +1,106 @@
+package br.com.solid.infrastructure.warmup;
+
+import br.com.solid.domain.dto.ProductDto;
+import br.com.solid.infrastructure.config.ReportProperties;
+import br.com.solid.infrastructure.factories.ReportFactory;
+import br.com.solid.infrastructure.parsers.ProductJsonReader;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayInputStream;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+
+/**
+ * Generates every report format from synthetic data while the application starts.
+ *
+ * <p>The first reports of a fresh node are much slower than the following ones: Apache
+ * POI and the JSON and text encoding paths are loaded, linked and interpreted on the first
+ * request, and only compiled after many more. When {@code report.warmup.enabled} is set,
+ * this runner decodes a synthetic JSON payload and writes it in each supported format a
+ * few times, discarding the output. It runs once every singleton has been created, before
+ * the web server starts, so the node accepts no connections, and its readiness probe does
+ * not report it ready, until it is warm. The same happens in the training run that records
+ * the class data sharing archive, which therefore includes the classes of every format.</p>
+ *
+ * <p>The generators are called directly, so warmup reports are not recorded in the report
+ * metrics and take no admission permits.</p>
+ */
+@Component
+public class ReportWarmup implements SmartInitializingSingleton {
+
+    private final ReportFactory reportFactory;
+    private final ProductJsonReader productJsonReader;
+    private final ObjectMapper objectMapper;
+    private final ReportProperties.Warmup settings;
+
+    /**
+     * Constructor that injects the report factory, the product reader and the warmup settings.
+     *
+     * @param reportFactory The factory whose generators are warmed up.
+     * @param productJsonReader The reader that decodes request bodies.
+     * @param objectMapper The application's JSON mapper, used to write the synthetic payload.
+     * @param properties The report configuration properties.
+     */
+    @Autowired
+    public ReportWarmup(ReportFactory reportFactory, ProductJsonReader productJsonReader,
+                        ObjectMapper objectMapper, ReportProperties properties) {
+        this.reportFactory = reportFactory;
+        this.productJsonReader = productJsonReader;
+        this.objectMapper = objectMapper;
+        this.settings = properties.getWarmup();
+    }
+
+    /**
+     * Runs the warmup, if it is enabled.
+     *
+     * @throws RuntimeException if a warmup report cannot be generated.
+     */
+    @Override
+    public void afterSingletonsInstantiated() {
+        if (settings.isEnabled()) {
+            warmUp();
+        }
+    }
+
+    /**
+     * Decodes the synthetic payload and generates it in every supported format, as many
+     * times as configured.
+     *
+     * @throws RuntimeException if a warmup report cannot be generated.
+     */
+    public void warmUp() {
+        var payload = payload(settings.getRows());
+
+        for (int i = 0; i < settings.getIterations(); i++) {
+            var products = productJsonReader.readAll(new ByteArrayInputStream(payload));
+            for (String extension : reportFactory.getSupportedExtensions()) {
+                reportFactory.getReportGenerator(extension).generateReport(products, OutputStream.nullOutputStream());
+            }
+        }
+    }
+
+    /**
+     * Builds the synthetic payload. Some names need quoting and some values are missing, so
+     * the less common encoding paths are exercised as well.
+     */
+    private byte[] payload(int rows) {
+        var products = new ArrayList<ProductDto>(rows);
+        for (int i = 0; i < rows; i++) {
+            var name = i % 10 == 0 ? "Product \"" + i + "\"; special, edition" : "Product " + i;
+            var price = i % 50 == 0 ? null : BigDecimal.valueOf(i * 37L % 100_000, 2);
+            var quantity = i % 50 == 1 ? null : (long) i;
+            products.add(new ProductDto(name, price, quantity));
+        }
+
+        try {
+            return objectMapper.writeValueAsBytes(products);
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("warmUp error ->" + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,228 @@
+package br.com.solid.application.controllers;
+
+import br.com.solid.application.services.DatasetServiceImpl;
+import br.com.solid.application.services.ReportBundleServiceImpl;
+import br.com.solid.application.services.ReportServiceImpl;
+import br.com.solid.domain.dto.ProductDto;
+import br.com.solid.infrastructure.admission.ReportAdmission;
+import br.com.solid.infrastructure.config.ReportProperties;
+import br.com.solid.infrastructure.dataset.DatasetStore;
+import br.com.solid.infrastructure.dataset.DatasetUploads;
+import br.com.solid.infrastructure.parsers.ProductCsvReader;
+import br.com.solid.infrastructure.parsers.ProductJsonReader;
+import br.com.solid.infrastructure.parsers.ProductPayloadReader;
+import br.com.solid.infrastructure.query.ReportQuery;
+import br.com.solid.utils.FactoryUtils;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.io.OutputStream;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(DatasetController.class)
+@Import({DatasetServiceImpl.class, ProductPayloadReader.class, ProductJsonReader.class, ProductCsvReader.class,
+        ReportAdmission.class})
+@EnableConfigurationProperties(ReportProperties.class)
+class DatasetControllerIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private DatasetStore datasetStore;
+
+    @Autowired
+    private DatasetUploads datasetUploads;
+
+    @MockBean
+    private ReportServiceImpl reportService;
+
+    @MockBean
+    private ReportBundleServiceImpl reportBundleService;
+
+    @Test
+    void uploadDataset_thenGenerateReport_shouldUseStoredProducts() throws Exception {
+        var upload = mockMvc.perform(post("/datasets")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(FactoryUtils.createSampleProductsJson()))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.rows").value(FactoryUtils.createSampleProducts().size()))
+                .andReturn();
+        var id = objectMapper.readTree(upload.getResponse().getContentAsString()).get("id").asText();
+
+        List<ProductDto> received = new ArrayList<>();
+        doAnswer(invocation -> {
+            Iterable<ProductDto> products = invocation.getArgument(1);
+            products.forEach(received::add);
+            invocation.getArgument(3, OutputStream.class).write(FactoryUtils.createMockCsvReport().getBytes());
+            return null;
+        }).when(reportService).generateReport(eq("csv"), any(Iterable.class), any(ReportQuery.class), any(OutputStream.class));
+
+        for (int i = 0; i < 2; i++) {
+            var result = mockMvc.perform(get("/datasets/" + id + "/report?extension=csv"))
+                    .andExpect(request().asyncStarted())
+                    .andReturn();
+
+            mockMvc.perform(asyncDispatch(result))
+                    .andExpect(status().isOk())
+                    .andExpect(header().string("Content-Disposition", "attachment; filename=report.csv"))
+                    .andExpect(content().string(FactoryUtils.createMockCsvReport()));
+        }
+        assertEquals(FactoryUtils.createSampleProducts().size() * 2, received.size());
+        assertEquals(FactoryUtils.createSampleProducts(), received.subList(0, FactoryUtils.createSampleProducts().size()));
+    }
+
+    @Test
+    void deleteDataset_shouldMakeItUnavailable() throws Exception {
+        var upload = mockMvc.perform(post("/datasets")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(FactoryUtils.createSampleProductsJson()))
+                .andReturn();
+        var id = objectMapper.readTree(upload.getResponse().getContentAsString()).get("id").asText();
+
+        mockMvc.perform(delete("/datasets/" + id)).andExpect(status().isNoContent());
+        mockMvc.perform(get("/datasets/" + id)).andExpect(status().isNotFound());
+        mockMvc.perform(get("/datasets/" + id + "/report?extension=csv")).andExpect(status().isNotFound());
+    }
+
+    @Test
+    void uploadDataset_withCsvBody_shouldDecodeCsv() throws Exception {
+        var upload = mockMvc.perform(post("/datasets")
+                        .contentType(ProductPayloadReader.TEXT_CSV)
+                        .content(FactoryUtils.createMockCsvReport().replace("product", "name")))
+                .andExpect(status().isCreated())
+                .andReturn();
+        var id = objectMapper.readTree(upload.getResponse().getContentAsString()).get("id").asText();
+
+        assertEquals(FactoryUtils.createSampleProducts(), collect(datasetStore.rows(id).orElseThrow()));
+    }
+
+    @Test
+    void uploadDataset_withUnknownCsvColumn_shouldReturnBadRequest() throws Exception {
+        mockMvc.perform(post("/datasets")
+                        .contentType(ProductPayloadReader.TEXT_CSV)
+                        .content("name;bogus\nLaptop;1\n"))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().string("Unknown report column: bogus"));
+    }
+
+    @Test
+    void uploadDataset_beyondUploadRowBudget_shouldReturnPayloadTooLarge() throws Exception {
+        var entries = datasetStore.getEntryCount();
+
+        mockMvc.perform(post("/datasets")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(FactoryUtils.createSampleProducts(20_000))))
+                .andExpect(status().isPayloadTooLarge());
+
+        assertEquals(0, datasetUploads.getRowCount());
+        assertEquals(0, datasetUploads.getUploadCount());
+        assertEquals(entries, datasetStore.getEntryCount());
+    }
+
+    @Test
+    void uploadChunks_thenComplete_shouldStoreProductsOfEveryChunk() throws Exception {
+        var start = mockMvc.perform(post("/datasets/uploads"))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.chunks").value(0))
+                .andReturn();
+        var uploadId = objectMapper.readTree(start.getResponse().getContentAsString()).get("id").asText();
+        var ndjson = """
+                {"name":"Laptop","price":10.00,"quantity":10}
+                {"name":"Phone","price":5.00,"quantity":20}
+                """;
+
+        mockMvc.perform(put("/datasets/uploads/" + uploadId + "/chunks/0")
+                        .contentType(ProductPayloadReader.APPLICATION_NDJSON)
+                        .content(ndjson))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.chunks").value(1))
+                .andExpect(jsonPath("$.rows").value(2));
+        // A retried chunk is acknowledged without being applied twice.
+        mockMvc.perform(put("/datasets/uploads/" + uploadId + "/chunks/0")
+                        .contentType(ProductPayloadReader.APPLICATION_NDJSON)
+                        .content(ndjson))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.rows").value(2));
+        mockMvc.perform(put("/datasets/uploads/" + uploadId + "/chunks/2")
+                        .contentType(ProductPayloadReader.TEXT_CSV)
+                        .content("name;price;quantity\nTablet;7.50;15\n"))
+                .andExpect(status().isConflict());
+        mockMvc.perform(put("/datasets/uploads/" + uploadId + "/chunks/1")
+                        .contentType(ProductPayloadReader.TEXT_CSV)
+                        .content("name;price;quantity\nTablet;7.50;15\n"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.chunks").value(2));
+
+        var complete = mockMvc.perform(post("/datasets/uploads/" + uploadId + "/complete"))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.rows").value(3))
+                .andReturn();
+        var id = objectMapper.readTree(complete.getResponse().getContentAsString()).get("id").asText();
+
+        assertEquals(FactoryUtils.createSampleProducts(), collect(datasetStore.rows(id).orElseThrow()));
+        mockMvc.perform(get("/datasets/uploads/" + uploadId)).andExpect(status().isNotFound());
+    }
+
+    @Test
+    void deleteUpload_shouldDiscardIt() throws Exception {
+        var start = mockMvc.perform(post("/datasets/uploads")).andReturn();
+        var uploadId = objectMapper.readTree(start.getResponse().getContentAsString()).get("id").asText();
+
+        mockMvc.perform(delete("/datasets/uploads/" + uploadId)).andExpect(status().isNoContent());
+        mockMvc.perform(put("/datasets/uploads/" + uploadId + "/chunks/0")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(FactoryUtils.createSampleProductsJson()))
+                .andExpect(status().isNotFound());
+    }
+
+    private static List<ProductDto> collect(Iterable<ProductDto> rows) {
+        var products = new ArrayList<ProductDto>();
+        rows.forEach(products::add);
+        return products;
+    }
+
+    @TestConfiguration
+    static class StoreConfiguration {
+
+        @Bean
+        DatasetStore datasetStore() {
+            return new DatasetStore(1024 * 1024, Duration.ofMinutes(5), false, Path.of("unused"), 0);
+        }
+
+        @Bean
+        DatasetUploads datasetUploads() {
+            return new DatasetUploads(Duration.ofMinutes(5), 10_000);
+        }
+    }
+}
@@ -0,0 +1,215 @@
+package br.com.solid.application.controllers;
+
+import br.com.solid.application.services.ReactiveReportServiceImpl;
+import br.com.solid.application.services.ReportServiceImpl;
+import br.com.solid.domain.dto.ProductDto;
+import br.com.solid.infrastructure.admission.ReportAdmission;
+import br.com.solid.infrastructure.admission.ReportAdmissionException;
+import br.com.solid.infrastructure.cancellation.ReportCancellation;
+import br.com.solid.infrastructure.config.ReportProperties;
+import br.com.solid.infrastructure.query.ReportQuery;
+import br.com.solid.utils.FactoryUtils;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.test.autoconfigure.web.reactive.WebFluxTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.mock.http.server.reactive.MockServerHttpResponse;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Flux;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+@WebFluxTest(ReactiveReportController.class)
+@Import(ReportAdmission.class)
+@EnableConfigurationProperties(ReportProperties.class)
+class ReactiveReportControllerIntegrationTest {
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @Autowired
+    private ReactiveReportController reactiveReportController;
+
+    @MockBean
+    private ReactiveReportServiceImpl reactiveReportService;
+
+    @MockBean
+    private ReportServiceImpl reportService;
+
+    @SpyBean
+    private ReportAdmission reportAdmission;
+
+    @Test
+    void generateReport_shouldStreamCSVReport() {
+        List<ProductDto> received = new ArrayList<>();
+        doAnswer(invocation -> {
+            Flux<ProductDto> products = invocation.getArgument(1);
+            DataBufferFactory bufferFactory = invocation.getArgument(3);
+            return products.doOnNext(received::add)
+                    .thenMany(Flux.just(bufferFactory.wrap(FactoryUtils.createMockCsvReport().getBytes())));
+        }).when(reactiveReportService).generateReport(eq("csv"), any(), eq(ReportQuery.none()), any(DataBufferFactory.class), any(ReportCancellation.class));
+
+        webTestClient.post().uri("/generateReport?extension=csv")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(FactoryUtils.createSampleProductsJson())
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentType(MediaType.TEXT_PLAIN)
+                .expectHeader().valueEquals(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=report.csv")
+                .expectBody(String.class).isEqualTo(FactoryUtils.createMockCsvReport());
+
+        assertEquals(FactoryUtils.createSampleProducts(), received);
+    }
+
+    @Test
+    void generateReport_withNdjsonBody_shouldDecodeProductsPerLine() {
+        List<ProductDto> received = new ArrayList<>();
+        doAnswer(invocation -> {
+            Flux<ProductDto> products = invocation.getArgument(1);
+            return products.doOnNext(received::add).thenMany(Flux.<DataBuffer>empty());
+        }).when(reactiveReportService).generateReport(eq("csv"), any(), eq(ReportQuery.none()), any(DataBufferFactory.class), any(ReportCancellation.class));
+
+        webTestClient.post().uri("/generateReport?extension=csv")
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .bodyValue("""
+                        {"name":"Laptop","price":10.00,"quantity":10}
+                        {"name":"Phone","price":5.00,"quantity":20}
+                        {"name":"Tablet","price":7.50,"quantity":15}
+                        """)
+                .exchange()
+                .expectStatus().isOk();
+
+        assertEquals(FactoryUtils.createSampleProducts(), received);
+    }
+
+    @Test
+    void generateReport_shouldPassQueryToService() {
+        List<String> queries = new ArrayList<>();
+        doAnswer(invocation -> {
+            queries.add(invocation.getArgument(2, ReportQuery.class).toString());
+            return Flux.just(DefaultDataBufferFactory.sharedInstance.wrap("name\n".getBytes(StandardCharsets.UTF_8)));
+        }).when(reactiveReportService).generateReport(eq("csv"), any(), any(ReportQuery.class), any(DataBufferFactory.class), any(ReportCancellation.class));
+
+        webTestClient.post().uri("/generateReport?extension=csv&columns=name&filter=quantity:gt:0&sort=price:desc&limit=2")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(FactoryUtils.createSampleProductsJson())
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(String.class).isEqualTo("name\n");
+
+        assertEquals(List.of("columns=name&filter=quantity:gt:0&sort=price:desc&limit=2"), queries);
+    }
+
+    @Test
+    void generateReport_withInvalidQuery_shouldReturnBadRequest() {
+        webTestClient.post().uri("/generateReport?extension=csv&limit=0")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(FactoryUtils.createSampleProductsJson())
+                .exchange()
+                .expectStatus().isBadRequest();
+
+        verify(reportAdmission, never()).admit(anyString(), any(), anyBoolean());
+    }
+
+    @Test
+    void generateReport_whenNotAdmitted_shouldReturnTooManyRequests() {
+        doThrow(new ReportAdmissionException("Report memory budget exhausted", Duration.ofSeconds(5)))
+                .when(reportAdmission).admit(anyString(), any(), anyBoolean());
+
+        webTestClient.post().uri("/generateReport?extension=csv")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(FactoryUtils.createSampleProductsJson())
+                .exchange()
+                .expectStatus().isEqualTo(HttpStatus.TOO_MANY_REQUESTS)
+                .expectHeader().valueEquals(HttpHeaders.RETRY_AFTER, "5");
+
+        verify(reactiveReportService, never()).generateReport(anyString(), any(), any(), any(), any());
+    }
+
+    @Test
+    void generateReport_whenReportIsNeverSubscribed_shouldNotTakePermit() {
+        var entity = reactiveReportController.generateReport("csv", null, null, null, null, null, null,
+                Flux.empty(), new MockServerHttpResponse()).block();
+
+        assertEquals(HttpStatus.OK, entity.getStatusCode());
+        verify(reportAdmission, never()).admit(anyString(), any(), anyBoolean());
+    }
+
+    @Test
+    void generateReport_whenCancelledDuringAdmission_shouldReleasePermit() throws Exception {
+        var availableBytes = reportAdmission.getAvailableBytes();
+        var admitting = new CountDownLatch(1);
+        var cancelled = new CountDownLatch(1);
+        var admitted = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            admitting.countDown();
+            // The cancellation interrupts the admission; this one has already got its permit.
+            while (cancelled.getCount() > 0) {
+                try {
+                    cancelled.await();
+                } catch (InterruptedException e) {
+                    // Keep waiting until the test has cancelled the report.
+                }
+            }
+            try {
+                return invocation.callRealMethod();
+            } finally {
+                admitted.countDown();
+            }
+        }).when(reportAdmission).admit(anyString(), any(), anyBoolean());
+
+        var entity = reactiveReportController.generateReport("csv", null, null, null, null, null, null,
+                Flux.empty(), new MockServerHttpResponse()).block();
+        var subscription = entity.getBody().subscribe();
+        assertTrue(admitting.await(5, TimeUnit.SECONDS));
+        subscription.dispose();
+        cancelled.countDown();
+
+        assertTrue(admitted.await(5, TimeUnit.SECONDS));
+        // The late permit is released by the controller right after admission returns.
+        var deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (reportAdmission.getAvailableBytes() != availableBytes && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(availableBytes, reportAdmission.getAvailableBytes());
+        verify(reactiveReportService, never()).generateReport(anyString(), any(), any(), any(), any());
+    }
+
+    @Test
+    void generateReport_withExpiredDeadline_shouldReturnGatewayTimeout() {
+        webTestClient.post().uri("/generateReport?extension=csv")
+                .contentType(MediaType.APPLICATION_JSON)
+                .header("X-Request-Deadline", Instant.now().minusSeconds(1).toString())
+                .bodyValue(FactoryUtils.createSampleProductsJson())
+                .exchange()
+                .expectStatus().isEqualTo(HttpStatus.GATEWAY_TIMEOUT);
+
+        verify(reportAdmission, never()).admit(anyString(), any(), anyBoolean());
+    }
+}
@@ -1,38 +1,386 @@
 package br.com.solid.application.controllers;
 
+import br.com.solid.application.services.ReportBundleServiceImpl;
 import br.com.solid.application.services.ReportServiceImpl;
+import br.com.solid.domain.dto.ProductDto;
+import br.com.solid.infrastructure.admission.ReportAdmission;
+import br.com.solid.infrastructure.admission.ReportAdmissionException;
+import br.com.solid.infrastructure.buffer.ReportBuffer;
+import br.com.solid.infrastructure.cancellation.ReportCancellation;
+import br.com.solid.infrastructure.compression.ReportCompressor;
+import br.com.solid.infrastructure.config.ReportProperties;
+import br.com.solid.infrastructure.parsers.ProductCsvReader;
+import br.com.solid.infrastructure.parsers.ProductJsonReader;
+import br.com.solid.infrastructure.parsers.ProductPayloadReader;
+import br.com.solid.infrastructure.query.ReportQuery;
 import br.com.solid.utils.FactoryUtils;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.io.ByteArrayInputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPInputStream;
+
+import static org.hamcrest.Matchers.startsWith;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(ReportController.class)
+@Import({ProductPayloadReader.class, ProductJsonReader.class, ProductCsvReader.class, ReportCompressor.class,
+        ReportAdmission.class})
+@EnableConfigurationProperties(ReportProperties.class)
 class ReportControllerIntegrationTest {
 
     @Autowired
     private MockMvc mockMvc;
 
+    @Autowired
+    private ObjectMapper objectMapper;
+
     @MockBean
     private ReportServiceImpl reportService;
 
+    @MockBean
+    private ReportBundleServiceImpl reportBundleService;
+
+    @SpyBean
+    private ReportAdmission reportAdmission;
+
     @Test
     void generateReport_shouldReturnCSVReport() throws Exception {
-        when(reportService.generateReport("csv", FactoryUtils.createSampleProducts()))
-                .thenReturn(FactoryUtils.createMockCsvReport().getBytes());
+        List<ProductDto> received = new ArrayList<>();
+        doAnswer(invocation -> {
+            Iterable<ProductDto> products = invocation.getArgument(1);
+            products.forEach(received::add);
+            invocation.getArgument(3, OutputStream.class).write(FactoryUtils.createMockCsvReport().getBytes());
+            return null;
+        }).when(reportService).generateReport(eq("csv"), any(Iterable.class), any(ReportQuery.class), any(OutputStream.class), any(ReportCancellation.class));
 
-        mockMvc.perform(post("/generateReport?extension=csv")
+        var result = mockMvc.perform(post("/generateReport?extension=csv")
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(FactoryUtils.createSampleProductsJson()))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
                 .andExpect(status().isOk())
                 .andExpect(content().contentType(MediaType.TEXT_PLAIN))
                 .andExpect(content().string(FactoryUtils.createMockCsvReport()));
+
+        assertEquals(FactoryUtils.createSampleProducts(), received);
+    }
+
+    @Test
+    void generateReport_withNdjsonBody_shouldDecodeProductsPerLine() throws Exception {
+        List<ProductDto> received = new ArrayList<>();
+        doAnswer(invocation -> {
+            Iterable<ProductDto> products = invocation.getArgument(1);
+            products.forEach(received::add);
+            return null;
+        }).when(reportService).generateReport(eq("csv"), any(Iterable.class), any(ReportQuery.class), any(OutputStream.class), any(ReportCancellation.class));
+
+        var result = mockMvc.perform(post("/generateReport?extension=csv")
+                        .contentType(ProductPayloadReader.APPLICATION_NDJSON)
+                        .content("""
+                                {"name":"Laptop","price":10.00,"quantity":10}
+                                {"name":"Phone","price":5.00,"quantity":20}
+                                {"name":"Tablet","price":7.50,"quantity":15}
+                                """))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk());
+
+        assertEquals(FactoryUtils.createSampleProducts(), received);
+    }
+
+    @Test
+    void generateReport_whenCacheable_shouldReturnReportWithETag() throws Exception {
+        var report = FactoryUtils.createMockCsvReport().getBytes();
+        when(reportService.isCacheable(any())).thenReturn(true);
+        when(reportService.getContentKey(eq("csv"), eq(FactoryUtils.createSampleProducts()), eq(ReportQuery.none()))).thenReturn("abc");
+        when(reportService.getOrGenerateReport(eq("csv"), eq(FactoryUtils.createSampleProducts()), eq(ReportQuery.none()), eq("abc"),
+                any(ReportCancellation.class), any(Runnable.class))).thenReturn(ReportBuffer.of(report));
+
+        var result = mockMvc.perform(post("/generateReport?extension=csv")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(FactoryUtils.createSampleProductsJson()))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "W/\"abc\""))
+                .andExpect(content().string(FactoryUtils.createMockCsvReport()));
+    }
+
+    @Test
+    void generateReport_whenETagMatches_shouldReturnNotModified() throws Exception {
+        when(reportService.isCacheable(any())).thenReturn(true);
+        when(reportService.getContentKey(eq("csv"), any(), any(ReportQuery.class))).thenReturn("abc");
+
+        mockMvc.perform(post("/generateReport?extension=csv")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .header(HttpHeaders.IF_NONE_MATCH, "\"other\", W/\"abc\"")
+                        .content(FactoryUtils.createSampleProductsJson()))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, "W/\"abc\""));
+
+        verify(reportService, never()).getOrGenerateReport(anyString(), any(), any(ReportQuery.class), anyString(), any(ReportCancellation.class), any(Runnable.class));
+    }
+
+    @Test
+    void generateReport_whenGzipAccepted_shouldCompressReport() throws Exception {
+        doAnswer(invocation -> {
+            invocation.getArgument(1, Iterable.class).forEach(product -> { });
+            invocation.getArgument(3, OutputStream.class).write(FactoryUtils.createMockCsvReport().getBytes());
+            return null;
+        }).when(reportService).generateReport(eq("csv"), any(Iterable.class), any(ReportQuery.class), any(OutputStream.class), any(ReportCancellation.class));
+
+        var result = mockMvc.perform(post("/generateReport?extension=csv")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .header(HttpHeaders.ACCEPT_ENCODING, "gzip, deflate")
+                        .content(objectMapper.writeValueAsString(FactoryUtils.createSampleProducts(100))))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        var response = mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+                .andExpect(header().string(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING))
+                .andReturn().getResponse();
+
+        assertEquals(FactoryUtils.createMockCsvReport(), gunzip(response.getContentAsByteArray()));
+    }
+
+    @Test
+    void generateReport_withGzipArchive_shouldReturnGzAttachment() throws Exception {
+        doAnswer(invocation -> {
+            invocation.getArgument(3, OutputStream.class).write(FactoryUtils.createMockCsvReport().getBytes());
+            return null;
+        }).when(reportService).generateReport(eq("csv"), any(Iterable.class), any(ReportQuery.class), any(OutputStream.class), any(ReportCancellation.class));
+
+        var result = mockMvc.perform(post("/generateReport?extension=csv&archive=gz")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(FactoryUtils.createSampleProductsJson()))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        var response = mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/gzip"))
+                .andExpect(header().string(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=report.csv.gz"))
+                .andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING))
+                .andReturn().getResponse();
+
+        assertEquals(FactoryUtils.createMockCsvReport(), gunzip(response.getContentAsByteArray()));
+    }
+
+    @Test
+    void generateReport_withUnsupportedArchive_shouldReturnBadRequest() throws Exception {
+        mockMvc.perform(post("/generateReport?extension=csv&archive=rar")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(FactoryUtils.createSampleProductsJson()))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void generateReport_withQuery_shouldPassItToTheService() throws Exception {
+        List<String> queries = new ArrayList<>();
+        doAnswer(invocation -> {
+            queries.add(invocation.getArgument(2, ReportQuery.class).toString());
+            return null;
+        }).when(reportService).generateReport(eq("csv"), any(Iterable.class), any(ReportQuery.class), any(OutputStream.class), any(ReportCancellation.class));
+
+        var result = mockMvc.perform(post("/generateReport?extension=csv")
+                        .param("columns", "name,price")
+                        .param("filter", "quantity:gt:0", "price:le:100")
+                        .param("sort", "price:desc")
+                        .param("limit", "10")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(FactoryUtils.createSampleProductsJson()))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(result)).andExpect(status().isOk());
+
+        assertEquals(List.of("columns=name,price&filter=quantity:gt:0&filter=price:le:100&sort=price:desc&limit=10"), queries);
+    }
+
+    @Test
+    void generateReport_withInvalidQuery_shouldReturnBadRequest() throws Exception {
+        mockMvc.perform(post("/generateReport?extension=csv&sort=price:up")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(FactoryUtils.createSampleProductsJson()))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().string("Sort direction must be asc or desc: price:up"));
+
+        verify(reportAdmission, never()).admit(anyString(), any(), anyBoolean());
+    }
+
+    @Test
+    void generateReport_withMalformedBody_shouldReturnBadRequest() throws Exception {
+        when(reportService.isCacheable(any())).thenReturn(true);
+
+        for (var body : List.of("not json", "[{\"price\":}]", "{}")) {
+            mockMvc.perform(post("/generateReport?extension=csv")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(body))
+                    .andExpect(status().isBadRequest());
+        }
+        verify(reportService, never()).getOrGenerateReport(anyString(), any(), any(ReportQuery.class), anyString(), any(ReportCancellation.class), any(Runnable.class));
+    }
+
+    @Test
+    void generateReport_whenStreamedBodyIsMalformed_shouldReturnBadRequest() throws Exception {
+        doAnswer(invocation -> {
+            Iterable<ProductDto> products = invocation.getArgument(1);
+            products.forEach(product -> { });
+            return null;
+        }).when(reportService).generateReport(eq("csv"), any(Iterable.class), any(ReportQuery.class), any(OutputStream.class), any(ReportCancellation.class));
+
+        var result = mockMvc.perform(post("/generateReport?extension=csv")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[{\"price\":}]"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().string(startsWith("Invalid products payload: ")));
+    }
+
+    @Test
+    void generateReport_whenNotAdmitted_shouldReturnTooManyRequests() throws Exception {
+        doThrow(new ReportAdmissionException("Report memory budget exhausted", Duration.ofSeconds(5)))
+                .when(reportAdmission).admit(eq("xls"), any(), anyBoolean());
+
+        mockMvc.perform(post("/generateReport?extension=xls")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(FactoryUtils.createSampleProductsJson()))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string(HttpHeaders.RETRY_AFTER, "5"));
+
+        verify(reportService, never()).generateReport(anyString(), any(Iterable.class), any(ReportQuery.class), any(OutputStream.class), any(ReportCancellation.class));
+    }
+
+    @Test
+    void generateReport_withExpiredDeadline_shouldReturnGatewayTimeout() throws Exception {
+        mockMvc.perform(post("/generateReport?extension=csv")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .header("X-Request-Deadline", Instant.now().minusSeconds(1).toEpochMilli())
+                        .content(FactoryUtils.createSampleProductsJson()))
+                .andExpect(status().isGatewayTimeout());
+
+        verify(reportAdmission, never()).admit(anyString(), any(), anyBoolean());
+    }
+
+    @Test
+    void generateReport_withInvalidDeadline_shouldReturnBadRequest() throws Exception {
+        mockMvc.perform(post("/generateReport?extension=csv")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .header("X-Request-Deadline", "tomorrow")
+                        .content(FactoryUtils.createSampleProductsJson()))
+                .andExpect(status().isBadRequest());
+
+        verify(reportAdmission, never()).admit(anyString(), any(), anyBoolean());
+    }
+
+    @Test
+    void generateReport_withDeadline_shouldPassItToGeneration() throws Exception {
+        List<ReportCancellation> cancellations = new ArrayList<>();
+        doAnswer(invocation -> cancellations.add(invocation.getArgument(4)))
+                .when(reportService).generateReport(eq("csv"), any(Iterable.class), any(ReportQuery.class), any(OutputStream.class), any(ReportCancellation.class));
+
+        var result = mockMvc.perform(post("/generateReport?extension=csv")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .header("X-Request-Deadline", Instant.now().plusSeconds(60).toString())
+                        .content(FactoryUtils.createSampleProductsJson()))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(result)).andExpect(status().isOk());
+
+        assertEquals(1, cancellations.size());
+        assertTrue(cancellations.get(0).getRemaining().orElseThrow().compareTo(Duration.ofSeconds(50)) > 0);
+    }
+
+    @Test
+    void generateReport_shouldReleaseAdmissionAfterStreaming() throws Exception {
+        var available = reportAdmission.getAvailableBytes();
+        var release = new CountDownLatch(1);
+        doAnswer(invocation -> release.await(5, TimeUnit.SECONDS))
+                .when(reportService).generateReport(eq("csv"), any(Iterable.class), any(ReportQuery.class), any(OutputStream.class), any(ReportCancellation.class));
+
+        var result = mockMvc.perform(post("/generateReport?extension=csv")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(FactoryUtils.createSampleProductsJson()))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        assertEquals(true, reportAdmission.getAvailableBytes() < available);
+        release.countDown();
+        mockMvc.perform(asyncDispatch(result)).andExpect(status().isOk());
+        assertEquals(available, reportAdmission.getAvailableBytes());
+    }
+
+    @Test
+    void generateReports_shouldReturnZipBundle() throws Exception {
+        when(reportBundleService.parseExtensions("csv,xlsx")).thenReturn(List.of("csv", "xlsx"));
+        doAnswer(invocation -> {
+            Iterable<ProductDto> products = invocation.getArgument(1);
+            products.forEach(product -> { });
+            invocation.getArgument(2, OutputStream.class).write(new byte[]{'P', 'K'});
+            return null;
+        }).when(reportBundleService).generateReportBundle(eq(List.of("csv", "xlsx")), any(Iterable.class), any(OutputStream.class));
+
+        var result = mockMvc.perform(post("/generateReports?extensions=csv,xlsx")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(FactoryUtils.createSampleProductsJson()))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=reports.zip"))
+                .andExpect(content().contentType("application/zip"))
+                .andExpect(content().bytes(new byte[]{'P', 'K'}));
+        verify(reportAdmission).admit(eq(List.of("csv", "xlsx")), any(), eq(false));
+    }
+
+    private String gunzip(byte[] bytes) throws Exception {
+        try (var in = new GZIPInputStream(new ByteArrayInputStream(bytes))) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
     }
-}
\ No newline at end of file
+}
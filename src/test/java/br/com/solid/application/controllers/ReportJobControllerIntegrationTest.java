@@ -0,0 +1,88 @@
+package br.com.solid.application.controllers;
+
+import br.com.solid.application.jobs.ReportJob;
+import br.com.solid.application.jobs.ReportJobPayloadTooLargeException;
+import br.com.solid.application.services.ReportJobServiceImpl;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.util.Optional;
+import java.util.concurrent.RejectedExecutionException;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(ReportJobController.class)
+class ReportJobControllerIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private ReportJobServiceImpl reportJobService;
+
+    @Test
+    void submitJob_shouldReturnAcceptedWithLocation() throws Exception {
+        var job = new ReportJob("job-1", "csv", Path.of("job-1.json"), Path.of("job-1.csv"));
+        when(reportJobService.submit(eq("csv"), any(InputStream.class))).thenReturn(job);
+
+        mockMvc.perform(post("/reportJobs?extension=csv")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[]"))
+                .andExpect(status().isAccepted())
+                .andExpect(header().string("Location", "/reportJobs/job-1"))
+                .andExpect(jsonPath("$.status").value("QUEUED"));
+    }
+
+    @Test
+    void submitJob_withFullQueue_shouldReturnServiceUnavailable() throws Exception {
+        when(reportJobService.submit(eq("csv"), any(InputStream.class))).thenThrow(new RejectedExecutionException());
+
+        mockMvc.perform(post("/reportJobs?extension=csv")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[]"))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().exists("Retry-After"));
+    }
+
+    @Test
+    void submitJob_withTooLargePayload_shouldReturnPayloadTooLarge() throws Exception {
+        when(reportJobService.submit(eq("csv"), any(InputStream.class)))
+                .thenThrow(new ReportJobPayloadTooLargeException("Report job payload exceeds 1 bytes"));
+
+        mockMvc.perform(post("/reportJobs?extension=csv")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[]"))
+                .andExpect(status().isPayloadTooLarge());
+    }
+
+    @Test
+    void downloadReport_withRunningJob_shouldReturnConflict() throws Exception {
+        var job = new ReportJob("job-1", "csv", Path.of("job-1.json"), Path.of("job-1.csv"));
+        job.start();
+        when(reportJobService.getJob("job-1")).thenReturn(Optional.of(job));
+
+        mockMvc.perform(get("/reportJobs/job-1/download"))
+                .andExpect(status().isConflict());
+    }
+
+    @Test
+    void getJob_withUnknownId_shouldReturnNotFound() throws Exception {
+        when(reportJobService.getJob("missing")).thenReturn(Optional.empty());
+
+        mockMvc.perform(get("/reportJobs/missing"))
+                .andExpect(status().isNotFound());
+    }
+}
@@ -0,0 +1,149 @@
+package br.com.solid.application.services;
+
+import br.com.solid.domain.dto.ProductDto;
+import br.com.solid.infrastructure.cache.ReportCache;
+import br.com.solid.infrastructure.cancellation.ReportCancellation;
+import br.com.solid.infrastructure.cancellation.ReportCancelledException;
+import br.com.solid.infrastructure.config.ReportProperties;
+import br.com.solid.infrastructure.factories.ReportFactory;
+import br.com.solid.infrastructure.metrics.ReportMetrics;
+import br.com.solid.infrastructure.query.ReportQuery;
+import br.com.solid.utils.FactoryUtils;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import reactor.core.publisher.Flux;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ReactiveReportServiceImplTest {
+
+    private ReportServiceImpl reportService;
+    private ReactiveReportServiceImpl reactiveReportService;
+
+    @BeforeEach
+    void setUp() {
+        var reportFactory = new ReportFactory();
+        reportService = new ReportServiceImpl(reportFactory);
+        reactiveReportService = new ReactiveReportServiceImpl(reportFactory, reportService,
+                new ReportProperties(), new ReportMetrics());
+    }
+
+    @Test
+    void generateReport_withTextFormat_shouldMatchBlockingReport() {
+        var products = FactoryUtils.createSampleProducts(1_000);
+
+        assertSameReport("csv", products, ReportQuery.none());
+        assertSameReport("txt", products, ReportQuery.parse("name,quantity", null, null, null));
+    }
+
+    @Test
+    void generateReport_withFilterAndLimit_shouldStopReadingOnceTheLimitIsReached() {
+        var read = new AtomicInteger();
+        var products = Flux.fromIterable(FactoryUtils.createSampleProducts(1_000))
+                .doOnNext(product -> read.incrementAndGet());
+        var query = ReportQuery.parse("quantity", List.of("quantity:ge:500"), null, 3);
+
+        var report = reactiveReportService.generateReport("csv", products, query, DefaultDataBufferFactory.sharedInstance);
+
+        var expected = new ByteArrayOutputStream();
+        reportService.generateReport("csv", FactoryUtils.createSampleProducts(1_000), query, expected);
+        assertArrayEquals(expected.toByteArray(), join(report));
+        assertEquals(503, read.get());
+    }
+
+    @Test
+    void generateReport_withSort_shouldMatchBlockingReport() {
+        assertSameReport("csv", FactoryUtils.createSampleProducts(1_000), ReportQuery.parse(null, null, "price:desc", 10));
+    }
+
+    @Test
+    void generateReport_withExcelFormat_shouldWriteEveryProduct() throws Exception {
+        var products = FactoryUtils.createSampleProducts(1_000);
+
+        var report = reactiveReportService.generateReport("xlsx", Flux.fromIterable(products), ReportQuery.none(),
+                DefaultDataBufferFactory.sharedInstance);
+
+        try (Workbook workbook = new XSSFWorkbook(new ByteArrayInputStream(join(report)))) {
+            var sheet = workbook.getSheetAt(0);
+            assertEquals(products.size(), sheet.getLastRowNum());
+            assertEquals(products.get(999).getName(), sheet.getRow(1_000).getCell(0).getStringCellValue());
+        }
+    }
+
+    @Test
+    void generateReport_whenDeadlinePasses_shouldFailReportStream() {
+        var products = Flux.interval(Duration.ofMillis(1))
+                .map(i -> new ProductDto("Product " + i, BigDecimal.ONE, i));
+        var cancellation = ReportCancellation.after(Duration.ofMillis(100));
+
+        var report = reactiveReportService.generateReport("csv", products, ReportQuery.none(),
+                DefaultDataBufferFactory.sharedInstance, cancellation);
+
+        var e = assertThrows(ReportCancelledException.class, () -> report.doOnNext(DataBufferUtils::release).blockLast());
+        assertEquals(ReportCancellation.Reason.DEADLINE, e.getReason());
+    }
+
+    @Test
+    void generateReport_whenExcelReportIsCancelled_shouldStopBlockingGeneration() throws Exception {
+        var registry = new SimpleMeterRegistry();
+        var reportFactory = new ReportFactory();
+        var metrics = new ReportMetrics(registry);
+        var service = new ReactiveReportServiceImpl(reportFactory,
+                new ReportServiceImpl(reportFactory, new ReportCache(0, 0), new ReportProperties(), metrics),
+                new ReportProperties(), metrics);
+        var products = Flux.<ProductDto>generate(sink -> sink.next(new ProductDto("Product", BigDecimal.ONE, 1L)));
+        var cancellation = ReportCancellation.withoutDeadline();
+
+        var subscription = service.generateReport("xlsx", products, ReportQuery.none(),
+                DefaultDataBufferFactory.sharedInstance, cancellation).subscribe(DataBufferUtils::release);
+        Thread.sleep(100);
+        subscription.dispose();
+
+        assertEquals(ReportCancellation.Reason.DISCONNECT, cancellation.getReason());
+        var deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (registry.find("report.cancelled").counter() == null && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(1, registry.get("report.cancelled").tags("extension", "xlsx", "reason", "disconnect").counter().count());
+    }
+
+    @Test
+    void generateReport_withUnsupportedExtension_shouldThrowException() {
+        assertThrows(IllegalArgumentException.class, () -> reactiveReportService.generateReport("pdf",
+                Flux.empty(), ReportQuery.none(), DefaultDataBufferFactory.sharedInstance));
+    }
+
+    private void assertSameReport(String extension, List<ProductDto> products, ReportQuery query) {
+        var expected = new ByteArrayOutputStream();
+        reportService.generateReport(extension, products, query, expected);
+
+        var report = reactiveReportService.generateReport(extension, Flux.fromIterable(products), query,
+                DefaultDataBufferFactory.sharedInstance);
+
+        assertArrayEquals(expected.toByteArray(), join(report));
+    }
+
+    private static byte[] join(Flux<DataBuffer> report) {
+        var joined = DataBufferUtils.join(report).block();
+        var bytes = new byte[joined.readableByteCount()];
+        joined.read(bytes);
+        DataBufferUtils.release(joined);
+        return bytes;
+    }
+}
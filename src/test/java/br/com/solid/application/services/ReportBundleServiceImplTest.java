@@ -0,0 +1,106 @@
+package br.com.solid.application.services;
+
+import br.com.solid.domain.dto.ProductDto;
+import br.com.solid.infrastructure.config.ReportProperties;
+import br.com.solid.infrastructure.factories.ReportFactory;
+import br.com.solid.utils.FactoryUtils;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ReportBundleServiceImplTest {
+
+    private ExecutorService executor;
+    private ReportServiceImpl reportService;
+    private ReportBundleServiceImpl bundleService;
+
+    @BeforeEach
+    void setUp() {
+        executor = Executors.newCachedThreadPool();
+        reportService = new ReportServiceImpl(new ReportFactory());
+        bundleService = new ReportBundleServiceImpl(reportService, executor, new ReportProperties());
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void generateReportBundle_shouldZipEveryFormatFromOnePass() throws Exception {
+        List<ProductDto> products = FactoryUtils.createSampleProducts(5_000);
+        var reads = new int[1];
+        Iterable<ProductDto> data = () -> products.stream().peek(product -> reads[0]++).iterator();
+        var archive = new ByteArrayOutputStream();
+
+        bundleService.generateReportBundle(List.of("csv", "txt", "xlsx"), data, archive);
+
+        var entries = unzip(archive.toByteArray());
+        assertEquals(List.of("report.csv", "report.txt", "report.xlsx"), List.copyOf(entries.keySet()));
+        assertArrayEquals(reportService.generateReport("csv", products), entries.get("report.csv"));
+        assertArrayEquals(reportService.generateReport("txt", products), entries.get("report.txt"));
+        assertTrue(entries.get("report.xlsx").length > 0);
+        assertEquals(products.size(), reads[0]);
+    }
+
+    @Test
+    void generateReportBundle_shouldStoreFormatsThatAreNotCompressed() throws Exception {
+        List<ProductDto> products = FactoryUtils.createSampleProducts(100);
+        var archive = new ByteArrayOutputStream();
+
+        bundleService.generateReportBundle(List.of("csv", "xlsx"), products, archive);
+
+        var methods = new LinkedHashMap<String, Integer>();
+        try (var zip = new ZipInputStream(new ByteArrayInputStream(archive.toByteArray()))) {
+            ZipEntry entry;
+            while ((entry = zip.getNextEntry()) != null) {
+                methods.put(entry.getName(), entry.getMethod());
+                zip.readAllBytes();
+            }
+        }
+        assertEquals(Map.of("report.csv", ZipEntry.DEFLATED, "report.xlsx", ZipEntry.STORED), methods);
+    }
+
+    @Test
+    void parseExtensions_shouldDropDuplicatesAndKeepOrder() {
+        assertEquals(List.of("xlsx", "csv"), bundleService.parseExtensions("XLSX, csv,xlsx,"));
+    }
+
+    @Test
+    void parseExtensions_withUnsupportedOrTooManyFormats_shouldThrowException() {
+        assertThrows(IllegalArgumentException.class, () -> bundleService.parseExtensions("csv,pdf"));
+        assertThrows(IllegalArgumentException.class, () -> bundleService.parseExtensions(" , "));
+
+        var properties = new ReportProperties();
+        properties.getBundle().setMaxFormats(1);
+        var limited = new ReportBundleServiceImpl(reportService, executor, properties);
+        assertThrows(IllegalArgumentException.class, () -> limited.parseExtensions("csv,txt"));
+    }
+
+    private static Map<String, byte[]> unzip(byte[] archive) throws Exception {
+        var entries = new LinkedHashMap<String, byte[]>();
+
+        try (var zip = new ZipInputStream(new ByteArrayInputStream(archive))) {
+            ZipEntry entry;
+            while ((entry = zip.getNextEntry()) != null) {
+                entries.put(entry.getName(), zip.readAllBytes());
+            }
+        }
+        return entries;
+    }
+}
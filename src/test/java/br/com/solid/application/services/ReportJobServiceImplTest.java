@@ -0,0 +1,145 @@
+package br.com.solid.application.services;
+
+import br.com.solid.application.jobs.ReportJob;
+import br.com.solid.application.jobs.ReportJobPayloadTooLargeException;
+import br.com.solid.application.jobs.ReportJobStatus;
+import br.com.solid.infrastructure.config.ReportProperties;
+import br.com.solid.infrastructure.factories.ReportFactory;
+import br.com.solid.infrastructure.parsers.ProductJsonReader;
+import br.com.solid.utils.FactoryUtils;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ReportJobServiceImplTest {
+
+    @TempDir
+    Path spoolDirectory;
+
+    private ThreadPoolExecutor executor;
+    private ReportJobServiceImpl reportJobService;
+
+    @BeforeEach
+    void setUp() {
+        var properties = new ReportProperties();
+        properties.getJobs().setSpoolDirectory(spoolDirectory);
+
+        executor = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(1));
+        reportJobService = new ReportJobServiceImpl(new ReportServiceImpl(new ReportFactory()),
+                new ProductJsonReader(new ObjectMapper()), executor, properties);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void submit_shouldGenerateReportInBackground() throws Exception {
+        var job = reportJobService.submit("csv", payload());
+
+        awaitFinished(job);
+
+        assertEquals(ReportJobStatus.COMPLETED, job.getStatus());
+        assertEquals(3, job.getRowsWritten());
+        assertTrue(Files.readString(job.getReportFile()).contains("Laptop;10.00;10"));
+        assertFalse(Files.exists(job.getPayloadFile()));
+    }
+
+    @Test
+    void submit_withInvalidPayload_shouldFailJob() throws Exception {
+        var job = reportJobService.submit("csv", new ByteArrayInputStream("{}".getBytes(StandardCharsets.UTF_8)));
+
+        awaitFinished(job);
+
+        assertEquals(ReportJobStatus.FAILED, job.getStatus());
+        assertFalse(Files.exists(job.getReportFile()));
+    }
+
+    @Test
+    void submit_withFullQueue_shouldRejectJob() throws Exception {
+        var release = new CountDownLatch(1);
+        executor.submit(() -> release.await(5, TimeUnit.SECONDS));
+        executor.submit(() -> release.await(5, TimeUnit.SECONDS));
+
+        try {
+            assertThrows(RejectedExecutionException.class, () -> reportJobService.submit("csv", payload()));
+        } finally {
+            release.countDown();
+        }
+    }
+
+    @Test
+    void submit_withTooLargePayload_shouldRejectJobAndDeleteSpooledPayload() throws Exception {
+        var properties = new ReportProperties();
+        properties.getJobs().setSpoolDirectory(spoolDirectory);
+        properties.getJobs().setMaxPayloadBytes(16);
+        var limited = new ReportJobServiceImpl(new ReportServiceImpl(new ReportFactory()),
+                new ProductJsonReader(new ObjectMapper()), executor, properties);
+
+        assertThrows(ReportJobPayloadTooLargeException.class, () -> limited.submit("csv", payload()));
+
+        assertEquals(0, executor.getTaskCount());
+        try (var files = Files.list(spoolDirectory)) {
+            assertEquals(0, files.count());
+        }
+    }
+
+    @Test
+    void submit_whenPayloadCannotBeRead_shouldDeleteSpooledPayload() throws Exception {
+        var payload = new SequenceInputStream(payload(), new InputStream() {
+            @Override
+            public int read() throws IOException {
+                throw new IOException("Connection reset");
+            }
+        });
+
+        assertThrows(RuntimeException.class, () -> reportJobService.submit("csv", payload));
+
+        try (var files = Files.list(spoolDirectory)) {
+            assertEquals(0, files.count());
+        }
+    }
+
+    @Test
+    void deleteJob_shouldDiscardJobAndFiles() throws Exception {
+        var job = reportJobService.submit("txt", payload());
+        awaitFinished(job);
+
+        assertTrue(reportJobService.deleteJob(job.getId()));
+
+        assertTrue(reportJobService.getJob(job.getId()).isEmpty());
+        assertFalse(Files.exists(job.getReportFile()));
+    }
+
+    private ByteArrayInputStream payload() {
+        return new ByteArrayInputStream(FactoryUtils.createSampleProductsJson().getBytes(StandardCharsets.UTF_8));
+    }
+
+    private void awaitFinished(ReportJob job) throws InterruptedException {
+        var deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (!job.getStatus().isFinished() && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+    }
+}
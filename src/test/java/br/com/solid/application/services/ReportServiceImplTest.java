@@ -1,16 +1,56 @@
 package br.com.solid.application.services;
 
 import br.com.solid.domain.dto.ProductDto;
+import br.com.solid.infrastructure.buffer.ReportBufferPool;
+import br.com.solid.infrastructure.cache.ReportCache;
+import br.com.solid.infrastructure.cancellation.ReportCancellation;
+import br.com.solid.infrastructure.cancellation.ReportCancelledException;
+import br.com.solid.infrastructure.coalescing.ReportSingleFlight;
+import br.com.solid.infrastructure.config.ReportProperties;
 import br.com.solid.infrastructure.factories.ReportFactory;
+import br.com.solid.infrastructure.metrics.ReportMetrics;
+import br.com.solid.infrastructure.parsers.ProductJsonReader;
+import br.com.solid.infrastructure.parsers.ProductPayloadException;
+import br.com.solid.infrastructure.query.ReportQuery;
 import br.com.solid.infrastructure.reports.interfaces.ReportGenerator;
+import br.com.solid.infrastructure.reports.schema.ReportSchema;
 import br.com.solid.utils.FactoryUtils;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import org.mockito.Mockito;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -42,4 +82,230 @@ class ReportServiceImplTest {
         verify(reportFactory, times(1)).getReportGenerator(extension);
         verify(reportGenerator, times(1)).generateReport(products);
     }
-}
\ No newline at end of file
+
+    @Test
+    void generateReport_shouldStreamReportToOutputStream() {
+        String extension = "csv";
+        List<ProductDto> products = FactoryUtils.createSampleProducts();
+        var outputStream = new ByteArrayOutputStream();
+
+        ReportGenerator reportGenerator = mock(ReportGenerator.class);
+        when(reportFactory.getReportGenerator(extension)).thenReturn(reportGenerator);
+
+        reportService.generateReport(extension, products, outputStream);
+
+        verify(reportFactory, times(1)).getReportGenerator(extension);
+        verify(reportGenerator, times(1)).generateReport(products, outputStream, ReportSchema.of(ProductDto.class));
+    }
+
+    @Test
+    void generateReport_withQuery_shouldWriteOnlySelectedColumnsAndRows() {
+        var service = new ReportServiceImpl(new ReportFactory());
+        var products = List.of(
+                new ProductDto("A", new BigDecimal("3.00"), 0L),
+                new ProductDto("B", new BigDecimal("1.50"), 5L),
+                new ProductDto("C", new BigDecimal("2.00"), 7L),
+                new ProductDto("D", null, 1L));
+        var query = ReportQuery.parse("name,price", List.of("quantity:gt:0"), "price:desc", 2);
+        var outputStream = new ByteArrayOutputStream();
+
+        service.generateReport("csv", products, query, outputStream);
+
+        assertEquals("name;price\nC;2.00\nB;1.50\n", outputStream.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void generateReport_withMalformedPayload_shouldThrowPayloadException() {
+        var service = new ReportServiceImpl(new ReportFactory());
+        var payload = new ByteArrayInputStream("[{\"name\":\"Laptop\"},{\"price\":}]".getBytes(StandardCharsets.UTF_8));
+        var products = new ProductJsonReader(new ObjectMapper()).read(payload);
+
+        assertThrows(ProductPayloadException.class, () ->
+                service.generateReport("csv", products, ReportQuery.none(), new ByteArrayOutputStream()));
+    }
+
+    @Test
+    void getContentKey_shouldDependOnQuery() {
+        var products = FactoryUtils.createSampleProducts();
+
+        assertEquals(reportService.getContentKey("csv", products),
+                reportService.getContentKey("csv", products, ReportQuery.none()));
+        assertNotEquals(reportService.getContentKey("csv", products),
+                reportService.getContentKey("csv", products, ReportQuery.parse("name", null, null, null)));
+    }
+
+    @Test
+    void getContentKey_withFilterValueLookingLikeAnotherFilter_shouldDifferFromTwoFilters() {
+        var products = FactoryUtils.createSampleProducts();
+        var one = ReportQuery.parse(null, List.of("name:eq:a&filter=name:ne:b"), null, null);
+        var two = ReportQuery.parse(null, List.of("name:eq:a", "name:ne:b"), null, null);
+
+        assertNotEquals(reportService.getContentKey("csv", products, one),
+                reportService.getContentKey("csv", products, two));
+    }
+
+    @Test
+    void getOrGenerateReport_whenCached_shouldNotGenerateAgain() throws Exception {
+        String extension = "csv";
+        List<ProductDto> products = FactoryUtils.createSampleProducts();
+        var cache = new ReportCache(1024, 1024);
+        var service = new ReportServiceImpl(reportFactory, cache, new ReportProperties(), new ReportMetrics());
+
+        ReportGenerator reportGenerator = mock(ReportGenerator.class);
+        when(reportFactory.getReportGenerator(extension)).thenReturn(reportGenerator);
+        doAnswer(invocation -> {
+            invocation.getArgument(1, OutputStream.class).write(new byte[]{1, 2, 3});
+            return null;
+        }).when(reportGenerator).generateReport(any(Iterable.class), any(OutputStream.class), eq(ReportSchema.of(ProductDto.class)));
+
+        var contentKey = service.getContentKey(extension, products);
+        service.getOrGenerateReport(extension, products, contentKey).close();
+        var report = new ByteArrayOutputStream();
+        try (var buffer = service.getOrGenerateReport(extension, products, contentKey)) {
+            buffer.transferTo(report);
+        }
+
+        assertArrayEquals(new byte[]{1, 2, 3}, report.toByteArray());
+        verify(reportGenerator, times(1)).generateReport(any(Iterable.class), any(OutputStream.class), eq(ReportSchema.of(ProductDto.class)));
+        assertEquals(1, cache.getHits());
+    }
+
+    @Test
+    void getOrGenerateReport_whenReportSpills_shouldNotCache(@TempDir Path spoolDirectory) throws Exception {
+        String extension = "csv";
+        List<ProductDto> products = FactoryUtils.createSampleProducts();
+        var cache = new ReportCache(1024, 1024);
+        var properties = new ReportProperties();
+        properties.getBuffer().setMemoryThreshold(2);
+        properties.getBuffer().setSpoolDirectory(spoolDirectory);
+        var service = new ReportServiceImpl(reportFactory, cache, properties, new ReportMetrics());
+
+        ReportGenerator reportGenerator = mock(ReportGenerator.class);
+        when(reportFactory.getReportGenerator(extension)).thenReturn(reportGenerator);
+        doAnswer(invocation -> {
+            invocation.getArgument(1, OutputStream.class).write(new byte[]{1, 2, 3});
+            return null;
+        }).when(reportGenerator).generateReport(any(Iterable.class), any(OutputStream.class), eq(ReportSchema.of(ProductDto.class)));
+
+        try (var buffer = service.getOrGenerateReport(extension, products, "key")) {
+            assertTrue(buffer.isSpilled());
+            assertEquals(3, buffer.size());
+        }
+        assertEquals(0, cache.getEntryCount());
+    }
+
+    @Test
+    void getOrGenerateReport_whenIdenticalRequestsMissTogether_shouldGenerateOnce() throws Exception {
+        String extension = "csv";
+        List<ProductDto> products = FactoryUtils.createSampleProducts();
+        var executor = Executors.newCachedThreadPool();
+        var singleFlight = new ReportSingleFlight(executor);
+        var service = new ReportServiceImpl(reportFactory, new ReportCache(1024, 1024), new ReportProperties(),
+                new ReportMetrics(), singleFlight, ReportBufferPool.unpooled());
+
+        var release = new CountDownLatch(1);
+        ReportGenerator reportGenerator = mock(ReportGenerator.class);
+        when(reportFactory.getReportGenerator(extension)).thenReturn(reportGenerator);
+        doAnswer(invocation -> {
+            release.await();
+            invocation.getArgument(1, OutputStream.class).write(new byte[]{1, 2, 3});
+            return null;
+        }).when(reportGenerator).generateReport(any(Iterable.class), any(OutputStream.class), eq(ReportSchema.of(ProductDto.class)));
+
+        var shared = new AtomicInteger();
+        try {
+            var requests = IntStream.range(0, 8)
+                    .mapToObj(i -> CompletableFuture.supplyAsync(() -> {
+                        try (var buffer = service.getOrGenerateReport(extension, products, ReportQuery.none(), "key",
+                                ReportCancellation.withoutDeadline(), shared::incrementAndGet)) {
+                            return buffer.toByteArray();
+                        } catch (IOException e) {
+                            throw new UncheckedIOException(e);
+                        }
+                    }, executor))
+                    .toList();
+            while (singleFlight.getStarted() + singleFlight.getJoined() < requests.size()) {
+                Thread.onSpinWait();
+            }
+            release.countDown();
+
+            for (var request : requests) {
+                assertArrayEquals(new byte[]{1, 2, 3}, request.get(5, TimeUnit.SECONDS));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        verify(reportGenerator, times(1)).generateReport(any(Iterable.class), any(OutputStream.class), eq(ReportSchema.of(ProductDto.class)));
+        assertEquals(7, singleFlight.getJoined());
+        assertEquals(7, shared.get());
+    }
+
+    @Test
+    void generateReport_whenClientGoesAway_shouldStopWithinCheckIntervalAndRecordCancellation() {
+        var registry = new SimpleMeterRegistry();
+        var properties = new ReportProperties();
+        properties.getCancellation().setCheckIntervalRows(100);
+        var service = new ReportServiceImpl(new ReportFactory(), new ReportCache(0, 0), properties, new ReportMetrics(registry));
+        var cancellation = ReportCancellation.withoutDeadline();
+        var read = new AtomicInteger();
+        Iterable<ProductDto> products = () -> Stream.generate(() -> {
+            if (read.incrementAndGet() == 5_000) {
+                cancellation.cancel(ReportCancellation.Reason.DISCONNECT);
+            }
+            return new ProductDto("Product", BigDecimal.ONE, 1L);
+        }).iterator();
+
+        var e = assertThrows(ReportCancelledException.class, () -> service.generateReport("csv", products, ReportQuery.none(),
+                cancellation.output(OutputStream.nullOutputStream()), cancellation));
+
+        assertEquals(ReportCancellation.Reason.DISCONNECT, e.getReason());
+        assertTrue(read.get() <= 5_100);
+        assertEquals(1, registry.get("report.cancelled").tags("extension", "csv", "reason", "disconnect").counter().count());
+        assertEquals(1, registry.get("report.duration")
+                .tags("extension", "csv", "phase", "total", "outcome", "cancelled").timer().count());
+    }
+
+    @Test
+    void generateReport_whenDeadlinePasses_shouldStopExcelReport() {
+        var registry = new SimpleMeterRegistry();
+        var service = new ReportServiceImpl(new ReportFactory(), new ReportCache(0, 0), new ReportProperties(),
+                new ReportMetrics(registry));
+        Iterable<ProductDto> products = () -> Stream.generate(() -> new ProductDto("Product", BigDecimal.ONE, 1L)).iterator();
+
+        var e = assertThrows(ReportCancelledException.class, () -> service.generateReport("xlsx", products,
+                ReportQuery.none(), OutputStream.nullOutputStream(), ReportCancellation.after(Duration.ofMillis(200))));
+
+        assertEquals(ReportCancellation.Reason.DEADLINE, e.getReason());
+        assertEquals(1, registry.get("report.cancelled").tags("extension", "xlsx", "reason", "deadline").counter().count());
+    }
+
+    @Test
+    void generateReport_whenDeadlinePassesWhileSorting_shouldDeleteSortRuns(@TempDir Path spoolDirectory) throws Exception {
+        var properties = new ReportProperties();
+        properties.getQuery().setSortRunRows(1_000);
+        properties.getQuery().setSpoolDirectory(spoolDirectory);
+        var service = new ReportServiceImpl(new ReportFactory(), new ReportCache(0, 0), properties, new ReportMetrics());
+        var price = new AtomicInteger();
+        Iterable<ProductDto> products = () -> Stream.generate(
+                () -> new ProductDto("Product", BigDecimal.valueOf(price.incrementAndGet()), 1L)).iterator();
+
+        assertThrows(ReportCancelledException.class, () -> service.generateReport("csv", products,
+                ReportQuery.parse(null, null, "price:desc", null), OutputStream.nullOutputStream(),
+                ReportCancellation.after(Duration.ofMillis(200))));
+
+        try (var files = Files.list(spoolDirectory)) {
+            assertEquals(0, files.count());
+        }
+    }
+
+    @Test
+    void isCacheable_shouldDependOnKnownPayloadSize() {
+        var service = new ReportServiceImpl(reportFactory, new ReportCache(1024, 1024), new ReportProperties(), new ReportMetrics());
+
+        assertTrue(service.isCacheable(1024L));
+        assertFalse(service.isCacheable(null));
+        assertFalse(service.isCacheable(new ReportProperties().getCache().getMaxPayloadBytes() + 1));
+        assertFalse(reportService.isCacheable(1024L));
+    }
+}
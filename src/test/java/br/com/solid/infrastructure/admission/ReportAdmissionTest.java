@@ -0,0 +1,124 @@
+package br.com.solid.infrastructure.admission;
+
+import br.com.solid.infrastructure.config.ReportProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.context.properties.source.MapConfigurationPropertySource;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ReportAdmissionTest {
+
+    private static final long BUDGET_BYTES = 10L * 1024 * 1024;
+
+    private ReportProperties properties;
+
+    @BeforeEach
+    void setUp() {
+        properties = new ReportProperties();
+        properties.getAdmission().setBudgetBytes(BUDGET_BYTES);
+        properties.getAdmission().setMaxWait(Duration.ofMillis(20));
+        properties.getAdmission().setRetryAfter(Duration.ofSeconds(7));
+    }
+
+    @Test
+    void estimateBytes_shouldDependOnFormatRowsAndBuffering() {
+        var admission = new ReportAdmission(properties);
+
+        assertEquals(2L * 1024 * 1024, admission.estimateBytes("csv", 4800L - 1, false));
+        assertEquals(1024 * 1024 + 100 * 512, admission.estimateBytes("XLS", 4800L - 1, false));
+        assertEquals(1024 * 1024 + 100 * (512 + 256), admission.estimateBytes("xls", 4800L - 1, true));
+        assertEquals(1024 * 1024 + 100_000L * 512, admission.estimateBytes("xls", null, false));
+    }
+
+    @Test
+    void admit_whenFormatCapReached_shouldRejectWithRetryAfter() {
+        properties.getAdmission().getMaxConcurrent().put("xls", 1);
+        var admission = new ReportAdmission(properties);
+
+        try (var permit = admission.admit("xls", 100L, false)) {
+            var e = assertThrows(ReportAdmissionException.class, () -> admission.admit("xls", 100L, false));
+            assertEquals(Duration.ofSeconds(7), e.getRetryAfter());
+            assertDoesNotThrow(() -> admission.admit("csv", 100L, false).close());
+        }
+        assertDoesNotThrow(() -> admission.admit("xls", 100L, false).close());
+        assertEquals(1, admission.getRejections());
+    }
+
+    @Test
+    void admit_withSeveralFormats_shouldTakeASlotInEachAndReserveTheSum() {
+        properties.getAdmission().getMaxConcurrent().put("xls", 1);
+        var admission = new ReportAdmission(properties);
+        var cost = admission.estimateBytes("csv", 100L, false) + admission.estimateBytes("xls", 100L, false);
+
+        try (var permit = admission.admit(List.of("xls", "csv", "XLS"), 100L, false)) {
+            assertEquals(BUDGET_BYTES - cost / 1024 * 1024, admission.getAvailableBytes());
+            assertThrows(ReportAdmissionException.class, () -> admission.admit("xls", 100L, false));
+        }
+        assertEquals(BUDGET_BYTES, admission.getAvailableBytes());
+    }
+
+    @Test
+    void admit_withSeveralFormats_whenOneIsFull_shouldReleaseTheOthers() {
+        properties.getAdmission().getMaxConcurrent().put("xls", 1);
+        properties.getAdmission().getMaxConcurrent().put("csv", 1);
+        var admission = new ReportAdmission(properties);
+
+        try (var permit = admission.admit("xls", 100L, false)) {
+            assertThrows(ReportAdmissionException.class, () -> admission.admit(List.of("csv", "xls"), 100L, false));
+            assertDoesNotThrow(() -> admission.admit("csv", 100L, false).close());
+        }
+    }
+
+    @Test
+    void admit_whenBudgetExhausted_shouldRejectUntilReleased() {
+        var admission = new ReportAdmission(properties);
+        var permit = admission.admit("xls", 48L * 10_000, false);
+
+        assertThrows(ReportAdmissionException.class, () -> admission.admit("xls", 48L * 10_000, false));
+
+        permit.close();
+        permit.close();
+        assertEquals(BUDGET_BYTES, admission.getAvailableBytes());
+        assertDoesNotThrow(() -> admission.admit("xls", 48L * 10_000, false).close());
+    }
+
+    @Test
+    void admit_whenCostExceedsBudget_shouldClampToWholeBudget() {
+        var admission = new ReportAdmission(properties);
+
+        try (var permit = admission.admit("xls", Long.MAX_VALUE / 1024, true)) {
+            assertEquals(0, admission.getAvailableBytes());
+        }
+        assertEquals(BUDGET_BYTES, admission.getAvailableBytes());
+    }
+
+    @Test
+    void admit_whenDisabled_shouldAlwaysAdmit() {
+        properties.getAdmission().setEnabled(false);
+        var admission = new ReportAdmission(properties);
+
+        for (int i = 0; i < 10; i++) {
+            admission.admit("xls", null, true);
+        }
+        assertTrue(admission.getAvailableBytes() > 0);
+    }
+
+    @Test
+    void estimateBytes_whenOneSettingOverridden_shouldKeepOtherDefaults() {
+        var source = new MapConfigurationPropertySource(Map.of("report.admission.max-concurrent.xls", "1"));
+        var bound = new Binder(source).bind("report", Bindable.ofInstance(new ReportProperties())).get();
+
+        assertEquals(1, bound.getAdmission().maxConcurrentFor("xls"));
+        assertEquals(1024 * 1024 + 100 * 512, new ReportAdmission(bound).estimateBytes("xls", 4800L - 1, false));
+    }
+}
@@ -0,0 +1,56 @@
+package br.com.solid.infrastructure.buffer;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ChunkedOutputStreamTest {
+
+    @Test
+    void write_acrossChunks_shouldKeepContentInOrder() throws Exception {
+        var content = new byte[5000];
+        IntStream.range(0, content.length).forEach(i -> content[i] = (byte) i);
+        var pool = new ReportBufferPool(1024, 8192);
+        var out = new ByteArrayOutputStream();
+
+        try (var stream = new ChunkedOutputStream(pool)) {
+            stream.write(content, 0, 1500);
+            stream.write(content[1500]);
+            stream.write(content, 1501, content.length - 1501);
+
+            assertEquals(content.length, stream.size());
+            assertEquals(5, pool.getInUse());
+            assertArrayEquals(content, stream.toByteArray());
+
+            stream.writeTo(out);
+        }
+
+        assertArrayEquals(content, out.toByteArray());
+        assertEquals(0, pool.getInUse());
+        assertEquals(5, pool.getIdle());
+    }
+
+    @Test
+    void of_shouldWrapArrayAndAppendFurtherWrites() {
+        try (var stream = ChunkedOutputStream.of(new byte[]{1, 2, 3})) {
+            stream.write(4);
+
+            assertArrayEquals(new byte[]{1, 2, 3, 4}, stream.toByteArray());
+        }
+    }
+
+    @Test
+    void toByteArray_afterClose_shouldFail() {
+        var stream = new ChunkedOutputStream(ReportBufferPool.unpooled());
+        stream.write(1);
+        stream.close();
+
+        assertThrows(IllegalStateException.class, stream::toByteArray);
+        assertThrows(IllegalStateException.class, () -> stream.write(2));
+    }
+}
@@ -0,0 +1,93 @@
+package br.com.solid.infrastructure.buffer;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ReportBufferPoolTest {
+
+    @Test
+    void acquire_afterRelease_shouldReuseChunk() {
+        var pool = new ReportBufferPool(1024, 4096);
+
+        var first = pool.acquire();
+        var array = first.array();
+        first.close();
+        try (var second = pool.acquire()) {
+            assertSame(array, second.array());
+            assertEquals(1, pool.getInUse());
+        }
+
+        assertEquals(2, pool.getAcquired());
+        assertEquals(1, pool.getAllocated());
+        assertEquals(0, pool.getInUse());
+        assertEquals(1, pool.getIdle());
+    }
+
+    @Test
+    void release_whenPoolIsFull_shouldDropChunk() {
+        var pool = new ReportBufferPool(1024, 1024);
+
+        var first = pool.acquire();
+        var second = pool.acquire();
+        first.close();
+        second.close();
+
+        assertEquals(1, pool.getIdle());
+        assertEquals(1, pool.getDropped());
+    }
+
+    @Test
+    void unpooled_shouldAllocateEveryChunk() {
+        var pool = new ReportBufferPool(1024, 0);
+
+        var first = pool.acquire();
+        var array = first.array();
+        first.close();
+        try (var second = pool.acquire()) {
+            assertNotSame(array, second.array());
+        }
+
+        assertEquals(2, pool.getAllocated());
+        assertEquals(0, pool.getIdle());
+    }
+
+    @Test
+    void close_twice_shouldReleaseChunkOnce() {
+        var pool = new ReportBufferPool(1024, 4096);
+
+        var chunk = pool.acquire();
+        chunk.close();
+        chunk.close();
+
+        assertEquals(1, pool.getIdle());
+        assertEquals(0, pool.getInUse());
+        assertThrows(IllegalStateException.class, chunk::array);
+    }
+
+    @Test
+    void acquire_withoutRelease_shouldBeCountedAsLeak() throws Exception {
+        var pool = new ReportBufferPool(1024, 4096);
+
+        pool.acquire();
+
+        var deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (pool.getLeaked() == 0 && System.nanoTime() < deadline) {
+            System.gc();
+            Thread.sleep(10);
+        }
+        assertEquals(1, pool.getLeaked());
+        assertEquals(0, pool.getInUse());
+        assertEquals(0, pool.getIdle());
+    }
+
+    @Test
+    void constructor_withTinyChunks_shouldFail() {
+        assertThrows(IllegalArgumentException.class, () -> new ReportBufferPool(16, 4096));
+    }
+}
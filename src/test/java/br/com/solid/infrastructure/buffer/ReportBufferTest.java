@@ -0,0 +1,151 @@
+package br.com.solid.infrastructure.buffer;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ReportBufferTest {
+
+    @TempDir
+    Path spoolDirectory;
+
+    @Test
+    void write_belowThreshold_shouldKeepReportInMemory() throws Exception {
+        try (var buffer = new ReportBuffer(16, spoolDirectory)) {
+            buffer.write("product;".getBytes());
+            buffer.write('\n');
+
+            assertFalse(buffer.isSpilled());
+            assertEquals(9, buffer.size());
+            assertArrayEquals("product;\n".getBytes(), buffer.toByteArray());
+        }
+        assertEquals(0, Files.list(spoolDirectory).count());
+    }
+
+    @Test
+    void write_aboveThreshold_shouldSpillAndTransferWholeReport() throws Exception {
+        var report = new byte[100_000];
+        IntStream.range(0, report.length).forEach(i -> report[i] = (byte) i);
+        var out = new ByteArrayOutputStream();
+
+        try (var buffer = new ReportBuffer(1024, spoolDirectory)) {
+            buffer.write(report, 0, 1000);
+            buffer.write(report[1000]);
+            buffer.write(report, 1001, report.length - 1001);
+
+            assertTrue(buffer.isSpilled());
+            assertEquals(report.length, buffer.size());
+            assertThrows(IllegalStateException.class, buffer::toByteArray);
+
+            buffer.transferTo(out);
+        }
+
+        assertArrayEquals(report, out.toByteArray());
+        assertEquals(0, Files.list(spoolDirectory).count());
+    }
+
+    @Test
+    void of_shouldWrapExistingReport() throws Exception {
+        var out = new ByteArrayOutputStream();
+
+        try (var buffer = ReportBuffer.of(new byte[]{1, 2, 3})) {
+            buffer.transferTo(out);
+            assertEquals(3, buffer.size());
+        }
+
+        assertArrayEquals(new byte[]{1, 2, 3}, out.toByteArray());
+    }
+
+    @Test
+    void write_afterClose_shouldFail() throws Exception {
+        var buffer = new ReportBuffer(16, spoolDirectory);
+        buffer.close();
+
+        assertThrows(IllegalStateException.class, () -> buffer.write(1));
+    }
+
+    @Test
+    void share_shouldKeepSpilledReportUntilLastBufferIsClosed() throws Exception {
+        var report = new byte[10_000];
+        IntStream.range(0, report.length).forEach(i -> report[i] = (byte) i);
+
+        var buffer = new ReportBuffer(1024, spoolDirectory);
+        buffer.write(report);
+        var shared = buffer.share();
+
+        assertThrows(IllegalStateException.class, () -> buffer.write(1));
+        buffer.close();
+
+        var out = new ByteArrayOutputStream();
+        try (shared) {
+            assertTrue(shared.isSpilled());
+            assertEquals(report.length, shared.size());
+            shared.transferTo(out);
+        }
+
+        assertArrayEquals(report, out.toByteArray());
+        assertEquals(0, Files.list(spoolDirectory).count());
+    }
+
+    @Test
+    void share_inMemory_shouldNotCopyReport() throws Exception {
+        try (var buffer = new ReportBuffer(16, spoolDirectory)) {
+            buffer.write(new byte[]{1, 2, 3});
+
+            try (var shared = buffer.share()) {
+                assertArrayEquals(new byte[]{1, 2, 3}, shared.toByteArray());
+                assertThrows(IllegalStateException.class, () -> shared.write(4));
+            }
+        }
+    }
+
+    @Test
+    void close_shouldReturnChunksToPool() throws Exception {
+        var pool = new ReportBufferPool(1024, 64 * 1024);
+
+        var buffer = new ReportBuffer(8192, spoolDirectory, pool);
+        buffer.write(new byte[3000]);
+        var shared = buffer.share();
+        buffer.close();
+        assertEquals(3, pool.getInUse());
+
+        shared.close();
+        assertEquals(0, pool.getInUse());
+        assertEquals(3, pool.getIdle());
+    }
+
+    @Test
+    void write_aboveThreshold_shouldReturnMemoryChunksAndSpillThroughOneChunk() throws Exception {
+        var report = new byte[20_000];
+        IntStream.range(0, report.length).forEach(i -> report[i] = (byte) i);
+        var pool = new ReportBufferPool(1024, 64 * 1024);
+        var out = new ByteArrayOutputStream();
+
+        try (var buffer = new ReportBuffer(4096, spoolDirectory, pool)) {
+            buffer.write(report, 0, 4000);
+            assertEquals(4, pool.getInUse());
+
+            for (int i = 4000; i < report.length; i += 100) {
+                buffer.write(report, i, 100);
+            }
+            assertTrue(buffer.isSpilled());
+            assertEquals(1, pool.getInUse());
+
+            buffer.transferTo(out);
+        }
+
+        assertArrayEquals(report, out.toByteArray());
+        assertEquals(0, pool.getInUse());
+        assertEquals(0, pool.getLeaked());
+    }
+}
@@ -0,0 +1,50 @@
+package br.com.solid.infrastructure.cache;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ReportCacheTest {
+
+    @Test
+    void get_afterPut_shouldReturnCachedReportAndCountHit() {
+        var cache = new ReportCache(100, 100);
+        cache.put("a", new byte[]{1, 2, 3});
+
+        assertArrayEquals(new byte[]{1, 2, 3}, cache.get("a"));
+        assertNull(cache.get("b"));
+        assertEquals(1, cache.getHits());
+        assertEquals(1, cache.getMisses());
+    }
+
+    @Test
+    void put_whenSizeLimitExceeded_shouldEvictLeastRecentlyUsed() {
+        var cache = new ReportCache(10, 10);
+        cache.put("a", new byte[4]);
+        cache.put("b", new byte[4]);
+        cache.get("a");
+
+        cache.put("c", new byte[4]);
+
+        assertNull(cache.get("b"));
+        assertEquals(4, cache.get("a").length);
+        assertEquals(4, cache.get("c").length);
+        assertEquals(1, cache.getEvictions());
+        assertEquals(8, cache.getSizeBytes());
+        assertEquals(2, cache.getEntryCount());
+    }
+
+    @Test
+    void put_whenEntryTooLarge_shouldNotCache() {
+        var cache = new ReportCache(100, 10);
+
+        assertFalse(cache.put("a", new byte[11]));
+        assertTrue(cache.put("b", new byte[10]));
+        assertNull(cache.get("a"));
+        assertEquals(10, cache.getSizeBytes());
+    }
+}
@@ -0,0 +1,52 @@
+package br.com.solid.infrastructure.cache;
+
+import br.com.solid.domain.dto.ProductDto;
+import br.com.solid.infrastructure.reports.schema.ReportSchema;
+import br.com.solid.utils.FactoryUtils;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+class ReportContentKeyTest {
+
+    private final ReportSchema<ProductDto> schema = ReportSchema.of(ProductDto.class);
+
+    @Test
+    void of_sameRows_shouldReturnSameKey() {
+        var key = ReportContentKey.of("csv", schema, FactoryUtils.createSampleProducts());
+
+        assertEquals(key, ReportContentKey.of("CSV", schema, FactoryUtils.createSampleProducts()));
+        assertEquals(64, key.length());
+    }
+
+    @Test
+    void of_differentExtensionOrRows_shouldReturnDifferentKeys() {
+        var key = ReportContentKey.of("csv", schema, FactoryUtils.createSampleProducts());
+
+        assertNotEquals(key, ReportContentKey.of("txt", schema, FactoryUtils.createSampleProducts()));
+        assertNotEquals(key, ReportContentKey.of("csv", schema, FactoryUtils.createSampleProducts(3)));
+    }
+
+    @Test
+    void of_differentVariants_shouldReturnDifferentKeys() {
+        var rows = FactoryUtils.createSampleProducts();
+        var key = ReportContentKey.of("csv", schema, rows);
+
+        assertEquals(key, ReportContentKey.of("csv", "", schema, rows));
+        assertNotEquals(key, ReportContentKey.of("csv", "limit=1", schema, rows));
+        assertNotEquals(ReportContentKey.of("csv", "filter=name:eq:A", schema, rows),
+                ReportContentKey.of("csv", "filter=name:eq:a", schema, rows));
+    }
+
+    @Test
+    void of_nullAndEmptyValues_shouldReturnDifferentKeys() {
+        var withNull = List.of(new ProductDto(null, BigDecimal.ONE, 1L));
+        var withEmpty = List.of(new ProductDto("", BigDecimal.ONE, 1L));
+
+        assertNotEquals(ReportContentKey.of("csv", schema, withNull), ReportContentKey.of("csv", schema, withEmpty));
+    }
+}
@@ -0,0 +1,142 @@
+package br.com.solid.infrastructure.cancellation;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ReportCancellationTest {
+
+    @Test
+    void none_shouldNeverExpire() {
+        var cancellation = ReportCancellation.withoutDeadline();
+
+        assertFalse(cancellation.isCancelled());
+        assertNull(cancellation.getReason());
+        assertTrue(cancellation.getRemaining().isEmpty());
+    }
+
+    @Test
+    void until_withPastDeadline_shouldBeCancelled() {
+        var cancellation = ReportCancellation.until(Instant.now().minusSeconds(1));
+
+        assertTrue(cancellation.isCancelled());
+        assertEquals(ReportCancellation.Reason.DEADLINE, cancellation.getReason());
+        assertEquals(Duration.ZERO, cancellation.getRemaining().orElseThrow());
+        assertEquals(ReportCancellation.Reason.DEADLINE,
+                assertThrows(ReportCancelledException.class, cancellation::throwIfCancelled).getReason());
+    }
+
+    @Test
+    void until_withFarPastDeadline_shouldBeCancelled() {
+        var cancellation = ReportCancellation.until(Instant.parse("0001-01-01T00:00:00Z"));
+
+        assertTrue(cancellation.isCancelled());
+        assertEquals(Duration.ZERO, cancellation.getRemaining().orElseThrow());
+        assertEquals(ReportCancellation.Reason.DEADLINE,
+                assertThrows(ReportCancelledException.class, cancellation::throwIfCancelled).getReason());
+    }
+
+    @Test
+    void after_withFarDeadline_shouldNotBeCancelled() {
+        var cancellation = ReportCancellation.after(Duration.ofDays(100_000));
+
+        assertFalse(cancellation.isCancelled());
+        assertTrue(cancellation.getRemaining().orElseThrow().compareTo(Duration.ofDays(300)) > 0);
+    }
+
+    @Test
+    void cancel_shouldKeepFirstReason() {
+        var cancellation = ReportCancellation.withoutDeadline();
+
+        cancellation.cancel(ReportCancellation.Reason.DISCONNECT);
+        cancellation.cancel(ReportCancellation.Reason.DEADLINE);
+
+        assertTrue(cancellation.isCancelled());
+        assertEquals(ReportCancellation.Reason.DISCONNECT, cancellation.getReason());
+    }
+
+    @Test
+    void rows_whenCancelled_shouldStopWithinCheckInterval() {
+        var cancellation = ReportCancellation.withoutDeadline();
+        Iterable<Integer> source = () -> Stream.iterate(0, i -> i + 1).iterator();
+        var read = new int[1];
+
+        var e = assertThrows(ReportCancelledException.class, () -> {
+            for (var row : cancellation.rows(source, 100)) {
+                read[0]++;
+                if (row == 250) {
+                    cancellation.cancel(ReportCancellation.Reason.DISCONNECT);
+                }
+            }
+        });
+
+        assertEquals(ReportCancellation.Reason.DISCONNECT, e.getReason());
+        assertEquals(300, read[0]);
+    }
+
+    @Test
+    void rows_whenNotCancelled_shouldReadEveryRow() {
+        var cancellation = ReportCancellation.after(Duration.ofMinutes(1));
+        Iterable<Integer> source = () -> IntStream.range(0, 1_000).iterator();
+        var read = 0;
+
+        for (var ignored : cancellation.rows(source, 7)) {
+            read++;
+        }
+
+        assertEquals(1_000, read);
+    }
+
+    @Test
+    void rows_whenAlreadyCancelled_shouldReadNoRow() {
+        var cancellation = ReportCancellation.after(Duration.ofNanos(-1));
+        Iterable<Integer> source = () -> IntStream.range(0, 1_000).iterator();
+
+        assertThrows(ReportCancelledException.class, () -> cancellation.rows(source, 100).iterator().hasNext());
+    }
+
+    @Test
+    void rows_withInvalidInterval_shouldThrow() {
+        assertThrows(IllegalArgumentException.class, () -> ReportCancellation.withoutDeadline().rows(List.of(), 0));
+    }
+
+    @Test
+    void output_whenWriteFails_shouldCancelAsDisconnect() {
+        var cancellation = ReportCancellation.withoutDeadline();
+        var out = cancellation.output(new OutputStream() {
+            @Override
+            public void write(int b) throws IOException {
+                throw new IOException("Broken pipe");
+            }
+        });
+
+        assertThrows(IOException.class, () -> out.write(new byte[]{1}));
+        assertEquals(ReportCancellation.Reason.DISCONNECT, cancellation.getReason());
+    }
+
+    @Test
+    void output_whenCancelled_shouldStopWriting() throws IOException {
+        var cancellation = ReportCancellation.withoutDeadline();
+        var target = new ByteArrayOutputStream();
+        var out = cancellation.output(target);
+
+        out.write(new byte[]{1, 2});
+        cancellation.cancel(ReportCancellation.Reason.ABANDONED);
+
+        assertThrows(ReportCancelledException.class, () -> out.write(new byte[]{3}));
+        assertEquals(2, target.size());
+    }
+}
@@ -0,0 +1,209 @@
+package br.com.solid.infrastructure.coalescing;
+
+import br.com.solid.infrastructure.buffer.ReportBuffer;
+import br.com.solid.infrastructure.cancellation.ReportCancellation;
+import br.com.solid.infrastructure.cancellation.ReportCancelledException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ReportSingleFlightTest {
+
+    @TempDir
+    Path spoolDirectory;
+
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+    private final ReportSingleFlight singleFlight = new ReportSingleFlight(executor);
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void join_whileInFlight_shouldShareOneGeneration() throws Exception {
+        var release = new CountDownLatch(1);
+        var generations = new AtomicInteger();
+        ReportSingleFlight.Generation generation = cancellation -> {
+            generations.incrementAndGet();
+            release.await();
+            return report(new byte[]{1, 2, 3});
+        };
+
+        try (var first = singleFlight.join("key", generation);
+             var second = singleFlight.join("key", generation)) {
+            release.countDown();
+
+            assertArrayEquals(new byte[]{1, 2, 3}, read(first.await()));
+            assertArrayEquals(new byte[]{1, 2, 3}, read(second.await()));
+        }
+
+        assertEquals(1, generations.get());
+        assertEquals(1, singleFlight.getStarted());
+        assertEquals(1, singleFlight.getJoined());
+        assertEquals(0, singleFlight.getInFlight());
+    }
+
+    @Test
+    void close_whenOtherSubscribersWait_shouldKeepGenerating() throws Exception {
+        var release = new CountDownLatch(1);
+        ReportSingleFlight.Generation generation = cancellation -> {
+            release.await();
+            return report(new byte[]{4, 5});
+        };
+
+        var leaving = singleFlight.join("key", generation);
+        try (var staying = singleFlight.join("key", generation)) {
+            leaving.close();
+            release.countDown();
+
+            assertArrayEquals(new byte[]{4, 5}, read(staying.await()));
+        }
+        assertEquals(0, singleFlight.getCancelled());
+    }
+
+    @Test
+    void close_whenNoSubscriberIsLeft_shouldCancelGeneration() throws Exception {
+        var writing = new CountDownLatch(1);
+        var stopped = new CompletableFuture<Boolean>();
+        ReportSingleFlight.Generation generation = cancellation -> {
+            var buffer = new ReportBuffer(1024, spoolDirectory);
+            try (buffer) {
+                Iterable<byte[]> rows = () -> Stream.generate(() -> new byte[512]).iterator();
+                writing.countDown();
+                for (var row : cancellation.rows(rows, 16)) {
+                    buffer.write(row);
+                }
+                return buffer;
+            } finally {
+                stopped.complete(cancellation.isCancelled());
+            }
+        };
+
+        var subscription = singleFlight.join("key", generation);
+        assertTrue(writing.await(5, TimeUnit.SECONDS));
+        subscription.close();
+
+        assertTrue(stopped.get(5, TimeUnit.SECONDS));
+        assertEquals(1, singleFlight.getCancelled());
+        assertEquals(0, singleFlight.getInFlight());
+
+        try (var next = singleFlight.join("key", cancellation -> report(new byte[]{6}))) {
+            assertArrayEquals(new byte[]{6}, read(next.await()));
+        }
+        assertEquals(2, singleFlight.getStarted());
+    }
+
+    @Test
+    void await_whenDeadlinePasses_shouldStopWaitingButKeepGeneratingForOthers() throws Exception {
+        var release = new CountDownLatch(1);
+        ReportSingleFlight.Generation generation = cancellation -> {
+            release.await();
+            return report(new byte[]{7});
+        };
+
+        try (var staying = singleFlight.join("key", generation)) {
+            var deadline = ReportCancellation.after(Duration.ofMillis(50));
+            try (var leaving = singleFlight.join("key", generation)) {
+                var e = assertThrows(ReportCancelledException.class, () -> leaving.await(deadline));
+                assertEquals(ReportCancellation.Reason.DEADLINE, e.getReason());
+            }
+            release.countDown();
+
+            assertArrayEquals(new byte[]{7}, read(staying.await(ReportCancellation.after(Duration.ofSeconds(5)))));
+        }
+        assertEquals(0, singleFlight.getCancelled());
+    }
+
+    @Test
+    void await_whenDeadlineOfOnlySubscriberPasses_shouldAbandonGeneration() throws Exception {
+        var stopped = new CompletableFuture<ReportCancellation.Reason>();
+        ReportSingleFlight.Generation generation = cancellation -> {
+            try {
+                new CountDownLatch(1).await();
+                return report(new byte[0]);
+            } finally {
+                stopped.complete(cancellation.getReason());
+            }
+        };
+
+        try (var subscription = singleFlight.join("key", generation)) {
+            assertThrows(ReportCancelledException.class,
+                    () -> subscription.await(ReportCancellation.after(Duration.ofMillis(20))));
+        }
+
+        assertEquals(ReportCancellation.Reason.ABANDONED, stopped.get(5, TimeUnit.SECONDS));
+        assertEquals(1, singleFlight.getCancelled());
+    }
+
+    @Test
+    void await_whenGenerationFails_shouldThrowForEverySubscriber() throws Exception {
+        var release = new CountDownLatch(1);
+        ReportSingleFlight.Generation generation = cancellation -> {
+            release.await();
+            throw new IllegalStateException("Generator failed");
+        };
+
+        try (var first = singleFlight.join("key", generation);
+             var second = singleFlight.join("key", generation)) {
+            release.countDown();
+
+            assertEquals("Generator failed", assertThrows(IllegalStateException.class, first::await).getMessage());
+            assertEquals("Generator failed", assertThrows(IllegalStateException.class, second::await).getMessage());
+        }
+        assertEquals(0, singleFlight.getCancelled());
+    }
+
+    @Test
+    void await_withSpilledReport_shouldDeleteFileAfterLastSubscriber() throws Exception {
+        var report = new byte[4096];
+        var release = new CountDownLatch(1);
+        ReportSingleFlight.Generation generation = cancellation -> {
+            release.await();
+            var buffer = new ReportBuffer(1024, spoolDirectory);
+            buffer.write(report);
+            return buffer;
+        };
+
+        var first = singleFlight.join("key", generation);
+        var second = singleFlight.join("key", generation);
+        release.countDown();
+        var firstReport = first.await();
+        var secondReport = second.await();
+        first.close();
+        second.close();
+
+        assertArrayEquals(report, read(firstReport));
+        assertArrayEquals(report, read(secondReport));
+        assertEquals(0, Files.list(spoolDirectory).count());
+    }
+
+    private static ReportBuffer report(byte[] bytes) {
+        return ReportBuffer.of(bytes);
+    }
+
+    private static byte[] read(ReportBuffer buffer) throws Exception {
+        var out = new ByteArrayOutputStream();
+        try (buffer) {
+            buffer.transferTo(out);
+        }
+        return out.toByteArray();
+    }
+}
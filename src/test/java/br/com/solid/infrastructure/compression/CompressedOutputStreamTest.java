@@ -0,0 +1,57 @@
+package br.com.solid.infrastructure.compression;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.InflaterInputStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class CompressedOutputStreamTest {
+
+    private static final String REPORT = "product;price;quantity\n".repeat(1000) + "Café;1.00;1\n";
+
+    @Test
+    void close_withGzip_shouldWriteReadableGzipStream() throws Exception {
+        var out = new ByteArrayOutputStream();
+
+        try (var compressed = new CompressedOutputStream(out, ContentCoding.GZIP, 1)) {
+            compressed.write(REPORT.getBytes(StandardCharsets.UTF_8));
+        }
+
+        try (var in = new GZIPInputStream(new ByteArrayInputStream(out.toByteArray()))) {
+            assertEquals(REPORT, new String(in.readAllBytes(), StandardCharsets.UTF_8));
+        }
+    }
+
+    @Test
+    void close_withDeflate_shouldWriteReadableZlibStream() throws Exception {
+        var out = new ByteArrayOutputStream();
+
+        try (var compressed = new CompressedOutputStream(out, ContentCoding.DEFLATE, 9)) {
+            compressed.write(REPORT.getBytes(StandardCharsets.UTF_8));
+        }
+
+        try (var in = new InflaterInputStream(new ByteArrayInputStream(out.toByteArray()))) {
+            assertEquals(REPORT, new String(in.readAllBytes(), StandardCharsets.UTF_8));
+        }
+    }
+
+    @Test
+    void close_shouldLeaveUnderlyingStreamOpen() throws Exception {
+        var closed = new boolean[1];
+        var out = new ByteArrayOutputStream() {
+            @Override
+            public void close() {
+                closed[0] = true;
+            }
+        };
+
+        new CompressedOutputStream(out, ContentCoding.GZIP, 6).close();
+
+        assertEquals(false, closed[0]);
+    }
+}
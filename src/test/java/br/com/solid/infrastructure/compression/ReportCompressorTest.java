@@ -0,0 +1,54 @@
+package br.com.solid.infrastructure.compression;
+
+import br.com.solid.infrastructure.config.ReportProperties;
+import org.junit.jupiter.api.Test;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ReportCompressorTest {
+
+    private static final Long LARGE_PAYLOAD = 1024L * 1024;
+
+    private final ReportCompressor compressor = new ReportCompressor();
+
+    @Test
+    void negotiate_shouldPreferHighestQuality() {
+        assertEquals(Optional.of(ContentCoding.DEFLATE), compressor.negotiate("csv", "gzip;q=0.5, deflate", LARGE_PAYLOAD));
+        assertEquals(Optional.of(ContentCoding.GZIP), compressor.negotiate("csv", "deflate, gzip", LARGE_PAYLOAD));
+        assertEquals(Optional.of(ContentCoding.GZIP), compressor.negotiate("txt", "br, *", null));
+    }
+
+    @Test
+    void negotiate_withoutAcceptableCoding_shouldNotCompress() {
+        assertEquals(Optional.empty(), compressor.negotiate("csv", null, LARGE_PAYLOAD));
+        assertEquals(Optional.empty(), compressor.negotiate("csv", "identity, br", LARGE_PAYLOAD));
+        assertEquals(Optional.empty(), compressor.negotiate("csv", "gzip;q=0", LARGE_PAYLOAD));
+    }
+
+    @Test
+    void negotiate_withWildcard_shouldOnlyApplyToUnlistedCodings() {
+        assertEquals(Optional.of(ContentCoding.DEFLATE), compressor.negotiate("csv", "gzip;q=0, *", LARGE_PAYLOAD));
+        assertEquals(Optional.of(ContentCoding.DEFLATE), compressor.negotiate("csv", "gzip;q=0.2, *;q=0.5", LARGE_PAYLOAD));
+        assertEquals(Optional.empty(), compressor.negotiate("csv", "gzip;q=0, deflate;q=0, *", LARGE_PAYLOAD));
+        assertEquals(Optional.empty(), compressor.negotiate("csv", "*;q=0", LARGE_PAYLOAD));
+    }
+
+    @Test
+    void negotiate_withSmallPayloadOrCompressedFormat_shouldNotCompress() {
+        assertEquals(Optional.empty(), compressor.negotiate("csv", "gzip", 100L));
+        assertEquals(Optional.empty(), compressor.negotiate("xlsx", "gzip", LARGE_PAYLOAD));
+    }
+
+    @Test
+    void isCompressible_whenDisabled_shouldReturnFalse() {
+        var properties = new ReportProperties();
+        properties.getCompression().setEnabled(false);
+
+        assertFalse(new ReportCompressor(properties).isCompressible("csv"));
+        assertTrue(compressor.isCompressible("CSV"));
+    }
+}
@@ -0,0 +1,46 @@
+package br.com.solid.infrastructure.config;
+
+import br.com.solid.infrastructure.admission.ReportAdmission;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+
+import java.util.concurrent.ExecutorService;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+class ReportConfigurationTest {
+
+    private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+            .withUserConfiguration(ReportConfiguration.class, ReportAdmission.class);
+
+    @Test
+    void reportJobExecutor_byDefault_shouldUsePlatformThreads() {
+        contextRunner.run(context -> {
+            var executor = context.getBean(ReportConfiguration.REPORT_JOB_EXECUTOR, ExecutorService.class);
+
+            assertEquals(false, isVirtual(executor.submit(Thread::currentThread).get()));
+        });
+    }
+
+    @Test
+    void reportJobExecutor_withVirtualThreads_shouldUseVirtualThreads() {
+        assumeTrue(Runtime.version().feature() >= 21, "Virtual threads require Java 21");
+
+        contextRunner.withPropertyValues("spring.threads.virtual.enabled=true").run(context -> {
+            var executor = context.getBean(ReportConfiguration.REPORT_JOB_EXECUTOR, ExecutorService.class);
+            var thread = executor.submit(Thread::currentThread).get();
+
+            assertTrue(isVirtual(thread));
+            assertTrue(thread.getName().startsWith("report-job-"));
+        });
+    }
+
+    private static boolean isVirtual(Thread thread) throws Exception {
+        if (Runtime.version().feature() < 21) {
+            return false;
+        }
+        return (boolean) Thread.class.getMethod("isVirtual").invoke(thread);
+    }
+}
@@ -0,0 +1,134 @@
+package br.com.solid.infrastructure.dataset;
+
+import br.com.solid.domain.dto.ProductDto;
+import br.com.solid.utils.FactoryUtils;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DatasetStoreTest {
+
+    @TempDir
+    Path spoolDirectory;
+
+    @Test
+    void put_whenMemoryIsFull_shouldSpillLeastRecentlyUsed() throws Exception {
+        var dataset = dataset(1_000);
+        var store = new DatasetStore(dataset.getSizeBytes() * 2, Duration.ofMinutes(5), true, spoolDirectory, Long.MAX_VALUE);
+
+        var first = store.put(dataset);
+        var second = store.put(dataset(1_000));
+        store.get(first.getId());
+        var third = store.put(dataset(1_000));
+
+        assertFalse(first.isSpilled());
+        assertTrue(second.isSpilled());
+        assertFalse(third.isSpilled());
+        assertEquals(1, Files.list(spoolDirectory).count());
+        assertEquals(FactoryUtils.createSampleProducts(1_000), collect(store.rows(second.getId()).orElseThrow()));
+        assertEquals(3, store.getEntryCount());
+    }
+
+    @Test
+    void put_withoutSpilling_shouldEvictLeastRecentlyUsed() {
+        var dataset = dataset(1_000);
+        var store = new DatasetStore(dataset.getSizeBytes() * 2, Duration.ofMinutes(5), false, spoolDirectory, 0);
+
+        var first = store.put(dataset);
+        store.put(dataset(1_000));
+        store.put(dataset(1_000));
+
+        assertTrue(store.get(first.getId()).isEmpty());
+        assertEquals(1, store.getEvictions());
+        assertThrows(DatasetTooLargeException.class, () -> store.put(dataset(10_000)));
+    }
+
+    @Test
+    void get_afterTimeToLive_shouldExpireAndDeleteFile() throws Exception {
+        var clock = new MutableClock();
+        var store = new DatasetStore(0, Duration.ofMinutes(5), true, spoolDirectory, Long.MAX_VALUE, clock);
+        var stored = store.put(dataset(10));
+        assertTrue(stored.isSpilled());
+
+        clock.advance(Duration.ofMinutes(5));
+
+        assertTrue(store.get(stored.getId()).isEmpty());
+        assertEquals(0, store.getDiskBytes());
+        assertEquals(0, Files.list(spoolDirectory).count());
+    }
+
+    @Test
+    void remove_shouldDiscardDatasetButKeepOpenRowsReadable() {
+        var store = new DatasetStore(Long.MAX_VALUE, Duration.ofMinutes(5), true, spoolDirectory, Long.MAX_VALUE);
+        var stored = store.put(dataset(100));
+        var rows = store.rows(stored.getId()).orElseThrow();
+
+        assertTrue(store.remove(stored.getId()));
+        assertFalse(store.remove(stored.getId()));
+        assertEquals(0, store.getMemoryBytes());
+        assertEquals(100, collect(rows).size());
+    }
+
+    @Test
+    void rows_ofSpilledDataset_whenClosedBeforeTheEnd_shouldCloseTheFile() {
+        var store = new DatasetStore(0, Duration.ofMinutes(5), true, spoolDirectory, Long.MAX_VALUE);
+        var stored = store.put(dataset(100));
+        assertTrue(stored.isSpilled());
+
+        var rows = store.rows(stored.getId()).orElseThrow();
+        var iterator = rows.iterator();
+        assertEquals(FactoryUtils.createSampleProducts(1).get(0), iterator.next());
+        rows.close();
+
+        Exception exception = assertThrows(RuntimeException.class, iterator::next);
+        assertEquals("Error reading dataset: Stream closed", exception.getMessage());
+    }
+
+    private static ProductDataset dataset(int rows) {
+        return ProductDataset.builder().addAll(FactoryUtils.createSampleProducts(rows)).build();
+    }
+
+    private static List<ProductDto> collect(Iterable<ProductDto> rows) {
+        var products = new ArrayList<ProductDto>();
+        rows.forEach(products::add);
+        return products;
+    }
+
+    private static final class MutableClock extends Clock {
+
+        private Instant now = Instant.parse("2024-01-01T00:00:00Z");
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneOffset getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
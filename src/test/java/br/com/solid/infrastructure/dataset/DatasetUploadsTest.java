@@ -0,0 +1,194 @@
+package br.com.solid.infrastructure.dataset;
+
+import br.com.solid.domain.dto.ProductDto;
+import br.com.solid.utils.FactoryUtils;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DatasetUploadsTest {
+
+    @Test
+    void complete_shouldReturnChunksInOrder() {
+        var uploads = new DatasetUploads(Duration.ofMinutes(5), Long.MAX_VALUE);
+        var products = FactoryUtils.createSampleProducts(5_000);
+        var id = uploads.start().getId();
+
+        uploads.append(id, 0, () -> products.subList(0, 2_000));
+        var upload = uploads.append(id, 1, () -> products.subList(2_000, 5_000)).orElseThrow();
+
+        assertEquals(2, upload.getChunks());
+        assertEquals(5_000, upload.getRowCount());
+        assertEquals(5_000, uploads.getRowCount());
+
+        var dataset = uploads.complete(id).orElseThrow();
+
+        assertEquals(products, collect(dataset.rows()));
+        assertTrue(uploads.get(id).isEmpty());
+        assertEquals(0, uploads.getRowCount());
+        assertEquals(0, uploads.getUploadCount());
+    }
+
+    @Test
+    void append_withAppliedChunk_shouldAcknowledgeItWithoutReadingIt() {
+        var uploads = new DatasetUploads(Duration.ofMinutes(5), Long.MAX_VALUE);
+        var id = uploads.start().getId();
+        uploads.append(id, 0, FactoryUtils::createSampleProducts);
+
+        var upload = uploads.append(id, 0, () -> {
+            throw new AssertionError("Applied chunk was read again");
+        }).orElseThrow();
+
+        assertEquals(1, upload.getChunks());
+        assertEquals(3, upload.getRowCount());
+    }
+
+    @Test
+    void append_withChunkAheadOfNext_shouldThrowConflict() {
+        var uploads = new DatasetUploads(Duration.ofMinutes(5), Long.MAX_VALUE);
+        var id = uploads.start().getId();
+
+        Exception exception = assertThrows(DatasetUploadConflictException.class, () ->
+                uploads.append(id, 1, FactoryUtils::createSampleProducts));
+        assertEquals("Expected chunk 0 of upload " + id + ", got 1", exception.getMessage());
+    }
+
+    @Test
+    void append_whenAnotherChunkIsBeingAppended_shouldThrowConflict() throws Exception {
+        var uploads = new DatasetUploads(Duration.ofMinutes(5), Long.MAX_VALUE);
+        var id = uploads.start().getId();
+        var concurrent = new CompletableFuture<Exception>();
+
+        uploads.append(id, 0, () -> {
+            var other = CompletableFuture.runAsync(() -> uploads.append(id, 0, List::of));
+            try {
+                other.get();
+                concurrent.complete(null);
+            } catch (InterruptedException | ExecutionException e) {
+                concurrent.complete(e);
+            }
+            return FactoryUtils.createSampleProducts();
+        });
+
+        assertInstanceOf(DatasetUploadConflictException.class, concurrent.get().getCause());
+        assertEquals(3, uploads.get(id).orElseThrow().getRowCount());
+    }
+
+    @Test
+    void append_whenChunkFails_shouldRollItBack() {
+        var uploads = new DatasetUploads(Duration.ofMinutes(5), Long.MAX_VALUE);
+        var id = uploads.start().getId();
+        uploads.append(id, 0, FactoryUtils::createSampleProducts);
+
+        assertThrows(IllegalArgumentException.class, () ->
+                uploads.append(id, 1, () -> failingAfter(FactoryUtils.createSampleProducts(2_000))));
+        var upload = uploads.append(id, 1, () -> FactoryUtils.createSampleProducts(10)).orElseThrow();
+
+        assertEquals(2, upload.getChunks());
+        assertEquals(13, uploads.getRowCount());
+        var expected = new ArrayList<>(FactoryUtils.createSampleProducts());
+        expected.addAll(FactoryUtils.createSampleProducts(10));
+        assertEquals(expected, collect(uploads.complete(id).orElseThrow().rows()));
+    }
+
+    @Test
+    void append_beyondRowBudget_shouldThrowAndReleaseRows() {
+        var uploads = new DatasetUploads(Duration.ofMinutes(5), 3_000);
+        var first = uploads.start().getId();
+        var second = uploads.start().getId();
+        uploads.append(first, 0, () -> FactoryUtils.createSampleProducts(1_500));
+
+        assertThrows(DatasetTooLargeException.class, () ->
+                uploads.append(second, 0, () -> FactoryUtils.createSampleProducts(2_000)));
+        assertEquals(1_500, uploads.getRowCount());
+        assertEquals(0, uploads.get(second).orElseThrow().getChunks());
+
+        assertTrue(uploads.remove(first));
+        uploads.append(second, 0, () -> FactoryUtils.createSampleProducts(2_000));
+        assertEquals(2_000, uploads.getRowCount());
+    }
+
+    @Test
+    void get_afterTimeToLiveWithoutChunks_shouldExpireUpload() {
+        var clock = new MutableClock();
+        var uploads = new DatasetUploads(Duration.ofMinutes(5), Long.MAX_VALUE, clock);
+        var id = uploads.start().getId();
+
+        clock.advance(Duration.ofMinutes(4));
+        uploads.append(id, 0, FactoryUtils::createSampleProducts);
+        clock.advance(Duration.ofMinutes(4));
+        assertTrue(uploads.get(id).isPresent());
+
+        clock.advance(Duration.ofMinutes(1));
+
+        assertTrue(uploads.get(id).isEmpty());
+        assertTrue(uploads.complete(id).isEmpty());
+        assertFalse(uploads.remove(id));
+        assertEquals(0, uploads.getRowCount());
+        assertEquals(1, uploads.getExpirations());
+    }
+
+    private static Iterable<ProductDto> failingAfter(List<ProductDto> products) {
+        return () -> new Iterator<>() {
+            private final Iterator<ProductDto> iterator = products.iterator();
+
+            @Override
+            public boolean hasNext() {
+                if (!iterator.hasNext()) {
+                    throw new IllegalArgumentException("Truncated payload");
+                }
+                return true;
+            }
+
+            @Override
+            public ProductDto next() {
+                return iterator.next();
+            }
+        };
+    }
+
+    private static List<ProductDto> collect(Iterable<ProductDto> rows) {
+        var products = new ArrayList<ProductDto>();
+        rows.forEach(products::add);
+        return products;
+    }
+
+    private static final class MutableClock extends Clock {
+
+        private Instant now = Instant.parse("2024-01-01T00:00:00Z");
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneOffset getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
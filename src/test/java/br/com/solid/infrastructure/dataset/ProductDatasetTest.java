@@ -0,0 +1,79 @@
+package br.com.solid.infrastructure.dataset;
+
+import br.com.solid.domain.dto.ProductDto;
+import br.com.solid.utils.FactoryUtils;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ProductDatasetTest {
+
+    private static final List<ProductDto> EDGE_CASES = List.of(
+            new ProductDto("Laptop", new BigDecimal("1500.00"), 10L),
+            new ProductDto("Laptop", new BigDecimal("0.0"), 0L),
+            new ProductDto(null, null, null),
+            new ProductDto("Mouse", new BigDecimal("1E+3"), Long.MIN_VALUE),
+            new ProductDto("Huge", new BigDecimal("123456789012345678901234567890.123"), Long.MAX_VALUE),
+            new ProductDto("", new BigDecimal("-0.0000000001"), -1L));
+
+    @Test
+    void rows_shouldRestoreEveryValueWithItsScale() {
+        var dataset = ProductDataset.builder().addAll(EDGE_CASES).build();
+
+        assertEquals(EDGE_CASES.size(), dataset.getRowCount());
+        assertEquals(4, dataset.getDistinctNames());
+        assertEquals(EDGE_CASES, collect(dataset.rows()));
+        assertEquals("1500.00", dataset.getRow(0).getPrice().toString());
+        assertEquals(EDGE_CASES, collect(dataset.rows()));
+    }
+
+    @Test
+    void open_shouldReadBackAWrittenDataset(@TempDir Path directory) {
+        var products = new ArrayList<>(FactoryUtils.createSampleProducts(5_000));
+        products.addAll(EDGE_CASES);
+        var file = directory.resolve("products.dataset");
+
+        ProductDataset.builder().addAll(products).build().writeTo(file);
+
+        assertEquals(products, collect(ProductDataset.open(file)));
+    }
+
+    @Test
+    void getSizeBytes_withRepeatedNames_shouldStoreEachNameOnce() {
+        var builder = ProductDataset.builder();
+        FactoryUtils.createSampleProducts(10_000).forEach(product ->
+                builder.add(new ProductDto("Product " + product.getQuantity() % 100, product.getPrice(), product.getQuantity())));
+        var dataset = builder.build();
+
+        assertEquals(100, dataset.getDistinctNames());
+        assertTrue(dataset.getSizeBytes() < 10_000L * 24);
+    }
+
+    @Test
+    void truncate_shouldDropLaterRowsAndTheirNames() {
+        var builder = ProductDataset.builder().addAll(EDGE_CASES.subList(0, 3));
+        builder.addAll(EDGE_CASES.subList(3, EDGE_CASES.size()))
+                .addAll(FactoryUtils.createSampleProducts(3_000))
+                .truncate(3);
+        builder.add(EDGE_CASES.get(4));
+
+        var dataset = builder.build();
+
+        assertEquals(List.of(EDGE_CASES.get(0), EDGE_CASES.get(1), EDGE_CASES.get(2), EDGE_CASES.get(4)),
+                collect(dataset.rows()));
+        assertEquals(2, dataset.getDistinctNames());
+    }
+
+    private static List<ProductDto> collect(Iterable<ProductDto> rows) {
+        var products = new ArrayList<ProductDto>();
+        rows.forEach(products::add);
+        return products;
+    }
+}
@@ -1,12 +1,20 @@
 package br.com.solid.infrastructure.factories;
 
+import br.com.solid.infrastructure.buffer.ReportBufferPool;
+import br.com.solid.infrastructure.config.ReportProperties;
+import br.com.solid.infrastructure.reports.columnar.ReportPCOL;
 import br.com.solid.infrastructure.reports.excel.ReportExcel;
+import br.com.solid.infrastructure.reports.excel.ReportXLSX;
 import br.com.solid.infrastructure.reports.interfaces.ReportGenerator;
+import br.com.solid.infrastructure.reports.text.ParallelReportTextGenerator;
 import br.com.solid.infrastructure.reports.text.ReportCSV;
 import br.com.solid.infrastructure.reports.text.ReportTXT;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
@@ -41,10 +49,47 @@ class ReportFactoryTest {
         assertTrue(reportGenerator instanceof ReportExcel);
     }
 
+    @Test
+    void getReportGenerator_shouldReturnReportPCOL() {
+        ReportGenerator reportGenerator = reportFactory.getReportGenerator("pcol");
+
+        assertTrue(reportGenerator instanceof ReportPCOL);
+    }
+
+    @Test
+    void getReportGenerator_shouldReturnReportXLSX() {
+        ReportGenerator reportGenerator = reportFactory.getReportGenerator("xlsx");
+
+        assertTrue(reportGenerator instanceof ReportXLSX);
+    }
+
+    @Test
+    void getReportGenerator_withParallelEnabled_shouldWrapTextGenerators() {
+        var properties = new ReportProperties();
+        properties.getParallel().setEnabled(true);
+        var pool = new ForkJoinPool(2);
+
+        try {
+            var factory = new ReportFactory(properties, pool, ReportBufferPool.unpooled());
+
+            var csv = factory.getReportGenerator("csv");
+            assertTrue(csv instanceof ParallelReportTextGenerator);
+            assertTrue(((ParallelReportTextGenerator) csv).getDelegate() instanceof ReportCSV);
+            assertTrue(factory.getReportGenerator("xlsx") instanceof ReportXLSX);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
     @Test
     void getReportGenerator_withUnsupportedExtension_shouldThrowException() {
         Exception exception = assertThrows(IllegalArgumentException.class, () ->
                 reportFactory.getReportGenerator("pdf"));
         assertEquals("Unsupported file extension: pdf", exception.getMessage());
     }
+
+    @Test
+    void getSupportedExtensions_shouldListEveryFormat() {
+        assertEquals(List.of("csv", "pcol", "txt", "xls", "xlsx"), List.copyOf(reportFactory.getSupportedExtensions()));
+    }
 }
@@ -0,0 +1,112 @@
+package br.com.solid.infrastructure.fanout;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class RowFanOutTest {
+
+    private ExecutorService executor;
+
+    @BeforeEach
+    void setUp() {
+        executor = Executors.newCachedThreadPool();
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void run_shouldFeedEveryConsumerFromASinglePass() {
+        var rows = IntStream.range(0, 10_001).boxed().toList();
+        var reads = new AtomicInteger();
+        Iterable<Integer> source = () -> counting(rows.iterator(), reads);
+        var first = new ArrayList<Integer>();
+        var second = new ArrayList<Integer>();
+
+        new RowFanOut<Integer>(executor, 64, 2).run(source, List.of(collectInto(first), collectInto(second)));
+
+        assertEquals(rows, first);
+        assertEquals(rows, second);
+        assertEquals(rows.size(), reads.get());
+    }
+
+    @Test
+    void run_whenConsumerFails_shouldStillFeedTheOthersAndRethrow() {
+        var rows = IntStream.range(0, 1_000).boxed().toList();
+        var collected = new ArrayList<Integer>();
+        Consumer<Iterable<Integer>> failing = data -> {
+            throw new IllegalStateException("broken generator");
+        };
+
+        var exception = assertThrows(IllegalStateException.class, () ->
+                new RowFanOut<Integer>(executor, 10, 1).run(rows, List.of(failing, collectInto(collected))));
+
+        assertEquals("broken generator", exception.getMessage());
+        assertEquals(rows, collected);
+    }
+
+    @Test
+    void run_whenReadingFails_shouldFailConsumersAndRethrow() {
+        Iterable<Integer> source = () -> IntStream.range(0, 100).boxed()
+                .map(i -> {
+                    if (i == 50) {
+                        throw new IllegalArgumentException("bad payload");
+                    }
+                    return i;
+                })
+                .iterator();
+        var consumerFailures = new AtomicInteger();
+        Consumer<Iterable<Integer>> consumer = data -> {
+            try {
+                data.forEach(i -> { });
+            } catch (IllegalStateException e) {
+                consumerFailures.incrementAndGet();
+            }
+        };
+
+        var exception = assertThrows(IllegalArgumentException.class, () ->
+                new RowFanOut<Integer>(executor, 8, 2).run(source, List.of(consumer, consumer)));
+
+        assertEquals("bad payload", exception.getMessage());
+        assertEquals(2, consumerFailures.get());
+    }
+
+    @Test
+    void constructor_withInvalidBatchSize_shouldThrowException() {
+        assertThrows(IllegalArgumentException.class, () -> new RowFanOut<Integer>(executor, 0, 1));
+    }
+
+    private static Consumer<Iterable<Integer>> collectInto(List<Integer> target) {
+        return data -> data.forEach(target::add);
+    }
+
+    private static Iterator<Integer> counting(Iterator<Integer> iterator, AtomicInteger reads) {
+        return new Iterator<>() {
+            @Override
+            public boolean hasNext() {
+                return iterator.hasNext();
+            }
+
+            @Override
+            public Integer next() {
+                reads.incrementAndGet();
+                return iterator.next();
+            }
+        };
+    }
+}
@@ -0,0 +1,73 @@
+package br.com.solid.infrastructure.metrics;
+
+import br.com.solid.domain.dto.ProductDto;
+import br.com.solid.utils.FactoryUtils;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class ReportMetricsTest {
+
+    private SimpleMeterRegistry registry;
+    private ReportMetrics reportMetrics;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        reportMetrics = new ReportMetrics(registry);
+    }
+
+    @Test
+    void stop_shouldRecordPhasesRowsAndBytes() throws Exception {
+        var recording = reportMetrics.start("CSV");
+        var received = new ArrayList<ProductDto>();
+        var out = recording.output(new ByteArrayOutputStream());
+
+        recording.rows(FactoryUtils.createSampleProducts(100)).forEach(received::add);
+        out.write(new byte[42]);
+        recording.success();
+        recording.stop();
+
+        assertEquals(100, received.size());
+        for (var phase : List.of("total", "parse", "generate", "write")) {
+            assertEquals(1, registry.get("report.duration")
+                    .tags("extension", "csv", "phase", phase, "outcome", "success").timer().count());
+        }
+        assertEquals(100, registry.get("report.rows").tag("extension", "csv").summary().totalAmount());
+        assertEquals(42, registry.get("report.output").tag("extension", "csv").summary().totalAmount());
+        assertEquals(1, registry.get("report.throughput").tag("extension", "csv").summary().count());
+        assertEquals(0, registry.get("report.in.flight").tag("extension", "csv").gauge().value());
+    }
+
+    @Test
+    void start_shouldCountReportsInFlight() {
+        var recording = reportMetrics.start("txt");
+
+        assertEquals(1, registry.get("report.in.flight").tag("extension", "txt").gauge().value());
+
+        recording.stop();
+
+        assertEquals(1, registry.get("report.duration")
+                .tags("extension", "txt", "phase", "total", "outcome", "error").timer().count());
+        assertEquals(0, registry.find("report.rows").meters().size());
+    }
+
+    @Test
+    void rowsAndOutput_whenDisabled_shouldReturnOriginals() {
+        var recording = new ReportMetrics().start("csv");
+        Iterable<ProductDto> rows = FactoryUtils.createSampleProducts();
+        OutputStream out = new ByteArrayOutputStream();
+
+        assertSame(rows, recording.rows(rows));
+        assertSame(out, recording.output(out));
+        recording.stop();
+    }
+}
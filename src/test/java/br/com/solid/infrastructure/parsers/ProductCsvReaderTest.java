@@ -0,0 +1,83 @@
+package br.com.solid.infrastructure.parsers;
+
+import br.com.solid.domain.dto.ProductDto;
+import br.com.solid.infrastructure.reports.text.ReportCSV;
+import br.com.solid.utils.FactoryUtils;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ProductCsvReaderTest {
+
+    private ProductCsvReader productCsvReader;
+
+    @BeforeEach
+    void setUp() {
+        productCsvReader = new ProductCsvReader();
+    }
+
+    @Test
+    void read_shouldDecodeCsvReport() {
+        var products = List.of(
+                new ProductDto("Cable; 2m \"HDMI\"", new BigDecimal("3.10"), null),
+                new ProductDto(null, null, 4L),
+                new ProductDto("Line\nbreak", new BigDecimal("-1.5"), 0L));
+        var report = new ReportCSV().generateReport(products);
+
+        assertEquals(products, readAll(report));
+    }
+
+    @Test
+    void read_withCommasReorderedColumnsAndCrLf_shouldDecodeProducts() {
+        var csv = "\uFEFFQuantity,Name,PRICE\r\n10,Laptop,10.00\r\n20,\"Phone\",5.00\r\n\r\n15,Tablet,7.50";
+
+        assertEquals(FactoryUtils.createSampleProducts(), readAll(csv.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    @Test
+    void read_withMissingColumns_shouldLeaveThemNull() {
+        var csv = "name\nLaptop\n\"\"\n";
+
+        assertEquals(List.of(new ProductDto("Laptop", null, null), new ProductDto("", null, null)),
+                readAll(csv.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    @Test
+    void read_withUnknownColumn_shouldThrowException() {
+        var csv = "name;weight\nLaptop;2\n".getBytes(StandardCharsets.UTF_8);
+
+        Exception exception = assertThrows(ProductPayloadException.class, () ->
+                productCsvReader.read(new ByteArrayInputStream(csv)));
+        assertEquals("Unknown report column: weight", exception.getMessage());
+    }
+
+    @Test
+    void read_withInvalidNumber_shouldThrowException() {
+        var csv = "name;quantity\nLaptop;10\nPhone;many\n".getBytes(StandardCharsets.UTF_8);
+
+        Exception exception = assertThrows(ProductPayloadException.class, () -> readAll(csv));
+        assertEquals("Invalid quantity in CSV row 2: many", exception.getMessage());
+    }
+
+    @Test
+    void read_withWrongFieldCount_shouldThrowException() {
+        var csv = "name;price\nLaptop;10.00;10\n".getBytes(StandardCharsets.UTF_8);
+
+        Exception exception = assertThrows(ProductPayloadException.class, () -> readAll(csv));
+        assertEquals("CSV row 1 has 3 fields, expected 2", exception.getMessage());
+    }
+
+    private List<ProductDto> readAll(byte[] csv) {
+        List<ProductDto> products = new ArrayList<>();
+        productCsvReader.read(new ByteArrayInputStream(csv)).forEach(products::add);
+        return products;
+    }
+}
@@ -0,0 +1,86 @@
+package br.com.solid.infrastructure.parsers;
+
+import br.com.solid.domain.dto.ProductDto;
+import br.com.solid.utils.FactoryUtils;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ProductJsonReaderTest {
+
+    private ProductJsonReader productJsonReader;
+
+    @BeforeEach
+    void setUp() {
+        productJsonReader = new ProductJsonReader(new ObjectMapper());
+    }
+
+    @Test
+    void read_shouldDecodeProductsIncrementally() {
+        var json = FactoryUtils.createSampleProductsJson().getBytes(StandardCharsets.UTF_8);
+
+        List<ProductDto> products = new ArrayList<>();
+        productJsonReader.read(new ByteArrayInputStream(json)).forEach(products::add);
+
+        assertEquals(FactoryUtils.createSampleProducts(), products);
+    }
+
+    @Test
+    void read_withNonArrayPayload_shouldThrowException() {
+        var json = "{\"name\":\"Laptop\"}".getBytes(StandardCharsets.UTF_8);
+
+        Exception exception = assertThrows(ProductPayloadException.class, () ->
+                productJsonReader.read(new ByteArrayInputStream(json)));
+        assertEquals("Expected a JSON array of products", exception.getMessage());
+    }
+
+    @Test
+    void readLines_shouldDecodeOneProductPerLine() {
+        var lines = """
+                {"name":"Laptop","price":10.00,"quantity":10}
+                {"name":"Phone","price":5.00,"quantity":20}
+
+                {"name":"Tablet","price":7.50,"quantity":15}
+                """.getBytes(StandardCharsets.UTF_8);
+
+        List<ProductDto> products = new ArrayList<>();
+        productJsonReader.readLines(new ByteArrayInputStream(lines)).forEach(products::add);
+
+        assertEquals(FactoryUtils.createSampleProducts(), products);
+    }
+
+    @Test
+    void readLines_withEmptyPayload_shouldReturnNoProducts() {
+        var products = productJsonReader.readLines(new ByteArrayInputStream(new byte[0]));
+
+        assertFalse(products.iterator().hasNext());
+    }
+
+    @Test
+    void readLines_withArrayPayload_shouldThrowException() {
+        var json = FactoryUtils.createSampleProductsJson().getBytes(StandardCharsets.UTF_8);
+
+        Exception exception = assertThrows(ProductPayloadException.class, () ->
+                productJsonReader.readLines(new ByteArrayInputStream(json)));
+        assertEquals("Expected newline-delimited JSON products", exception.getMessage());
+    }
+
+    @Test
+    void read_shouldOnlyBeIterableOnce() {
+        var json = FactoryUtils.createSampleProductsJson().getBytes(StandardCharsets.UTF_8);
+        var products = productJsonReader.read(new ByteArrayInputStream(json));
+
+        products.iterator();
+
+        assertThrows(IllegalStateException.class, products::iterator);
+    }
+}
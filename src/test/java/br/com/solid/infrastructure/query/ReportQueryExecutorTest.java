@@ -0,0 +1,161 @@
+package br.com.solid.infrastructure.query;
+
+import br.com.solid.domain.dto.ProductDto;
+import br.com.solid.utils.FactoryUtils;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ReportQueryExecutorTest {
+
+    @TempDir
+    Path spoolDirectory;
+
+    @Test
+    void execute_withEmptyQuery_shouldHandOverTheRowsUnchanged() {
+        var executor = new ReportQueryExecutor(10, spoolDirectory);
+        var products = FactoryUtils.createSampleProducts();
+
+        assertSame(products, executor.execute(ReportQuery.none(), products, rows -> rows));
+    }
+
+    @Test
+    void execute_withFilterAndLimit_shouldStopReadingOnceTheLimitIsReached() {
+        var executor = new ReportQueryExecutor(10, spoolDirectory);
+        var read = new AtomicInteger();
+        Iterable<ProductDto> products = counting(products(1_000), read);
+        var query = ReportQuery.parse(null, List.of("quantity:ge:500"), null, 3);
+
+        var result = executor.execute(query, products, ReportQueryExecutorTest::quantities);
+
+        assertEquals(List.of(500L, 501L, 502L), result);
+        assertEquals(503, read.get());
+    }
+
+    @Test
+    void execute_withSortAndSmallLimit_shouldKeepTheTopRowsInInputOrderOfTies() {
+        var executor = new ReportQueryExecutor(10, spoolDirectory);
+        var products = List.of(
+                new ProductDto("a", new BigDecimal("1"), 1L),
+                new ProductDto("b", new BigDecimal("3"), 2L),
+                new ProductDto("c", new BigDecimal("2"), 3L),
+                new ProductDto("d", new BigDecimal("3"), 4L),
+                new ProductDto("e", new BigDecimal("3"), 5L));
+        var query = ReportQuery.parse(null, null, "price:desc", 3);
+
+        var result = executor.execute(query, products, ReportQueryExecutorTest::quantities);
+
+        assertEquals(List.of(2L, 4L, 5L), result);
+    }
+
+    @Test
+    void execute_withLargeSort_shouldMergeSpilledRuns() throws Exception {
+        var executor = new ReportQueryExecutor(100, spoolDirectory);
+        var products = products(1_050);
+        var query = ReportQuery.parse(null, null, "price:desc,quantity", null);
+
+        var result = executor.execute(query, products, rows -> {
+            var sorted = new ArrayList<ProductDto>();
+            rows.forEach(sorted::add);
+            return sorted;
+        });
+
+        var expected = new ArrayList<>(products);
+        expected.sort(query.getOrder());
+        assertEquals(expected, result);
+        assertEmpty(spoolDirectory);
+    }
+
+    @Test
+    void execute_withLargeSortAndLimit_shouldTruncateTheMergedRows() throws Exception {
+        var executor = new ReportQueryExecutor(100, spoolDirectory);
+        var query = ReportQuery.parse(null, null, "quantity:desc", 250);
+
+        var result = executor.execute(query, products(1_000), ReportQueryExecutorTest::quantities);
+
+        assertEquals(250, result.size());
+        assertEquals(999L, result.get(0));
+        assertEquals(750L, result.get(249));
+        assertEmpty(spoolDirectory);
+    }
+
+    @Test
+    void execute_whenConsumerFails_shouldRemoveSpilledRuns() throws Exception {
+        var executor = new ReportQueryExecutor(100, spoolDirectory);
+        var query = ReportQuery.parse(null, null, "name", null);
+
+        assertThrows(IllegalStateException.class, () -> executor.execute(query, products(1_000), rows -> {
+            rows.iterator().next();
+            throw new IllegalStateException("client went away");
+        }));
+        assertEmpty(spoolDirectory);
+    }
+
+    @Test
+    void sort_shouldPreserveTheExactPricesOfSpilledRows() {
+        var products = List.of(
+                new ProductDto("a", new BigDecimal("1.50"), 1L),
+                new ProductDto(null, null, null),
+                new ProductDto("c", new BigDecimal("123456789012345678901234567890.1"), 3L));
+        Comparator<ProductDto> order = Comparator.comparing(ProductDto::getQuantity,
+                Comparator.nullsLast(Comparator.naturalOrder()));
+
+        try (var sorted = ExternalSort.sort(products, order, 1, spoolDirectory)) {
+            var result = new ArrayList<ProductDto>();
+            sorted.forEach(result::add);
+
+            assertEquals(3, sorted.getSpilledRuns());
+            assertEquals(List.of(products.get(0), products.get(2), products.get(1)), result);
+        }
+    }
+
+    private static List<ProductDto> products(int count) {
+        var products = new ArrayList<ProductDto>(count);
+        for (int i = 0; i < count; i++) {
+            products.add(new ProductDto("Product " + (i * 7919 % count), BigDecimal.valueOf(i % 37, 2), (long) i));
+        }
+        return products;
+    }
+
+    private static List<Long> quantities(Iterable<ProductDto> rows) {
+        var quantities = new ArrayList<Long>();
+        rows.forEach(product -> quantities.add(product.getQuantity()));
+        return quantities;
+    }
+
+    private static Iterable<ProductDto> counting(List<ProductDto> products, AtomicInteger read) {
+        return () -> new Iterator<>() {
+            private final Iterator<ProductDto> source = products.iterator();
+
+            @Override
+            public boolean hasNext() {
+                return source.hasNext();
+            }
+
+            @Override
+            public ProductDto next() {
+                read.incrementAndGet();
+                return source.next();
+            }
+        };
+    }
+
+    private static void assertEmpty(Path directory) throws Exception {
+        try (var files = Files.list(directory)) {
+            assertTrue(files.findAny().isEmpty());
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package br.com.solid.infrastructure.query;
+
+import br.com.solid.domain.dto.ProductDto;
+import br.com.solid.infrastructure.reports.schema.ReportColumn;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ReportQueryTest {
+
+    @Test
+    void parse_withoutParameters_shouldReturnEmptyQuery() {
+        assertSame(ReportQuery.none(), ReportQuery.parse(null, null, null, null));
+        assertSame(ReportQuery.none(), ReportQuery.parse("name,price,quantity", List.of(), "", null));
+        assertEquals("", ReportQuery.none().toString());
+    }
+
+    @Test
+    void parse_shouldProjectColumns() {
+        var query = ReportQuery.parse("price, NAME", null, null, null);
+
+        var names = query.getSchema().getColumns().stream().map(ReportColumn::getName).toList();
+
+        assertEquals(List.of("price", "name"), names);
+        assertFalse(query.isEmpty());
+    }
+
+    @Test
+    void matches_shouldCompareValuesInTheColumnType() {
+        var query = ReportQuery.parse(null, List.of("price:eq:10", "quantity:gt:0", "name:ne:Mouse"), null, null);
+
+        assertTrue(query.matches(new ProductDto("Laptop", new BigDecimal("10.00"), 1L)));
+        assertFalse(query.matches(new ProductDto("Laptop", new BigDecimal("10.01"), 1L)));
+        assertFalse(query.matches(new ProductDto("Laptop", new BigDecimal("10.00"), 0L)));
+        assertFalse(query.matches(new ProductDto("Mouse", new BigDecimal("10.00"), 1L)));
+        assertFalse(query.matches(new ProductDto("Laptop", new BigDecimal("10.00"), null)));
+    }
+
+    @Test
+    void matches_shouldKeepColonsInTheValue() {
+        var query = ReportQuery.parse(null, List.of("name:eq:a:b"), null, null);
+
+        assertTrue(query.matches(new ProductDto("a:b", BigDecimal.ONE, 1L)));
+        assertEquals("columns=name,price,quantity&filter=name:eq:a%3Ab", query.toString());
+    }
+
+    @Test
+    void toString_shouldNotConfuseOneFilterWithSeveral() {
+        var one = ReportQuery.parse(null, List.of("name:eq:a&filter=name:ne:b"), null, null);
+        var two = ReportQuery.parse(null, List.of("name:eq:a", "name:ne:b"), null, null);
+
+        assertEquals("columns=name,price,quantity&filter=name:eq:a%26filter%3Dname%3Ane%3Ab", one.toString());
+        assertNotEquals(one.toString(), two.toString());
+    }
+
+    @Test
+    void getOrder_shouldSortByKeysWithMissingValuesLast() {
+        var query = ReportQuery.parse(null, null, "quantity:desc,name", null);
+        var products = new ArrayList<>(List.of(
+                new ProductDto("B", BigDecimal.ONE, 1L),
+                new ProductDto("Z", BigDecimal.ONE, null),
+                new ProductDto("C", BigDecimal.ONE, 5L),
+                new ProductDto("A", BigDecimal.ONE, 1L)));
+
+        products.sort(query.getOrder());
+
+        assertEquals(List.of("C", "A", "B", "Z"), products.stream().map(ProductDto::getName).toList());
+        assertTrue(query.isSorted());
+    }
+
+    @Test
+    void parse_withInvalidParameters_shouldThrowException() {
+        assertThrows(ReportQueryException.class, () -> ReportQuery.parse("weight", null, null, null));
+        assertThrows(ReportQueryException.class, () -> ReportQuery.parse(null, List.of("quantity>0"), null, null));
+        assertThrows(ReportQueryException.class, () -> ReportQuery.parse(null, List.of("quantity:like:0"), null, null));
+        assertThrows(ReportQueryException.class, () -> ReportQuery.parse(null, List.of("quantity:gt:many"), null, null));
+        assertThrows(ReportQueryException.class, () -> ReportQuery.parse(null, null, "price:up", null));
+        assertThrows(ReportQueryException.class, () -> ReportQuery.parse(null, null, null, 0));
+    }
+}
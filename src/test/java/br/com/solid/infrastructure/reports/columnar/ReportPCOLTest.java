@@ -0,0 +1,291 @@
+package br.com.solid.infrastructure.reports.columnar;
+
+import br.com.solid.domain.dto.ProductDto;
+import br.com.solid.infrastructure.buffer.ReportBufferPool;
+import br.com.solid.infrastructure.reports.format.ReportNumberFormat;
+import br.com.solid.infrastructure.reports.schema.ReportSchema;
+import br.com.solid.infrastructure.reports.text.ReportCSV;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.RoundingMode;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ReportPCOLTest {
+
+    private static final Pattern COLUMN_TYPE = Pattern.compile("\"type\":\"(\\w+)\"");
+
+    @Test
+    void generateReport_shouldRoundTripTypedColumnsAcrossRowGroups() {
+        List<ProductDto> products = List.of(
+                new ProductDto("Laptop", new BigDecimal("1500.5"), 10L),
+                new ProductDto(null, new BigDecimal("-0.25"), null),
+                new ProductDto("Café ☕ 𝄞", null, -3L),
+                new ProductDto("Phone", new BigDecimal("7"), Long.MAX_VALUE),
+                new ProductDto("Tablet", new BigDecimal("12345678901234567890.123"), 0L));
+
+        var file = read(generate(new ReportPCOL(ReportNumberFormat.defaults(), ReportBufferPool.unpooled(), 2), products));
+
+        assertEquals("{\"format\":\"pcol\",\"version\":1,\"columns\":[{\"name\":\"name\",\"type\":\"string\"},"
+                + "{\"name\":\"price\",\"type\":\"decimal\"},{\"name\":\"quantity\",\"type\":\"int64\"}]}", file.schema);
+        assertEquals(3, file.rowGroups.size());
+        assertEquals(5, file.totalRows);
+        assertSameProducts(products, file.rows());
+        assertEquals(2, file.rowGroups.get(0).get(1).scale);
+    }
+
+    @Test
+    void generateReport_withRepeatedNames_shouldUseDictionaryAndNarrowWidths() {
+        var products = new ArrayList<ProductDto>();
+        for (int i = 0; i < 1_000; i++) {
+            products.add(new ProductDto("Product " + (i % 10), BigDecimal.valueOf(i % 100, 2), (long) i % 50));
+        }
+
+        var report = generate(new ReportPCOL(), products);
+        var file = read(report);
+
+        var columns = file.rowGroups.get(0);
+        assertEquals(ReportPCOL.DICTIONARY, columns.get(0).encoding);
+        assertEquals(10, columns.get(0).dictionarySize);
+        assertEquals(1, columns.get(0).width);
+        assertEquals(1, columns.get(1).width);
+        assertEquals(2, columns.get(1).scale);
+        assertEquals(1, columns.get(2).width);
+        assertSameProducts(products, file.rows());
+        assertTrue(report.length * 3 < new ReportCSV().generateReport(products).length);
+    }
+
+    @Test
+    void generateReport_withUniqueNames_shouldStorePlainStrings() {
+        var products = List.of(new ProductDto("a", BigDecimal.ONE, 1L), new ProductDto("b", BigDecimal.TEN, 2L));
+
+        var file = read(generate(new ReportPCOL(), products));
+
+        assertEquals(ReportPCOL.PLAIN, file.rowGroups.get(0).get(0).encoding);
+        assertSameProducts(products, file.rows());
+    }
+
+    @Test
+    void generateReport_withFixedScale_shouldRoundDecimals() {
+        var products = List.of(new ProductDto("Rounded", new BigDecimal("2.345"), 1L));
+
+        var file = read(generate(new ReportPCOL(ReportNumberFormat.of(2, RoundingMode.HALF_UP, Locale.ROOT)), products));
+
+        assertEquals(2, file.rowGroups.get(0).get(1).scale);
+        assertEquals(new BigDecimal("2.35"), file.rows().get(0).getPrice());
+    }
+
+    @Test
+    void generateReport_withSelectedColumns_shouldWriteOnlyThem() {
+        var schema = ReportSchema.of(ProductDto.class).select(List.of("quantity", "name"));
+        var out = new ByteArrayOutputStream();
+
+        new ReportPCOL().generateReport(List.of(new ProductDto("Phone", BigDecimal.ONE, 20L)), out, schema);
+
+        var file = read(out.toByteArray());
+        assertTrue(file.schema.contains("[{\"name\":\"quantity\",\"type\":\"int64\"},{\"name\":\"name\",\"type\":\"string\"}]"));
+        assertEquals(List.of(20L, "Phone"), file.rowGroups.get(0).stream().map(column -> column.values.get(0)).toList());
+    }
+
+    @Test
+    void generateReport_withEmptyInput_shouldWriteSchemaOnly() {
+        var file = read(generate(new ReportPCOL(), List.of()));
+
+        assertEquals(0, file.rowGroups.size());
+        assertEquals(0, file.totalRows);
+    }
+
+    @Test
+    void constructor_withInvalidRowGroupSize_shouldThrowException() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new ReportPCOL(ReportNumberFormat.defaults(), ReportBufferPool.unpooled(), 0));
+    }
+
+    /**
+     * Compares products by value; decimals come back with the scale of their row group.
+     */
+    private static void assertSameProducts(List<ProductDto> expected, List<ProductDto> actual) {
+        assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(expected.get(i).getName(), actual.get(i).getName());
+            assertEquals(expected.get(i).getQuantity(), actual.get(i).getQuantity());
+            var expectedPrice = expected.get(i).getPrice();
+            var actualPrice = actual.get(i).getPrice();
+            assertTrue(Objects.isNull(expectedPrice) ? Objects.isNull(actualPrice)
+                    : expectedPrice.compareTo(actualPrice) == 0, "price of row " + i);
+        }
+    }
+
+    private static byte[] generate(ReportPCOL generator, List<ProductDto> products) {
+        var out = new ByteArrayOutputStream();
+        generator.generateReport(products, out);
+        return out.toByteArray();
+    }
+
+    /**
+     * Minimal reader of the documented layout, which also checks that every section is aligned.
+     */
+    private static PcolFile read(byte[] report) {
+        var buffer = ByteBuffer.wrap(report).order(ByteOrder.LITTLE_ENDIAN);
+        var magic = new byte[]{'P', 'C', 'O', 'L', 1, 0, 0, 0};
+        assertEquals(Arrays.toString(magic), Arrays.toString(bytes(buffer, 8)));
+
+        var schemaLength = buffer.getInt();
+        buffer.getInt();
+        var schema = new String(bytes(buffer, schemaLength), StandardCharsets.UTF_8);
+        align(buffer);
+        var types = COLUMN_TYPE.matcher(schema).results().map(match -> match.group(1)).toList();
+
+        var rowGroups = new ArrayList<List<Column>>();
+        while (true) {
+            var rowCount = buffer.getInt();
+            var columnCount = buffer.getInt();
+            if (rowCount == 0) {
+                break;
+            }
+            assertEquals(types.size(), columnCount);
+            var columns = new ArrayList<Column>();
+            for (var type : types) {
+                columns.add(readColumn(buffer, type, rowCount));
+            }
+            rowGroups.add(columns);
+        }
+        var totalRows = buffer.getLong();
+        assertEquals(Arrays.toString(magic), Arrays.toString(bytes(buffer, 8)));
+        assertEquals(report.length, buffer.position());
+        return new PcolFile(schema, rowGroups, totalRows);
+    }
+
+    private static Column readColumn(ByteBuffer buffer, String type, int rowCount) {
+        var column = new Column();
+        column.encoding = buffer.get();
+        column.width = buffer.get();
+        buffer.getShort();
+        column.scale = buffer.getInt();
+        var nullCount = buffer.getInt();
+        column.dictionarySize = buffer.getInt();
+        var bodyLength = buffer.getLong();
+        var bodyStart = buffer.position();
+        assertEquals(0, bodyStart % 8);
+
+        var valid = new boolean[rowCount];
+        Arrays.fill(valid, true);
+        if (nullCount > 0) {
+            var bitmap = bytes(buffer, (rowCount + 7) / 8);
+            for (int i = 0; i < rowCount; i++) {
+                valid[i] = (bitmap[i / 8] & (1 << (i % 8))) != 0;
+            }
+            align(buffer);
+        }
+
+        if (type.equals("string")) {
+            var count = column.encoding == ReportPCOL.DICTIONARY ? column.dictionarySize : rowCount;
+            var strings = readStrings(buffer, count);
+            for (int i = 0; i < rowCount; i++) {
+                var index = column.encoding == ReportPCOL.DICTIONARY ? (int) readFixed(buffer, column.width, false) : i;
+                column.values.add(valid[i] ? strings.get(index) : null);
+            }
+        } else {
+            for (int i = 0; i < rowCount; i++) {
+                BigInteger value = column.width == 16 ? readInt128(buffer) : BigInteger.valueOf(readFixed(buffer, column.width, true));
+                Object decoded = type.equals("decimal") ? new BigDecimal(value, column.scale) : value.longValueExact();
+                column.values.add(valid[i] ? decoded : null);
+            }
+        }
+        align(buffer);
+        assertEquals(bodyLength, buffer.position() - bodyStart);
+        return column;
+    }
+
+    private static List<String> readStrings(ByteBuffer buffer, int count) {
+        var offsets = new int[count + 1];
+        for (int i = 0; i <= count; i++) {
+            offsets[i] = buffer.getInt();
+        }
+        align(buffer);
+        var data = bytes(buffer, offsets[count]);
+        align(buffer);
+        var strings = new ArrayList<String>();
+        for (int i = 0; i < count; i++) {
+            strings.add(new String(data, offsets[i], offsets[i + 1] - offsets[i], StandardCharsets.UTF_8));
+        }
+        return strings;
+    }
+
+    private static long readFixed(ByteBuffer buffer, int width, boolean signed) {
+        return switch (width) {
+            case 1 -> signed ? buffer.get() : Byte.toUnsignedLong(buffer.get());
+            case 2 -> signed ? buffer.getShort() : Short.toUnsignedLong(buffer.getShort());
+            case 4 -> signed ? buffer.getInt() : Integer.toUnsignedLong(buffer.getInt());
+            default -> buffer.getLong();
+        };
+    }
+
+    private static BigInteger readInt128(ByteBuffer buffer) {
+        var littleEndian = bytes(buffer, 16);
+        var bigEndian = new byte[16];
+        for (int i = 0; i < 16; i++) {
+            bigEndian[i] = littleEndian[15 - i];
+        }
+        return new BigInteger(bigEndian);
+    }
+
+    private static byte[] bytes(ByteBuffer buffer, int length) {
+        var bytes = new byte[length];
+        buffer.get(bytes);
+        return bytes;
+    }
+
+    private static void align(ByteBuffer buffer) {
+        while (buffer.position() % 8 != 0) {
+            assertEquals(0, buffer.get());
+        }
+    }
+
+    private static final class Column {
+
+        private int encoding;
+        private int width;
+        private int scale;
+        private int dictionarySize;
+        private final List<Object> values = new ArrayList<>();
+    }
+
+    private static final class PcolFile {
+
+        private final String schema;
+        private final List<List<Column>> rowGroups;
+        private final long totalRows;
+
+        private PcolFile(String schema, List<List<Column>> rowGroups, long totalRows) {
+            this.schema = schema;
+            this.rowGroups = rowGroups;
+            this.totalRows = totalRows;
+        }
+
+        private List<ProductDto> rows() {
+            var rows = new ArrayList<ProductDto>();
+            for (var columns : rowGroups) {
+                for (int i = 0; i < columns.get(0).values.size(); i++) {
+                    rows.add(new ProductDto((String) columns.get(0).values.get(i),
+                            (BigDecimal) columns.get(1).values.get(i), (Long) columns.get(2).values.get(i)));
+                }
+            }
+            return rows;
+        }
+    }
+}
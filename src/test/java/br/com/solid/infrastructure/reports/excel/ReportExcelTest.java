@@ -37,8 +37,23 @@ class ReportExcelTest {
 
             var dataRow = sheet.getRow(1);
             assertEquals("Laptop", dataRow.getCell(0).getStringCellValue());
-            assertEquals("10.00", dataRow.getCell(1).getStringCellValue());
-            assertEquals("10", dataRow.getCell(2).getStringCellValue());
+            assertEquals(10.0, dataRow.getCell(1).getNumericCellValue());
+            assertEquals("0.00", dataRow.getCell(1).getCellStyle().getDataFormatString());
+            assertEquals(10.0, dataRow.getCell(2).getNumericCellValue());
         }
     }
-}
\ No newline at end of file
+
+    @Test
+    void generateReport_calledTwice_shouldCreateIndependentWorkbooks() throws Exception {
+        List<ProductDto> products = FactoryUtils.createSampleProducts();
+
+        ReportExcel reportExcel = new ReportExcel();
+
+        reportExcel.generateReport(products);
+        byte[] report = reportExcel.generateReport(products.subList(0, 1));
+
+        try (Workbook workbook = new HSSFWorkbook(new ByteArrayInputStream(report))) {
+            assertEquals(1, workbook.getSheetAt(0).getLastRowNum());
+        }
+    }
+}
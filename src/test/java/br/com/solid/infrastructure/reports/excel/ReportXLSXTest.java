@@ -0,0 +1,106 @@
+package br.com.solid.infrastructure.reports.excel;
+
+import br.com.solid.domain.dto.ProductDto;
+import br.com.solid.utils.FactoryUtils;
+import br.com.solid.infrastructure.reports.format.ReportNumberFormat;
+import org.apache.poi.ss.usermodel.CellType;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ReportXLSXTest {
+
+    @Test
+    void generateReport_shouldReturnXLSXFile() throws Exception {
+        List<ProductDto> products = FactoryUtils.createSampleProducts();
+
+        ReportXLSX reportXLSX = new ReportXLSX();
+
+        byte[] report = reportXLSX.generateReport(products);
+
+        assertNotNull(report);
+        assertTrue(report.length > 0);
+
+        try (Workbook workbook = new XSSFWorkbook(new ByteArrayInputStream(report))) {
+            assertEquals(1, workbook.getNumberOfSheets());
+            var sheet = workbook.getSheetAt(0);
+
+            var headerRow = sheet.getRow(0);
+            assertEquals("name", headerRow.getCell(0).getStringCellValue());
+            assertEquals("price", headerRow.getCell(1).getStringCellValue());
+            assertEquals("quantity", headerRow.getCell(2).getStringCellValue());
+
+            var dataRow = sheet.getRow(3);
+            assertEquals("Tablet", dataRow.getCell(0).getStringCellValue());
+            assertEquals(7.5, dataRow.getCell(1).getNumericCellValue());
+            assertEquals("0.00", dataRow.getCell(1).getCellStyle().getDataFormatString());
+            assertEquals(15.0, dataRow.getCell(2).getNumericCellValue());
+        }
+    }
+
+    @Test
+    void generateReport_withNumberFormat_shouldRoundDecimalsAndKeepUnrepresentableNumbersAsText() throws Exception {
+        List<ProductDto> products = List.of(
+                new ProductDto("Rounded", new BigDecimal("2.345"), 1L),
+                new ProductDto("Missing", null, null),
+                new ProductDto("Huge", new BigDecimal("12345678901234567.5"), Long.MAX_VALUE));
+
+        byte[] report = new ReportXLSX(ReportNumberFormat.of(2, RoundingMode.HALF_UP, Locale.ROOT)).generateReport(products);
+
+        try (Workbook workbook = new XSSFWorkbook(new ByteArrayInputStream(report))) {
+            var sheet = workbook.getSheetAt(0);
+            assertEquals(2.35, sheet.getRow(1).getCell(1).getNumericCellValue());
+            assertEquals("0.00", sheet.getRow(1).getCell(1).getCellStyle().getDataFormatString());
+            assertEquals(CellType.BLANK, sheet.getRow(2).getCell(1).getCellType());
+            assertEquals(CellType.BLANK, sheet.getRow(2).getCell(2).getCellType());
+            assertEquals("12345678901234567.50", sheet.getRow(3).getCell(1).getStringCellValue());
+            assertEquals(String.valueOf(Long.MAX_VALUE), sheet.getRow(3).getCell(2).getStringCellValue());
+        }
+    }
+
+    @Test
+    void generateReport_withRowsBeyondWindow_shouldKeepAllRows() throws Exception {
+        List<ProductDto> products = FactoryUtils.createSampleProducts(250);
+
+        byte[] report = new ReportXLSX(10).generateReport(products);
+
+        try (Workbook workbook = new XSSFWorkbook(new ByteArrayInputStream(report))) {
+            assertEquals(250, workbook.getSheetAt(0).getLastRowNum());
+        }
+    }
+
+    @Test
+    void generateReport_concurrently_shouldNotShareWorkbooks() throws Exception {
+        ReportXLSX reportXLSX = new ReportXLSX();
+        var executor = Executors.newFixedThreadPool(4);
+
+        try {
+            List<Callable<byte[]>> tasks = IntStream.rangeClosed(1, 8)
+                    .mapToObj(size -> (Callable<byte[]>) () -> reportXLSX.generateReport(FactoryUtils.createSampleProducts(size)))
+                    .toList();
+
+            var results = executor.invokeAll(tasks);
+
+            for (int i = 0; i < results.size(); i++) {
+                try (Workbook workbook = new XSSFWorkbook(new ByteArrayInputStream(results.get(i).get()))) {
+                    assertEquals(i + 1, workbook.getSheetAt(0).getLastRowNum());
+                }
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package br.com.solid.infrastructure.reports.format;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Locale;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ReportNumberFormatTest {
+
+    @Test
+    void of_withoutScaleAndWithDot_shouldReturnDefaults() {
+        assertSame(ReportNumberFormat.defaults(), ReportNumberFormat.of(null, RoundingMode.HALF_UP, Locale.ROOT));
+        assertSame(ReportNumberFormat.defaults(), ReportNumberFormat.of(null, RoundingMode.HALF_UP, Locale.US));
+    }
+
+    @Test
+    void of_withLocale_shouldUseItsDecimalSeparator() {
+        assertEquals(',', ReportNumberFormat.of(null, RoundingMode.HALF_EVEN, Locale.forLanguageTag("pt-BR")).getDecimalSeparator());
+    }
+
+    @Test
+    void of_withNegativeScale_shouldThrowException() {
+        assertThrows(IllegalArgumentException.class, () -> ReportNumberFormat.of(-1, RoundingMode.HALF_EVEN, Locale.ROOT));
+    }
+
+    @Test
+    void round_shouldApplyScaleAndRoundingMode() {
+        var halfEven = ReportNumberFormat.of(2, RoundingMode.HALF_EVEN, Locale.ROOT);
+        var halfUp = ReportNumberFormat.of(2, RoundingMode.HALF_UP, Locale.ROOT);
+        var value = new BigDecimal("0.125");
+
+        assertEquals(new BigDecimal("0.12"), halfEven.round(value));
+        assertEquals(new BigDecimal("0.13"), halfUp.round(value));
+        assertEquals(new BigDecimal("3.00"), halfUp.round(new BigDecimal("3")));
+    }
+
+    @Test
+    void round_withoutScale_shouldReturnTheSameValue() {
+        var value = new BigDecimal("1.23456");
+
+        assertSame(value, ReportNumberFormat.defaults().round(value));
+    }
+}
@@ -0,0 +1,89 @@
+package br.com.solid.infrastructure.reports.schema;
+
+import br.com.solid.domain.annotations.ReportField;
+import br.com.solid.domain.dto.ProductDto;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ReportSchemaTest {
+
+    @Test
+    void of_shouldResolveColumnsInDeclaredOrder() {
+        var schema = ReportSchema.of(ProductDto.class);
+
+        var names = schema.getColumns().stream().map(ReportColumn::getName).toList();
+
+        assertEquals(List.of("name", "price", "quantity"), names);
+        assertEquals(BigDecimal.class, schema.getColumns().get(1).getType());
+    }
+
+    @Test
+    void of_shouldReadValuesThroughCompiledAccessors() {
+        var schema = ReportSchema.of(ProductDto.class);
+        var product = new ProductDto("Laptop", new BigDecimal("10.00"), null);
+
+        assertEquals("Laptop", schema.getColumns().get(0).getValue(product));
+        assertEquals(new BigDecimal("10.00"), schema.getColumns().get(1).getValue(product));
+        assertNull(schema.getColumns().get(2).getValue(product));
+    }
+
+    @Test
+    void of_shouldCacheSchemaPerClass() {
+        assertSame(ReportSchema.of(ProductDto.class), ReportSchema.of(ProductDto.class));
+    }
+
+    @Test
+    void select_shouldKeepOnlyTheGivenColumnsInTheGivenOrder() {
+        var schema = ReportSchema.of(ProductDto.class).select(List.of("QUANTITY", "name"));
+
+        var names = schema.getColumns().stream().map(ReportColumn::getName).toList();
+
+        assertEquals(List.of("quantity", "name"), names);
+        assertSame(ReportSchema.of(ProductDto.class).getColumn("name"), schema.getColumn("name"));
+    }
+
+    @Test
+    void select_withUnknownOrDuplicateColumn_shouldThrowException() {
+        var schema = ReportSchema.of(ProductDto.class);
+
+        assertThrows(IllegalArgumentException.class, () -> schema.select(List.of("name", "weight")));
+        assertThrows(IllegalArgumentException.class, () -> schema.select(List.of("name", "Name")));
+        assertThrows(IllegalArgumentException.class, () -> schema.select(List.of()));
+    }
+
+    @Test
+    void of_shouldHonourAnnotationsAndReadFieldsWithoutGetters() {
+        var schema = ReportSchema.of(Sample.class);
+
+        var names = schema.getColumns().stream().map(ReportColumn::getName).toList();
+
+        assertEquals(List.of("first", "code", "unordered"), names);
+        assertEquals(7L, schema.getColumns().get(1).getValue(new Sample()));
+        assertEquals(true, schema.getColumns().get(2).getValue(new Sample()));
+    }
+
+    @SuppressWarnings("unused")
+    private static class Sample {
+
+        private static final String IGNORED = "ignored";
+
+        private boolean unordered = true;
+
+        @ReportField(order = 1, name = "code")
+        private long id = 7L;
+
+        @ReportField(order = 0)
+        private String first;
+
+        public boolean isUnordered() {
+            return unordered;
+        }
+    }
+}
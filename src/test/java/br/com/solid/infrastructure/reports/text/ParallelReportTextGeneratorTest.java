@@ -0,0 +1,131 @@
+package br.com.solid.infrastructure.reports.text;
+
+import br.com.solid.domain.dto.ProductDto;
+import br.com.solid.infrastructure.buffer.ReportBufferPool;
+import br.com.solid.infrastructure.reports.format.ReportNumberFormat;
+import br.com.solid.infrastructure.reports.schema.ReportSchema;
+import br.com.solid.utils.FactoryUtils;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ParallelReportTextGeneratorTest {
+
+    private ExecutorService pool;
+
+    @BeforeEach
+    void setUp() {
+        pool = new ForkJoinPool(3);
+    }
+
+    @AfterEach
+    void tearDown() {
+        pool.shutdownNow();
+    }
+
+    @Test
+    void generateReport_shouldMatchSequentialCSVOutput() {
+        List<ProductDto> products = new ArrayList<>(FactoryUtils.createSampleProducts(10_003));
+        products.add(new ProductDto(null, null, null));
+
+        var parallel = new ParallelReportTextGenerator(new ReportCSV(), pool, 100, 4);
+
+        assertArrayEquals(new ReportCSV().generateReport(products), parallel.generateReport(products));
+    }
+
+    @Test
+    void generateReport_shouldMatchSequentialTXTOutput() {
+        List<ProductDto> products = FactoryUtils.createSampleProducts(2_500);
+
+        var parallel = new ParallelReportTextGenerator(new ReportTXT(), pool, 1_000, 1);
+
+        assertArrayEquals(new ReportTXT().generateReport(products), parallel.generateReport(products));
+    }
+
+    @Test
+    void generateReport_withBufferPool_shouldReturnEveryChunk() {
+        List<ProductDto> products = FactoryUtils.createSampleProducts(5_000);
+        var bufferPool = new ReportBufferPool(1024, 1024 * 1024);
+        var format = new ReportCSV(ReportNumberFormat.defaults(), bufferPool);
+        var parallel = new ParallelReportTextGenerator(format, pool, 500, 4);
+
+        assertArrayEquals(new ReportCSV().generateReport(products), parallel.generateReport(products));
+        var allocated = bufferPool.getAllocated();
+        assertArrayEquals(new ReportCSV().generateReport(products), parallel.generateReport(products));
+
+        assertEquals(0, bufferPool.getInUse());
+        assertTrue(bufferPool.getAllocated() < 2 * allocated);
+    }
+
+    @Test
+    void generateReport_whenInputFailsWhileChunksAreEncoding_shouldReturnTheirBuffers() {
+        var bufferPool = new ReportBufferPool(1024, 1024 * 1024);
+        var encoding = new CountDownLatch(1);
+        var format = new ReportCSV(ReportNumberFormat.defaults(), bufferPool) {
+            @Override
+            protected void writeData(TextReportEncoder encoder, ReportSchema<ProductDto> schema, ProductDto product) throws Exception {
+                encoding.countDown();
+                Thread.sleep(20);
+                super.writeData(encoder, schema, product);
+            }
+        };
+        var parallel = new ParallelReportTextGenerator(format, pool, 10, 4);
+        var products = FactoryUtils.createSampleProducts(30);
+        Iterable<ProductDto> failing = () -> new Iterator<>() {
+            private int next;
+
+            @Override
+            public boolean hasNext() {
+                if (next == 30) {
+                    awaitQuietly(encoding);
+                    throw new IllegalStateException("Payload failed");
+                }
+                return true;
+            }
+
+            @Override
+            public ProductDto next() {
+                return products.get(next++);
+            }
+        };
+
+        assertThrows(RuntimeException.class, () -> parallel.generateReport(failing, new ByteArrayOutputStream(),
+                ReportSchema.of(ProductDto.class)));
+
+        assertEquals(0, bufferPool.getInUse());
+        assertEquals(0, bufferPool.getLeaked());
+    }
+
+    @Test
+    void generateReport_withEmptyInput_shouldWriteOnlyHeader() {
+        var parallel = new ParallelReportTextGenerator(new ReportTXT(), pool, 10, 2);
+
+        assertArrayEquals(new ReportTXT().generateReport(List.of()), parallel.generateReport(List.of()));
+    }
+
+    @Test
+    void constructor_withInvalidChunkSize_shouldThrowException() {
+        assertThrows(IllegalArgumentException.class, () -> new ParallelReportTextGenerator(new ReportCSV(), pool, 0, 1));
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
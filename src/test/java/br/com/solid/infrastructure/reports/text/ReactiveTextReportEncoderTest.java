@@ -0,0 +1,87 @@
+package br.com.solid.infrastructure.reports.text;
+
+import br.com.solid.domain.dto.ProductDto;
+import br.com.solid.infrastructure.reports.schema.ReportSchema;
+import br.com.solid.utils.FactoryUtils;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ReactiveTextReportEncoderTest {
+
+    private static final ReportSchema<ProductDto> SCHEMA = ReportSchema.of(ProductDto.class);
+    private static final DataBufferFactory BUFFERS = DefaultDataBufferFactory.sharedInstance;
+
+    @Test
+    void encode_shouldMatchCSVOutput() {
+        List<ProductDto> products = new ArrayList<>(FactoryUtils.createSampleProducts(1_003));
+        products.add(new ProductDto(null, null, null));
+
+        var encoder = new ReactiveTextReportEncoder(new ReportCSV(), 100);
+        var report = encoder.encode(Flux.fromIterable(products), SCHEMA, BUFFERS);
+
+        assertArrayEquals(new ReportCSV().generateReport(products), join(report));
+    }
+
+    @Test
+    void encode_shouldMatchTXTOutputWithProjectedColumns() {
+        var products = FactoryUtils.createSampleProducts(250);
+        var schema = SCHEMA.select(List.of("quantity", "name"));
+
+        var expected = new ByteArrayOutputStream();
+        new ReportTXT().generateReport(products, expected, schema);
+        var encoder = new ReactiveTextReportEncoder(new ReportTXT(), 7);
+        var report = encoder.encode(Flux.fromIterable(products), schema, BUFFERS);
+
+        assertArrayEquals(expected.toByteArray(), join(report));
+    }
+
+    @Test
+    void encode_shouldOnlyReadTheRowsOfTheRequestedBuffers() {
+        var requested = new AtomicLong();
+        var products = Flux.fromIterable(FactoryUtils.createSampleProducts(10_000))
+                .doOnRequest(n -> requested.accumulateAndGet(n, (a, b) -> Math.min(Long.MAX_VALUE, a + b)));
+
+        var encoder = new ReactiveTextReportEncoder(new ReportCSV(), 10);
+
+        StepVerifier.create(encoder.encode(products, SCHEMA, BUFFERS), 3)
+                .expectNextCount(3)
+                .thenCancel()
+                .verify();
+
+        assertEquals(30, requested.get());
+    }
+
+    @Test
+    void encode_withEmptyInput_shouldWriteOnlyHeader() {
+        var encoder = new ReactiveTextReportEncoder(new ReportTXT(), 10);
+
+        assertArrayEquals(new ReportTXT().generateReport(List.of()), join(encoder.encode(Flux.empty(), SCHEMA, BUFFERS)));
+    }
+
+    @Test
+    void constructor_withInvalidBatchSize_shouldThrowException() {
+        assertThrows(IllegalArgumentException.class, () -> new ReactiveTextReportEncoder(new ReportCSV(), 0));
+    }
+
+    private static byte[] join(Flux<DataBuffer> report) {
+        var joined = DataBufferUtils.join(report).block();
+        var bytes = new byte[joined.readableByteCount()];
+        joined.read(bytes);
+        DataBufferUtils.release(joined);
+        return bytes;
+    }
+}
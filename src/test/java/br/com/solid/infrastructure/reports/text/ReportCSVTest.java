@@ -1,13 +1,19 @@
 package br.com.solid.infrastructure.reports.text;
 
 import br.com.solid.domain.dto.ProductDto;
+import br.com.solid.infrastructure.reports.format.ReportNumberFormat;
 import br.com.solid.utils.FactoryUtils;
 import org.junit.jupiter.api.Test;
 
 import java.io.ByteArrayInputStream;
 import java.io.InputStreamReader;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
+import java.util.Locale;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
@@ -35,4 +41,26 @@ class ReportCSVTest {
             assertTrue(result.contains("Tablet;7.50;15"));
         }
     }
-}
\ No newline at end of file
+
+    @Test
+    void generateReport_withDelimiterInValue_shouldQuoteField() {
+        List<ProductDto> products = List.of(new ProductDto("Cable; 2m \"HDMI\"", new BigDecimal("3.10"), null));
+
+        byte[] report = new ReportCSV().generateReport(products);
+
+        assertEquals("name;price;quantity\n\"Cable; 2m \"\"HDMI\"\"\";3.10;\n",
+                new String(report, StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void generateReport_withNumberFormat_shouldRoundAndUseLocaleSeparator() {
+        List<ProductDto> products = List.of(
+                new ProductDto("Rounded", new BigDecimal("2.345"), 1L),
+                new ProductDto("Padded", new BigDecimal("7"), -3L));
+
+        byte[] report = new ReportCSV(ReportNumberFormat.of(2, RoundingMode.HALF_UP, Locale.forLanguageTag("pt-BR")))
+                .generateReport(products);
+
+        assertEquals("name;price;quantity\nRounded;2,35;1\nPadded;7,00;-3\n", new String(report, StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,115 @@
+package br.com.solid.infrastructure.reports.text;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class TextReportEncoderTest {
+
+    @Test
+    void writeText_shouldEncodeUtf8AcrossBufferBoundaries() throws Exception {
+        var text = "Café ☕ naïve 𝄞 ação \uD800 end";
+        var out = new ByteArrayOutputStream();
+        var encoder = new TextReportEncoder(out, 5);
+
+        encoder.writeText(text);
+        encoder.flush();
+
+        assertEquals(new String(text.getBytes(StandardCharsets.UTF_8), StandardCharsets.UTF_8),
+                out.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void writeEscaped_shouldOnlyQuoteWhenNeeded() throws Exception {
+        var out = new ByteArrayOutputStream();
+        var encoder = new TextReportEncoder(out);
+
+        encoder.writeEscaped("plain", ';');
+        encoder.writeAscii('|');
+        encoder.writeEscaped("a;b", ';');
+        encoder.writeAscii('|');
+        encoder.writeEscaped("say \"hi\"", ';');
+        encoder.writeAscii('|');
+        encoder.writeEscaped("two\nlines", ';');
+        encoder.flush();
+
+        assertEquals("plain|\"a;b\"|\"say \"\"hi\"\"\"|\"two\nlines\"", out.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void writeLong_shouldMatchLongToString() throws Exception {
+        var random = new Random(42);
+        var values = new ArrayList<>(List.of(0L, 7L, -7L, 10L, 999_999_999_999_999_999L, 1_000_000_000_000_000_000L,
+                Long.MAX_VALUE, Long.MIN_VALUE, Long.MIN_VALUE + 1));
+        for (int i = 0; i < 10_000; i++) {
+            values.add(random.nextLong() >> random.nextInt(64));
+        }
+
+        for (long value : values) {
+            assertEquals(Long.toString(value), encode(encoder -> encoder.writeLong(value)));
+        }
+    }
+
+    @Test
+    void writeDecimal_shouldMatchBigDecimalToString() throws Exception {
+        var random = new Random(42);
+        var values = new ArrayList<>(List.of(new BigDecimal("0.005"), new BigDecimal("-0.5"), new BigDecimal("0.00"),
+                new BigDecimal("1E+3"), new BigDecimal("1E-7"), new BigDecimal("0.000001"), new BigDecimal("-0.0000001"),
+                new BigDecimal("123456789012345678.9"), new BigDecimal("922337203685477580.7"),
+                new BigDecimal("-12345678901234567890.12345"), BigDecimal.valueOf(Long.MIN_VALUE, 3)));
+        for (int i = 0; i < 10_000; i++) {
+            values.add(BigDecimal.valueOf(random.nextLong() >> random.nextInt(64), random.nextInt(30) - 5));
+        }
+
+        for (BigDecimal value : values) {
+            assertEquals(value.toString(), encode(encoder -> encoder.writeDecimal(value, '.')));
+        }
+    }
+
+    @Test
+    void writeDecimal_withSeparator_shouldReplaceTheDot() throws Exception {
+        assertEquals("-1234,50", encode(encoder -> encoder.writeDecimal(new BigDecimal("-1234.50"), ',')));
+        assertEquals("0,000001", encode(encoder -> encoder.writeDecimal(new BigDecimal("0.000001"), ',')));
+        assertEquals("1,5E-7", encode(encoder -> encoder.writeDecimal(new BigDecimal("1.5E-7"), ',')));
+    }
+
+    @Test
+    void writeNumbers_withTinyBuffer_shouldMatchToString() throws Exception {
+        var out = new ByteArrayOutputStream();
+        var encoder = new TextReportEncoder(out, 5);
+
+        encoder.writeLong(Long.MIN_VALUE);
+        encoder.writeAscii('|');
+        encoder.writeDecimal(new BigDecimal("-98765.4321"), '.');
+        encoder.flush();
+
+        assertEquals(Long.MIN_VALUE + "|-98765.4321", out.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void constructor_withTinyBuffer_shouldThrowException() {
+        assertThrows(IllegalArgumentException.class, () -> new TextReportEncoder(new ByteArrayOutputStream(), 3));
+    }
+
+    private static String encode(Encoding encoding) throws Exception {
+        var out = new ByteArrayOutputStream();
+        var encoder = new TextReportEncoder(out);
+        encoding.write(encoder);
+        encoder.flush();
+        return out.toString(StandardCharsets.US_ASCII);
+    }
+
+    @FunctionalInterface
+    private interface Encoding {
+
+        void write(TextReportEncoder encoder) throws Exception;
+    }
+}
@@ -0,0 +1,85 @@
+package br.com.solid.infrastructure.warmup;
+
+import br.com.solid.domain.dto.ProductDto;
+import br.com.solid.infrastructure.config.ReportProperties;
+import br.com.solid.infrastructure.factories.ReportFactory;
+import br.com.solid.infrastructure.parsers.ProductJsonReader;
+import br.com.solid.infrastructure.reports.interfaces.ReportGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.OutputStream;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ReportWarmupTest {
+
+    private ReportFactory reportFactory;
+    private ReportGenerator csv;
+    private ReportGenerator xlsx;
+    private ReportProperties properties;
+
+    @BeforeEach
+    void setUp() {
+        reportFactory = mock(ReportFactory.class);
+        csv = mock(ReportGenerator.class);
+        xlsx = mock(ReportGenerator.class);
+        when(reportFactory.getSupportedExtensions()).thenReturn(Set.of("csv", "xlsx"));
+        when(reportFactory.getReportGenerator("csv")).thenReturn(csv);
+        when(reportFactory.getReportGenerator("xlsx")).thenReturn(xlsx);
+        properties = new ReportProperties();
+    }
+
+    @Test
+    void afterSingletonsInstantiated_whenEnabled_shouldGenerateEveryFormat() {
+        properties.getWarmup().setEnabled(true);
+        properties.getWarmup().setRows(100);
+        properties.getWarmup().setIterations(2);
+
+        warmup().afterSingletonsInstantiated();
+
+        verify(csv, times(2)).generateReport(argThat(products -> size(products) == 100), any(OutputStream.class));
+        verify(xlsx, times(2)).generateReport(argThat(products -> size(products) == 100), any(OutputStream.class));
+    }
+
+    @Test
+    void afterSingletonsInstantiated_whenDisabled_shouldDoNothing() {
+        warmup().afterSingletonsInstantiated();
+
+        verify(csv, never()).generateReport(any(), any(OutputStream.class));
+        verify(xlsx, never()).generateReport(any(), any(OutputStream.class));
+    }
+
+    @Test
+    void warmUp_withRealGenerators_shouldCompleteForEveryFormat() {
+        properties.getWarmup().setRows(50);
+        properties.getWarmup().setIterations(1);
+        var objectMapper = new ObjectMapper();
+
+        var warmup = new ReportWarmup(new ReportFactory(), new ProductJsonReader(objectMapper), objectMapper, properties);
+
+        assertDoesNotThrow(warmup::warmUp);
+    }
+
+    private ReportWarmup warmup() {
+        var objectMapper = new ObjectMapper();
+        return new ReportWarmup(reportFactory, new ProductJsonReader(objectMapper), objectMapper, properties);
+    }
+
+    private static int size(Iterable<ProductDto> products) {
+        var size = 0;
+        for (ProductDto ignored : products) {
+            size++;
+        }
+        return size;
+    }
+}
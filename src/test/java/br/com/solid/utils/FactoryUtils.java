@@ -4,6 +4,7 @@ import br.com.solid.domain.dto.ProductDto;
 
 import java.math.BigDecimal;
 import java.util.List;
+import java.util.stream.IntStream;
 
 /**
  * Utility class for creating test data and mock configurations in a cleaner way.
@@ -23,6 +24,18 @@ public class FactoryUtils {
         );
     }
 
+    /**
+     * Creates a list with the given number of generated products.
+     *
+     * @param size The number of products to create.
+     * @return A list of {@link ProductDto} with generated data.
+     */
+    public static List<ProductDto> createSampleProducts(int size) {
+        return IntStream.range(0, size)
+                .mapToObj(i -> new ProductDto("Product " + i, BigDecimal.valueOf(i, 2), (long) i))
+                .toList();
+    }
+
     /**
      * Creates a JSON string representation of the sample products.
      *